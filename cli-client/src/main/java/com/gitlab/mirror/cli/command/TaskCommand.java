@@ -218,6 +218,12 @@ public class TaskCommand {
         OutputFormatter.printKeyValue("Last Sync Status", JsonParser.getString(task, "lastSyncStatus"));
         System.out.println();
 
+        JsonNode progress = task.get("progress");
+        if (progress != null && !progress.isNull()) {
+            printTransferProgress(progress);
+            System.out.println();
+        }
+
         int failures = JsonParser.getInt(task, "consecutiveFailures");
         String failuresStr = failures > 0
                 ? OutputFormatter.RED + String.valueOf(failures) + OutputFormatter.RESET
@@ -235,6 +241,39 @@ public class TaskCommand {
         System.out.println();
     }
 
+    private void printTransferProgress(JsonNode progress) {
+        System.out.println(OutputFormatter.BOLD + "Transfer Progress:" + OutputFormatter.RESET);
+        if (!JsonParser.has(progress, "phase")) {
+            OutputFormatter.printKeyValue("  Phase", "starting");
+        } else {
+            OutputFormatter.printKeyValue("  Phase", String.format("%s %d%% (%d/%d)",
+                    JsonParser.getString(progress, "phase"),
+                    JsonParser.getInt(progress, "percent"),
+                    JsonParser.getLong(progress, "objectsDone"),
+                    JsonParser.getLong(progress, "objectsTotal")));
+        }
+        if (JsonParser.has(progress, "bytes")) {
+            OutputFormatter.printKeyValue("  Transferred", formatBytes(JsonParser.getLong(progress, "bytes")));
+        }
+        if (JsonParser.has(progress, "bytesPerSecond")) {
+            OutputFormatter.printKeyValue("  Throughput", formatBytes(JsonParser.getLong(progress, "bytesPerSecond")) + "/s");
+        }
+        OutputFormatter.printKeyValue("  Started At", OutputFormatter.formatDateTime(JsonParser.getString(progress, "startedAt")));
+        OutputFormatter.printKeyValue("  Last Update", OutputFormatter.formatDateTime(JsonParser.getString(progress, "updatedAt")));
+    }
+
+    private String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        } else if (bytes < 1024 * 1024) {
+            return String.format("%.2f KB", bytes / 1024.0);
+        } else if (bytes < 1024 * 1024 * 1024) {
+            return String.format("%.2f MB", bytes / (1024.0 * 1024.0));
+        } else {
+            return String.format("%.2f GB", bytes / (1024.0 * 1024.0 * 1024.0));
+        }
+    }
+
     private void retryTask(String[] args) throws Exception {
         if (args.length < 2) {
             OutputFormatter.printError("Missing task ID");
@@ -488,7 +527,7 @@ public class TaskCommand {
         System.out.println();
         System.out.println(OutputFormatter.YELLOW + "Subcommands:" + OutputFormatter.RESET);
         System.out.println("  list                  List tasks");
-        System.out.println("  show <task-id>        Show task details");
+        System.out.println("  show <task-id>        Show task details (with live transfer progress while running)");
         System.out.println("  history <task-id>     Show task execution history");
         System.out.println("  retry <task-id>       Manually retry a task");
         System.out.println("  reset <task-id>       Reset failure count");
@@ -59,6 +59,9 @@ public class GitLabProject {
 
     private Statistics statistics;
 
+    @JsonProperty("forked_from_project")
+    private ForkedFromProject forkedFromProject;
+
     @Data
     public static class Namespace {
         private Long id;
@@ -86,4 +89,12 @@ public class GitLabProject {
         @JsonProperty("job_artifacts_size")
         private Long jobArtifactsSize;
     }
+
+    @Data
+    public static class ForkedFromProject {
+        private Long id;
+
+        @JsonProperty("path_with_namespace")
+        private String pathWithNamespace;
+    }
 }
@@ -34,12 +34,14 @@ CREATE TABLE IF NOT EXISTS source_project_info (
     repository_size BIGINT COMMENT '仓库大小(字节)',
     star_count INT DEFAULT 0 COMMENT '星标数',
     fork_count INT DEFAULT 0 COMMENT 'Fork数',
+    forked_from_project_id BIGINT COMMENT 'Fork来源GitLab项目ID',
     last_activity_at DATETIME COMMENT '最后活动时间',
     metadata JSON COMMENT '其他元数据',
     synced_at DATETIME COMMENT '信息同步时间',
     updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
     FOREIGN KEY (sync_project_id) REFERENCES sync_project(id) ON DELETE CASCADE,
     INDEX idx_gitlab_project_id (gitlab_project_id),
+    INDEX idx_forked_from (forked_from_project_id),
     INDEX idx_path (path_with_namespace),
     INDEX idx_archived (archived),
     INDEX idx_last_activity (last_activity_at)
@@ -91,6 +93,13 @@ CREATE TABLE IF NOT EXISTS pull_sync_config (
     priority VARCHAR(20) NOT NULL DEFAULT 'normal' COMMENT '优先级: critical/high/normal/low',
     enabled TINYINT(1) NOT NULL DEFAULT 1 COMMENT '是否启用',
     local_repo_path VARCHAR(500) COMMENT '本地仓库路径',
+    first_sync_pending TINYINT(1) NOT NULL DEFAULT 0 COMMENT '首次同步已开始但未完成',
+    repo_size_bytes BIGINT COMMENT '本地仓库大小（字节，同步/gc后更新）',
+    repo_size_updated_at DATETIME COMMENT '仓库大小更新时间',
+    pack_count INT COMMENT 'pack文件数量',
+    loose_object_count INT COMMENT '松散对象数量',
+    fetches_since_maintenance INT NOT NULL DEFAULT 0 COMMENT '上次维护后的fetch次数',
+    last_maintenance_at DATETIME COMMENT '上次仓库维护时间',
     created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
     FOREIGN KEY (sync_project_id) REFERENCES sync_project(id) ON DELETE CASCADE,
@@ -23,6 +23,171 @@ mask_url() {
     echo "$1" | sed -E 's|(://)[^@]+(@)|\1***:***\2|g'
 }
 
+# Function to run a command that prints nothing while it works (repack, fsck, local fetch),
+# logging a heartbeat every HEARTBEAT_SECONDS so the caller does not take it for a stalled transfer
+# Usage: with_heartbeat <command> [args...]
+HEARTBEAT_SECONDS="${GIT_SYNC_HEARTBEAT_SECONDS:-30}"
+with_heartbeat() {
+    # sleep runs in the background so the TERM trap fires at once and takes the sleep down too;
+    # a leftover sleep would hold the stderr pipe open until it wakes up
+    (
+        trap 'kill $! 2>/dev/null; exit 0' TERM
+        while true; do
+            sleep "$HEARTBEAT_SECONDS" & wait $!
+            log "Still running: $*"
+        done
+    ) >/dev/null &
+    HEARTBEAT_PID=$!
+    if "$@"; then STATUS=0; else STATUS=$?; fi
+    kill "$HEARTBEAT_PID" 2>/dev/null || true
+    wait "$HEARTBEAT_PID" 2>/dev/null || true
+    return $STATUS
+}
+
+# Function to output repository stats from object database stats (no directory walk):
+# size in KB (loose objects + packs + garbage), pack count and loose object count
+# Usage: repo_stats [suffix]
+repo_stats() {
+    SUFFIX="$1"
+    git count-objects -v | awk -v suffix="$SUFFIX" '
+        /^count:/ {loose=$2}
+        /^packs:/ {packs=$2}
+        /^(size|size-pack|size-garbage):/ {size+=$2}
+        END {
+            print "REPO_SIZE_KB" suffix "=" size+0
+            print "PACK_COUNT" suffix "=" packs+0
+            print "LOOSE_OBJECTS" suffix "=" loose+0
+        }'
+}
+
+# Function to create the object pool repository of a fork family if missing
+# Usage: prepare_pool <pool_path>
+prepare_pool() {
+    if ! git -C "$1" rev-parse --is-bare-repository >/dev/null 2>&1; then
+        log "Creating object pool $(basename "$1")"
+        mkdir -p "$(dirname "$1")"
+        git init --bare --quiet "$1"
+        # Members depend on pool objects: never prune or auto-gc the pool
+        git -C "$1" config gc.auto 0
+        git -C "$1" config gc.pruneExpire never
+    fi
+}
+
+# Function to push branches to the target in bounded steps before the final push:
+# each branch advances along its first-parent history <chunk_commits> commits at a time,
+# skipping history the target already has, so a retry continues after the last accepted step.
+# The branch HEAD points to goes first: an empty GitLab project takes its first pushed branch as default.
+# Usage: push_in_chunks <chunk_commits> (uses TARGET_URL)
+push_in_chunks() {
+    CHUNK_COMMITS="$1"
+    HEAD_REF=$(git symbolic-ref --quiet HEAD || true)
+    EXCLUDES_FILE=$(mktemp)
+    # Target branch heads present locally mark history that needs no push
+    git ls-remote --heads "$TARGET_URL" | awk '{ print $1 }' | \
+        git cat-file --batch-check='%(objectname) %(objecttype)' | \
+        awk '$2 == "commit" { print "^" $1 }' > "$EXCLUDES_FILE"
+
+    PUSH_CHUNKS=0
+    for BRANCH in $(git for-each-ref --format='%(refname)' refs/heads | awk -v head="$HEAD_REF" '
+            $0 == head { print; next }
+            { rest[++n] = $0 }
+            END { for (i = 1; i <= n; i++) print rest[i] }'); do
+        STEPS=$( { echo "$BRANCH"; cat "$EXCLUDES_FILE"; } | \
+            git rev-list --first-parent --reverse --stdin | awk -v n="$CHUNK_COMMITS" 'NR % n == 0')
+        for STEP_SHA in $STEPS; do
+            PUSH_CHUNKS=$((PUSH_CHUNKS + 1))
+            log "Pushing chunk $PUSH_CHUNKS: ${BRANCH#refs/heads/} up to ${STEP_SHA:0:12}"
+            # Push to the URL, not origin: origin's fetch refspec would rewind the local branch
+            git push --progress --force "$TARGET_URL" "$STEP_SHA:$BRANCH"
+        done
+        echo "^$(git rev-parse "$BRANCH")" >> "$EXCLUDES_FILE"
+    done
+
+    rm -f "$EXCLUDES_FILE"
+    echo "PUSH_CHUNKS=$PUSH_CHUNKS"
+}
+
+# Function to finish a first sync inside the fetched bare repository:
+# push all branches and tags to the target, print statistics and share objects with the pool
+# Usage: finish_first_sync (uses TARGET_URL, LOCAL_PATH, POOL_PATH, PUSH_CHUNK_COMMITS)
+finish_first_sync() {
+    # Set push URL
+    git remote set-url --push origin "$TARGET_URL"
+
+    # Collect statistics for first sync (all branches are new)
+    log "Collecting statistics for first sync"
+    BRANCHES_CREATED=$(git for-each-ref --format='%(refname)' refs/remotes/origin/ | wc -l)
+    BRANCHES_UPDATED=0
+    BRANCHES_DELETED=0
+    # Count total commits across all branches
+    COMMITS_PUSHED=$(git rev-list --all --count 2>/dev/null || echo 0)
+
+    log "First sync statistics: $BRANCHES_CREATED branches, $COMMITS_PUSHED total commits"
+
+    # Push to target using --all and --tags
+    # This pushes all branches and tags, which is exactly what we need for GitLab sync
+    log "Pushing to target: $(mask_url "$TARGET_URL")"
+    # Large histories go first in bounded chunks, so no single push exceeds target pack/body limits
+    if [ "${PUSH_CHUNK_COMMITS:-0}" -gt 0 ]; then
+        push_in_chunks "$PUSH_CHUNK_COMMITS"
+    fi
+    # Default branch first, so the target's default branch matches the source
+    HEAD_REF=$(git symbolic-ref --quiet HEAD || true)
+    if [ -n "$HEAD_REF" ] && git rev-parse --verify --quiet "$HEAD_REF" >/dev/null; then
+        git push --progress --force "$TARGET_URL" "$HEAD_REF:$HEAD_REF"
+    fi
+    git push --progress --all origin --force
+    git push --progress --tags origin --force
+
+    # Get final SHA
+    FINAL_SHA=$(git rev-parse HEAD)
+    echo "FINAL_SHA=$FINAL_SHA"
+
+    # Output statistics
+    echo "BRANCHES_CREATED=$BRANCHES_CREATED"
+    echo "BRANCHES_UPDATED=$BRANCHES_UPDATED"
+    echo "BRANCHES_DELETED=$BRANCHES_DELETED"
+    echo "COMMITS_PUSHED=$COMMITS_PUSHED"
+
+    if [ -n "$POOL_PATH" ]; then
+        # Share this repository's objects with later members of the family,
+        # then drop local copies of objects now available from the pool
+        MEMBER=$(printf '%s' "$LOCAL_PATH" | git hash-object --stdin)
+        if with_heartbeat git -C "$POOL_PATH" fetch --quiet --no-tags "$LOCAL_PATH" \
+                "+refs/heads/*:refs/members/$MEMBER/heads/*" \
+                "+refs/tags/*:refs/members/$MEMBER/tags/*"; then
+            with_heartbeat git repack -a -d -l -q
+            echo "OBJECT_POOL=$POOL_PATH"
+        else
+            log "WARNING: Failed to update object pool $(basename "$POOL_PATH")"
+        fi
+    fi
+
+    repo_stats
+}
+
+# Function to check whether the time window of a resumable first sync is used up
+# Usage: window_exhausted (uses WINDOW_SECONDS, START_TIME)
+window_exhausted() {
+    [ "$WINDOW_SECONDS" -gt 0 ] && [ $(( $(date +%s) - START_TIME )) -ge "$WINDOW_SECONDS" ]
+}
+
+# Function to deepen a shallow repository step by step until its history is complete
+# Returns 1 if the time window ran out first
+# Usage: deepen_history <step> [refspec]...
+deepen_history() {
+    STEP="$1"
+    shift
+    while [ "$(git rev-parse --is-shallow-repository)" = "true" ]; do
+        if window_exhausted; then
+            return 1
+        fi
+        log "Deepening history by $STEP commits"
+        git fetch --progress --no-tags --deepen="$STEP" origin "$@"
+    done
+    return 0
+}
+
 # Parse command
 COMMAND="$1"
 shift
@@ -43,7 +208,7 @@ case "$COMMAND" in
         mkdir -p "$(dirname "$LOCAL_PATH")"
 
         # Clone with mirror (deprecated, use --bare in sync-first instead)
-        git clone --mirror "$SOURCE_URL" "$LOCAL_PATH"
+        git clone --mirror --progress "$SOURCE_URL" "$LOCAL_PATH"
 
         log "Clone completed successfully"
         ;;
@@ -104,7 +269,7 @@ case "$COMMAND" in
 
         # Update from source using fetch to ensure all branches (including new ones) are synced
         # --prune removes remote-tracking refs that no longer exist on the remote
-        git fetch origin --prune
+        git fetch --progress origin --prune
 
         log "Calculating statistics after fetch"
 
@@ -206,8 +371,8 @@ case "$COMMAND" in
         # We use --all and --tags to push normal Git refs (branches and tags)
         # This avoids pushing GitLab internal refs (refs/merge-requests/*, refs/pipelines/*)
         # which would be rejected by the target GitLab instance
-        git push --all origin --force
-        git push --tags origin --force
+        git push --progress --all origin --force
+        git push --progress --tags origin --force
 
         # Get final SHA - use the most recent commit across all branches
         if [ "$IS_BARE" = "true" ]; then
@@ -253,21 +418,34 @@ case "$COMMAND" in
         # Cleanup changed branches temp file
         rm -f "$CHANGED_BRANCHES_FILE"
 
+        repo_stats
+
         log "Sync completed successfully"
         ;;
 
     "sync-first")
         # Perform first sync (clone + push)
-        # Usage: git-sync.sh sync-first <source_url> <target_url> <local_path>
+        # Usage: git-sync.sh sync-first <source_url> <target_url> <local_path> [pool_path] [push_chunk_commits]
+        # With pool_path, objects are borrowed from a shared pool repository of the fork family
+        # (pass "" for no pool); with push_chunk_commits > 0 branches are pushed in chunks
         SOURCE_URL="$1"
         TARGET_URL="$2"
         LOCAL_PATH="$3"
+        POOL_PATH="$4"
+        PUSH_CHUNK_COMMITS="${5:-0}"
 
         log "Starting first sync to $(basename "$LOCAL_PATH")"
 
         # Create parent directory
         mkdir -p "$(dirname "$LOCAL_PATH")"
 
+        CLONE_ARGS=""
+        if [ -n "$POOL_PATH" ]; then
+            prepare_pool "$POOL_PATH"
+            # Objects present in the pool are not transferred again
+            CLONE_ARGS="--reference-if-able $POOL_PATH"
+        fi
+
         # Clone from source using --bare (not --mirror)
         # --bare creates a bare repository with all branches and tags
         # Unlike --mirror, it does NOT:
@@ -275,7 +453,7 @@ case "$COMMAND" in
         #   - Clone GitLab internal refs (refs/merge-requests/*, refs/pipelines/*)
         # This is cleaner and avoids configuration conflicts
         log "Cloning from source: $(mask_url "$SOURCE_URL")"
-        git clone --bare "$SOURCE_URL" "$LOCAL_PATH"
+        git clone --bare --progress $CLONE_ARGS "$SOURCE_URL" "$LOCAL_PATH"
 
         cd "$LOCAL_PATH"
 
@@ -284,34 +462,119 @@ case "$COMMAND" in
         git config --add remote.origin.fetch '+refs/heads/*:refs/heads/*'
         git config --add remote.origin.fetch '+refs/tags/*:refs/tags/*'
 
-        # Set push URL
-        git remote set-url --push origin "$TARGET_URL"
+        finish_first_sync
 
-        # Collect statistics for first sync (all branches are new)
-        log "Collecting statistics for first sync"
-        BRANCHES_CREATED=$(git for-each-ref --format='%(refname)' refs/remotes/origin/ | wc -l)
-        BRANCHES_UPDATED=0
-        BRANCHES_DELETED=0
-        # Count total commits across all branches
-        COMMITS_PUSHED=$(git rev-list --all --count 2>/dev/null || echo 0)
+        log "First sync completed successfully"
+        ;;
 
-        log "First sync statistics: $BRANCHES_CREATED branches, $COMMITS_PUSHED total commits"
+    "sync-first-resumable")
+        # Perform first sync that survives interruptions (fetch in batches + push)
+        # Usage: git-sync.sh sync-first-resumable <source_url> <target_url> <local_path> <ref_batch> <deepen_step> <window_seconds> [pool_path] [push_chunk_commits]
+        # Fetched refs stay in the bare repository at local_path, so a later run only fetches
+        # the refs that are still missing. With deepen_step > 0 new refs are fetched shallow and
+        # deepened step by step once all refs are in. Once window_seconds (0 = unlimited) is used up the run stops
+        # between steps and prints FIRST_SYNC_COMPLETE=false; the next run continues from there.
+        SOURCE_URL="$1"
+        TARGET_URL="$2"
+        LOCAL_PATH="$3"
+        REF_BATCH="${4:-50}"
+        [ "$REF_BATCH" -gt 0 ] || REF_BATCH=50
+        DEEPEN_STEP="${5:-0}"
+        WINDOW_SECONDS="${6:-0}"
+        POOL_PATH="$7"
+        PUSH_CHUNK_COMMITS="${8:-0}"
+        START_TIME=$(date +%s)
 
-        # Push to target using --all and --tags
-        # This pushes all branches and tags, which is exactly what we need for GitLab sync
-        log "Pushing to target: $(mask_url "$TARGET_URL")"
-        git push --all origin --force
-        git push --tags origin --force
+        mkdir -p "$(dirname "$LOCAL_PATH")"
 
-        # Get final SHA
-        FINAL_SHA=$(git rev-parse HEAD)
-        echo "FINAL_SHA=$FINAL_SHA"
+        if git -C "$LOCAL_PATH" rev-parse --is-bare-repository >/dev/null 2>&1; then
+            log "Resuming first sync in $(basename "$LOCAL_PATH")"
+            cd "$LOCAL_PATH"
+            # The source URL carries a token that may have been rotated since the last attempt
+            git remote set-url origin "$SOURCE_URL"
+        else
+            log "Starting resumable first sync to $(basename "$LOCAL_PATH")"
+            git init --bare --quiet "$LOCAL_PATH"
+            cd "$LOCAL_PATH"
+            git remote add origin "$SOURCE_URL"
+            git config remote.origin.fetch '+refs/heads/*:refs/heads/*'
+            git config --add remote.origin.fetch '+refs/tags/*:refs/tags/*'
+            if [ -n "$POOL_PATH" ]; then
+                prepare_pool "$POOL_PATH"
+                # Same effect as clone --reference: objects in the pool are not transferred again
+                echo "$POOL_PATH/objects" > objects/info/alternates
+            fi
+        fi
 
-        # Output statistics
-        echo "BRANCHES_CREATED=$BRANCHES_CREATED"
-        echo "BRANCHES_UPDATED=$BRANCHES_UPDATED"
-        echo "BRANCHES_DELETED=$BRANCHES_DELETED"
-        echo "COMMITS_PUSHED=$COMMITS_PUSHED"
+        # New refs are fetched shallow while the repository is empty or still shallow; once an
+        # earlier attempt has completed the history, missing refs only need their new commits
+        COMPLETE=true
+        SHALLOW_FETCH=false
+        if [ "$DEEPEN_STEP" -gt 0 ] && { [ "$(git rev-parse --is-shallow-repository)" = "true" ] \
+                || [ -z "$(git for-each-ref --count=1 refs/heads refs/tags)" ]; }; then
+            SHALLOW_FETCH=true
+        fi
+
+        # Refs missing locally or pointing elsewhere
+        LOCAL_REFS_FILE=$(mktemp)
+        REMOTE_REFS_FILE=$(mktemp)
+        PENDING_REFS_FILE=$(mktemp)
+        trap 'rm -f "$LOCAL_REFS_FILE" "$REMOTE_REFS_FILE" "$PENDING_REFS_FILE"' EXIT
+        git ls-remote --heads --tags --refs origin > "$REMOTE_REFS_FILE"
+        git for-each-ref --format='%(objectname) %(refname)' refs/heads refs/tags > "$LOCAL_REFS_FILE"
+        awk -v local_file="$LOCAL_REFS_FILE" '
+            FILENAME == local_file { local[$2] = $1; next }
+            local[$2] != $1 { print $2 }' "$LOCAL_REFS_FILE" "$REMOTE_REFS_FILE" > "$PENDING_REFS_FILE"
+        TOTAL_REFS=$(wc -l < "$REMOTE_REFS_FILE" | tr -d ' ')
+        PENDING_REFS=$(wc -l < "$PENDING_REFS_FILE" | tr -d ' ')
+        log "Source has $TOTAL_REFS refs, $PENDING_REFS still to fetch"
+
+        FETCHED_REFS=0
+        while [ "$COMPLETE" = "true" ] && [ "$FETCHED_REFS" -lt "$PENDING_REFS" ]; do
+            if window_exhausted; then
+                COMPLETE=false
+                break
+            fi
+            REFSPECS=$(sed -n "$((FETCHED_REFS + 1)),$((FETCHED_REFS + REF_BATCH))s|.*|+&:&|p" "$PENDING_REFS_FILE")
+            BATCH_SIZE=$(printf '%s\n' "$REFSPECS" | wc -l | tr -d ' ')
+            log "Fetching refs $((FETCHED_REFS + 1))-$((FETCHED_REFS + BATCH_SIZE)) of $PENDING_REFS"
+            if [ "$SHALLOW_FETCH" = "true" ]; then
+                # shellcheck disable=SC2086
+                git fetch --progress --no-tags --depth="$DEEPEN_STEP" origin $REFSPECS
+            else
+                # shellcheck disable=SC2086
+                git fetch --progress --no-tags origin $REFSPECS
+            fi
+            FETCHED_REFS=$((FETCHED_REFS + BATCH_SIZE))
+        done
+
+        # Deepen all refs together (the configured heads and tags refspecs), including
+        # deepening left over from an interrupted attempt
+        if [ "$COMPLETE" = "true" ] && [ "$(git rev-parse --is-shallow-repository)" = "true" ]; then
+            FINAL_STEP=$DEEPEN_STEP
+            [ "$FINAL_STEP" -gt 0 ] || FINAL_STEP=1000
+            if ! deepen_history "$FINAL_STEP"; then
+                COMPLETE=false
+            fi
+        fi
+
+        if [ "$COMPLETE" != "true" ]; then
+            log "Time window used up, first sync will resume on the next run"
+            echo "FIRST_SYNC_COMPLETE=false"
+            echo "FIRST_SYNC_PENDING_REFS=$((PENDING_REFS - FETCHED_REFS))"
+            echo "FIRST_SYNC_SHALLOW=$(git rev-parse --is-shallow-repository)"
+            repo_stats
+            exit 0
+        fi
+
+        # An initialized repository's HEAD does not follow the source default branch yet
+        DEFAULT_REF=$(git ls-remote --symref origin HEAD | awk '/^ref:/ { print $2; exit }')
+        if [ -n "$DEFAULT_REF" ] && git rev-parse --verify --quiet "$DEFAULT_REF" >/dev/null; then
+            git symbolic-ref HEAD "$DEFAULT_REF"
+        fi
+
+        echo "FIRST_SYNC_COMPLETE=true"
+        finish_first_sync
 
         log "First sync completed successfully"
         ;;
@@ -326,7 +589,7 @@ case "$COMMAND" in
         log "Verifying repository at $(basename "$LOCAL_PATH")"
 
         # Fast fsck without --quick (not supported in all git versions)
-        git fsck --connectivity-only
+        with_heartbeat git fsck --connectivity-only
 
         log "Verification completed successfully"
         ;;
@@ -371,13 +634,73 @@ case "$COMMAND" in
         echo "SIZE_BEFORE=$SIZE_BEFORE"
         echo "SIZE_AFTER=$SIZE_AFTER"
         echo "SAVED_KB=$SAVED"
+        repo_stats
 
         log "Cleanup completed, saved ${SAVED}KB"
         ;;
 
+    "pool-remove-member")
+        # Remove a member repository's refs from a fork family object pool,
+        # so its objects are no longer kept reachable by the pool
+        # Usage: git-sync.sh pool-remove-member <pool_path> <local_path>
+        POOL_PATH="$1"
+        LOCAL_PATH="$2"
+
+        # Member refs are keyed by the hash of the member path (see finish_first_sync)
+        MEMBER=$(printf '%s' "$LOCAL_PATH" | git hash-object --stdin)
+        REMOVED_REFS=$(git -C "$POOL_PATH" for-each-ref --format='%(refname)' "refs/members/$MEMBER/" | wc -l | tr -d ' ')
+        git -C "$POOL_PATH" for-each-ref --format='delete %(refname)' "refs/members/$MEMBER/" | \
+            git -C "$POOL_PATH" update-ref --stdin
+
+        echo "REMOVED_REFS=$REMOVED_REFS"
+        log "Removed $REMOVED_REFS refs of $(basename "$LOCAL_PATH") from object pool $(basename "$POOL_PATH")"
+        ;;
+
+    "repo-size")
+        # Get repository size, pack count and loose object count from object database stats
+        # Usage: git-sync.sh repo-size <local_path>
+        LOCAL_PATH="$1"
+
+        cd "$LOCAL_PATH"
+
+        repo_stats
+        ;;
+
+    "maintain")
+        # Incremental maintenance (cheap alternative to gc --aggressive)
+        # Geometric repack (rolls loose objects and small packs into larger ones),
+        # multi-pack-index, commit-graph and packed refs
+        # Usage: git-sync.sh maintain <local_path> [pack_threads]
+        LOCAL_PATH="$1"
+        PACK_THREADS="${2:-1}"
+
+        cd "$LOCAL_PATH"
+
+        # Run at low CPU priority
+        renice -n 10 $$ >/dev/null 2>&1 || true
+
+        log "Running incremental maintenance"
+
+        repo_stats "_BEFORE"
+
+        # Geometric repack needs git 2.32+, fall back to an incremental repack
+        if ! git -c pack.threads="$PACK_THREADS" repack -d -l --geometric=2 --write-midx 2>/dev/null; then
+            git -c pack.threads="$PACK_THREADS" repack -d -l
+            git multi-pack-index write
+        fi
+        git prune-packed
+        git commit-graph write --reachable --split --size-multiple=2
+        git pack-refs --all
+
+        repo_stats "_AFTER"
+        repo_stats
+
+        log "Maintenance completed"
+        ;;
+
     *)
         echo "Unknown command: $COMMAND" >&2
-        echo "Usage: git-sync.sh {clone-mirror|check-changes|sync-incremental|sync-first|verify|get-remote-sha|get-local-sha|cleanup} [args...]" >&2
+        echo "Usage: git-sync.sh {clone-mirror|check-changes|sync-incremental|sync-first|sync-first-resumable|verify|get-remote-sha|get-local-sha|cleanup|pool-remove-member|repo-size|maintain} [args...]" >&2
         exit 1
         ;;
 esac
@@ -6,8 +6,8 @@ import com.gitlab.mirror.server.config.properties.GitLabMirrorProperties;
 import com.gitlab.mirror.server.entity.SyncTask;
 import com.gitlab.mirror.server.mapper.SyncTaskMapper;
 import com.gitlab.mirror.server.scheduler.UnifiedSyncScheduler;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.bind.annotation.*;
 
@@ -23,7 +23,6 @@ import java.util.concurrent.Executor;
 @Slf4j
 @RestController
 @RequestMapping("/api/scheduler")
-@RequiredArgsConstructor
 public class SchedulerController {
 
     private final UnifiedSyncScheduler scheduler;
@@ -31,6 +30,17 @@ public class SchedulerController {
     private final GitLabMirrorProperties properties;
     private final Executor syncTaskExecutor;
 
+    public SchedulerController(
+            UnifiedSyncScheduler scheduler,
+            SyncTaskMapper syncTaskMapper,
+            GitLabMirrorProperties properties,
+            @Qualifier("syncTaskExecutor") Executor syncTaskExecutor) {
+        this.scheduler = scheduler;
+        this.syncTaskMapper = syncTaskMapper;
+        this.properties = properties;
+        this.syncTaskExecutor = syncTaskExecutor;
+    }
+
     /**
      * Get scheduler status
      *
@@ -14,6 +14,7 @@ import com.gitlab.mirror.server.mapper.PullSyncConfigMapper;
 import com.gitlab.mirror.server.mapper.SyncEventMapper;
 import com.gitlab.mirror.server.mapper.SyncProjectMapper;
 import com.gitlab.mirror.server.mapper.SyncTaskMapper;
+import com.gitlab.mirror.server.service.SyncProgressTracker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
@@ -38,6 +39,7 @@ public class TaskController {
     private final SyncProjectMapper syncProjectMapper;
     private final PullSyncConfigMapper pullSyncConfigMapper;
     private final SyncEventMapper syncEventMapper;
+    private final SyncProgressTracker syncProgressTracker;
 
     /**
      * List tasks with filters and pagination
@@ -380,6 +382,9 @@ public class TaskController {
         dto.setErrorMessage(task.getErrorMessage());
         dto.setCreatedAt(task.getCreatedAt());
         dto.setUpdatedAt(task.getUpdatedAt());
+        if ("running".equals(task.getTaskStatus())) {
+            dto.setProgress(syncProgressTracker.get(task.getId()));
+        }
 
         // Get project info
         SyncProject project = syncProjectMapper.selectById(task.getSyncProjectId());
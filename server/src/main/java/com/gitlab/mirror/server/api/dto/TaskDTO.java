@@ -1,5 +1,6 @@
 package com.gitlab.mirror.server.api.dto;
 
+import com.gitlab.mirror.server.model.TransferProgress;
 import lombok.Data;
 
 import java.time.Instant;
@@ -44,4 +45,7 @@ public class TaskDTO {
 
     // Pull sync specific
     private String priority;
+
+    // Live git transfer progress (running tasks only)
+    private TransferProgress progress;
 }
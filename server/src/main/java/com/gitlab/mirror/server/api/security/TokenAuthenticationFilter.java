@@ -3,6 +3,7 @@ package com.gitlab.mirror.server.api.security;
 import com.gitlab.mirror.server.config.properties.GitLabMirrorProperties;
 import com.gitlab.mirror.server.entity.User;
 import com.gitlab.mirror.server.service.auth.AuthenticationService;
+import com.gitlab.mirror.server.service.auth.PushTicketService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -27,13 +28,18 @@ import java.io.IOException;
 @Component
 public class TokenAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final String PUSH_STREAM_PATH = "/api/push/stream";
+
     private final GitLabMirrorProperties properties;
     private final AuthenticationService authenticationService;
+    private final PushTicketService pushTicketService;
 
     public TokenAuthenticationFilter(GitLabMirrorProperties properties,
-                                     AuthenticationService authenticationService) {
+                                     AuthenticationService authenticationService,
+                                     PushTicketService pushTicketService) {
         this.properties = properties;
         this.authenticationService = authenticationService;
+        this.pushTicketService = pushTicketService;
     }
 
     @Override
@@ -53,13 +59,26 @@ public class TokenAuthenticationFilter extends OncePerRequestFilter {
 
         // Extract and validate token
         String authHeader = request.getHeader("Authorization");
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+        String token;
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            token = authHeader.substring(7);
+        } else if (path.equals(PUSH_STREAM_PATH) && request.getParameter("ticket") != null) {
+            // EventSource cannot set headers, the push stream accepts a single-use ticket instead
+            User user = pushTicketService.redeem(request.getParameter("ticket"));
+            if (user == null) {
+                sendUnauthorizedResponse(response, "Invalid or expired push ticket");
+                return;
+            }
+            request.setAttribute("currentUser", user);
+            request.setAttribute("authType", "push_ticket");
+
+            filterChain.doFilter(request, response);
+            return;
+        } else {
             sendUnauthorizedResponse(response, "Missing or invalid Authorization header");
             return;
         }
 
-        String token = authHeader.substring(7);
-
         // Try API Key authentication first (backward compatibility)
         if (isValidApiKey(token)) {
             // Create virtual admin user for API Key access
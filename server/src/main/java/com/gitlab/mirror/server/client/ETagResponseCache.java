@@ -0,0 +1,139 @@
+package com.gitlab.mirror.server.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ETag Response Cache
+ * <p>
+ * Keeps the ETag and the JSON body of GET responses per URL, so a repeated
+ * read can be sent as a conditional request ({@code If-None-Match}) and a
+ * {@code 304 Not Modified} answered from memory without transferring the body
+ * again. Every read still reaches GitLab, so cached bodies are never served
+ * stale. Each hit decodes a private copy of the body, so callers may modify it;
+ * the cache is bounded by the total size of the cached JSON.
+ *
+ * @author GitLab Mirror Team
+ */
+@Slf4j
+public class ETagResponseCache {
+
+    private final Cache<String, Entry> cache;
+    private final ObjectMapper objectMapper;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param maxBytes     Maximum total size of cached response bodies
+     * @param maxIdle      Drop responses not read for this long
+     * @param objectMapper Mapper used to store and decode bodies
+     */
+    public ETagResponseCache(long maxBytes, Duration maxIdle, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String url, Entry entry) -> url.length() + entry.etag.length() + entry.json.length)
+                .expireAfterAccess(maxIdle)
+                .build();
+    }
+
+    /**
+     * Get the cached response of a URL decoded as the given type
+     *
+     * @param url          Request URL
+     * @param responseType Expected body type
+     * @return Cached entry, or null if none matches
+     */
+    public Entry get(String url, Class<?> responseType) {
+        Entry entry = cache.getIfPresent(url);
+        return entry != null && entry.responseType == responseType ? entry : null;
+    }
+
+    /**
+     * Store a response body with its ETag
+     */
+    public void put(String url, String etag, Class<?> responseType, Object body) {
+        try {
+            cache.put(url, new Entry(etag, responseType, objectMapper.writeValueAsBytes(body)));
+        } catch (JsonProcessingException e) {
+            log.debug("Response of {} not cached: {}", url, e.getMessage());
+            cache.invalidate(url);
+        }
+    }
+
+    /**
+     * Decode a private copy of a cached body
+     *
+     * @param entry Cached entry
+     * @return Body as the entry's response type
+     */
+    public Object readBody(Entry entry) {
+        try {
+            return objectMapper.readValue(entry.json, entry.responseType);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to decode cached response body", e);
+        }
+    }
+
+    /**
+     * Drop the cached response of a URL
+     */
+    public void invalidate(String url) {
+        cache.invalidate(url);
+    }
+
+    void recordHit() {
+        hits.incrementAndGet();
+    }
+
+    void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    /**
+     * Get number of reads answered by 304 Not Modified
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Get number of conditional reads that returned a new body
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Get number of cached responses
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Cached response
+     */
+    public static class Entry {
+        private final String etag;
+        private final Class<?> responseType;
+        private final byte[] json;
+
+        Entry(String etag, Class<?> responseType, byte[] json) {
+            this.etag = etag;
+            this.responseType = responseType;
+            this.json = json;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+    }
+}
@@ -185,20 +185,37 @@ public class GitLabApiClient {
         }
     }
 
+    /**
+     * Get group details by full path
+     */
+    public GitLabGroup getGroup(String groupPath) {
+        String encodedPath = URLEncoder.encode(groupPath, StandardCharsets.UTF_8);
+        return client.get("/api/v4/groups/" + encodedPath, GitLabGroup.class);
+    }
+
     /**
      * Create group
      */
     public GitLabGroup createGroup(String path, String name, String parentPath) {
+        Long parentId = null;
+        if (parentPath != null && !parentPath.isEmpty()) {
+            // Find parent group ID
+            parentId = getGroup(parentPath).getId();
+        }
+        return createGroupWithParentId(path, name, parentId);
+    }
+
+    /**
+     * Create group under a known parent group ID (null for a top-level group)
+     */
+    public GitLabGroup createGroupWithParentId(String path, String name, Long parentId) {
         Map<String, Object> body = new HashMap<>();
         body.put("path", path);
         body.put("name", name);
         body.put("visibility", "private");
 
-        if (parentPath != null && !parentPath.isEmpty()) {
-            // Find parent group ID
-            String encodedParentPath = URLEncoder.encode(parentPath, StandardCharsets.UTF_8);
-            GitLabGroup parentGroup = client.get("/api/v4/groups/" + encodedParentPath, GitLabGroup.class);
-            body.put("parent_id", parentGroup.getId());
+        if (parentId != null) {
+            body.put("parent_id", parentId);
         }
 
         log.info("Creating group: {}", path);
@@ -209,19 +226,28 @@ public class GitLabApiClient {
      * Create project
      */
     public GitLabProject createProject(String path, String name, String groupPath) {
+        Long namespaceId = null;
+        if (groupPath != null && !groupPath.isEmpty()) {
+            // Get namespace ID
+            namespaceId = getGroup(groupPath).getId();
+        }
+        return createProjectInNamespace(path, name, namespaceId);
+    }
+
+    /**
+     * Create project in a known namespace ID (null for the user's namespace)
+     */
+    public GitLabProject createProjectInNamespace(String path, String name, Long namespaceId) {
         Map<String, Object> body = new HashMap<>();
         body.put("path", path);
         body.put("name", name);
         body.put("visibility", "private");
 
-        if (groupPath != null && !groupPath.isEmpty()) {
-            // Get namespace ID
-            String encodedGroupPath = URLEncoder.encode(groupPath, StandardCharsets.UTF_8);
-            GitLabGroup group = client.get("/api/v4/groups/" + encodedGroupPath, GitLabGroup.class);
-            body.put("namespace_id", group.getId());
+        if (namespaceId != null) {
+            body.put("namespace_id", namespaceId);
         }
 
-        log.info("Creating project: {}/{}", groupPath, path);
+        log.info("Creating project: path={}, namespaceId={}", path, namespaceId);
         return client.post("/api/v4/projects", body, GitLabProject.class);
     }
 
@@ -11,6 +11,9 @@ import java.util.concurrent.TimeUnit;
 
 /**
  * Retryable GitLab Client with Rate Limit Handling
+ * <p>
+ * GET responses carrying an ETag are kept in an optional {@link ETagResponseCache}
+ * and revalidated with {@code If-None-Match}; a 304 returns the cached body.
  *
  * @author GitLab Mirror Team
  */
@@ -22,38 +25,77 @@ public class RetryableGitLabClient {
     private final String token;
     private final int maxRetries;
     private final long initialRetryDelay;
+    private final ETagResponseCache etagCache;
 
     public RetryableGitLabClient(RestTemplate restTemplate, String baseUrl, String token,
                                   int maxRetries, long initialRetryDelay) {
+        this(restTemplate, baseUrl, token, maxRetries, initialRetryDelay, null);
+    }
+
+    public RetryableGitLabClient(RestTemplate restTemplate, String baseUrl, String token,
+                                  int maxRetries, long initialRetryDelay, ETagResponseCache etagCache) {
         this.restTemplate = restTemplate;
         this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
         this.token = token;
         this.maxRetries = maxRetries;
         this.initialRetryDelay = initialRetryDelay;
+        this.etagCache = etagCache;
     }
 
     /**
      * Execute GET request with retry
      */
+    @SuppressWarnings("unchecked")
     public <T> T get(String path, Class<T> responseType) {
         return executeWithRetry(() -> {
             long startTime = System.currentTimeMillis();
             HttpHeaders headers = createHeaders();
-            HttpEntity<Void> entity = new HttpEntity<>(headers);
             String urlString = baseUrl + path;
 
+            // Revalidate a cached response instead of downloading it again
+            ETagResponseCache.Entry cached = etagCache != null ? etagCache.get(urlString, responseType) : null;
+            if (cached != null) {
+                headers.setIfNoneMatch(cached.getEtag());
+            }
+            HttpEntity<Void> entity = new HttpEntity<>(headers);
+
             log.debug("GET {}", sanitizeUrl(urlString));
             // Use URI instead of String to avoid double encoding
             java.net.URI uri = java.net.URI.create(urlString);
             ResponseEntity<T> response = restTemplate.exchange(uri, HttpMethod.GET, entity, responseType);
 
             long duration = System.currentTimeMillis() - startTime;
+
+            if (cached != null && response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                etagCache.recordHit();
+                log.info("[API-PERF] GET {} - {}ms (not modified)", sanitizeUrl(path), duration);
+                return (T) etagCache.readBody(cached);
+            }
             log.info("[API-PERF] GET {} - {}ms", sanitizeUrl(path), duration);
 
-            return response.getBody();
+            T body = response.getBody();
+            if (etagCache != null) {
+                if (cached != null) {
+                    etagCache.recordMiss();
+                }
+                String etag = response.getHeaders().getETag();
+                if (etag != null && body != null) {
+                    etagCache.put(urlString, etag, responseType, body);
+                } else if (cached != null) {
+                    etagCache.invalidate(urlString);
+                }
+            }
+            return body;
         });
     }
 
+    /**
+     * Get the ETag response cache (null if disabled)
+     */
+    public ETagResponseCache getEtagCache() {
+        return etagCache;
+    }
+
     /**
      * Execute POST request with retry
      */
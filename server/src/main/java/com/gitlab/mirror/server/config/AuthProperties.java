@@ -19,6 +19,11 @@ public class AuthProperties {
      */
     private BruteForce bruteForce = new BruteForce();
 
+    /**
+     * Token validation cache configuration
+     */
+    private TokenCache tokenCache = new TokenCache();
+
     @Data
     public static class BruteForce {
         /**
@@ -41,4 +46,17 @@ public class AuthProperties {
          */
         private int maxLockoutSeconds = 300;
     }
+
+    @Data
+    public static class TokenCache {
+        /**
+         * Time a validated token is trusted without a database lookup (seconds)
+         */
+        private int ttlSeconds = 60;
+
+        /**
+         * Maximum cached tokens
+         */
+        private int maxSize = 10000;
+    }
 }
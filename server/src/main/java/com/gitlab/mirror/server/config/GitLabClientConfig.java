@@ -5,8 +5,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
+import com.gitlab.mirror.server.client.ETagResponseCache;
 import com.gitlab.mirror.server.client.GitLabApiClient;
+import com.gitlab.mirror.server.client.GitLabHttpTransport;
 import com.gitlab.mirror.server.client.RetryableGitLabClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
@@ -20,6 +25,9 @@ import java.time.format.DateTimeFormatter;
 
 /**
  * GitLab Client Configuration
+ * <p>
+ * Source and target GitLab each get their own pooled HTTP transport, so pool
+ * limits apply per host and the metrics tell the two instances apart.
  *
  * @author GitLab Mirror Team
  */
@@ -32,47 +40,84 @@ public class GitLabClientConfig {
         this.gitLabProperties = gitLabProperties;
     }
 
-    @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
-        // Configure ObjectMapper to handle GitLab's datetime format
-        ObjectMapper objectMapper = new ObjectMapper();
-        JavaTimeModule javaTimeModule = new JavaTimeModule();
+    @Bean(name = "sourceGitLabHttpClient", destroyMethod = "close")
+    public CloseableHttpClient sourceGitLabHttpClient(ObjectProvider<MeterRegistry> meterRegistry) {
+        return GitLabHttpTransport.createHttpClient("gitlab-source", gitLabProperties.getApi(),
+                meterRegistry.getIfAvailable());
+    }
 
-        objectMapper.registerModule(javaTimeModule);
-        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    @Bean(name = "targetGitLabHttpClient", destroyMethod = "close")
+    public CloseableHttpClient targetGitLabHttpClient(ObjectProvider<MeterRegistry> meterRegistry) {
+        return GitLabHttpTransport.createHttpClient("gitlab-target", gitLabProperties.getApi(),
+                meterRegistry.getIfAvailable());
+    }
+
+    @Bean("sourceRestTemplate")
+    public RestTemplate sourceRestTemplate(RestTemplateBuilder builder,
+                                           @Qualifier("sourceGitLabHttpClient") CloseableHttpClient httpClient) {
+        return buildRestTemplate(builder, httpClient);
+    }
+
+    @Bean("targetRestTemplate")
+    public RestTemplate targetRestTemplate(RestTemplateBuilder builder,
+                                           @Qualifier("targetGitLabHttpClient") CloseableHttpClient httpClient) {
+        return buildRestTemplate(builder, httpClient);
+    }
 
-        MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter(objectMapper);
+    private RestTemplate buildRestTemplate(RestTemplateBuilder builder, CloseableHttpClient httpClient) {
+        MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter(createObjectMapper());
 
+        // Timeouts are set on the pooled client
         return builder
-                .setConnectTimeout(Duration.ofMillis(gitLabProperties.getApi().getTimeout()))
-                .setReadTimeout(Duration.ofMillis(gitLabProperties.getApi().getTimeout()))
+                .requestFactory(() -> GitLabHttpTransport.requestFactory(httpClient))
                 .additionalMessageConverters(converter)
                 .build();
     }
 
     @Bean("sourceGitLabClient")
-    public RetryableGitLabClient sourceGitLabClient(RestTemplate restTemplate) {
+    public RetryableGitLabClient sourceGitLabClient(@Qualifier("sourceRestTemplate") RestTemplate restTemplate) {
         return new RetryableGitLabClient(
                 restTemplate,
                 gitLabProperties.getSource().getUrl(),
                 gitLabProperties.getSource().getToken(),
                 gitLabProperties.getApi().getMaxRetries(),
-                gitLabProperties.getApi().getRetryDelay()
+                gitLabProperties.getApi().getRetryDelay(),
+                createEtagCache()
         );
     }
 
     @Bean("targetGitLabClient")
-    public RetryableGitLabClient targetGitLabClient(RestTemplate restTemplate) {
+    public RetryableGitLabClient targetGitLabClient(@Qualifier("targetRestTemplate") RestTemplate restTemplate) {
         return new RetryableGitLabClient(
                 restTemplate,
                 gitLabProperties.getTarget().getUrl(),
                 gitLabProperties.getTarget().getToken(),
                 gitLabProperties.getApi().getMaxRetries(),
-                gitLabProperties.getApi().getRetryDelay()
+                gitLabProperties.getApi().getRetryDelay(),
+                createEtagCache()
         );
     }
 
+    private ETagResponseCache createEtagCache() {
+        int maxMb = gitLabProperties.getApi().getEtagCacheMaxMb();
+        if (maxMb <= 0) {
+            return null;
+        }
+        return new ETagResponseCache(maxMb * 1024L * 1024L,
+                Duration.ofMinutes(gitLabProperties.getApi().getEtagCacheIdleMinutes()), createObjectMapper());
+    }
+
+    private ObjectMapper createObjectMapper() {
+        // Configure ObjectMapper to handle GitLab's datetime format
+        ObjectMapper objectMapper = new ObjectMapper();
+        JavaTimeModule javaTimeModule = new JavaTimeModule();
+
+        objectMapper.registerModule(javaTimeModule);
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        return objectMapper;
+    }
+
     @Bean("sourceGitLabApiClient")
     public GitLabApiClient sourceGitLabApiClient(@Qualifier("sourceGitLabClient") RetryableGitLabClient client) {
         return new GitLabApiClient(client);
@@ -64,5 +64,35 @@ public class GitLabProperties {
          * Initial retry delay in milliseconds
          */
         private long retryDelay = 1000;
+
+        /**
+         * Pooled connections per GitLab host (route)
+         */
+        private int maxConnectionsPerRoute = 20;
+
+        /**
+         * Pooled connections in total per GitLab instance
+         */
+        private int maxConnectionsTotal = 40;
+
+        /**
+         * Close pooled connections idle for longer than this (seconds)
+         */
+        private int idleEvictSeconds = 30;
+
+        /**
+         * Request gzip/deflate compressed responses
+         */
+        private boolean compression = true;
+
+        /**
+         * Memory for GET responses kept for ETag revalidation per GitLab instance, in MB (0 disables)
+         */
+        private int etagCacheMaxMb = 64;
+
+        /**
+         * Drop ETag-cached responses not read for this long (minutes)
+         */
+        private int etagCacheIdleMinutes = 60;
     }
 }
@@ -1,5 +1,7 @@
 package com.gitlab.mirror.server.config;
 
+import com.gitlab.mirror.server.config.properties.GitLabMirrorProperties;
+import com.gitlab.mirror.server.util.VirtualThreads;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
@@ -10,31 +12,71 @@ import java.util.concurrent.ThreadPoolExecutor;
 /**
  * Task Executor Configuration
  * <p>
- * Configures thread pool for async task execution
+ * Configures the sync worker lanes: fast (syncTaskExecutor), bulk and webhook.
+ * Each lane is a fixed pool with a bounded queue that rejects when full, so a
+ * sync never runs on the scheduler thread. With
+ * {@code performance.virtual-threads-enabled} the lane workers are virtual threads;
+ * the pool sizes still bound concurrent syncs per lane.
  *
  * @author GitLab Mirror Team
  */
 @Configuration
 public class TaskExecutorConfig {
 
+    private final GitLabMirrorProperties properties;
+    private final boolean virtualThreads;
+
+    public TaskExecutorConfig(GitLabMirrorProperties properties) {
+        this.properties = properties;
+        this.virtualThreads = VirtualThreads.resolve(
+            Boolean.TRUE.equals(properties.getPerformance().getVirtualThreadsEnabled()), "sync lanes");
+    }
+
+    /**
+     * Fast lane: incremental syncs that usually finish quickly
+     */
     @Bean(name = "syncTaskExecutor")
     public Executor syncTaskExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        return createLaneExecutor("sync-fast-", properties.getSync().getFastLaneConcurrency(), 8);
+    }
 
-        // Core pool size: number of threads always kept alive
-        executor.setCorePoolSize(3);
+    /**
+     * Bulk lane: first syncs (full clones) and historically slow syncs
+     */
+    @Bean(name = "syncBulkExecutor")
+    public Executor syncBulkExecutor() {
+        return createLaneExecutor("sync-bulk-", properties.getSync().getBulkLaneConcurrency(), 2);
+    }
+
+    /**
+     * Webhook lane: syncs triggered by push events
+     */
+    @Bean(name = "syncWebhookExecutor")
+    public Executor syncWebhookExecutor() {
+        return createLaneExecutor("sync-webhook-", properties.getSync().getWebhookLaneConcurrency(), 4);
+    }
+
+    private ThreadPoolTaskExecutor createLaneExecutor(String threadNamePrefix, Integer concurrency, int defaultConcurrency) {
+        int threads = concurrency != null && concurrency > 0 ? concurrency : defaultConcurrency;
+        Integer queueCapacity = properties.getSync().getLaneQueueCapacity();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
 
-        // Max pool size: maximum number of threads
-        executor.setMaxPoolSize(10);
+        // Fixed pool: threads beyond core would only be created once the queue is full
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
 
-        // Queue capacity: number of tasks queued before creating new threads
-        executor.setQueueCapacity(50);
+        // Queue capacity: number of tasks queued before submissions are rejected
+        executor.setQueueCapacity(queueCapacity != null ? queueCapacity : 50);
 
-        // Thread name prefix
-        executor.setThreadNamePrefix("sync-exec-");
+        // Thread name prefix, workers on virtual threads when enabled
+        executor.setThreadNamePrefix(threadNamePrefix);
+        if (virtualThreads) {
+            executor.setThreadFactory(VirtualThreads.threadFactory(threadNamePrefix, true));
+        }
 
-        // Rejection policy: caller runs when queue is full
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        // Rejection policy: abort (TaskRejectedException), the scheduler puts the task back to waiting
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
 
         // Wait for tasks to complete on shutdown
         executor.setWaitForTasksToCompleteOnShutdown(true);
@@ -50,6 +50,18 @@ public class GitLabMirrorProperties {
     @Valid
     private ApiConfig api = new ApiConfig();
 
+    /**
+     * Metrics Configuration
+     */
+    @Valid
+    private MetricsConfig metrics = new MetricsConfig();
+
+    /**
+     * Repository Maintenance Configuration
+     */
+    @Valid
+    private MaintenanceConfig maintenance = new MaintenanceConfig();
+
     /**
      * GitLab Instance Configuration
      */
@@ -118,6 +130,117 @@ public class GitLabMirrorProperties {
          */
         private Integer offPeakConcurrent = 8;
 
+        /**
+         * Free disk space kept in reserve when admitting first syncs (bytes)
+         */
+        private Long diskMinFreeBytes = 1024L * 1024 * 1024;
+
+        /**
+         * Delay before retrying a first sync deferred for lack of disk space (minutes)
+         */
+        private Integer diskDeferMinutes = 5;
+
+        /**
+         * Share objects of fork families through a pool repository (objects/info/alternates)
+         */
+        private Boolean objectPoolEnabled = false;
+
+        /**
+         * Directory of object pool repositories (default: ~/.gitlab-sync/pools)
+         */
+        private String objectPoolPath;
+
+        /**
+         * Projects inserted per transaction when onboarding newly discovered projects
+         */
+        private Integer onboardingBatchSize = 200;
+
+        /**
+         * Spacing of first-sync next_run_at between onboarded projects (seconds)
+         */
+        private Integer onboardingStaggerSeconds = 2;
+
+        /**
+         * Ready tasks examined per scheduling cycle when planning first syncs
+         */
+        private Integer firstSyncLookahead = 100;
+
+        /**
+         * First syncs of repositories at least this large (bytes) run in the large-clone lane
+         */
+        private Long firstSyncLargeRepoBytes = 1024L * 1024 * 1024;
+
+        /**
+         * Maximum concurrent first syncs in the large-clone lane
+         */
+        private Integer firstSyncMaxLargeConcurrent = 1;
+
+        /**
+         * Fetch large first syncs in resumable steps instead of one clone
+         */
+        private Boolean firstSyncResumableEnabled = true;
+
+        /**
+         * First syncs of repositories at least this large (bytes) are fetched resumably
+         */
+        private Long firstSyncResumableBytes = 1024L * 1024 * 1024;
+
+        /**
+         * Refs fetched per step of a resumable first sync
+         */
+        private Integer firstSyncRefBatchSize = 50;
+
+        /**
+         * Commits per deepening step of a resumable first sync (0 = fetch full history per batch)
+         */
+        private Integer firstSyncDeepenStep = 1000;
+
+        /**
+         * Time window of one resumable first sync attempt (seconds, 0 = unlimited); the rest continues on the next run
+         */
+        private Integer firstSyncWindowSeconds = 1800;
+
+        /**
+         * First-sync pushes advance each branch this many first-parent commits at a time before
+         * pushing tips and tags (0 = push everything at once)
+         */
+        private Integer firstSyncPushChunkCommits = 10000;
+
+        /**
+         * Worker threads of the fast lane (incremental syncs that usually finish quickly)
+         */
+        private Integer fastLaneConcurrency = 8;
+
+        /**
+         * Worker threads of the bulk lane (first syncs and historically slow syncs)
+         */
+        private Integer bulkLaneConcurrency = 2;
+
+        /**
+         * Worker threads of the webhook lane (syncs triggered by push events)
+         */
+        private Integer webhookLaneConcurrency = 4;
+
+        /**
+         * Tasks queued per lane before further submissions are rejected
+         */
+        private Integer laneQueueCapacity = 50;
+
+        /**
+         * Incremental syncs whose last run took at least this long (seconds) use the bulk lane
+         */
+        private Integer bulkLaneMinDurationSeconds = 120;
+
+        /**
+         * Clone, fetch and push transfers without new output or progress for this long are aborted (seconds)
+         */
+        private Integer transferStallTimeoutSeconds = 300;
+
+        /**
+         * Hard ceiling of a clone, fetch or push transfer that keeps making progress (seconds)
+         */
+        private Integer transferMaxSeconds = 21600;
+
         /**
          * Pull sync interval configuration
          */
@@ -229,10 +352,42 @@ public class GitLabMirrorProperties {
          */
         private Integer mirrorPollingBatchSize = 50;
 
+        /**
+         * Concurrent GitLab requests when polling mirror status
+         */
+        private Integer mirrorPollingConcurrency = 10;
+
+        /**
+         * Max polling cycles skipped for a mirror whose status is stable
+         * (skips double after each unchanged poll, up to this limit)
+         */
+        private Integer mirrorPollingMaxSkipCycles = 15;
+
         /**
          * API rate limit delay in milliseconds
          */
         private Integer apiRateLimitDelay = 100;
+
+        /**
+         * Run sync workers, API fan-out and process stream pumping on virtual threads
+         * (requires Java 21+, falls back to platform threads otherwise)
+         */
+        private Boolean virtualThreadsEnabled = false;
+
+        /**
+         * Concurrent GitLab API requests of a batch query fan-out
+         */
+        private Integer apiMaxConcurrency = 10;
+
+        /**
+         * Concurrent git-sync.sh processes (ls-remote, fetch, push, maintenance)
+         */
+        private Integer gitProcessMaxConcurrency = 32;
+
+        /**
+         * Characters of stdout/stderr kept per git-sync.sh process (last lines win)
+         */
+        private Integer gitOutputMaxChars = 65536;
     }
 
     /**
@@ -247,4 +402,73 @@ public class GitLabMirrorProperties {
         @NotBlank(message = "API key is required")
         private String key;
     }
+
+    /**
+     * Metrics Configuration
+     */
+    @Data
+    public static class MetricsConfig {
+        /**
+         * Register permanent per-project Prometheus series (project_key tag)
+         * Disabled by default: series count grows with project count, so
+         * per-project detail is served on demand via /api/monitor/metrics/project
+         */
+        private Boolean perProjectSeries = false;
+
+        /**
+         * Number of most-delayed projects exported as top-N series
+         */
+        private Integer topDelayedCount = 10;
+    }
+
+    /**
+     * Repository Maintenance Configuration
+     */
+    @Data
+    public static class MaintenanceConfig {
+        /**
+         * Enable background maintenance of local repositories
+         */
+        private Boolean enabled = true;
+
+        /**
+         * Run maintenance only outside sync peak hours
+         */
+        private Boolean offPeakOnly = true;
+
+        /**
+         * Skip a maintenance run while more sync tasks than this are executing
+         */
+        private Integer maxActiveSyncs = 1;
+
+        /**
+         * Maximum repositories maintained per run
+         */
+        private Integer maxReposPerRun = 10;
+
+        /**
+         * Wall-clock budget per run (seconds); remaining candidates wait for the next run
+         */
+        private Integer budgetSeconds = 300;
+
+        /**
+         * Threads used by git repack (pack.threads)
+         */
+        private Integer packThreads = 1;
+
+        /**
+         * Maintain after this many fetches since the last maintenance
+         */
+        private Integer minFetches = 50;
+
+        /**
+         * Maintain when the repository has at least this many packs
+         */
+        private Integer minPacks = 10;
+
+        /**
+         * Maintain when the repository has at least this many loose objects
+         */
+        private Integer minLooseObjects = 1000;
+    }
 }
@@ -1,11 +1,10 @@
 package com.gitlab.mirror.server.controller;
 
 import com.gitlab.mirror.server.entity.SyncEvent;
-import com.gitlab.mirror.server.entity.SyncProject;
 import com.gitlab.mirror.server.mapper.SyncEventMapper;
-import com.gitlab.mirror.server.mapper.SyncProjectMapper;
+import com.gitlab.mirror.server.service.DashboardStatsService;
+import com.gitlab.mirror.server.service.ProjectKeyCache;
 import com.gitlab.mirror.server.service.ProjectListService;
-import com.gitlab.mirror.server.controller.dto.ProjectListDTO;
 import com.gitlab.mirror.server.model.SyncStatistics;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import lombok.Data;
@@ -30,17 +29,17 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/dashboard")
 public class DashboardController {
 
-    private final SyncProjectMapper syncProjectMapper;
     private final SyncEventMapper syncEventMapper;
-    private final ProjectListService projectListService;
+    private final DashboardStatsService dashboardStatsService;
+    private final ProjectKeyCache projectKeyCache;
 
     public DashboardController(
-            SyncProjectMapper syncProjectMapper,
             SyncEventMapper syncEventMapper,
-            ProjectListService projectListService) {
-        this.syncProjectMapper = syncProjectMapper;
+            DashboardStatsService dashboardStatsService,
+            ProjectKeyCache projectKeyCache) {
         this.syncEventMapper = syncEventMapper;
-        this.projectListService = projectListService;
+        this.dashboardStatsService = dashboardStatsService;
+        this.projectKeyCache = projectKeyCache;
     }
 
     /**
@@ -53,17 +52,11 @@ public class DashboardController {
         log.info("Query dashboard stats");
 
         try {
-            List<SyncProject> allProjects = syncProjectMapper.selectList(null);
-
-            // Group by status and count
-            java.util.Map<String, Long> statusCounts = allProjects.stream()
-                    .collect(Collectors.groupingBy(
-                            p -> p.getSyncStatus() != null ? p.getSyncStatus() : "unknown",
-                            Collectors.counting()
-                    ));
+            // Served from in-memory stats, maintained incrementally on state transitions
+            java.util.Map<String, Long> statusCounts = dashboardStatsService.getStatusCounts();
 
             DynamicDashboardStats stats = new DynamicDashboardStats();
-            stats.setTotalProjects(allProjects.size());
+            stats.setTotalProjects(dashboardStatsService.getTotalProjects());
             stats.setStatusCounts(statusCounts);
 
             return ResponseEntity.ok(ApiResponse.success(stats));
@@ -83,14 +76,8 @@ public class DashboardController {
         log.info("Query status distribution");
 
         try {
-            List<SyncProject> allProjects = syncProjectMapper.selectList(null);
-
-            // Group by status and count, convert to list for chart display
-            java.util.List<StatusItem> distribution = allProjects.stream()
-                    .collect(Collectors.groupingBy(
-                            p -> p.getSyncStatus() != null ? p.getSyncStatus() : "unknown",
-                            Collectors.counting()
-                    ))
+            // Convert in-memory status counts to list for chart display
+            java.util.List<StatusItem> distribution = dashboardStatsService.getStatusCounts()
                     .entrySet()
                     .stream()
                     .map(entry -> new StatusItem(entry.getKey(), entry.getValue().intValue()))
@@ -115,25 +102,15 @@ public class DashboardController {
         log.info("Query top delayed projects - limit: {}", limit);
 
         try {
-            List<SyncProject> allProjects = syncProjectMapper.selectList(null);
-
-            // Build DTOs with delay info
-            List<ProjectListDTO> projectDTOs = allProjects.stream()
-                    .map(projectListService::buildProjectListDTO)
-                    .collect(Collectors.toList());
-
-            // Sort by delay and take top N (include projects with 0 delay, only filter null)
-            List<DelayedProject> topDelayed = projectDTOs.stream()
-                    .filter(dto -> dto.getDelaySeconds() != null)
-                    .sorted((a, b) -> Long.compare(b.getDelaySeconds(), a.getDelaySeconds()))
-                    .limit(limit)
-                    .map(dto -> {
+            // Top N from the in-memory delay index (projects without delay info are excluded)
+            List<DelayedProject> topDelayed = dashboardStatsService.getTopDelayed(limit).stream()
+                    .map(entry -> {
                         DelayedProject delayed = new DelayedProject();
-                        delayed.setProjectKey(dto.getProjectKey());
-                        delayed.setSyncProjectId(dto.getId());
-                        delayed.setDelaySeconds(dto.getDelaySeconds());
-                        delayed.setDelayFormatted(dto.getDelayFormatted());
-                        delayed.setSyncStatus(dto.getSyncStatus());
+                        delayed.setProjectKey(entry.getProjectKey());
+                        delayed.setSyncProjectId(entry.getSyncProjectId());
+                        delayed.setDelaySeconds(entry.getDelaySeconds());
+                        delayed.setDelayFormatted(ProjectListService.formatDelay(entry.getDelaySeconds()));
+                        delayed.setSyncStatus(entry.getSyncStatus());
                         return delayed;
                     })
                     .collect(Collectors.toList());
@@ -444,6 +421,12 @@ public class DashboardController {
 
             List<SyncEvent> events = syncEventMapper.selectList(queryWrapper);
 
+            // Resolve project keys in one batch
+            Map<Long, String> projectKeyMap = projectKeyCache.getProjectKeys(events.stream()
+                    .map(SyncEvent::getSyncProjectId)
+                    .distinct()
+                    .collect(Collectors.toList()));
+
             List<RecentEvent> recentEvents = events.stream()
                     .map(event -> {
                         RecentEvent recentEvent = new RecentEvent();
@@ -457,13 +440,7 @@ public class DashboardController {
                         recentEvent.setStatistics(event.getStatistics());
                         recentEvent.setErrorMessage(event.getErrorMessage());
 
-                        // Get project key
-                        if (event.getSyncProjectId() != null) {
-                            SyncProject project = syncProjectMapper.selectById(event.getSyncProjectId());
-                            if (project != null) {
-                                recentEvent.setProjectKey(project.getProjectKey());
-                            }
-                        }
+                        recentEvent.setProjectKey(projectKeyMap.get(event.getSyncProjectId()));
 
                         return recentEvent;
                     })
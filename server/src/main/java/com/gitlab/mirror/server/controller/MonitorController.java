@@ -4,6 +4,8 @@ import com.gitlab.mirror.server.entity.MonitorAlert;
 import com.gitlab.mirror.server.entity.SyncProject;
 import com.gitlab.mirror.server.mapper.MonitorAlertMapper;
 import com.gitlab.mirror.server.mapper.SyncProjectMapper;
+import com.gitlab.mirror.server.service.metrics.GitLabMirrorMetricsCollector;
+import com.gitlab.mirror.server.service.monitor.MetricsExporter;
 import com.gitlab.mirror.server.service.monitor.SyncMonitorService;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
@@ -31,14 +33,20 @@ public class MonitorController {
     private final SyncMonitorService syncMonitorService;
     private final MonitorAlertMapper monitorAlertMapper;
     private final SyncProjectMapper syncProjectMapper;
+    private final GitLabMirrorMetricsCollector metricsCollector;
+    private final MetricsExporter metricsExporter;
 
     public MonitorController(
             SyncMonitorService syncMonitorService,
             MonitorAlertMapper monitorAlertMapper,
-            SyncProjectMapper syncProjectMapper) {
+            SyncProjectMapper syncProjectMapper,
+            GitLabMirrorMetricsCollector metricsCollector,
+            MetricsExporter metricsExporter) {
         this.syncMonitorService = syncMonitorService;
         this.monitorAlertMapper = monitorAlertMapper;
         this.syncProjectMapper = syncProjectMapper;
+        this.metricsCollector = metricsCollector;
+        this.metricsExporter = metricsExporter;
     }
 
     /**
@@ -187,6 +195,49 @@ public class MonitorController {
         }
     }
 
+    /**
+     * Get metrics detail for a single project (replaces permanent per-project Prometheus series)
+     *
+     * GET /api/monitor/metrics/project?projectKey=group/project
+     */
+    @GetMapping("/metrics/project")
+    public ResponseEntity<ApiResponse<ProjectMetricsDetail>> getProjectMetrics(@RequestParam String projectKey) {
+        log.debug("Query project metrics: {}", projectKey);
+
+        GitLabMirrorMetricsCollector.ProjectMetricsSnapshot sync = metricsCollector.getProjectSnapshot(projectKey);
+        Map<String, Object> repository = metricsExporter.getProjectMetrics(projectKey);
+        if (sync == null && repository == null) {
+            return ResponseEntity.ok(ApiResponse.error("No metrics recorded for project: " + projectKey));
+        }
+
+        ProjectMetricsDetail detail = new ProjectMetricsDetail();
+        detail.setProjectKey(projectKey);
+        detail.setSync(sync);
+        detail.setRepository(repository);
+        return ResponseEntity.ok(ApiResponse.success(detail));
+    }
+
+    /**
+     * Get most delayed projects
+     *
+     * GET /api/monitor/metrics/top-delayed?limit=10
+     */
+    @GetMapping("/metrics/top-delayed")
+    public ResponseEntity<ApiResponse<List<GitLabMirrorMetricsCollector.ProjectMetricsSnapshot>>> getTopDelayed(
+            @RequestParam(defaultValue = "10") Integer limit) {
+        return ResponseEntity.ok(ApiResponse.success(metricsCollector.getTopDelayedProjects(limit)));
+    }
+
+    /**
+     * Project Metrics Detail DTO
+     */
+    @Data
+    public static class ProjectMetricsDetail {
+        private String projectKey;
+        private GitLabMirrorMetricsCollector.ProjectMetricsSnapshot sync;
+        private Map<String, Object> repository;
+    }
+
     /**
      * Monitor Status DTO
      */
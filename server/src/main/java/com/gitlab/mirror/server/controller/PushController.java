@@ -0,0 +1,92 @@
+package com.gitlab.mirror.server.controller;
+
+import com.gitlab.mirror.server.api.dto.ApiResponse;
+import com.gitlab.mirror.server.entity.User;
+import com.gitlab.mirror.server.service.StatusPushService;
+import com.gitlab.mirror.server.service.auth.PushTicketService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Push Controller
+ * <p>
+ * Server-sent events stream for task, sync, project and alert changes,
+ * so the web UI subscribes once instead of polling dashboard endpoints.
+ *
+ * @author GitLab Mirror Team
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/push")
+public class PushController {
+
+    private final StatusPushService statusPushService;
+    private final PushTicketService pushTicketService;
+
+    public PushController(StatusPushService statusPushService, PushTicketService pushTicketService) {
+        this.statusPushService = statusPushService;
+        this.pushTicketService = pushTicketService;
+    }
+
+    /**
+     * Issue a single-use ticket for opening the stream
+     *
+     * POST /api/push/ticket
+     * <p>
+     * EventSource cannot set headers, so the client fetches a short-lived ticket
+     * with its Authorization header and passes it as the {@code ticket} query
+     * parameter of the stream. Every (re)connect needs a new ticket.
+     */
+    @PostMapping("/ticket")
+    public ResponseEntity<ApiResponse<Map<String, String>>> issueTicket(HttpServletRequest request) {
+        User user = (User) request.getAttribute("currentUser");
+        String ticket = pushTicketService.issue(user);
+        return ResponseEntity.ok(ApiResponse.success(Map.of("ticket", ticket)));
+    }
+
+    /**
+     * Subscribe to change events
+     *
+     * GET /api/push/stream?ticket=...&topics=task,sync,project,alert
+     * <p>
+     * Events after the {@code Last-Event-ID} header (or the {@code lastEventId}
+     * parameter, for clients reconnecting with a new EventSource) are replayed
+     * while still buffered; otherwise a {@code reset} event asks the client to
+     * reload the full state.
+     *
+     * @param topics          Comma-separated topics (default: all)
+     * @param lastEventHeader Last event ID seen by the client (sent by EventSource on reconnect)
+     * @param lastEventId     Last event ID seen by the client
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(required = false) String topics,
+                             @RequestHeader(value = "Last-Event-ID", required = false) String lastEventHeader,
+                             @RequestParam(required = false) String lastEventId) {
+        Set<String> requested = topics == null ? Set.of() : Arrays.stream(topics.split(","))
+                .map(String::trim)
+                .filter(StatusPushService.ALL_TOPICS::contains)
+                .collect(Collectors.toSet());
+        return statusPushService.subscribe(requested, parseEventId(lastEventHeader != null ? lastEventHeader : lastEventId));
+    }
+
+    private Long parseEventId(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            log.debug("Ignoring invalid last event ID: {}", value);
+            return null;
+        }
+    }
+}
@@ -14,6 +14,9 @@ import com.gitlab.mirror.server.mapper.PullSyncConfigMapper;
 import com.gitlab.mirror.server.mapper.SourceProjectInfoMapper;
 import com.gitlab.mirror.server.mapper.SyncProjectMapper;
 import com.gitlab.mirror.server.service.BranchSnapshotService;
+import com.gitlab.mirror.server.service.DashboardStatsService;
+import com.gitlab.mirror.server.service.DiskManagementService;
+import com.gitlab.mirror.server.service.ProjectKeyCache;
 import com.gitlab.mirror.server.service.ProjectListService;
 import com.gitlab.mirror.server.service.PullSyncExecutorService;
 import com.gitlab.mirror.server.service.SyncTaskService;
@@ -60,6 +63,9 @@ public class SyncController {
     private final PullSyncConfigMapper pullSyncConfigMapper;
     private final SyncTaskService syncTaskService;
     private final com.gitlab.mirror.server.mapper.SyncResultMapper syncResultMapper;
+    private final DashboardStatsService dashboardStatsService;
+    private final ProjectKeyCache projectKeyCache;
+    private final DiskManagementService diskManagementService;
 
     public SyncController(
             UnifiedProjectMonitor unifiedProjectMonitor,
@@ -72,7 +78,10 @@ public class SyncController {
             PullSyncExecutorService pullSyncExecutorService,
             PullSyncConfigMapper pullSyncConfigMapper,
             SyncTaskService syncTaskService,
-            com.gitlab.mirror.server.mapper.SyncResultMapper syncResultMapper) {
+            com.gitlab.mirror.server.mapper.SyncResultMapper syncResultMapper,
+            DashboardStatsService dashboardStatsService,
+            ProjectKeyCache projectKeyCache,
+            DiskManagementService diskManagementService) {
         this.unifiedProjectMonitor = unifiedProjectMonitor;
         this.syncProjectMapper = syncProjectMapper;
         this.diffCalculator = diffCalculator;
@@ -84,6 +93,9 @@ public class SyncController {
         this.pullSyncConfigMapper = pullSyncConfigMapper;
         this.syncTaskService = syncTaskService;
         this.syncResultMapper = syncResultMapper;
+        this.dashboardStatsService = dashboardStatsService;
+        this.projectKeyCache = projectKeyCache;
+        this.diskManagementService = diskManagementService;
     }
 
     /**
@@ -1100,6 +1112,7 @@ public class SyncController {
                 project.setErrorMessage(null);
                 project.setSyncStatus(SyncProject.SyncStatus.PENDING);
                 syncProjectMapper.updateById(project);
+                dashboardStatsService.onProjectStatusChanged(project);
                 log.info("Cleared error state for project: {}", project.getProjectKey());
             }
 
@@ -1137,6 +1150,7 @@ public class SyncController {
                     project.setEnabled(false);
                     project.setSyncStatus("paused");
                     syncProjectMapper.updateById(project);
+                    dashboardStatsService.onProjectStatusChanged(project);
 
                     // Disable sync task
                     SyncTask task = syncTaskService.getTaskBySyncProjectId(projectId);
@@ -1195,6 +1209,7 @@ public class SyncController {
                     project.setEnabled(true);
                     project.setSyncStatus("active");
                     syncProjectMapper.updateById(project);
+                    dashboardStatsService.onProjectStatusChanged(project);
 
                     // Re-enable sync task
                     SyncTask task = syncTaskService.getTaskBySyncProjectId(projectId);
@@ -1261,8 +1276,13 @@ public class SyncController {
                         log.info("Deleted sync task for deleted project: {}", project.getProjectKey());
                     }
 
+                    // Release the project's refs in its fork family object pool
+                    diskManagementService.releaseObjectPoolMember(projectId);
+
                     // Delete project
                     syncProjectMapper.deleteById(projectId);
+                    dashboardStatsService.onProjectRemoved(projectId);
+                    projectKeyCache.invalidate(projectId);
                     successList.add(project.getProjectKey());
                 } catch (Exception e) {
                     failedList.add("Project ID " + projectId + ": " + e.getMessage());
@@ -7,6 +7,7 @@ import com.gitlab.mirror.server.entity.SyncProject;
 import com.gitlab.mirror.server.mapper.SyncEventMapper;
 import com.gitlab.mirror.server.mapper.SyncProjectMapper;
 import com.gitlab.mirror.server.service.BranchSnapshotService;
+import com.gitlab.mirror.server.service.ProjectKeyCache;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
@@ -38,13 +39,16 @@ public class SyncEventController {
     private final SyncEventMapper syncEventMapper;
     private final SyncProjectMapper syncProjectMapper;
     private final BranchSnapshotService branchSnapshotService;
+    private final ProjectKeyCache projectKeyCache;
 
     public SyncEventController(SyncEventMapper syncEventMapper,
                                SyncProjectMapper syncProjectMapper,
-                               BranchSnapshotService branchSnapshotService) {
+                               BranchSnapshotService branchSnapshotService,
+                               ProjectKeyCache projectKeyCache) {
         this.syncEventMapper = syncEventMapper;
         this.syncProjectMapper = syncProjectMapper;
         this.branchSnapshotService = branchSnapshotService;
+        this.projectKeyCache = projectKeyCache;
     }
 
     /**
@@ -124,18 +128,10 @@ public class SyncEventController {
                     .distinct()
                     .collect(Collectors.toList());
 
-            // Fetch project keys in batch
-            Map<Long, String> projectKeyMap = Map.of();
-            if (!syncProjectIds.isEmpty()) {
-                QueryWrapper<SyncProject> projectQuery = new QueryWrapper<>();
-                projectQuery.in("id", syncProjectIds);
-                List<SyncProject> projects = syncProjectMapper.selectList(projectQuery);
-                projectKeyMap = projects.stream()
-                        .collect(Collectors.toMap(SyncProject::getId, SyncProject::getProjectKey));
-            }
+            // Fetch project keys in batch (cached, misses loaded with one IN query)
+            Map<Long, String> finalProjectKeyMap = projectKeyCache.getProjectKeys(syncProjectIds);
 
             // Build result items
-            Map<Long, String> finalProjectKeyMap = projectKeyMap;
             List<EventListItem> items = pageResult.getRecords().stream()
                     .map(event -> {
                         EventListItem item = new EventListItem();
@@ -197,12 +193,7 @@ public class SyncEventController {
             basicInfo.setDurationSeconds(event.getDurationSeconds());
 
             // Get project key
-            if (event.getSyncProjectId() != null) {
-                SyncProject project = syncProjectMapper.selectById(event.getSyncProjectId());
-                if (project != null) {
-                    basicInfo.setProjectKey(project.getProjectKey());
-                }
-            }
+            basicInfo.setProjectKey(projectKeyCache.getProjectKey(event.getSyncProjectId()));
 
             details.setEvent(basicInfo);
             details.setDetails(event.getEventData());
@@ -247,16 +238,11 @@ public class SyncEventController {
             dto.setStatistics(event.getStatistics());
 
             // Get project key
-            SyncProject project = null;
-            if (event.getSyncProjectId() != null) {
-                project = syncProjectMapper.selectById(event.getSyncProjectId());
-                if (project != null) {
-                    dto.setProjectKey(project.getProjectKey());
-                }
-            }
+            String projectKey = projectKeyCache.getProjectKey(event.getSyncProjectId());
+            dto.setProjectKey(projectKey);
 
             // Add branch information for successful sync events
-            if (project != null && "success".equalsIgnoreCase(event.getStatus())) {
+            if (projectKey != null && "success".equalsIgnoreCase(event.getStatus())) {
                 List<ProjectBranchSnapshot> allBranches = branchSnapshotService.getBranchSnapshots(
                         event.getSyncProjectId(),
                         ProjectBranchSnapshot.ProjectType.SOURCE
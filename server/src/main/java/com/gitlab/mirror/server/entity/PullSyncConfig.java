@@ -47,6 +47,49 @@ public class PullSyncConfig {
     @TableField("local_repo_path")
     private String localRepoPath;
 
+    /**
+     * Whether a resumable first sync was paused before it finished
+     * (the repository at local_repo_path is partial until it is cleared)
+     */
+    @TableField("first_sync_pending")
+    private Boolean firstSyncPending;
+
+    /**
+     * Local repository size in bytes (updated after sync/gc)
+     */
+    @TableField("repo_size_bytes")
+    private Long repoSizeBytes;
+
+    /**
+     * Time the repository size was last measured
+     */
+    @TableField("repo_size_updated_at")
+    private LocalDateTime repoSizeUpdatedAt;
+
+    /**
+     * Number of pack files (updated after sync/maintenance)
+     */
+    @TableField("pack_count")
+    private Integer packCount;
+
+    /**
+     * Number of loose objects (updated after sync/maintenance)
+     */
+    @TableField("loose_object_count")
+    private Integer looseObjectCount;
+
+    /**
+     * Fetches since the last repository maintenance
+     */
+    @TableField("fetches_since_maintenance")
+    private Integer fetchesSinceMaintenance;
+
+    /**
+     * Last repository maintenance time
+     */
+    @TableField("last_maintenance_at")
+    private LocalDateTime lastMaintenanceAt;
+
     /**
      * Created time (auto-fill on insert)
      */
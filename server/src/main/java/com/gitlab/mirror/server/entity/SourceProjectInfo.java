@@ -119,6 +119,12 @@ public class SourceProjectInfo {
     @TableField("fork_count")
     private Integer forkCount;
 
+    /**
+     * GitLab project ID this project was forked from (null if not a fork)
+     */
+    @TableField("forked_from_project_id")
+    private Long forkedFromProjectId;
+
     /**
      * Last activity timestamp
      */
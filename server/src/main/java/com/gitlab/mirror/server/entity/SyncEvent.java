@@ -125,6 +125,7 @@ public class SyncEvent {
         public static final String MIRROR_UPDATED = "mirror_updated";
         public static final String TASK_BLOCKED = "task_blocked";
         public static final String TASK_RECOVERED = "task_recovered";
+        public static final String REPO_MAINTENANCE = "repo_maintenance";
     }
 
     /**
@@ -1,18 +1,19 @@
 package com.gitlab.mirror.server.executor;
 
+import com.gitlab.mirror.server.config.properties.GitLabMirrorProperties;
+import com.gitlab.mirror.server.util.VirtualThreads;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Semaphore;
 
 /**
  * Git Command Executor
@@ -29,17 +30,46 @@ public class GitCommandExecutor {
     private static final int REMOTE_SHA_TIMEOUT_SECONDS = 30;    // ls-remote - quick network call
     private static final int LOCAL_SHA_TIMEOUT_SECONDS = 10;     // local git operations
     private static final int CHECK_CHANGES_TIMEOUT_SECONDS = 60; // ls-remote + local SHA
-    private static final int SYNC_TIMEOUT_SECONDS = 300;         // git push/pull - 5 minutes
-    private static final int CLONE_TIMEOUT_SECONDS = 1800;       // git clone - 30 minutes
     private static final int VERIFY_TIMEOUT_SECONDS = 120;       // git fsck - 2 minutes
     private static final int CLEANUP_TIMEOUT_SECONDS = 300;      // git gc - 5 minutes
+    private static final int MAINTAIN_TIMEOUT_SECONDS = 600;     // incremental repack - 10 minutes
 
     private static final String SCRIPT_NAME = "git-sync.sh";
 
     private final String scriptPath;
+    private final GitProcessRunner processRunner;
+    private final Semaphore processPermits;
+    private final int transferStallSeconds;
+    private final int transferMaxSeconds;
+    private final int pushChunkCommits;
 
-    public GitCommandExecutor() throws IOException {
+    public GitCommandExecutor(GitLabMirrorProperties properties) throws IOException {
         this.scriptPath = extractScript();
+
+        // Stream pumps only block on pipe reads, virtual threads when enabled
+        boolean virtual = VirtualThreads.resolve(
+            Boolean.TRUE.equals(properties.getPerformance().getVirtualThreadsEnabled()), "git stream pumps");
+        Integer maxOutputChars = properties.getPerformance().getGitOutputMaxChars();
+        this.processRunner = new GitProcessRunner(virtual,
+            maxOutputChars != null && maxOutputChars > 0 ? maxOutputChars : 65536);
+
+        Integer maxProcesses = properties.getPerformance().getGitProcessMaxConcurrency();
+        this.processPermits = new Semaphore(maxProcesses != null && maxProcesses > 0 ? maxProcesses : 32);
+
+        // Transfers are bounded by stalled progress rather than a fixed duration
+        Integer stallSeconds = properties.getSync().getTransferStallTimeoutSeconds();
+        this.transferStallSeconds = stallSeconds != null && stallSeconds > 0 ? stallSeconds : 300;
+        Integer maxSeconds = properties.getSync().getTransferMaxSeconds();
+        this.transferMaxSeconds = maxSeconds != null && maxSeconds > 0 ? maxSeconds : 21600;
+
+        // First-sync pushes of long histories are split so no single push exceeds target limits
+        Integer chunkCommits = properties.getSync().getFirstSyncPushChunkCommits();
+        this.pushChunkCommits = chunkCommits != null && chunkCommits > 0 ? chunkCommits : 0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        processRunner.shutdown();
     }
 
     /**
@@ -53,29 +83,43 @@ public class GitCommandExecutor {
         public final Map<String, String> parsedData;
 
         public GitResult(boolean success, String output, String error, int exitCode) {
+            this(success, output, error, exitCode, parseOutput(output));
+        }
+
+        public GitResult(boolean success, String output, String error, int exitCode, Map<String, String> parsedData) {
             this.success = success;
             this.output = output;
             this.error = error;
             this.exitCode = exitCode;
-            this.parsedData = parseOutput(output);
+            this.parsedData = parsedData;
         }
 
-        private Map<String, String> parseOutput(String output) {
+        private static Map<String, String> parseOutput(String output) {
             Map<String, String> data = new HashMap<>();
             if (output != null) {
-                String[] lines = output.split("\n");
-                for (String line : lines) {
-                    if (line.contains("=")) {
-                        String[] parts = line.split("=", 2);
-                        if (parts.length == 2) {
-                            data.put(parts[0].trim(), parts[1].trim());
-                        }
+                for (String line : output.split("\n")) {
+                    String[] marker = parseMarker(line);
+                    if (marker != null) {
+                        data.put(marker[0], marker[1]);
                     }
                 }
             }
             return data;
         }
 
+        /**
+         * Parse a {@code KEY=VALUE} output line
+         *
+         * @return {key, value}, or null if the line is no marker
+         */
+        static String[] parseMarker(String line) {
+            int separator = line.indexOf('=');
+            if (separator < 0) {
+                return null;
+            }
+            return new String[]{line.substring(0, separator).trim(), line.substring(separator + 1).trim()};
+        }
+
         public boolean isSuccess() {
             return success;
         }
@@ -96,6 +140,18 @@ public class GitCommandExecutor {
             return parsedData.get(key);
         }
 
+        public Long getParsedLong(String key) {
+            String value = parsedData.get(key);
+            if (value == null) {
+                return null;
+            }
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
         public boolean hasChanges() {
             return "true".equalsIgnoreCase(parsedData.get("HAS_CHANGES"));
         }
@@ -148,7 +204,7 @@ public class GitCommandExecutor {
     public GitResult cloneMirror(String sourceUrl, String localPath) {
         log.info("Cloning mirror repository to {}", localPath);
 
-        return executeScript("clone-mirror", CLONE_TIMEOUT_SECONDS, sourceUrl, localPath);
+        return executeTransfer("clone-mirror", null, sourceUrl, localPath);
     }
 
     /**
@@ -173,14 +229,32 @@ public class GitCommandExecutor {
      * @return Execution result
      */
     public GitResult syncIncremental(String sourceUrl, String targetUrl, String localPath) {
+        return syncIncremental(sourceUrl, targetUrl, localPath, null);
+    }
+
+    /**
+     * Perform incremental sync, reporting markers and progress while it runs
+     *
+     * @param sourceUrl Source repository URL
+     * @param targetUrl Target repository URL
+     * @param localPath Local repository path
+     * @param listener  Output listener (optional)
+     * @return Execution result
+     */
+    public GitResult syncIncremental(String sourceUrl, String targetUrl, String localPath,
+                                     GitProcessListener listener) {
         log.info("Performing incremental sync at {}", localPath);
 
-        return executeScript("sync-incremental", SYNC_TIMEOUT_SECONDS,
+        return executeTransfer("sync-incremental", listener,
             sourceUrl, targetUrl, localPath);
     }
 
     /**
      * Perform first sync (clone + push)
+     * <p>
+     * With a push chunk size configured, each branch is first pushed along its first-parent
+     * history in steps of that many commits, then all tips and tags. Every step only sends
+     * what the target lacks, so a retry after a rejected push repeats only that step.
      *
      * @param sourceUrl Source repository URL
      * @param targetUrl Target repository URL
@@ -188,10 +262,76 @@ public class GitCommandExecutor {
      * @return Execution result
      */
     public GitResult syncFirst(String sourceUrl, String targetUrl, String localPath) {
-        log.info("Performing first sync to {}", localPath);
+        return syncFirst(sourceUrl, targetUrl, localPath, null, null);
+    }
 
-        return executeScript("sync-first", CLONE_TIMEOUT_SECONDS,
-            sourceUrl, targetUrl, localPath);
+    /**
+     * Perform first sync borrowing objects from a shared pool repository
+     * <p>
+     * The clone references the pool via objects/info/alternates, so objects already
+     * in the pool are neither transferred nor stored again. The new repository's
+     * refs are then fetched into the pool for later members of the fork family.
+     *
+     * @param sourceUrl Source repository URL
+     * @param targetUrl Target repository URL
+     * @param localPath Local repository path
+     * @param poolPath  Object pool repository path (created if missing)
+     * @return GitResult with sync details
+     */
+    public GitResult syncFirst(String sourceUrl, String targetUrl, String localPath, String poolPath) {
+        return syncFirst(sourceUrl, targetUrl, localPath, poolPath, null);
+    }
+
+    /**
+     * Perform first sync with an object pool, reporting markers and progress while it runs
+     *
+     * @param sourceUrl Source repository URL
+     * @param targetUrl Target repository URL
+     * @param localPath Local repository path
+     * @param poolPath  Object pool repository path (created if missing, null for no pool)
+     * @param listener  Output listener (optional)
+     * @return GitResult with sync details
+     */
+    public GitResult syncFirst(String sourceUrl, String targetUrl, String localPath, String poolPath,
+                               GitProcessListener listener) {
+        if (poolPath == null) {
+            log.info("Performing first sync to {}", localPath);
+        } else {
+            log.info("Performing first sync to {} with object pool {}", localPath, poolPath);
+        }
+
+        return executeTransfer("sync-first", listener,
+            sourceUrl, targetUrl, localPath, poolPath != null ? poolPath : "", String.valueOf(pushChunkCommits));
+    }
+
+    /**
+     * Perform a first sync that can be interrupted and resumed
+     * <p>
+     * Refs are fetched in batches into a bare repository that is kept between attempts,
+     * so a later call only fetches what is still missing. With a deepening step, new refs
+     * are fetched shallow and deepened step by step. Once the time window is used up the
+     * script stops between steps and reports {@code FIRST_SYNC_COMPLETE=false}; only a
+     * complete fetch is pushed to the target (in chunks, like {@link #syncFirst}).
+     *
+     * @param sourceUrl     Source repository URL
+     * @param targetUrl     Target repository URL
+     * @param localPath     Local repository path (reused if a previous attempt left it)
+     * @param poolPath      Object pool repository path (null for no pool)
+     * @param refBatchSize  Refs fetched per step
+     * @param deepenStep    Commits per deepening step (0 = full history per batch)
+     * @param windowSeconds Time window of this attempt (0 = unlimited)
+     * @param listener      Output listener (optional)
+     * @return GitResult with FIRST_SYNC_COMPLETE and, when complete, the sync details
+     */
+    public GitResult syncFirstResumable(String sourceUrl, String targetUrl, String localPath, String poolPath,
+                                        int refBatchSize, int deepenStep, int windowSeconds,
+                                        GitProcessListener listener) {
+        log.info("Performing resumable first sync to {} (refBatch={}, deepenStep={}, window={}s)",
+            localPath, refBatchSize, deepenStep, windowSeconds);
+
+        return executeTransfer("sync-first-resumable", listener,
+            sourceUrl, targetUrl, localPath, String.valueOf(refBatchSize), String.valueOf(deepenStep),
+            String.valueOf(windowSeconds), poolPath != null ? poolPath : "", String.valueOf(pushChunkCommits));
     }
 
     /**
@@ -287,6 +427,45 @@ public class GitCommandExecutor {
         return cleanup(localPath);
     }
 
+    /**
+     * Run incremental maintenance (geometric repack, multi-pack-index,
+     * commit-graph, pack-refs) at low CPU priority
+     *
+     * @param localPath   Local repository path
+     * @param packThreads Threads used by git repack
+     * @return Execution result with *_BEFORE / *_AFTER repository stats
+     */
+    public GitResult maintainRepository(String localPath, int packThreads) {
+        log.info("Running maintenance on {}", localPath);
+
+        return executeScript("maintain", MAINTAIN_TIMEOUT_SECONDS, localPath, String.valueOf(packThreads));
+    }
+
+    /**
+     * Remove a member repository's refs from a fork family object pool
+     *
+     * @param poolPath  Pool repository path
+     * @param localPath Member repository path
+     * @return Execution result with REMOVED_REFS
+     */
+    public GitResult removePoolMember(String poolPath, String localPath) {
+        log.info("Removing {} from object pool {}", localPath, poolPath);
+
+        return executeScript("pool-remove-member", LOCAL_SHA_TIMEOUT_SECONDS, poolPath, localPath);
+    }
+
+    /**
+     * Get repository size from object database stats (git count-objects)
+     *
+     * @param localPath Local repository path
+     * @return Execution result with REPO_SIZE_KB, PACK_COUNT, LOOSE_OBJECTS
+     */
+    public GitResult getRepositorySize(String localPath) {
+        log.debug("Getting repository size at {}", localPath);
+
+        return executeScript("repo-size", LOCAL_SHA_TIMEOUT_SECONDS, localPath);
+    }
+
     /**
      * Check if directory is a valid git repository
      *
@@ -338,6 +517,49 @@ public class GitCommandExecutor {
      * @return Execution result
      */
     private GitResult executeScript(String command, int timeoutSeconds, String... args) {
+        return executeScript(command, timeoutSeconds, null, args);
+    }
+
+    /**
+     * Execute shell script command, streaming markers and progress to a listener
+     *
+     * @param command        Script command
+     * @param timeoutSeconds Timeout in seconds
+     * @param listener       Output listener (optional)
+     * @param args           Command arguments
+     * @return Execution result
+     */
+    private GitResult executeScript(String command, int timeoutSeconds, GitProcessListener listener, String... args) {
+        return executeScript(command, timeoutSeconds, 0, listener, args);
+    }
+
+    /**
+     * Execute a script command that transfers objects (clone, fetch, push)
+     * <p>
+     * Instead of a fixed timeout the process is aborted once it stops producing output
+     * or advancing progress for the stall timeout; the maximum duration is only a ceiling.
+     *
+     * @param command  Script command
+     * @param listener Output listener (optional)
+     * @param args     Command arguments
+     * @return Execution result
+     */
+    private GitResult executeTransfer(String command, GitProcessListener listener, String... args) {
+        return executeScript(command, transferMaxSeconds, transferStallSeconds, listener, args);
+    }
+
+    /**
+     * Execute shell script command with an optional stall timeout
+     *
+     * @param command             Script command
+     * @param timeoutSeconds      Timeout in seconds
+     * @param stallTimeoutSeconds Seconds without output or progress before aborting (0 = disabled)
+     * @param listener            Output listener (optional)
+     * @param args                Command arguments
+     * @return Execution result
+     */
+    private GitResult executeScript(String command, int timeoutSeconds, int stallTimeoutSeconds,
+                                    GitProcessListener listener, String... args) {
         // Use bash explicitly to support bash features like declare -A
         String[] fullCommand = new String[args.length + 3];
         fullCommand[0] = "bash";
@@ -345,67 +567,32 @@ public class GitCommandExecutor {
         fullCommand[2] = command;
         System.arraycopy(args, 0, fullCommand, 3, args.length);
 
-        ProcessBuilder pb = new ProcessBuilder(fullCommand);
-        pb.redirectErrorStream(false);
-
-        StringBuilder output = new StringBuilder();
-        StringBuilder error = new StringBuilder();
-        int exitCode = -1;
-
         try {
-            Process process = pb.start();
-
-            // Read stdout
-            Thread outputThread = new Thread(() -> {
-                try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        output.append(line).append("\n");
-                    }
-                } catch (IOException e) {
-                    log.error("Error reading process output", e);
-                }
-            });
-
-            // Read stderr
-            Thread errorThread = new Thread(() -> {
-                try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getErrorStream()))) {
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        error.append(line).append("\n");
-                    }
-                } catch (IOException e) {
-                    log.error("Error reading process error", e);
-                }
-            });
-
-            outputThread.start();
-            errorThread.start();
-
-            boolean completed = process.waitFor(timeoutSeconds, TimeUnit.SECONDS);
-
-            if (!completed) {
-                process.destroyForcibly();
-                log.error("Script timed out after {} seconds: {}", timeoutSeconds, command);
-                return new GitResult(false, output.toString(), "Script timed out", -1);
-            }
-
-            outputThread.join(1000);
-            errorThread.join(1000);
+            processPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new GitResult(false, "", "Interrupted while waiting for a git process slot", -1);
+        }
 
-            exitCode = process.exitValue();
-            boolean success = (exitCode == 0);
+        try {
+            GitResult result = processRunner.run(fullCommand, timeoutSeconds, stallTimeoutSeconds, listener);
 
-            if (!success) {
+            if (!result.isSuccess() && result.getExitCode() != -1) {
                 log.error("Script failed with exit code {}: {}\nError: {}",
-                    exitCode, command, error.toString());
+                    result.getExitCode(), command, result.getError());
             }
 
-            return new GitResult(success, output.toString(), error.toString(), exitCode);
+            return result;
 
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while executing script: {}", command);
+            return new GitResult(false, "", "Interrupted", -1);
         } catch (Exception e) {
             log.error("Failed to execute script: {}", command, e);
-            return new GitResult(false, output.toString(), e.getMessage(), exitCode);
+            return new GitResult(false, "", e.getMessage(), -1);
+        } finally {
+            processPermits.release();
         }
     }
 
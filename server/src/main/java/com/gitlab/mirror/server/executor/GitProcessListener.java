@@ -0,0 +1,24 @@
+package com.gitlab.mirror.server.executor;
+
+/**
+ * Git Process Listener
+ * <p>
+ * Receives the structured output of a running git-sync.sh process as it streams.
+ * Called on the stream pump threads, implementations must be thread-safe and fast.
+ *
+ * @author GitLab Mirror Team
+ */
+public interface GitProcessListener {
+
+    /**
+     * A {@code KEY=VALUE} marker printed on stdout
+     */
+    default void onMarker(String key, String value) {
+    }
+
+    /**
+     * A git transfer progress update printed on stderr
+     */
+    default void onProgress(GitProgress progress) {
+    }
+}
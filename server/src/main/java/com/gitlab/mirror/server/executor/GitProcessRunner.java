@@ -0,0 +1,281 @@
+package com.gitlab.mirror.server.executor;
+
+import com.gitlab.mirror.server.util.VirtualThreads;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Git Process Runner
+ * <p>
+ * Runs a process and pumps its stdout and stderr on a shared pool instead of two
+ * new threads per process. Output is handled line by line as it streams:
+ * {@code KEY=VALUE} markers on stdout and progress updates on stderr are parsed
+ * immediately and passed to an optional {@link GitProcessListener}, while the
+ * captured text keeps only the last lines up to a size cap per stream. Progress
+ * updates are not captured, so a long push cannot fill memory with them.
+ * <p>
+ * Besides the overall timeout, a run can be given a stall timeout: the process is
+ * killed once it has gone that long without new output or advancing progress, so a
+ * hung transfer is aborted early while a slow but moving one may run for hours.
+ *
+ * @author GitLab Mirror Team
+ */
+@Slf4j
+public class GitProcessRunner {
+
+    private static final int MAX_LINE_CHARS = 8192;
+    private static final long PUMP_DRAIN_MILLIS = 1000;
+    private static final long WAIT_POLL_MILLIS = 1000;
+
+    private final ExecutorService pumpPool;
+    private final int maxCaptureChars;
+
+    /**
+     * @param virtualThreads  Pump on virtual threads (falls back to a platform thread pool)
+     * @param maxCaptureChars Captured characters kept per stream
+     */
+    public GitProcessRunner(boolean virtualThreads, int maxCaptureChars) {
+        ExecutorService virtualPool = virtualThreads ? VirtualThreads.newThreadPerTaskExecutor("git-pump-") : null;
+        this.pumpPool = virtualPool != null ? virtualPool
+                : Executors.newCachedThreadPool(VirtualThreads.threadFactory("git-pump-", false));
+        this.maxCaptureChars = maxCaptureChars;
+    }
+
+    /**
+     * Run a process to completion or timeout
+     *
+     * @param command        Command line
+     * @param timeoutSeconds Timeout in seconds, the process is killed afterwards
+     * @param listener       Output listener (optional)
+     * @return Execution result with captured output and parsed markers
+     */
+    public GitCommandExecutor.GitResult run(String[] command, int timeoutSeconds, GitProcessListener listener)
+            throws IOException, InterruptedException {
+        return run(command, timeoutSeconds, 0, listener);
+    }
+
+    /**
+     * Run a process to completion, timeout or stall
+     *
+     * @param command             Command line
+     * @param timeoutSeconds      Timeout in seconds, the process is killed afterwards
+     * @param stallTimeoutSeconds Seconds without output or progress before the process is killed (0 = disabled)
+     * @param listener            Output listener (optional)
+     * @return Execution result with captured output and parsed markers
+     */
+    public GitCommandExecutor.GitResult run(String[] command, int timeoutSeconds, int stallTimeoutSeconds,
+                                            GitProcessListener listener)
+            throws IOException, InterruptedException {
+        ProcessBuilder pb = new ProcessBuilder(command);
+        pb.redirectErrorStream(false);
+
+        OutputTail output = new OutputTail(maxCaptureChars);
+        OutputTail error = new OutputTail(maxCaptureChars);
+        Map<String, String> markers = new ConcurrentHashMap<>();
+        AtomicLong lastActivity = new AtomicLong(System.nanoTime());
+        AtomicReference<GitProgress> lastProgress = new AtomicReference<>();
+
+        Process process = pb.start();
+
+        Future<?> outputPump = pumpPool.submit(() -> pump(process.getInputStream(), line -> {
+            lastActivity.set(System.nanoTime());
+            output.append(line);
+            String[] marker = GitCommandExecutor.GitResult.parseMarker(line);
+            if (marker != null) {
+                markers.put(marker[0], marker[1]);
+                if (listener != null) {
+                    listener.onMarker(marker[0], marker[1]);
+                }
+            }
+        }));
+        Future<?> errorPump = pumpPool.submit(() -> pump(process.getErrorStream(), line -> {
+            GitProgress progress = GitProgress.parse(line);
+            if (progress == null) {
+                lastActivity.set(System.nanoTime());
+                error.append(line);
+                return;
+            }
+            // Git redraws the same progress line while a transfer hangs; only real advances count
+            if (progress.advancedFrom(lastProgress.getAndSet(progress))) {
+                lastActivity.set(System.nanoTime());
+            }
+            if (listener != null) {
+                listener.onProgress(progress);
+            }
+        }));
+
+        String abortReason;
+        try {
+            abortReason = awaitExit(process, timeoutSeconds, stallTimeoutSeconds, lastActivity);
+        } catch (InterruptedException e) {
+            destroyTree(process);
+            closeQuietly(process.getInputStream());
+            closeQuietly(process.getErrorStream());
+            throw e;
+        }
+        if (abortReason != null) {
+            destroyTree(process);
+        }
+        // The pumps end at EOF, which follows process exit; wait briefly for the last lines
+        awaitPump(outputPump, process.getInputStream());
+        awaitPump(errorPump, process.getErrorStream());
+
+        if (abortReason != null) {
+            log.error("{} (timeout {}s): {}", abortReason, timeoutSeconds, command.length > 2 ? command[2] : "");
+            return new GitCommandExecutor.GitResult(false, output.toString(), abortReason, -1, markers);
+        }
+
+        int exitCode = process.exitValue();
+        return new GitCommandExecutor.GitResult(exitCode == 0, output.toString(), error.toString(), exitCode, markers);
+    }
+
+    /**
+     * Wait for the process to exit
+     *
+     * @return Reason to abort the process, or null if it exited on its own
+     */
+    private String awaitExit(Process process, int timeoutSeconds, int stallTimeoutSeconds, AtomicLong lastActivity)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        long stallNanos = TimeUnit.SECONDS.toNanos(stallTimeoutSeconds);
+        while (!process.waitFor(WAIT_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+            long now = System.nanoTime();
+            if (now - deadline >= 0) {
+                return "Script timed out";
+            }
+            if (stallNanos > 0 && now - lastActivity.get() >= stallNanos) {
+                return "Transfer stalled: no progress for " + stallTimeoutSeconds + " seconds";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stop the pump pool
+     */
+    public void shutdown() {
+        pumpPool.shutdownNow();
+    }
+
+    /**
+     * Kill the process and its git children: killing only the script would leave them
+     * running, holding the output pipes open (pumps never see EOF) and the repository locked
+     */
+    private static void destroyTree(Process process) {
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+    }
+
+    /**
+     * Wait for a pump to reach EOF. A process that left a child holding the pipe never
+     * delivers EOF, and cancelling cannot interrupt a blocking pipe read, so the stream is
+     * closed first to end the read; the pump then flushes its last partial line and exits.
+     */
+    private void awaitPump(Future<?> pump, InputStream stream) throws InterruptedException {
+        try {
+            pump.get(PUMP_DRAIN_MILLIS, TimeUnit.MILLISECONDS);
+            return;
+        } catch (TimeoutException e) {
+            closeQuietly(stream);
+        } catch (ExecutionException e) {
+            log.debug("Process stream pump failed: {}", e.getCause().toString());
+            return;
+        }
+        try {
+            pump.get(PUMP_DRAIN_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            pump.cancel(true);
+            log.debug("Process stream pump did not finish cleanly: {}", e.toString());
+        }
+    }
+
+    private static void closeQuietly(InputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException e) {
+            log.debug("Failed to close process stream: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Read a stream line by line; both \n and \r end a line (git redraws progress with \r)
+     */
+    static void pump(InputStream stream, Consumer<String> lines) {
+        StringBuilder line = new StringBuilder();
+        try (Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+            char[] buffer = new char[8192];
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                for (int i = 0; i < read; i++) {
+                    char c = buffer[i];
+                    if (c == '\n' || c == '\r') {
+                        if (line.length() > 0) {
+                            lines.accept(line.toString());
+                            line.setLength(0);
+                        }
+                    } else if (line.length() < MAX_LINE_CHARS) {
+                        line.append(c);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Process stream closed: {}", e.getMessage());
+        }
+        if (line.length() > 0) {
+            lines.accept(line.toString());
+        }
+    }
+
+    /**
+     * Last lines of a stream, bounded by total characters
+     */
+    static class OutputTail {
+        private final int maxChars;
+        private final Deque<String> lines = new ArrayDeque<>();
+        private int chars;
+        private long droppedLines;
+
+        OutputTail(int maxChars) {
+            this.maxChars = maxChars;
+        }
+
+        synchronized void append(String line) {
+            lines.addLast(line);
+            chars += line.length() + 1;
+            while (chars > maxChars && lines.size() > 1) {
+                chars -= lines.removeFirst().length() + 1;
+                droppedLines++;
+            }
+        }
+
+        @Override
+        public synchronized String toString() {
+            StringBuilder text = new StringBuilder(chars + 48);
+            if (droppedLines > 0) {
+                text.append("... (").append(droppedLines).append(" earlier lines truncated)\n");
+            }
+            for (String line : lines) {
+                text.append(line).append('\n');
+            }
+            return text.toString();
+        }
+    }
+}
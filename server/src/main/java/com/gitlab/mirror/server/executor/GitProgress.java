@@ -0,0 +1,109 @@
+package com.gitlab.mirror.server.executor;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Git Progress
+ * <p>
+ * One progress update of a git transfer as printed on stderr, for example
+ * {@code Receiving objects:  45% (450/1000), 1.20 MiB | 512.00 KiB/s}.
+ *
+ * @author GitLab Mirror Team
+ */
+@Data
+@AllArgsConstructor
+public class GitProgress {
+
+    private static final Pattern PROGRESS_LINE = Pattern.compile(
+            "^(?:remote:\\s*)?([A-Za-z][A-Za-z ]*?):\\s+(\\d{1,3})% \\((\\d+)/(\\d+)\\)"
+                    + "(?:,\\s*([\\d.]+) (bytes|KiB|MiB|GiB|TiB)(?:\\s*\\|\\s*([\\d.]+) (bytes|KiB|MiB|GiB|TiB)/s)?)?");
+
+    /**
+     * Phase, e.g. "Counting objects", "Receiving objects", "Writing objects"
+     */
+    private String phase;
+
+    /**
+     * Completion of the phase in percent
+     */
+    private int percent;
+
+    /**
+     * Objects (or deltas) done in the phase
+     */
+    private long current;
+
+    /**
+     * Objects (or deltas) of the phase
+     */
+    private long total;
+
+    /**
+     * Bytes transferred so far, 0 if the phase does not report it
+     */
+    private long bytes;
+
+    /**
+     * Current transfer rate in bytes per second, 0 if not reported
+     */
+    private long bytesPerSecond;
+
+    /**
+     * Parse a progress line
+     *
+     * @param line Line of git stderr
+     * @return Progress, or null if the line is not a progress update
+     */
+    public static GitProgress parse(String line) {
+        if (line == null || line.indexOf('%') < 0) {
+            return null;
+        }
+        Matcher matcher = PROGRESS_LINE.matcher(line.trim());
+        if (!matcher.find()) {
+            return null;
+        }
+        try {
+            return new GitProgress(matcher.group(1).trim(), Integer.parseInt(matcher.group(2)),
+                    Long.parseLong(matcher.group(3)), Long.parseLong(matcher.group(4)),
+                    toBytes(matcher.group(5), matcher.group(6)), toBytes(matcher.group(7), matcher.group(8)));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Whether this update shows more work done than the previous one of the same transfer
+     */
+    public boolean advancedFrom(GitProgress previous) {
+        return previous == null
+                || !phase.equals(previous.phase)
+                || current > previous.current
+                || bytes > previous.bytes;
+    }
+
+    /**
+     * Convert a human readable git size ("1.20 MiB") to bytes
+     */
+    private static long toBytes(String amount, String unit) {
+        if (amount == null) {
+            return 0;
+        }
+        double value = Double.parseDouble(amount);
+        switch (unit) {
+            case "KiB":
+                return (long) (value * 1024);
+            case "MiB":
+                return (long) (value * 1024 * 1024);
+            case "GiB":
+                return (long) (value * 1024 * 1024 * 1024);
+            case "TiB":
+                return (long) (value * 1024 * 1024 * 1024 * 1024);
+            default:
+                return (long) value;
+        }
+    }
+}
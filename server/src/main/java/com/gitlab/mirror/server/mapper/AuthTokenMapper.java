@@ -5,6 +5,7 @@ import com.gitlab.mirror.server.entity.AuthToken;
 import org.apache.ibatis.annotations.*;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 /**
  * AuthToken Mapper
@@ -41,4 +42,20 @@ public interface AuthTokenMapper extends BaseMapper<AuthToken> {
      */
     @Update("UPDATE auth_tokens SET last_used_at = #{now} WHERE token = #{token}")
     int updateLastUsedAt(@Param("token") String token, @Param("now") LocalDateTime now);
+
+    /**
+     * Update last used timestamps of several tokens in one statement
+     *
+     * @param lastUsed Last used timestamp by token value
+     * @return Number of updated records
+     */
+    @Update("<script>" +
+            "UPDATE auth_tokens SET last_used_at = CASE token " +
+            "<foreach collection='lastUsed' index='token' item='usedAt'>" +
+            "WHEN #{token} THEN #{usedAt} " +
+            "</foreach>" +
+            "END WHERE token IN " +
+            "<foreach collection='lastUsed' index='token' open='(' separator=',' close=')'>#{token}</foreach>" +
+            "</script>")
+    int updateLastUsedAtBatch(@Param("lastUsed") Map<String, LocalDateTime> lastUsed);
 }
@@ -8,6 +8,7 @@ import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Project Branch Snapshot Mapper
@@ -77,4 +78,13 @@ public interface ProjectBranchSnapshotMapper extends BaseMapper<ProjectBranchSna
             @Param("syncProjectId") Long syncProjectId,
             @Param("projectType") String projectType
     );
+
+    /**
+     * Get latest branch commit time per project and project type
+     *
+     * @return Rows with sync_project_id, project_type and latest_commit_at
+     */
+    @Select("SELECT sync_project_id, project_type, MAX(committed_at) AS latest_commit_at " +
+            "FROM project_branch_snapshot GROUP BY sync_project_id, project_type")
+    List<Map<String, Object>> selectLatestCommitTimes();
 }
@@ -2,7 +2,14 @@ package com.gitlab.mirror.server.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.gitlab.mirror.server.entity.PullSyncConfig;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Pull Sync Config Mapper
@@ -11,4 +18,67 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface PullSyncConfigMapper extends BaseMapper<PullSyncConfig> {
+
+    /**
+     * Update indexed repository stats (pack/loose counts are kept when null)
+     */
+    @Update("UPDATE pull_sync_config SET repo_size_bytes = #{sizeBytes}, repo_size_updated_at = #{now}, " +
+            "pack_count = COALESCE(#{packCount}, pack_count), " +
+            "loose_object_count = COALESCE(#{looseObjects}, loose_object_count), " +
+            "fetches_since_maintenance = COALESCE(fetches_since_maintenance, 0) + #{fetches} " +
+            "WHERE sync_project_id = #{syncProjectId}")
+    int updateRepoStats(@Param("syncProjectId") Long syncProjectId,
+                        @Param("sizeBytes") Long sizeBytes,
+                        @Param("packCount") Integer packCount,
+                        @Param("looseObjects") Integer looseObjects,
+                        @Param("fetches") int fetches,
+                        @Param("now") LocalDateTime now);
+
+    /**
+     * Mark or clear an unfinished first sync
+     */
+    @Update("UPDATE pull_sync_config SET first_sync_pending = #{pending} WHERE sync_project_id = #{syncProjectId}")
+    int updateFirstSyncPending(@Param("syncProjectId") Long syncProjectId, @Param("pending") boolean pending);
+
+    /**
+     * Record completed repository maintenance and reset the fetch counter
+     */
+    @Update("UPDATE pull_sync_config SET repo_size_bytes = #{sizeBytes}, repo_size_updated_at = #{now}, " +
+            "pack_count = #{packCount}, loose_object_count = #{looseObjects}, " +
+            "fetches_since_maintenance = 0, last_maintenance_at = #{now} " +
+            "WHERE sync_project_id = #{syncProjectId}")
+    int updateAfterMaintenance(@Param("syncProjectId") Long syncProjectId,
+                               @Param("sizeBytes") Long sizeBytes,
+                               @Param("packCount") Integer packCount,
+                               @Param("looseObjects") Integer looseObjects,
+                               @Param("now") LocalDateTime now);
+
+    /**
+     * Query repositories due for maintenance, most fragmented first
+     * (repositories with a sync task scheduled or running are skipped)
+     */
+    @Select("SELECT c.* FROM pull_sync_config c " +
+            "WHERE c.local_repo_path IS NOT NULL AND c.first_sync_pending = 0 " +
+            "AND (c.fetches_since_maintenance >= #{minFetches} " +
+            "  OR c.pack_count >= #{minPacks} " +
+            "  OR c.loose_object_count >= #{minLooseObjects}) " +
+            "AND NOT EXISTS (SELECT 1 FROM sync_task t WHERE t.sync_project_id = c.sync_project_id " +
+            "  AND t.task_status IN ('pending', 'running')) " +
+            "ORDER BY COALESCE(c.pack_count, 0) DESC, c.fetches_since_maintenance DESC " +
+            "LIMIT #{limit}")
+    List<PullSyncConfig> selectMaintenanceCandidates(@Param("minFetches") int minFetches,
+                                                     @Param("minPacks") int minPacks,
+                                                     @Param("minLooseObjects") int minLooseObjects,
+                                                     @Param("limit") int limit);
+
+    /**
+     * Insert several configs in one statement (ids are not populated)
+     */
+    @Insert("<script>" +
+            "INSERT INTO pull_sync_config (sync_project_id, priority, enabled, local_repo_path) VALUES " +
+            "<foreach collection='configs' item='c' separator=','>" +
+            "(#{c.syncProjectId}, #{c.priority}, #{c.enabled}, #{c.localRepoPath})" +
+            "</foreach>" +
+            "</script>")
+    int insertBatch(@Param("configs") List<PullSyncConfig> configs);
 }
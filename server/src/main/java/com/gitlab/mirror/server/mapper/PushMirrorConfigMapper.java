@@ -5,6 +5,7 @@ import com.gitlab.mirror.server.entity.PushMirrorConfig;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
 
 import java.util.List;
 import java.util.Map;
@@ -23,6 +24,31 @@ public interface PushMirrorConfigMapper extends BaseMapper<PushMirrorConfig> {
     @Select("SELECT * FROM push_mirror_config WHERE sync_project_id = #{syncProjectId}")
     PushMirrorConfig selectBySyncProjectId(@Param("syncProjectId") Long syncProjectId);
 
+    /**
+     * Write polled status of several mirrors in one statement
+     */
+    @Update("<script>" +
+            "UPDATE push_mirror_config SET " +
+            "last_update_status = CASE id " +
+            "<foreach collection='configs' item='c'>WHEN #{c.id} THEN #{c.lastUpdateStatus,jdbcType=VARCHAR} </foreach>" +
+            "END, " +
+            "last_update_at = CASE id " +
+            "<foreach collection='configs' item='c'>WHEN #{c.id} THEN #{c.lastUpdateAt,jdbcType=TIMESTAMP} </foreach>" +
+            "END, " +
+            "last_successful_update_at = CASE id " +
+            "<foreach collection='configs' item='c'>WHEN #{c.id} THEN #{c.lastSuccessfulUpdateAt,jdbcType=TIMESTAMP} </foreach>" +
+            "END, " +
+            "consecutive_failures = CASE id " +
+            "<foreach collection='configs' item='c'>WHEN #{c.id} THEN #{c.consecutiveFailures,jdbcType=INTEGER} </foreach>" +
+            "END, " +
+            "error_message = CASE id " +
+            "<foreach collection='configs' item='c'>WHEN #{c.id} THEN #{c.errorMessage,jdbcType=VARCHAR} </foreach>" +
+            "END " +
+            "WHERE id IN " +
+            "<foreach collection='configs' item='c' open='(' separator=',' close=')'>#{c.id}</foreach>" +
+            "</script>")
+    int batchUpdateStatus(@Param("configs") List<PushMirrorConfig> configs);
+
     /**
      * Query by last update status
      */
@@ -2,7 +2,12 @@ package com.gitlab.mirror.server.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.gitlab.mirror.server.entity.SourceProjectInfo;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.List;
 
 /**
  * Source Project Info Mapper
@@ -11,4 +16,41 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface SourceProjectInfoMapper extends BaseMapper<SourceProjectInfo> {
+
+    /**
+     * Insert several project infos in one statement (ids are not populated)
+     */
+    @Insert("<script>" +
+            "INSERT INTO source_project_info (sync_project_id, gitlab_project_id, path_with_namespace, group_path, " +
+            "name, default_branch, latest_commit_sha, commit_count, branch_count, visibility, archived, empty_repo, " +
+            "repository_size, star_count, fork_count, forked_from_project_id, last_activity_at, synced_at, updated_at) VALUES " +
+            "<foreach collection='infos' item='i' separator=','>" +
+            "(#{i.syncProjectId}, #{i.gitlabProjectId}, #{i.pathWithNamespace}, #{i.groupPath}, " +
+            "#{i.name}, #{i.defaultBranch}, #{i.latestCommitSha}, #{i.commitCount}, #{i.branchCount}, " +
+            "#{i.visibility}, #{i.archived}, #{i.emptyRepo}, #{i.repositorySize}, #{i.starCount}, #{i.forkCount}, " +
+            "#{i.forkedFromProjectId}, #{i.lastActivityAt}, #{i.syncedAt}, #{i.updatedAt})" +
+            "</foreach>" +
+            "</script>")
+    int insertBatch(@Param("infos") List<SourceProjectInfo> infos);
+
+    /**
+     * Update the monitored fields of several project infos in one statement
+     *
+     * @param infos Project infos with id and new field values
+     * @return Number of updated records
+     */
+    @Update("<script>" +
+            "UPDATE source_project_info SET " +
+            "default_branch = CASE id <foreach collection='infos' item='i'>WHEN #{i.id} THEN #{i.defaultBranch} </foreach>END, " +
+            "latest_commit_sha = CASE id <foreach collection='infos' item='i'>WHEN #{i.id} THEN #{i.latestCommitSha} </foreach>END, " +
+            "commit_count = CASE id <foreach collection='infos' item='i'>WHEN #{i.id} THEN #{i.commitCount} </foreach>END, " +
+            "branch_count = CASE id <foreach collection='infos' item='i'>WHEN #{i.id} THEN #{i.branchCount} </foreach>END, " +
+            "repository_size = CASE id <foreach collection='infos' item='i'>WHEN #{i.id} THEN #{i.repositorySize} </foreach>END, " +
+            "last_activity_at = CASE id <foreach collection='infos' item='i'>WHEN #{i.id} THEN #{i.lastActivityAt} </foreach>END, " +
+            "fork_count = CASE id <foreach collection='infos' item='i'>WHEN #{i.id} THEN #{i.forkCount} </foreach>END, " +
+            "forked_from_project_id = CASE id <foreach collection='infos' item='i'>WHEN #{i.id} THEN #{i.forkedFromProjectId} </foreach>END, " +
+            "updated_at = CURRENT_TIMESTAMP WHERE id IN " +
+            "<foreach collection='infos' item='i' open='(' separator=',' close=')'>#{i.id}</foreach>" +
+            "</script>")
+    int updateMonitorFieldsBatch(@Param("infos") List<SourceProjectInfo> infos);
 }
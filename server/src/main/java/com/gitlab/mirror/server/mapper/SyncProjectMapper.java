@@ -4,6 +4,7 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.gitlab.mirror.server.entity.SyncProject;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
@@ -80,4 +81,15 @@ public interface SyncProjectMapper extends BaseMapper<SyncProject> {
             "SUM(CASE WHEN sync_status = 'failed' THEN 1 ELSE 0 END) as failed_count " +
             "FROM sync_project")
     Map<String, Object> getStatistics();
+
+    /**
+     * Insert several projects in one statement (ids are not populated)
+     */
+    @Insert("<script>" +
+            "INSERT INTO sync_project (project_key, sync_method, sync_status, enabled, created_at, updated_at) VALUES " +
+            "<foreach collection='projects' item='p' separator=','>" +
+            "(#{p.projectKey}, #{p.syncMethod}, #{p.syncStatus}, #{p.enabled}, #{p.createdAt}, #{p.updatedAt})" +
+            "</foreach>" +
+            "</script>")
+    int insertBatch(@Param("projects") List<SyncProject> projects);
 }
@@ -2,6 +2,7 @@ package com.gitlab.mirror.server.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.gitlab.mirror.server.entity.SyncTask;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
@@ -86,4 +87,15 @@ public interface SyncTaskMapper extends BaseMapper<SyncTask> {
             @Param("maxFailures") int maxFailures,
             @Param("limit") int limit
     );
+
+    /**
+     * Insert several tasks in one statement (ids are not populated)
+     */
+    @Insert("<script>" +
+            "INSERT INTO sync_task (sync_project_id, task_type, task_status, next_run_at, consecutive_failures) VALUES " +
+            "<foreach collection='tasks' item='t' separator=','>" +
+            "(#{t.syncProjectId}, #{t.taskType}, #{t.taskStatus}, #{t.nextRunAt}, #{t.consecutiveFailures})" +
+            "</foreach>" +
+            "</script>")
+    int insertBatch(@Param("tasks") List<SyncTask> tasks);
 }
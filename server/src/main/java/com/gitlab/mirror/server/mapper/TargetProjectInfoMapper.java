@@ -3,6 +3,10 @@ package com.gitlab.mirror.server.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.gitlab.mirror.server.entity.TargetProjectInfo;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.List;
 
 /**
  * Target Project Info Mapper
@@ -11,4 +15,23 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface TargetProjectInfoMapper extends BaseMapper<TargetProjectInfo> {
+
+    /**
+     * Update the monitored fields of several project infos in one statement
+     *
+     * @param infos Project infos with id and new field values
+     * @return Number of updated records
+     */
+    @Update("<script>" +
+            "UPDATE target_project_info SET " +
+            "default_branch = CASE id <foreach collection='infos' item='i'>WHEN #{i.id} THEN #{i.defaultBranch} </foreach>END, " +
+            "latest_commit_sha = CASE id <foreach collection='infos' item='i'>WHEN #{i.id} THEN #{i.latestCommitSha} </foreach>END, " +
+            "commit_count = CASE id <foreach collection='infos' item='i'>WHEN #{i.id} THEN #{i.commitCount} </foreach>END, " +
+            "branch_count = CASE id <foreach collection='infos' item='i'>WHEN #{i.id} THEN #{i.branchCount} </foreach>END, " +
+            "repository_size = CASE id <foreach collection='infos' item='i'>WHEN #{i.id} THEN #{i.repositorySize} </foreach>END, " +
+            "last_activity_at = CASE id <foreach collection='infos' item='i'>WHEN #{i.id} THEN #{i.lastActivityAt} </foreach>END, " +
+            "updated_at = CURRENT_TIMESTAMP WHERE id IN " +
+            "<foreach collection='infos' item='i' open='(' separator=',' close=')'>#{i.id}</foreach>" +
+            "</script>")
+    int updateMonitorFieldsBatch(@Param("infos") List<TargetProjectInfo> infos);
 }
@@ -0,0 +1,65 @@
+package com.gitlab.mirror.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Transfer Progress Model
+ * <p>
+ * Latest git progress of a running sync task (clone, fetch or push), kept in
+ * memory while the task runs and exposed through the task API.
+ *
+ * @author GitLab Mirror Team
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TransferProgress {
+
+    /**
+     * Git phase, e.g. "Receiving objects", "Writing objects" (null until git reports progress)
+     */
+    private String phase;
+
+    /**
+     * Completion of the phase in percent
+     */
+    private Integer percent;
+
+    /**
+     * Objects done in the phase
+     */
+    private Long objectsDone;
+
+    /**
+     * Objects of the phase
+     */
+    private Long objectsTotal;
+
+    /**
+     * Bytes transferred in the phase
+     */
+    private Long bytes;
+
+    /**
+     * Current throughput in bytes per second
+     */
+    private Long bytesPerSecond;
+
+    /**
+     * When the task started transferring
+     */
+    private Instant startedAt;
+
+    /**
+     * When the last progress update arrived
+     */
+    private Instant updatedAt;
+}
@@ -8,6 +8,7 @@ import com.gitlab.mirror.server.entity.TargetProjectInfo;
 import com.gitlab.mirror.server.mapper.PushMirrorConfigMapper;
 import com.gitlab.mirror.server.mapper.SyncProjectMapper;
 import com.gitlab.mirror.server.mapper.TargetProjectInfoMapper;
+import com.gitlab.mirror.server.service.DashboardStatsService;
 import com.gitlab.mirror.server.service.PushMirrorManagementService;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
@@ -37,6 +38,7 @@ public class MirrorCompensationScheduler {
     private final PushMirrorConfigMapper pushMirrorConfigMapper;
     private final PushMirrorManagementService pushMirrorManagementService;
     private final GitLabMirrorProperties properties;
+    private final DashboardStatsService dashboardStatsService;
 
     /**
      * 应用启动完成后立即执行一次补偿检查
@@ -103,6 +105,7 @@ public class MirrorCompensationScheduler {
                     syncProject.setSyncStatus(SyncProject.SyncStatus.MIRROR_CONFIGURED);
                     syncProject.setErrorMessage(null);
                     syncProjectMapper.updateById(syncProject);
+                    dashboardStatsService.onProjectStatusChanged(syncProject);
 
                     successCount++;
                     log.info("Successfully compensated mirror for project: {} (id={})",
@@ -117,6 +120,7 @@ public class MirrorCompensationScheduler {
                     syncProject.setSyncStatus(SyncProject.SyncStatus.FAILED);
                     syncProject.setErrorMessage("Mirror compensation failed: " + e.getMessage());
                     syncProjectMapper.updateById(syncProject);
+                    dashboardStatsService.onProjectStatusChanged(syncProject);
                 }
             }
 
@@ -0,0 +1,163 @@
+package com.gitlab.mirror.server.scheduler;
+
+import com.gitlab.mirror.server.config.properties.GitLabMirrorProperties;
+import com.gitlab.mirror.server.entity.SyncTask;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Sync Lane Executor
+ * <p>
+ * Routes sync tasks to separate worker lanes so one huge clone never blocks
+ * quick incremental syncs:
+ * <ul>
+ *   <li>WEBHOOK - tasks triggered by a push event</li>
+ *   <li>BULK - first syncs and tasks whose last run took at least
+ *       {@code sync.bulk-lane-min-duration-seconds}</li>
+ *   <li>FAST - all other incremental syncs</li>
+ * </ul>
+ * Each lane has its own threads, queue and metrics. A full lane rejects the
+ * submission instead of running it on the caller (scheduler) thread.
+ *
+ * @author GitLab Mirror Team
+ */
+@Slf4j
+@Component
+public class SyncLaneExecutor {
+
+    /**
+     * Worker lanes
+     */
+    public enum Lane {
+        FAST, BULK, WEBHOOK
+    }
+
+    private final GitLabMirrorProperties properties;
+    private final Map<Lane, Executor> executors = new EnumMap<>(Lane.class);
+    private final Map<Lane, Counter> rejectedCounters = new EnumMap<>(Lane.class);
+
+    public SyncLaneExecutor(
+            @Qualifier("syncTaskExecutor") Executor fastExecutor,
+            @Qualifier("syncBulkExecutor") Executor bulkExecutor,
+            @Qualifier("syncWebhookExecutor") Executor webhookExecutor,
+            GitLabMirrorProperties properties,
+            MeterRegistry registry) {
+        this.properties = properties;
+        executors.put(Lane.FAST, fastExecutor);
+        executors.put(Lane.BULK, bulkExecutor);
+        executors.put(Lane.WEBHOOK, webhookExecutor);
+
+        for (Lane lane : Lane.values()) {
+            String tag = lane.name().toLowerCase();
+            Gauge.builder("gitlab_mirror_sync_lane_active", this, e -> e.getActiveCount(lane))
+                    .description("Sync tasks executing in the lane")
+                    .tag("lane", tag)
+                    .register(registry);
+            Gauge.builder("gitlab_mirror_sync_lane_queued", this, e -> e.getQueueSize(lane))
+                    .description("Sync tasks queued in the lane")
+                    .tag("lane", tag)
+                    .register(registry);
+            rejectedCounters.put(lane, Counter.builder("gitlab_mirror_sync_lane_rejected_total")
+                    .description("Sync task submissions rejected by a full lane")
+                    .tag("lane", tag)
+                    .register(registry));
+        }
+    }
+
+    /**
+     * Choose the lane of a task
+     *
+     * @param task      Sync task
+     * @param firstSync Whether the task is a first sync (full clone)
+     * @return Lane
+     */
+    public Lane selectLane(SyncTask task, boolean firstSync) {
+        if (firstSync) {
+            return Lane.BULK;
+        }
+        if (SyncTask.TriggerSource.WEBHOOK.equals(task.getTriggerSource())) {
+            return Lane.WEBHOOK;
+        }
+        Integer lastDuration = task.getDurationSeconds();
+        if (lastDuration != null && lastDuration >= getBulkMinDurationSeconds()) {
+            return Lane.BULK;
+        }
+        return Lane.FAST;
+    }
+
+    /**
+     * Submit a sync to a lane
+     *
+     * @param lane Lane
+     * @param sync Sync runnable
+     * @return false if the lane is full (the sync was not accepted)
+     */
+    public boolean submit(Lane lane, Runnable sync) {
+        try {
+            executors.get(lane).execute(sync);
+            return true;
+        } catch (RejectedExecutionException e) {
+            // TaskRejectedException from a full ThreadPoolTaskExecutor
+            rejectedCounters.get(lane).increment();
+            log.warn("Sync lane full, submission rejected: lane={}, active={}, queued={}",
+                lane, getActiveCount(lane), getQueueSize(lane));
+            return false;
+        }
+    }
+
+    /**
+     * Get active sync count over all lanes
+     *
+     * @return Active count
+     */
+    public int getActiveCount() {
+        int active = 0;
+        for (Lane lane : Lane.values()) {
+            active += getActiveCount(lane);
+        }
+        return active;
+    }
+
+    /**
+     * Get active sync count of a lane
+     *
+     * @param lane Lane
+     * @return Active count
+     */
+    public int getActiveCount(Lane lane) {
+        Executor executor = executors.get(lane);
+        if (executor instanceof ThreadPoolTaskExecutor) {
+            return ((ThreadPoolTaskExecutor) executor).getActiveCount();
+        }
+        return 0;
+    }
+
+    /**
+     * Get queued sync count of a lane
+     *
+     * @param lane Lane
+     * @return Queue size
+     */
+    public int getQueueSize(Lane lane) {
+        Executor executor = executors.get(lane);
+        if (executor instanceof ThreadPoolTaskExecutor) {
+            return ((ThreadPoolTaskExecutor) executor).getThreadPoolExecutor().getQueue().size();
+        }
+        return 0;
+    }
+
+    private int getBulkMinDurationSeconds() {
+        Integer seconds = properties.getSync().getBulkLaneMinDurationSeconds();
+        return seconds != null ? seconds : 120;
+    }
+}
@@ -2,6 +2,7 @@ package com.gitlab.mirror.server.scheduler;
 
 import com.gitlab.mirror.server.entity.SyncTask;
 import com.gitlab.mirror.server.mapper.SyncTaskMapper;
+import com.gitlab.mirror.server.service.SyncProgressTracker;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -14,7 +15,9 @@ import java.util.List;
 /**
  * Task Recovery Scheduler
  * <p>
- * Recovers stuck tasks that have been in running state for too long
+ * Recovers stuck tasks that have been in running state for too long.
+ * Tasks still running a git transfer are left alone: the transfer aborts itself
+ * when it stalls, and a long first sync that keeps making progress is not stuck.
  *
  * @author GitLab Mirror Team
  */
@@ -23,12 +26,14 @@ import java.util.List;
 public class TaskRecoveryScheduler {
 
     private final SyncTaskMapper syncTaskMapper;
+    private final SyncProgressTracker syncProgressTracker;
 
     // Timeout threshold: tasks running longer than this will be recovered (in minutes)
     private static final long TASK_TIMEOUT_MINUTES = 30;
 
-    public TaskRecoveryScheduler(SyncTaskMapper syncTaskMapper) {
+    public TaskRecoveryScheduler(SyncTaskMapper syncTaskMapper, SyncProgressTracker syncProgressTracker) {
         this.syncTaskMapper = syncTaskMapper;
+        this.syncProgressTracker = syncProgressTracker;
     }
 
     /**
@@ -57,6 +62,11 @@ public class TaskRecoveryScheduler {
 
             for (SyncTask task : runningTasks) {
                 try {
+                    if (syncProgressTracker.isTracking(task.getId())) {
+                        log.debug("Task is transferring, not stuck: taskId={}", task.getId());
+                        continue;
+                    }
+
                     // Check if task has been running for too long
                     if (task.getStartedAt() != null) {
                         long minutesRunning = ChronoUnit.MINUTES.between(task.getStartedAt(), now);
@@ -5,18 +5,24 @@ import com.gitlab.mirror.server.entity.PullSyncConfig;
 import com.gitlab.mirror.server.entity.SyncTask;
 import com.gitlab.mirror.server.mapper.PullSyncConfigMapper;
 import com.gitlab.mirror.server.mapper.SyncTaskMapper;
+import com.gitlab.mirror.server.service.DiskManagementService;
+import com.gitlab.mirror.server.service.FirstSyncPlanner;
 import com.gitlab.mirror.server.service.PullSyncExecutorService;
+import com.gitlab.mirror.server.service.StatusPushService;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.scheduling.annotation.Scheduled;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.Executor;
+import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -35,19 +41,28 @@ public class UnifiedSyncScheduler {
     private final PullSyncConfigMapper pullSyncConfigMapper;
     private final PullSyncExecutorService pullSyncExecutorService;
     private final GitLabMirrorProperties properties;
-    private final Executor syncTaskExecutor;
+    private final SyncLaneExecutor syncLaneExecutor;
+    private final StatusPushService statusPushService;
+    private final DiskManagementService diskManagementService;
+    private final FirstSyncPlanner firstSyncPlanner;
 
     public UnifiedSyncScheduler(
             SyncTaskMapper syncTaskMapper,
             PullSyncConfigMapper pullSyncConfigMapper,
             PullSyncExecutorService pullSyncExecutorService,
             GitLabMirrorProperties properties,
-            @Qualifier("syncTaskExecutor") Executor syncTaskExecutor) {
+            SyncLaneExecutor syncLaneExecutor,
+            StatusPushService statusPushService,
+            DiskManagementService diskManagementService,
+            FirstSyncPlanner firstSyncPlanner) {
         this.syncTaskMapper = syncTaskMapper;
         this.pullSyncConfigMapper = pullSyncConfigMapper;
         this.pullSyncExecutorService = pullSyncExecutorService;
         this.properties = properties;
-        this.syncTaskExecutor = syncTaskExecutor;
+        this.syncLaneExecutor = syncLaneExecutor;
+        this.statusPushService = statusPushService;
+        this.diskManagementService = diskManagementService;
+        this.firstSyncPlanner = firstSyncPlanner;
     }
 
     /**
@@ -73,44 +88,74 @@ public class UnifiedSyncScheduler {
             log.info("Pull task scheduler triggered, peak={}, availableSlots={}, active={}",
                 isPeakHours, availableSlots, getActiveTaskCount());
 
-            // 3. Query pending tasks
-            List<SyncTask> tasks = queryPendingPullTasks(availableSlots);
+            // 3. Query pending tasks (look ahead so first syncs can be ordered by size)
+            int lookahead = properties.getSync().getFirstSyncLookahead() != null ?
+                properties.getSync().getFirstSyncLookahead() : availableSlots;
+            List<SyncTask> candidates = queryPendingPullTasks(Math.max(availableSlots, lookahead));
 
-            if (tasks.isEmpty()) {
+            if (candidates.isEmpty()) {
                 log.debug("No pending pull tasks to schedule");
                 return;
             }
 
-            // 4. Submit tasks for execution
+            // 4. Incremental syncs keep their priority order, first syncs fill the rest by plan
+            Set<Long> firstSyncProjectIds = findFirstSyncProjects(candidates);
+            List<SyncTask> tasks = new ArrayList<>();
+            List<SyncTask> firstSyncs = new ArrayList<>();
+            for (SyncTask task : candidates) {
+                if (firstSyncProjectIds.contains(task.getSyncProjectId())) {
+                    firstSyncs.add(task);
+                } else if (tasks.size() < availableSlots) {
+                    tasks.add(task);
+                }
+            }
+            tasks.addAll(firstSyncPlanner.plan(firstSyncs, availableSlots - tasks.size()));
+
+            // 5. Submit tasks for execution
             int scheduled = 0;
             int skipped = 0;
+            int deferred = 0;
 
             for (SyncTask task : tasks) {
+                boolean firstSync = firstSyncProjectIds.contains(task.getSyncProjectId());
+
+                // First syncs must reserve their estimated disk space before cloning
+                if (firstSync && !admitFirstSync(task)) {
+                    firstSyncPlanner.release(task.getSyncProjectId());
+                    deferred++;
+                    continue;
+                }
+
                 try {
                     // Update status: waiting → pending (mark as scheduled)
                     task.setTaskStatus("pending");
                     syncTaskMapper.updateById(task);
+                    statusPushService.publishTaskUpdate(task);
 
-                    // Submit to executor (async)
+                    // Submit to its lane (async)
                     // Executor will update: pending → running → waiting
-                    submitTaskAsync(task);
+                    SyncLaneExecutor.Lane lane = syncLaneExecutor.selectLane(task, firstSync);
+                    if (!submitTaskAsync(task, lane)) {
+                        // Lane full: picked up again by a later cycle
+                        resetToWaiting(task);
+                        skipped++;
+                        continue;
+                    }
                     scheduled++;
 
-                    log.debug("Task scheduled: taskId={}, projectId={}, type={}",
-                        task.getId(), task.getSyncProjectId(), task.getTaskType());
+                    log.debug("Task scheduled: taskId={}, projectId={}, type={}, lane={}",
+                        task.getId(), task.getSyncProjectId(), task.getTaskType(), lane);
 
                 } catch (Exception e) {
                     log.error("Failed to schedule task: taskId={}", task.getId(), e);
-                    // Reset status back to waiting
-                    task.setTaskStatus("waiting");
-                    syncTaskMapper.updateById(task);
+                    resetToWaiting(task);
                     skipped++;
                 }
             }
 
             long duration = System.currentTimeMillis() - startTime;
-            log.info("Pull task scheduler completed, scheduled={}, skipped={}, duration={}ms",
-                scheduled, skipped, duration);
+            log.info("Pull task scheduler completed, scheduled={}, skipped={}, deferred={}, duration={}ms",
+                scheduled, skipped, deferred, duration);
 
         } catch (Exception e) {
             log.error("Pull task scheduler failed", e);
@@ -181,29 +226,89 @@ public class UnifiedSyncScheduler {
     }
 
     /**
-     * Submit task for async execution
+     * Find tasks whose project has never been fetched locally (first sync = full clone)
+     * <p>
+     * local_repo_path is assigned when the config is created, so the repository
+     * statistics recorded after each completed fetch tell cloned projects apart
+     * (migration 010 backfills them for repositories cloned before they existed).
+     *
+     * @param tasks Candidate tasks
+     * @return Sync project IDs needing a first sync
+     */
+    private Set<Long> findFirstSyncProjects(List<SyncTask> tasks) {
+        Set<Long> projectIds = tasks.stream().map(SyncTask::getSyncProjectId).collect(Collectors.toSet());
+        Set<Long> cloned = pullSyncConfigMapper.selectList(
+                new QueryWrapper<PullSyncConfig>()
+                        .select("sync_project_id")
+                        .in("sync_project_id", projectIds)
+                        .isNotNull("repo_size_updated_at")
+                        .eq("first_sync_pending", false)
+        ).stream().map(PullSyncConfig::getSyncProjectId).collect(Collectors.toSet());
+
+        Set<Long> firstSync = new HashSet<>(projectIds);
+        firstSync.removeAll(cloned);
+        return firstSync;
+    }
+
+    /**
+     * Reserve disk space for a first sync, deferring the task if it doesn't fit
+     *
+     * @param task Sync task
+     * @return true if admitted
+     */
+    private boolean admitFirstSync(SyncTask task) {
+        long requiredSpace = diskManagementService.estimateRequiredSpace(task.getSyncProjectId());
+        if (diskManagementService.reserveSpace(task.getSyncProjectId(), requiredSpace)) {
+            return true;
+        }
+
+        // Stays waiting, retried once in-flight clones have released their reservations
+        int deferMinutes = properties.getSync().getDiskDeferMinutes() != null ?
+            properties.getSync().getDiskDeferMinutes() : 5;
+        task.setNextRunAt(Instant.now().plus(deferMinutes, ChronoUnit.MINUTES));
+        syncTaskMapper.updateById(task);
+        log.warn("First sync deferred for disk space: taskId={}, projectId={}, required={} bytes, reserved={} bytes",
+            task.getId(), task.getSyncProjectId(), requiredSpace, diskManagementService.getReservedBytes());
+        return false;
+    }
+
+    /**
+     * Submit task for async execution in a worker lane
      *
      * @param task Sync task
+     * @param lane Worker lane
+     * @return false if the lane is full
      */
-    private void submitTaskAsync(SyncTask task) {
-        syncTaskExecutor.execute(() -> {
+    private boolean submitTaskAsync(SyncTask task, SyncLaneExecutor.Lane lane) {
+        return syncLaneExecutor.submit(lane, () -> {
             try {
                 pullSyncExecutorService.executeSync(task);
             } catch (Exception e) {
                 log.error("Task execution failed: taskId={}", task.getId(), e);
+            } finally {
+                firstSyncPlanner.release(task.getSyncProjectId());
             }
         });
     }
 
     /**
-     * Get current active task count from thread pool
+     * Put a task that could not be dispatched back to waiting and free its reservations
+     *
+     * @param task Sync task
+     */
+    private void resetToWaiting(SyncTask task) {
+        diskManagementService.releaseReservation(task.getSyncProjectId());
+        firstSyncPlanner.release(task.getSyncProjectId());
+        task.setTaskStatus("waiting");
+        syncTaskMapper.updateById(task);
+    }
+
+    /**
+     * Get current active task count over all worker lanes
      *
      * @return Active task count
      */
     public int getActiveTaskCount() {
-        if (syncTaskExecutor instanceof ThreadPoolTaskExecutor) {
-            return ((ThreadPoolTaskExecutor) syncTaskExecutor).getActiveCount();
-        }
-        return 0;
+        return syncLaneExecutor.getActiveCount();
     }
 }
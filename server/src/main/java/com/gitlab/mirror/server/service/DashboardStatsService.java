@@ -0,0 +1,359 @@
+package com.gitlab.mirror.server.service;
+
+import com.gitlab.mirror.server.entity.ProjectBranchSnapshot;
+import com.gitlab.mirror.server.entity.SyncProject;
+import com.gitlab.mirror.server.mapper.ProjectBranchSnapshotMapper;
+import com.gitlab.mirror.server.mapper.SyncProjectMapper;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Dashboard Stats Service
+ * <p>
+ * Keeps project status counts and a delay-ordered project index in memory so that
+ * dashboard endpoints don't load every project on each poll. The index is updated
+ * on project state transitions and reconciled against the database periodically.
+ * Changes reported while a reconcile reads the database are logged and reapplied
+ * on top of what it read, so a reconcile never rolls them back.
+ *
+ * @author GitLab Mirror Team
+ */
+@Slf4j
+@Service
+public class DashboardStatsService {
+
+    private static final String UNKNOWN_STATUS = "unknown";
+
+    /**
+     * Largest delay first, ties broken by project ID for a stable order
+     */
+    private static final Comparator<ProjectStats> DELAY_ORDER = Comparator
+            .comparingLong(ProjectStats::getDelaySeconds).reversed()
+            .thenComparing(ProjectStats::getSyncProjectId);
+
+    private final SyncProjectMapper syncProjectMapper;
+    private final ProjectBranchSnapshotMapper projectBranchSnapshotMapper;
+    private final ProjectListService projectListService;
+    private final StatusPushService statusPushService;
+
+    // All state below is guarded by "this"
+    private final Map<Long, ProjectStats> projects = new HashMap<>();
+    private final Map<String, Long> statusCounts = new HashMap<>();
+    private final TreeSet<ProjectStats> delayIndex = new TreeSet<>(DELAY_ORDER);
+    // Changes applied while a reconcile is reading the database, null when none is running
+    private List<Runnable> pendingChanges;
+    private volatile boolean initialized = false;
+
+    // Serializes reconciles; held without "this" so updates and reads go on during the database read
+    private final Object reconcileLock = new Object();
+
+    private final List<Consumer<Long>> changeListeners = new CopyOnWriteArrayList<>();
+
+    public DashboardStatsService(
+            SyncProjectMapper syncProjectMapper,
+            ProjectBranchSnapshotMapper projectBranchSnapshotMapper,
+            ProjectListService projectListService,
+            StatusPushService statusPushService) {
+        this.syncProjectMapper = syncProjectMapper;
+        this.projectBranchSnapshotMapper = projectBranchSnapshotMapper;
+        this.projectListService = projectListService;
+        this.statusPushService = statusPushService;
+    }
+
+    /**
+     * Register a listener notified with the sync project ID on every status change,
+     * delay refresh or removal (called on the thread that reported the change)
+     *
+     * @param listener Change listener
+     */
+    public void addChangeListener(Consumer<Long> listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Get project count per sync status
+     *
+     * @return Copy of status -> count mapping
+     */
+    public Map<String, Long> getStatusCounts() {
+        ensureInitialized();
+        synchronized (this) {
+            return new HashMap<>(statusCounts);
+        }
+    }
+
+    /**
+     * Get total number of tracked projects
+     */
+    public int getTotalProjects() {
+        ensureInitialized();
+        synchronized (this) {
+            return projects.size();
+        }
+    }
+
+    /**
+     * Get projects with the largest delay
+     *
+     * @param limit Maximum number of projects to return
+     * @return Projects ordered by delay descending (projects without delay info are excluded)
+     */
+    public List<ProjectStats> getTopDelayed(int limit) {
+        ensureInitialized();
+        List<ProjectStats> result = new ArrayList<>();
+        synchronized (this) {
+            for (ProjectStats stats : delayIndex) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                result.add(stats);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Record a project status change (delay is kept as-is) and push it to subscribers
+     *
+     * @param project Project with its new status
+     */
+    public void onProjectStatusChanged(SyncProject project) {
+        if (project == null || project.getId() == null) {
+            return;
+        }
+        notifyChanged(project.getId());
+        Long syncProjectId = project.getId();
+        String projectKey = project.getProjectKey();
+        String status = normalizeStatus(project.getSyncStatus());
+        String previousStatus = null;
+        Map<String, Long> counts = null;
+        synchronized (this) {
+            if (initialized) {
+                ProjectStats previous = projects.get(syncProjectId);
+                previousStatus = previous != null ? previous.getSyncStatus() : null;
+            }
+            apply(() -> {
+                ProjectStats previous = projects.get(syncProjectId);
+                Long delaySeconds = previous != null ? previous.getDelaySeconds() : null;
+                put(new ProjectStats(syncProjectId, projectKey, status, delaySeconds));
+            });
+            if (initialized) {
+                counts = new HashMap<>(statusCounts);
+            }
+        }
+        if (counts == null) {
+            statusPushService.publishProjectStatus(project, null, null);
+            return;
+        }
+        // Only status transitions are pushed; error message/last sync updates are not
+        if (!status.equals(previousStatus)) {
+            statusPushService.publishProjectStatus(project, previousStatus, counts);
+        }
+    }
+
+    /**
+     * Recalculate a project's delay after its branch snapshots changed
+     *
+     * @param syncProjectId Sync project ID
+     */
+    public void refreshDelay(Long syncProjectId) {
+        if (syncProjectId == null) {
+            return;
+        }
+        notifyChanged(syncProjectId);
+        synchronized (this) {
+            if (!tracking()) {
+                return;
+            }
+        }
+        Long delaySeconds = projectListService.calculateDelay(syncProjectId);
+        synchronized (this) {
+            apply(() -> {
+                ProjectStats previous = projects.get(syncProjectId);
+                if (previous != null) {
+                    put(new ProjectStats(syncProjectId, previous.getProjectKey(),
+                            previous.getSyncStatus(), delaySeconds));
+                }
+            });
+        }
+    }
+
+    /**
+     * Remove a deleted project from statistics
+     *
+     * @param syncProjectId Sync project ID
+     */
+    public void onProjectRemoved(Long syncProjectId) {
+        if (syncProjectId == null) {
+            return;
+        }
+        notifyChanged(syncProjectId);
+        synchronized (this) {
+            apply(() -> remove(syncProjectId));
+        }
+    }
+
+    /**
+     * Rebuild statistics from the database
+     * <p>
+     * Loads only id/key/status columns plus one aggregated snapshot query,
+     * then swaps the in-memory state and reapplies changes made during the load.
+     */
+    @Scheduled(fixedDelayString = "${gitlab.mirror.dashboard.reconcile-interval:300000}",
+            initialDelayString = "${gitlab.mirror.dashboard.reconcile-interval:300000}")
+    public void reconcile() {
+        synchronized (reconcileLock) {
+            synchronized (this) {
+                pendingChanges = new ArrayList<>();
+            }
+            try {
+                load();
+            } finally {
+                synchronized (this) {
+                    pendingChanges = null;
+                }
+            }
+        }
+    }
+
+    private void load() {
+        long start = System.currentTimeMillis();
+
+        List<SyncProject> allProjects = syncProjectMapper.selectList(
+                new QueryWrapper<SyncProject>().select("id", "project_key", "sync_status"));
+
+        Map<Long, LocalDateTime> sourceLatest = new HashMap<>();
+        Map<Long, LocalDateTime> targetLatest = new HashMap<>();
+        for (Map<String, Object> row : projectBranchSnapshotMapper.selectLatestCommitTimes()) {
+            Number syncProjectId = (Number) row.get("sync_project_id");
+            LocalDateTime latest = toLocalDateTime(row.get("latest_commit_at"));
+            if (syncProjectId == null || latest == null) {
+                continue;
+            }
+            if (ProjectBranchSnapshot.ProjectType.SOURCE.equals(row.get("project_type"))) {
+                sourceLatest.put(syncProjectId.longValue(), latest);
+            } else if (ProjectBranchSnapshot.ProjectType.TARGET.equals(row.get("project_type"))) {
+                targetLatest.put(syncProjectId.longValue(), latest);
+            }
+        }
+
+        int reapplied;
+        synchronized (this) {
+            projects.clear();
+            statusCounts.clear();
+            delayIndex.clear();
+            for (SyncProject project : allProjects) {
+                Long delaySeconds = ProjectListService.computeDelaySeconds(
+                        sourceLatest.get(project.getId()), targetLatest.get(project.getId()));
+                put(new ProjectStats(project.getId(), project.getProjectKey(),
+                        normalizeStatus(project.getSyncStatus()), delaySeconds));
+            }
+            // The rows read may predate these changes; replaying one the rows already contain is harmless
+            reapplied = pendingChanges.size();
+            pendingChanges.forEach(Runnable::run);
+            initialized = true;
+        }
+
+        log.debug("Reconciled dashboard stats: {} projects, {} changes reapplied - {}ms",
+                allProjects.size(), reapplied, System.currentTimeMillis() - start);
+    }
+
+    private void ensureInitialized() {
+        if (!initialized) {
+            synchronized (reconcileLock) {
+                if (!initialized) {
+                    reconcile();
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether changes are kept: once loaded, or while the first load is running (caller holds "this")
+     */
+    private boolean tracking() {
+        return initialized || pendingChanges != null;
+    }
+
+    /**
+     * Apply a change to the loaded state and log it for a running reconcile (caller holds "this")
+     */
+    private void apply(Runnable change) {
+        if (initialized) {
+            change.run();
+        }
+        if (pendingChanges != null) {
+            pendingChanges.add(change);
+        }
+    }
+
+    private void notifyChanged(Long syncProjectId) {
+        for (Consumer<Long> listener : changeListeners) {
+            try {
+                listener.accept(syncProjectId);
+            } catch (Exception e) {
+                log.warn("Project change listener failed: projectId={}, error={}", syncProjectId, e.getMessage());
+            }
+        }
+    }
+
+    private void put(ProjectStats stats) {
+        remove(stats.getSyncProjectId());
+        projects.put(stats.getSyncProjectId(), stats);
+        statusCounts.merge(stats.getSyncStatus(), 1L, Long::sum);
+        if (stats.getDelaySeconds() != null) {
+            delayIndex.add(stats);
+        }
+    }
+
+    private void remove(Long syncProjectId) {
+        ProjectStats previous = projects.remove(syncProjectId);
+        if (previous == null) {
+            return;
+        }
+        statusCounts.computeIfPresent(previous.getSyncStatus(), (k, v) -> v > 1 ? v - 1 : null);
+        if (previous.getDelaySeconds() != null) {
+            delayIndex.remove(previous);
+        }
+    }
+
+    private String normalizeStatus(String status) {
+        return status != null ? status : UNKNOWN_STATUS;
+    }
+
+    private LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof LocalDateTime) {
+            return (LocalDateTime) value;
+        }
+        if (value instanceof java.sql.Timestamp) {
+            return ((java.sql.Timestamp) value).toLocalDateTime();
+        }
+        return null;
+    }
+
+    /**
+     * Per-project dashboard entry (immutable, used as a sorted index key)
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class ProjectStats {
+        private final Long syncProjectId;
+        private final String projectKey;
+        private final String syncStatus;
+        private final Long delaySeconds;
+    }
+}
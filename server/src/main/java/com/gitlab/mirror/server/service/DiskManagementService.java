@@ -1,5 +1,6 @@
 package com.gitlab.mirror.server.service;
 
+import com.gitlab.mirror.server.config.properties.GitLabMirrorProperties;
 import com.gitlab.mirror.server.executor.GitCommandExecutor;
 import com.gitlab.mirror.server.mapper.PullSyncConfigMapper;
 import com.gitlab.mirror.server.mapper.SourceProjectInfoMapper;
@@ -13,15 +14,25 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Disk Management Service
  * <p>
- * Manages local repository storage, cleanup, and disk usage statistics
+ * Manages local repository storage, cleanup, and disk usage statistics.
+ * Repository sizes are indexed in {@code pull_sync_config.repo_size_bytes},
+ * updated after each sync/gc, so size queries don't walk repository directories.
+ * First syncs reserve their estimated size in an in-memory ledger until the clone
+ * completes, so concurrent clones are admitted against the space not yet claimed.
+ * When object pools are enabled, fork families share objects through a pool
+ * repository referenced from each member's {@code objects/info/alternates}.
  *
  * @author GitLab Mirror Team
  */
@@ -30,9 +41,16 @@ import java.util.concurrent.atomic.AtomicLong;
 @RequiredArgsConstructor
 public class DiskManagementService {
 
+    private static final int MAX_FORK_DEPTH = 10;
+
     private final GitCommandExecutor gitCommandExecutor;
     private final PullSyncConfigMapper pullSyncConfigMapper;
     private final SourceProjectInfoMapper sourceProjectInfoMapper;
+    private final GitLabMirrorProperties properties;
+    private final RepositoryMaintenanceService repositoryMaintenanceService;
+
+    // Disk space reserved by in-flight first syncs: sync project ID -> bytes
+    private final Map<Long, Long> reservations = new ConcurrentHashMap<>();
 
     /**
      * Disk usage statistics
@@ -107,32 +125,80 @@ public class DiskManagementService {
      * @return true if space is available
      */
     public boolean checkAvailableSpace(long requiredBytes, String path) {
-        try {
-            File file = new File(path);
-            if (!file.exists()) {
-                file = file.getParentFile();
-                if (file == null) {
-                    return false;
-                }
-            }
+        long availableSpace = getUsableSpace(path);
+        boolean hasSpace = availableSpace >= requiredBytes;
 
-            long availableSpace = file.getUsableSpace();
-            boolean hasSpace = availableSpace >= requiredBytes;
+        if (!hasSpace) {
+            log.warn("Insufficient disk space at {}: required={} bytes, available={} bytes",
+                path, requiredBytes, availableSpace);
+        }
 
-            if (!hasSpace) {
-                log.warn("Insufficient disk space at {}: required={} bytes, available={} bytes",
-                    path, requiredBytes, availableSpace);
-            }
+        return hasSpace;
+    }
 
-            return hasSpace;
-        } catch (Exception e) {
-            log.error("Failed to check disk space at {}", path, e);
+    /**
+     * Reserve disk space for a first sync
+     * <p>
+     * Admits the reservation only if it fits into the usable space minus space already
+     * reserved by other in-flight clones and the configured minimum free space.
+     * Reserving again for a project that already holds a reservation succeeds.
+     *
+     * @param syncProjectId Sync project ID
+     * @param bytes         Estimated space in bytes
+     * @return true if reserved
+     */
+    public synchronized boolean reserveSpace(Long syncProjectId, long bytes) {
+        if (reservations.containsKey(syncProjectId)) {
+            return true;
+        }
+
+        long usable = getUsableSpace(getDefaultBasePath());
+        long reserved = getReservedBytes();
+        long minFree = properties.getSync().getDiskMinFreeBytes() != null ?
+            properties.getSync().getDiskMinFreeBytes() : 0;
+        long available = usable - reserved - minFree;
+
+        if (bytes > available) {
+            log.info("Disk reservation refused: projectId={}, required={} bytes, usable={}, reserved={}, minFree={}",
+                syncProjectId, bytes, usable, reserved, minFree);
             return false;
         }
+
+        reservations.put(syncProjectId, bytes);
+        log.debug("Disk space reserved: projectId={}, bytes={}, totalReserved={}",
+            syncProjectId, bytes, reserved + bytes);
+        return true;
+    }
+
+    /**
+     * Release a first sync reservation (no-op if none is held)
+     *
+     * @param syncProjectId Sync project ID
+     */
+    public void releaseReservation(Long syncProjectId) {
+        if (syncProjectId == null) {
+            return;
+        }
+        Long released = reservations.remove(syncProjectId);
+        if (released != null) {
+            log.debug("Disk reservation released: projectId={}, bytes={}", syncProjectId, released);
+        }
+    }
+
+    /**
+     * Get total space reserved by in-flight first syncs
+     *
+     * @return Reserved bytes
+     */
+    public long getReservedBytes() {
+        return reservations.values().stream().mapToLong(Long::longValue).sum();
     }
 
     /**
-     * Cleanup repository using git gc
+     * Cleanup repository using incremental maintenance
+     * <p>
+     * Runs geometric repack, multi-pack-index and commit-graph maintenance
+     * instead of a full {@code git gc --aggressive}.
      *
      * @param localPath Local repository path
      * @return Bytes freed (estimated)
@@ -141,23 +207,22 @@ public class DiskManagementService {
         log.info("Cleaning up repository: {}", localPath);
 
         try {
-            // Get size before cleanup
-            long sizeBefore = getRepositorySize(localPath);
+            PullSyncConfig config = pullSyncConfigMapper.selectOne(
+                new com.baomidou.mybatisplus.core.conditions.query.QueryWrapper<PullSyncConfig>()
+                    .eq("local_repo_path", localPath)
+            );
 
-            // Execute git gc
-            GitCommandExecutor.GitResult result = gitCommandExecutor.gcRepository(localPath);
+            RepositoryMaintenanceService.MaintenanceResult result = repositoryMaintenanceService.maintain(
+                    config != null ? config.getSyncProjectId() : null, localPath);
 
             if (!result.isSuccess()) {
-                log.warn("Git gc failed for {}: {}", localPath, result.getError());
+                log.warn("Repository maintenance failed for {}: {}", localPath, result.getErrorMessage());
                 return 0;
             }
 
-            // Get size after cleanup
-            long sizeAfter = getRepositorySize(localPath);
-            long bytesFreed = sizeBefore - sizeAfter;
-
+            long bytesFreed = result.getBytesFreed();
             log.info("Repository cleanup completed: {}, freed {} bytes", localPath, bytesFreed);
-            return Math.max(0, bytesFreed);
+            return bytesFreed;
 
         } catch (Exception e) {
             log.error("Failed to cleanup repository: {}", localPath, e);
@@ -165,6 +230,55 @@ public class DiskManagementService {
         }
     }
 
+    /**
+     * Update the size index after a sync
+     * <p>
+     * Uses REPO_SIZE_KB, PACK_COUNT and LOOSE_OBJECTS reported by the git script
+     * when present, otherwise measures the repository size. Fetches are counted
+     * towards the next maintenance run.
+     *
+     * @param syncProjectId Sync project ID
+     * @param localPath     Local repository path
+     * @param result        Script result (may be null)
+     * @param fetched       Whether the result comes from a fetch
+     * @return Indexed size in bytes
+     */
+    public long recordRepositorySize(Long syncProjectId, String localPath,
+                                     GitCommandExecutor.GitResult result, boolean fetched) {
+        long size = sizeFromResult(result, localPath);
+        Long packCount = result != null && result.isSuccess() ? result.getParsedLong("PACK_COUNT") : null;
+        Long looseObjects = result != null && result.isSuccess() ? result.getParsedLong("LOOSE_OBJECTS") : null;
+        try {
+            pullSyncConfigMapper.updateRepoStats(syncProjectId, size,
+                    packCount != null ? packCount.intValue() : null,
+                    looseObjects != null ? looseObjects.intValue() : null,
+                    fetched ? 1 : 0, LocalDateTime.now());
+            log.debug("Indexed repository size: projectId={}, size={} bytes, packs={}",
+                    syncProjectId, size, packCount);
+        } catch (Exception e) {
+            log.warn("Failed to index repository size for project {}: {}", syncProjectId, e.getMessage());
+        }
+        return size;
+    }
+
+    /**
+     * Get indexed repository size, measuring it once if not indexed yet
+     *
+     * @param config Pull sync config (needs sync_project_id, local_repo_path, repo_size_bytes)
+     * @return Size in bytes
+     */
+    public long getIndexedRepositorySize(PullSyncConfig config) {
+        if (config.getRepoSizeBytes() != null) {
+            return config.getRepoSizeBytes();
+        }
+        if (config.getLocalRepoPath() == null || config.getLocalRepoPath().isEmpty()) {
+            return 0;
+        }
+        long size = recordRepositorySize(config.getSyncProjectId(), config.getLocalRepoPath(), null, false);
+        config.setRepoSizeBytes(size);
+        return size;
+    }
+
     /**
      * Delete repository and its directory
      *
@@ -195,6 +309,8 @@ public class DiskManagementService {
 
     /**
      * Calculate disk usage statistics
+     * <p>
+     * Sums the repository size index; only repositories not indexed yet are measured.
      *
      * @return Disk usage statistics
      */
@@ -207,6 +323,7 @@ public class DiskManagementService {
             // Get all pull sync configs with local repo paths
             List<PullSyncConfig> configs = pullSyncConfigMapper.selectList(
                 new com.baomidou.mybatisplus.core.conditions.query.QueryWrapper<PullSyncConfig>()
+                    .select("sync_project_id", "local_repo_path", "repo_size_bytes")
                     .isNotNull("local_repo_path")
             );
 
@@ -214,7 +331,7 @@ public class DiskManagementService {
             for (PullSyncConfig config : configs) {
                 String localPath = config.getLocalRepoPath();
                 if (localPath != null && !localPath.isEmpty()) {
-                    long size = getRepositorySize(localPath);
+                    long size = getIndexedRepositorySize(config);
                     stats.getRepositorySizes().put(localPath, size);
                     totalSize += size;
                 }
@@ -243,7 +360,10 @@ public class DiskManagementService {
     }
 
     /**
-     * Get repository size in bytes
+     * Measure repository size in bytes
+     * <p>
+     * Git repositories are measured from object database stats (no directory walk);
+     * other directories fall back to summing file sizes.
      *
      * @param localPath Local repository path
      * @return Size in bytes
@@ -255,22 +375,14 @@ public class DiskManagementService {
                 return 0;
             }
 
-            AtomicLong size = new AtomicLong(0);
-            Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
-                @Override
-                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
-                    size.addAndGet(attrs.size());
-                    return FileVisitResult.CONTINUE;
-                }
-
-                @Override
-                public FileVisitResult visitFileFailed(Path file, IOException exc) {
-                    // Skip files we can't access
-                    return FileVisitResult.CONTINUE;
+            if (gitCommandExecutor.isValidRepository(localPath)) {
+                Long size = parseRepoSizeBytes(gitCommandExecutor.getRepositorySize(localPath));
+                if (size != null) {
+                    return size;
                 }
-            });
+            }
 
-            return size.get();
+            return calculateDirectorySize(path);
 
         } catch (Exception e) {
             log.error("Failed to calculate repository size: {}", localPath, e);
@@ -305,6 +417,170 @@ public class DiskManagementService {
         }
     }
 
+    /**
+     * Resolve the object pool repository of a project's fork family
+     * <p>
+     * The family is keyed by the root of the fork chain as far as it is known
+     * locally, so an upstream and all of its forks borrow objects from one pool.
+     * A pool only pays off once a second member of the family is mirrored.
+     *
+     * @param sourceInfo Source project info
+     * @return Pool repository path, or null if pooling is disabled or no other family member is mirrored
+     */
+    public String resolveObjectPoolPath(SourceProjectInfo sourceInfo) {
+        if (sourceInfo == null || !Boolean.TRUE.equals(properties.getSync().getObjectPoolEnabled())) {
+            return null;
+        }
+        boolean isFork = sourceInfo.getForkedFromProjectId() != null;
+        boolean hasForks = sourceInfo.getForkCount() != null && sourceInfo.getForkCount() > 0;
+        if (!isFork && !hasForks) {
+            return null;
+        }
+
+        // Walk up the fork chain through mirrored parents (guard against cycles)
+        Long rootId = sourceInfo.getGitlabProjectId();
+        Long parentId = sourceInfo.getForkedFromProjectId();
+        boolean parentMirrored = false;
+        Set<Long> visited = new HashSet<>();
+        while (parentId != null && visited.add(parentId) && visited.size() <= MAX_FORK_DEPTH) {
+            rootId = parentId;
+            SourceProjectInfo parent = sourceProjectInfoMapper.selectOne(
+                new com.baomidou.mybatisplus.core.conditions.query.QueryWrapper<SourceProjectInfo>()
+                    .eq("gitlab_project_id", parentId)
+                    .last("LIMIT 1")
+            );
+            parentMirrored |= parent != null;
+            parentId = parent != null ? parent.getForkedFromProjectId() : null;
+        }
+
+        if (!parentMirrored && !hasMirroredForkOrSibling(sourceInfo)) {
+            return null;
+        }
+        return getObjectPoolBasePath() + "/" + rootId + ".git";
+    }
+
+    /**
+     * Check whether a fork of the project or a fork of the same parent is mirrored
+     */
+    private boolean hasMirroredForkOrSibling(SourceProjectInfo sourceInfo) {
+        Long count = sourceProjectInfoMapper.selectCount(
+            new com.baomidou.mybatisplus.core.conditions.query.QueryWrapper<SourceProjectInfo>()
+                .ne("sync_project_id", sourceInfo.getSyncProjectId())
+                .and(w -> {
+                    w.eq("forked_from_project_id", sourceInfo.getGitlabProjectId());
+                    if (sourceInfo.getForkedFromProjectId() != null) {
+                        w.or().eq("forked_from_project_id", sourceInfo.getForkedFromProjectId());
+                    }
+                })
+        );
+        return count != null && count > 0;
+    }
+
+    /**
+     * Remove a project's refs from the object pool it borrows objects from
+     * <p>
+     * Without its member refs the pool no longer keeps the project's objects
+     * reachable, so they can be dropped by a later repack of the pool.
+     *
+     * @param syncProjectId Sync project ID
+     */
+    public void releaseObjectPoolMember(Long syncProjectId) {
+        PullSyncConfig config = pullSyncConfigMapper.selectOne(
+            new com.baomidou.mybatisplus.core.conditions.query.QueryWrapper<PullSyncConfig>()
+                .eq("sync_project_id", syncProjectId)
+        );
+        if (config == null || config.getLocalRepoPath() == null || config.getLocalRepoPath().isEmpty()) {
+            return;
+        }
+        String localPath = config.getLocalRepoPath();
+        Path alternates = Paths.get(localPath, "objects", "info", "alternates");
+        if (!Files.isRegularFile(alternates)) {
+            return;
+        }
+
+        try {
+            for (String line : Files.readAllLines(alternates)) {
+                Path objectsDir = Paths.get(line.trim());
+                if (line.isBlank() || !objectsDir.endsWith("objects") || !Files.isDirectory(objectsDir)) {
+                    continue;
+                }
+                String poolPath = objectsDir.getParent().toString();
+                GitCommandExecutor.GitResult result = gitCommandExecutor.removePoolMember(poolPath, localPath);
+                if (!result.isSuccess()) {
+                    log.warn("Failed to remove {} from object pool {}: {}", localPath, poolPath, result.getError());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to read object alternates of {}", localPath, e);
+        }
+    }
+
+    private String getObjectPoolBasePath() {
+        String poolPath = properties.getSync().getObjectPoolPath();
+        if (poolPath != null && !poolPath.isEmpty()) {
+            return poolPath.endsWith("/") ? poolPath.substring(0, poolPath.length() - 1) : poolPath;
+        }
+        return System.getProperty("user.home") + "/.gitlab-sync/pools";
+    }
+
+    /**
+     * Get usable space at path (or its nearest existing parent)
+     */
+    private long getUsableSpace(String path) {
+        try {
+            File file = new File(path);
+            while (file != null && !file.exists()) {
+                file = file.getParentFile();
+            }
+            return file != null ? file.getUsableSpace() : 0;
+        } catch (Exception e) {
+            log.error("Failed to check disk space at {}", path, e);
+            return 0;
+        }
+    }
+
+    /**
+     * Get size from a script result, measuring the repository if not reported
+     */
+    private long sizeFromResult(GitCommandExecutor.GitResult result, String localPath) {
+        Long size = parseRepoSizeBytes(result);
+        return size != null ? size : getRepositorySize(localPath);
+    }
+
+    /**
+     * Parse REPO_SIZE_KB from script output
+     *
+     * @return Size in bytes, or null if not reported
+     */
+    private Long parseRepoSizeBytes(GitCommandExecutor.GitResult result) {
+        if (result == null || !result.isSuccess()) {
+            return null;
+        }
+        Long sizeKb = result.getParsedLong("REPO_SIZE_KB");
+        return sizeKb != null ? sizeKb * 1024 : null;
+    }
+
+    /**
+     * Sum file sizes under a directory
+     */
+    private long calculateDirectorySize(Path path) throws IOException {
+        AtomicLong size = new AtomicLong(0);
+        Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                size.addAndGet(attrs.size());
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                // Skip files we can't access
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return size.get();
+    }
+
     /**
      * Get default base path for local repositories
      *
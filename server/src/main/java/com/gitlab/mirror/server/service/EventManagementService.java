@@ -26,12 +26,12 @@ import java.util.Map;
 public class EventManagementService {
 
     private final SyncEventMapper syncEventMapper;
-    private final com.gitlab.mirror.server.mapper.SyncProjectMapper syncProjectMapper;
+    private final ProjectKeyCache projectKeyCache;
 
     public EventManagementService(SyncEventMapper syncEventMapper,
-                                 com.gitlab.mirror.server.mapper.SyncProjectMapper syncProjectMapper) {
+                                 ProjectKeyCache projectKeyCache) {
         this.syncEventMapper = syncEventMapper;
-        this.syncProjectMapper = syncProjectMapper;
+        this.projectKeyCache = projectKeyCache;
     }
 
     /**
@@ -161,39 +161,17 @@ public class EventManagementService {
      * @return 项目路径
      */
     public String getProjectKey(Long syncProjectId) {
-        if (syncProjectId == null) {
-            return null;
-        }
-
-        com.gitlab.mirror.server.entity.SyncProject project =
-            syncProjectMapper.selectById(syncProjectId);
-
-        return project != null ? project.getProjectKey() : null;
+        return projectKeyCache.getProjectKey(syncProjectId);
     }
 
     /**
-     * 批量获取项目路径
+     * 批量获取项目路径（缓存未命中的项目一次 IN 查询加载）
      *
      * @param syncProjectIds 同步项目ID列表
      * @return 项目ID到路径的映射
      */
     public Map<Long, String> getProjectKeys(List<Long> syncProjectIds) {
-        Map<Long, String> projectKeyMap = new HashMap<>();
-
-        if (syncProjectIds == null || syncProjectIds.isEmpty()) {
-            return projectKeyMap;
-        }
-
-        for (Long syncProjectId : syncProjectIds) {
-            if (syncProjectId != null) {
-                String projectKey = getProjectKey(syncProjectId);
-                if (projectKey != null) {
-                    projectKeyMap.put(syncProjectId, projectKey);
-                }
-            }
-        }
-
-        return projectKeyMap;
+        return projectKeyCache.getProjectKeys(syncProjectIds);
     }
 
     /**
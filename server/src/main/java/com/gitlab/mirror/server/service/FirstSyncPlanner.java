@@ -0,0 +1,147 @@
+package com.gitlab.mirror.server.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.gitlab.mirror.server.config.properties.GitLabMirrorProperties;
+import com.gitlab.mirror.server.entity.SourceProjectInfo;
+import com.gitlab.mirror.server.entity.SyncTask;
+import com.gitlab.mirror.server.mapper.SourceProjectInfoMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * First Sync Planner
+ * <p>
+ * Orders first syncs (full clones) by the estimated repository size from
+ * {@code source_project_info.repository_size}. Small clones start smallest-first,
+ * which minimizes the average time-to-first-sync of a discovery wave. Large clones
+ * run in their own lane, bounded by {@code sync.first-sync-max-large-concurrent} and
+ * started largest-first, so a few monorepos never hold every slot while hundreds of
+ * small repositories wait, yet still start early enough not to become the tail.
+ *
+ * @author GitLab Mirror Team
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FirstSyncPlanner {
+
+    private static final long DEFAULT_ESTIMATED_SIZE = 100L * 1024 * 1024;
+
+    private final SourceProjectInfoMapper sourceProjectInfoMapper;
+    private final GitLabMirrorProperties properties;
+
+    // Large first syncs dispatched and not yet finished (sync project IDs)
+    private final Set<Long> runningLargeClones = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Choose and order the first syncs to dispatch into the free slots
+     * <p>
+     * Large clones picked by the plan occupy the large lane until {@link #release(Long)}
+     * is called for their project.
+     *
+     * @param firstSyncTasks Ready first-sync tasks
+     * @param slots          Free execution slots
+     * @return Tasks to dispatch, in dispatch order (at most {@code slots})
+     */
+    public synchronized List<SyncTask> plan(List<SyncTask> firstSyncTasks, int slots) {
+        if (firstSyncTasks.isEmpty() || slots <= 0) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, Long> sizes = loadEstimatedSizes(firstSyncTasks);
+        long largeThreshold = getLargeRepoBytes();
+
+        List<SyncTask> small = new ArrayList<>();
+        List<SyncTask> large = new ArrayList<>();
+        for (SyncTask task : firstSyncTasks) {
+            if (sizes.get(task.getSyncProjectId()) >= largeThreshold) {
+                large.add(task);
+            } else {
+                small.add(task);
+            }
+        }
+        small.sort(Comparator.comparingLong(t -> sizes.get(t.getSyncProjectId())));
+        large.sort(Comparator.comparingLong((SyncTask t) -> sizes.get(t.getSyncProjectId())).reversed());
+
+        int largeSlots = Math.max(0, getMaxLargeConcurrent() - runningLargeClones.size());
+        Iterator<SyncTask> smallIt = small.iterator();
+        Iterator<SyncTask> largeIt = large.iterator();
+
+        // Alternate lanes: a large clone whenever the large lane has room, small clones in between
+        List<SyncTask> planned = new ArrayList<>();
+        while (planned.size() < slots && (smallIt.hasNext() || (largeSlots > 0 && largeIt.hasNext()))) {
+            if (largeSlots > 0 && largeIt.hasNext()) {
+                SyncTask task = largeIt.next();
+                runningLargeClones.add(task.getSyncProjectId());
+                largeSlots--;
+                planned.add(task);
+            }
+            if (planned.size() < slots && smallIt.hasNext()) {
+                planned.add(smallIt.next());
+            }
+        }
+
+        log.debug("First sync plan: candidates={} (large={}), planned={}, largeRunning={}",
+            firstSyncTasks.size(), large.size(), planned.size(), runningLargeClones.size());
+        return planned;
+    }
+
+    /**
+     * Free the large lane slot of a project whose first sync finished or was not started
+     *
+     * @param syncProjectId Sync project ID
+     */
+    public void release(Long syncProjectId) {
+        runningLargeClones.remove(syncProjectId);
+    }
+
+    /**
+     * Get number of large first syncs currently running
+     *
+     * @return Running large clones
+     */
+    public int getRunningLargeClones() {
+        return runningLargeClones.size();
+    }
+
+    /**
+     * Load estimated repository sizes in one query (unknown sizes get a default estimate)
+     */
+    private Map<Long, Long> loadEstimatedSizes(List<SyncTask> tasks) {
+        Set<Long> projectIds = tasks.stream().map(SyncTask::getSyncProjectId).collect(Collectors.toSet());
+        Map<Long, Long> sizes = new HashMap<>();
+        sourceProjectInfoMapper.selectList(
+                new QueryWrapper<SourceProjectInfo>()
+                        .select("sync_project_id", "repository_size")
+                        .in("sync_project_id", projectIds)
+        ).forEach(info -> {
+            if (info.getRepositorySize() != null) {
+                sizes.put(info.getSyncProjectId(), info.getRepositorySize());
+            }
+        });
+        projectIds.forEach(id -> sizes.putIfAbsent(id, DEFAULT_ESTIMATED_SIZE));
+        return sizes;
+    }
+
+    private long getLargeRepoBytes() {
+        Long bytes = properties.getSync().getFirstSyncLargeRepoBytes();
+        return bytes != null ? bytes : 1024L * 1024 * 1024;
+    }
+
+    private int getMaxLargeConcurrent() {
+        Integer max = properties.getSync().getFirstSyncMaxLargeConcurrent();
+        return max != null ? max : 1;
+    }
+}
@@ -41,12 +41,15 @@ public class ProjectDiscoveryService {
 
     private final SyncProjectMapper syncProjectMapper;
     private final MonitorAlertMapper monitorAlertMapper;
+    private final DashboardStatsService dashboardStatsService;
 
     public ProjectDiscoveryService(
             SyncProjectMapper syncProjectMapper,
-            MonitorAlertMapper monitorAlertMapper) {
+            MonitorAlertMapper monitorAlertMapper,
+            DashboardStatsService dashboardStatsService) {
         this.syncProjectMapper = syncProjectMapper;
         this.monitorAlertMapper = monitorAlertMapper;
+        this.dashboardStatsService = dashboardStatsService;
     }
 
     /**
@@ -83,6 +86,7 @@ public class ProjectDiscoveryService {
                 syncProject.setUpdatedAt(LocalDateTime.now());
 
                 syncProjectMapper.insert(syncProject);
+                dashboardStatsService.onProjectStatusChanged(syncProject);
                 log.info("Created new sync project: {}", diff.getProjectKey());
             } else {
                 log.debug("Sync project already exists: {}", diff.getProjectKey());
@@ -140,6 +144,7 @@ public class ProjectDiscoveryService {
                 syncProject.setSyncStatus(SyncProject.SyncStatus.DELETED);
                 syncProject.setUpdatedAt(LocalDateTime.now());
                 syncProjectMapper.updateById(syncProject);
+                dashboardStatsService.onProjectStatusChanged(syncProject);
 
                 // Create alert
                 createDeletedProjectAlert(syncProject);
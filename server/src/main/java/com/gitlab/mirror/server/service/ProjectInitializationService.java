@@ -1,38 +1,50 @@
 package com.gitlab.mirror.server.service;
 
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.gitlab.mirror.common.model.GitLabProject;
 import com.gitlab.mirror.common.model.RepositoryBranch;
 import com.gitlab.mirror.server.client.GitLabApiClient;
+import com.gitlab.mirror.server.config.properties.GitLabMirrorProperties;
 import com.gitlab.mirror.server.entity.ProjectBranchSnapshot;
+import com.gitlab.mirror.server.entity.PullSyncConfig;
 import com.gitlab.mirror.server.entity.SourceProjectInfo;
 import com.gitlab.mirror.server.entity.SyncProject;
 import com.gitlab.mirror.server.entity.SyncTask;
+import com.gitlab.mirror.server.entity.TargetProjectInfo;
+import com.gitlab.mirror.server.mapper.PullSyncConfigMapper;
 import com.gitlab.mirror.server.mapper.SourceProjectInfoMapper;
 import com.gitlab.mirror.server.mapper.SyncProjectMapper;
-import lombok.RequiredArgsConstructor;
+import com.gitlab.mirror.server.mapper.SyncTaskMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.OffsetDateTime;
 import java.time.ZoneId;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Project Initialization Service
  * <p>
  * Handles initialization of new projects discovered via webhook or project scan.
  * Creates sync_project, source_project_info, pull_sync_config, and sync_task records.
+ * Projects discovered in bulk are onboarded in batches with multi-row inserts.
  *
  * @author GitLab Mirror Team
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class ProjectInitializationService {
 
     private final SyncProjectMapper syncProjectMapper;
@@ -40,9 +52,40 @@ public class ProjectInitializationService {
     private final PullSyncConfigService pullSyncConfigService;
     private final SyncTaskService syncTaskService;
     private final BranchSnapshotService branchSnapshotService;
-
-    @Qualifier("sourceGitLabApiClient")
+    private final PullSyncConfigMapper pullSyncConfigMapper;
+    private final SyncTaskMapper syncTaskMapper;
+    private final TargetProjectManagementService targetProjectManagementService;
+    private final GitLabMirrorProperties properties;
+    private final PlatformTransactionManager transactionManager;
     private final GitLabApiClient sourceGitLabApiClient;
+    private final DashboardStatsService dashboardStatsService;
+
+    public ProjectInitializationService(
+            SyncProjectMapper syncProjectMapper,
+            SourceProjectInfoMapper sourceProjectInfoMapper,
+            PullSyncConfigService pullSyncConfigService,
+            SyncTaskService syncTaskService,
+            BranchSnapshotService branchSnapshotService,
+            PullSyncConfigMapper pullSyncConfigMapper,
+            SyncTaskMapper syncTaskMapper,
+            TargetProjectManagementService targetProjectManagementService,
+            GitLabMirrorProperties properties,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("sourceGitLabApiClient") GitLabApiClient sourceGitLabApiClient,
+            DashboardStatsService dashboardStatsService) {
+        this.syncProjectMapper = syncProjectMapper;
+        this.sourceProjectInfoMapper = sourceProjectInfoMapper;
+        this.pullSyncConfigService = pullSyncConfigService;
+        this.syncTaskService = syncTaskService;
+        this.branchSnapshotService = branchSnapshotService;
+        this.pullSyncConfigMapper = pullSyncConfigMapper;
+        this.syncTaskMapper = syncTaskMapper;
+        this.targetProjectManagementService = targetProjectManagementService;
+        this.properties = properties;
+        this.transactionManager = transactionManager;
+        this.sourceGitLabApiClient = sourceGitLabApiClient;
+        this.dashboardStatsService = dashboardStatsService;
+    }
 
     /**
      * Initialize a new project from GitLab project path
@@ -101,20 +144,249 @@ public class ProjectInitializationService {
         log.info("Initializing new project: {}", projectKey);
 
         // Step 1: Create sync_project record
+        SyncProject syncProject = newSyncProject(projectKey, LocalDateTime.now());
+
+        syncProjectMapper.insert(syncProject);
+        dashboardStatsService.onProjectStatusChanged(syncProject);
+        log.info("Created sync_project: {} (id={})", projectKey, syncProject.getId());
+
+        // Step 2: Create source_project_info record
+        SourceProjectInfo sourceInfo = buildSourceProjectInfo(syncProject.getId(), project, branches);
+
+        sourceProjectInfoMapper.insert(sourceInfo);
+        log.info("Created source_project_info for: {} (id={})", projectKey, sourceInfo.getId());
+
+        // Step 3: Initialize Pull sync config
+        pullSyncConfigService.initializeConfig(syncProject.getId(), projectKey);
+        log.info("Initialized pull_sync_config for: {}", projectKey);
+
+        // Step 4: Create sync task
+        syncTaskService.initializeTask(syncProject.getId(), SyncTask.TaskType.PULL);
+        log.info("Initialized sync_task for: {}", projectKey);
+
+        // Step 5: Create branch snapshot
+        try {
+            branchSnapshotService.updateBranchSnapshot(
+                    syncProject.getId(),
+                    ProjectBranchSnapshot.ProjectType.SOURCE,
+                    branches,
+                    project.getDefaultBranch()
+            );
+            log.info("Created branch snapshot for: {}", projectKey);
+        } catch (Exception e) {
+            log.warn("Failed to create branch snapshot for {}: {}", projectKey, e.getMessage());
+        }
+
+        log.info("Successfully initialized project: {}, syncProjectId={}", projectKey, syncProject.getId());
+        return syncProject.getId();
+    }
+
+    /**
+     * Initialize many newly discovered projects at once
+     * <p>
+     * Records are written with multi-row inserts, one transaction per batch. First syncs are
+     * spread out with staggered next_run_at, and target projects are created concurrently
+     * in the background.
+     *
+     * @param projects            GitLab projects to onboard
+     * @param branchesByProjectId Branches keyed by GitLab project ID
+     * @return Created sync project IDs
+     */
+    public List<Long> initializeProjects(List<GitLabProject> projects,
+                                         Map<Long, List<RepositoryBranch>> branchesByProjectId) {
+        if (projects.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // Deduplicate by project key, keeping discovery order
+        Map<String, GitLabProject> projectsByKey = new LinkedHashMap<>();
+        projects.forEach(p -> projectsByKey.putIfAbsent(p.getPathWithNamespace(), p));
+        List<GitLabProject> uniqueProjects = new ArrayList<>(projectsByKey.values());
+
+        GitLabMirrorProperties.SyncConfig syncConfig = properties.getSync();
+        int batchSize = Math.max(1, syncConfig.getOnboardingBatchSize());
+        long staggerSeconds = Math.max(0, syncConfig.getOnboardingStaggerSeconds());
+        log.info("Onboarding {} new projects in batches of {}", uniqueProjects.size(), batchSize);
+
+        // Each batch commits on its own so a failure only loses that batch
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        Instant firstRunAt = Instant.now();
+        List<Long> createdIds = new ArrayList<>();
+        for (int from = 0; from < uniqueProjects.size(); from += batchSize) {
+            List<GitLabProject> batch = uniqueProjects.subList(from, Math.min(from + batchSize, uniqueProjects.size()));
+            Instant batchFirstRunAt = firstRunAt.plusSeconds(createdIds.size() * staggerSeconds);
+            try {
+                List<SyncProject> created = transactionTemplate.execute(status ->
+                        insertProjectBatch(batch, branchesByProjectId, batchFirstRunAt, staggerSeconds));
+                if (created == null || created.isEmpty()) {
+                    continue;
+                }
+
+                Map<String, GitLabProject> batchByKey = batch.stream()
+                        .collect(Collectors.toMap(GitLabProject::getPathWithNamespace, p -> p));
+                for (SyncProject syncProject : created) {
+                    createdIds.add(syncProject.getId());
+                    dashboardStatsService.onProjectStatusChanged(syncProject);
+                    GitLabProject project = batchByKey.get(syncProject.getProjectKey());
+                    createBranchSnapshot(syncProject, project,
+                            branchesByProjectId.getOrDefault(project.getId(), Collections.emptyList()));
+                }
+                log.info("Onboarded batch of {} projects ({}/{})", created.size(), createdIds.size(), uniqueProjects.size());
+            } catch (Exception e) {
+                log.error("Failed to onboard batch of {} projects starting at {}: {}",
+                        batch.size(), batch.get(0).getPathWithNamespace(), e.getMessage(), e);
+            }
+        }
+
+        if (!createdIds.isEmpty()) {
+            List<Long> targetIds = new ArrayList<>(createdIds);
+            targetProjectManagementService.batchCreateTargetProjectsAsync(targetIds)
+                    .whenComplete((targets, error) -> logTargetCreation(targetIds, targets, error));
+        }
+
+        log.info("Onboarded {} new projects, first syncs spread over {}s",
+                createdIds.size(), createdIds.size() * staggerSeconds);
+        return createdIds;
+    }
+
+    /**
+     * Log the outcome of background target project creation for onboarded projects
+     * <p>
+     * Projects left without a target are not lost: their first sync creates the target
+     * before cloning.
+     */
+    private void logTargetCreation(List<Long> syncProjectIds, List<TargetProjectInfo> targets, Throwable error) {
+        if (error != null) {
+            log.error("Failed to create target projects for {} onboarded projects, first syncs will create them",
+                    syncProjectIds.size(), error);
+            return;
+        }
+        Set<Long> created = targets.stream()
+                .map(TargetProjectInfo::getSyncProjectId)
+                .collect(Collectors.toSet());
+        List<Long> missing = syncProjectIds.stream()
+                .filter(id -> !created.contains(id))
+                .collect(Collectors.toList());
+        if (missing.isEmpty()) {
+            log.info("Created {} target projects for onboarded projects", targets.size());
+        } else {
+            log.warn("Created {}/{} target projects for onboarded projects, first syncs will create the rest: " +
+                    "syncProjectIds={}", targets.size(), syncProjectIds.size(), missing);
+        }
+    }
+
+    /**
+     * Insert records of one onboarding batch with multi-row inserts
+     *
+     * @return Inserted sync projects (with IDs), projects that already existed are skipped
+     */
+    private List<SyncProject> insertProjectBatch(List<GitLabProject> batch,
+                                                 Map<Long, List<RepositoryBranch>> branchesByProjectId,
+                                                 Instant firstRunAt,
+                                                 long staggerSeconds) {
+        List<String> keys = batch.stream()
+                .map(GitLabProject::getPathWithNamespace)
+                .collect(Collectors.toList());
+        Set<String> existingKeys = syncProjectMapper.selectList(
+                        new QueryWrapper<SyncProject>().select("project_key").in("project_key", keys))
+                .stream()
+                .map(SyncProject::getProjectKey)
+                .collect(Collectors.toSet());
+
+        List<GitLabProject> newProjects = batch.stream()
+                .filter(p -> !existingKeys.contains(p.getPathWithNamespace()))
+                .collect(Collectors.toList());
+        if (newProjects.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // Step 1: sync_project rows
+        LocalDateTime now = LocalDateTime.now();
+        List<SyncProject> syncProjects = newProjects.stream()
+                .map(p -> newSyncProject(p.getPathWithNamespace(), now))
+                .collect(Collectors.toList());
+        syncProjectMapper.insertBatch(syncProjects);
+
+        // Multi-row inserts do not return generated IDs, read them back by project key
+        List<String> newKeys = syncProjects.stream()
+                .map(SyncProject::getProjectKey)
+                .collect(Collectors.toList());
+        Map<String, Long> idsByKey = syncProjectMapper.selectList(
+                        new QueryWrapper<SyncProject>().select("id", "project_key").in("project_key", newKeys))
+                .stream()
+                .collect(Collectors.toMap(SyncProject::getProjectKey, SyncProject::getId));
+
+        // Steps 2-4: source_project_info, pull_sync_config and sync_task rows
+        List<SourceProjectInfo> sourceInfos = new ArrayList<>();
+        List<PullSyncConfig> configs = new ArrayList<>();
+        List<SyncTask> tasks = new ArrayList<>();
+        for (int i = 0; i < newProjects.size(); i++) {
+            GitLabProject project = newProjects.get(i);
+            SyncProject syncProject = syncProjects.get(i);
+            Long syncProjectId = idsByKey.get(syncProject.getProjectKey());
+            syncProject.setId(syncProjectId);
+
+            List<RepositoryBranch> branches = branchesByProjectId.getOrDefault(project.getId(), Collections.emptyList());
+            sourceInfos.add(buildSourceProjectInfo(syncProjectId, project, branches));
+            configs.add(pullSyncConfigService.buildDefaultConfig(syncProjectId, syncProject.getProjectKey()));
+
+            SyncTask task = new SyncTask();
+            task.setSyncProjectId(syncProjectId);
+            task.setTaskType(SyncTask.TaskType.PULL);
+            task.setTaskStatus(SyncTask.TaskStatus.WAITING);
+            task.setNextRunAt(firstRunAt.plusSeconds(i * staggerSeconds));
+            task.setConsecutiveFailures(0);
+            tasks.add(task);
+        }
+        sourceProjectInfoMapper.insertBatch(sourceInfos);
+        pullSyncConfigMapper.insertBatch(configs);
+        syncTaskMapper.insertBatch(tasks);
+
+        return syncProjects;
+    }
+
+    /**
+     * Create the source branch snapshot of a new project (failures are logged only)
+     */
+    private void createBranchSnapshot(SyncProject syncProject, GitLabProject project, List<RepositoryBranch> branches) {
+        if (branches.isEmpty()) {
+            return;
+        }
+        try {
+            branchSnapshotService.updateBranchSnapshot(
+                    syncProject.getId(),
+                    ProjectBranchSnapshot.ProjectType.SOURCE,
+                    branches,
+                    project.getDefaultBranch()
+            );
+        } catch (Exception e) {
+            log.warn("Failed to create branch snapshot for {}: {}", syncProject.getProjectKey(), e.getMessage());
+        }
+    }
+
+    /**
+     * Build a new pull sync_project record
+     */
+    private SyncProject newSyncProject(String projectKey, LocalDateTime now) {
         SyncProject syncProject = new SyncProject();
         syncProject.setProjectKey(projectKey);
         syncProject.setSyncMethod(SyncProject.SyncMethod.PULL_SYNC);
         syncProject.setSyncStatus(SyncProject.SyncStatus.PENDING);
         syncProject.setEnabled(true);
-        syncProject.setCreatedAt(LocalDateTime.now());
-        syncProject.setUpdatedAt(LocalDateTime.now());
-
-        syncProjectMapper.insert(syncProject);
-        log.info("Created sync_project: {} (id={})", projectKey, syncProject.getId());
+        syncProject.setCreatedAt(now);
+        syncProject.setUpdatedAt(now);
+        return syncProject;
+    }
 
-        // Step 2: Create source_project_info record
+    /**
+     * Build source_project_info from GitLab project data
+     */
+    private SourceProjectInfo buildSourceProjectInfo(Long syncProjectId, GitLabProject project,
+                                                     List<RepositoryBranch> branches) {
         SourceProjectInfo sourceInfo = new SourceProjectInfo();
-        sourceInfo.setSyncProjectId(syncProject.getId());
+        sourceInfo.setSyncProjectId(syncProjectId);
         sourceInfo.setGitlabProjectId(project.getId());
         sourceInfo.setPathWithNamespace(project.getPathWithNamespace());
         sourceInfo.setName(project.getName());
@@ -124,21 +396,37 @@ public class ProjectInitializationService {
         sourceInfo.setEmptyRepo(project.getEmptyRepo());
         sourceInfo.setStarCount(project.getStarCount());
         sourceInfo.setForkCount(project.getForksCount());
+        if (project.getForkedFromProject() != null) {
+            sourceInfo.setForkedFromProjectId(project.getForkedFromProject().getId());
+        }
 
-        // Set commit count and branch count from branches list
+        // Set commit count and repository size from statistics when available
         sourceInfo.setCommitCount(0); // Will be updated by sync
+        if (project.getStatistics() != null) {
+            sourceInfo.setRepositorySize(project.getStatistics().getRepositorySize());
+            if (project.getStatistics().getCommitCount() != null) {
+                sourceInfo.setCommitCount(project.getStatistics().getCommitCount());
+            }
+        }
         sourceInfo.setBranchCount(branches.size());
 
-        // Extract group path from path_with_namespace
-        String groupPath = extractGroupPath(project.getPathWithNamespace());
-        sourceInfo.setGroupPath(groupPath);
+        // Group path from namespace, or extracted from path_with_namespace
+        if (project.getNamespace() != null && project.getNamespace().getFullPath() != null) {
+            sourceInfo.setGroupPath(project.getNamespace().getFullPath());
+        } else {
+            sourceInfo.setGroupPath(extractGroupPath(project.getPathWithNamespace()));
+        }
 
         // Set latest commit SHA from default branch
         if (project.getDefaultBranch() != null && !branches.isEmpty()) {
             branches.stream()
-                    .filter(b -> b.getName().equals(project.getDefaultBranch()))
+                    .filter(b -> project.getDefaultBranch().equals(b.getName()))
                     .findFirst()
-                    .ifPresent(b -> sourceInfo.setLatestCommitSha(b.getCommit().getId()));
+                    .ifPresent(b -> {
+                        if (b.getCommit() != null) {
+                            sourceInfo.setLatestCommitSha(b.getCommit().getId());
+                        }
+                    });
         }
 
         // Set last activity timestamp
@@ -150,33 +438,7 @@ public class ProjectInitializationService {
 
         sourceInfo.setSyncedAt(LocalDateTime.now());
         sourceInfo.setUpdatedAt(LocalDateTime.now());
-
-        sourceProjectInfoMapper.insert(sourceInfo);
-        log.info("Created source_project_info for: {} (id={})", projectKey, sourceInfo.getId());
-
-        // Step 3: Initialize Pull sync config
-        pullSyncConfigService.initializeConfig(syncProject.getId(), projectKey);
-        log.info("Initialized pull_sync_config for: {}", projectKey);
-
-        // Step 4: Create sync task
-        syncTaskService.initializeTask(syncProject.getId(), SyncTask.TaskType.PULL);
-        log.info("Initialized sync_task for: {}", projectKey);
-
-        // Step 5: Create branch snapshot
-        try {
-            branchSnapshotService.updateBranchSnapshot(
-                    syncProject.getId(),
-                    ProjectBranchSnapshot.ProjectType.SOURCE,
-                    branches,
-                    project.getDefaultBranch()
-            );
-            log.info("Created branch snapshot for: {}", projectKey);
-        } catch (Exception e) {
-            log.warn("Failed to create branch snapshot for {}: {}", projectKey, e.getMessage());
-        }
-
-        log.info("Successfully initialized project: {}, syncProjectId={}", projectKey, syncProject.getId());
-        return syncProject.getId();
+        return sourceInfo;
     }
 
     /**
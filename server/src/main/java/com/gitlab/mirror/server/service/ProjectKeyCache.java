@@ -0,0 +1,118 @@
+package com.gitlab.mirror.server.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gitlab.mirror.server.entity.SyncProject;
+import com.gitlab.mirror.server.mapper.SyncProjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Project Key Cache
+ * <p>
+ * Bounded cache of sync project ID to project key, used when rendering
+ * event lists. Misses are loaded with a single {@code IN} query, so a page of
+ * events costs at most one project query.
+ *
+ * @author GitLab Mirror Team
+ */
+@Slf4j
+@Service
+public class ProjectKeyCache {
+
+    private static final int DEFAULT_MAX_ENTRIES = 10000;
+
+    private final SyncProjectMapper syncProjectMapper;
+    private final Cache<Long, String> cache;
+
+    @Autowired
+    public ProjectKeyCache(SyncProjectMapper syncProjectMapper) {
+        this(syncProjectMapper, Caffeine.newBuilder().maximumSize(DEFAULT_MAX_ENTRIES));
+    }
+
+    ProjectKeyCache(SyncProjectMapper syncProjectMapper, Caffeine<Object, Object> cacheBuilder) {
+        this.syncProjectMapper = syncProjectMapper;
+        this.cache = cacheBuilder.build();
+    }
+
+    /**
+     * Get project key by sync project ID
+     *
+     * @param syncProjectId Sync project ID
+     * @return Project key, or null if the project doesn't exist
+     */
+    public String getProjectKey(Long syncProjectId) {
+        if (syncProjectId == null) {
+            return null;
+        }
+        return getProjectKeys(List.of(syncProjectId)).get(syncProjectId);
+    }
+
+    /**
+     * Get project keys for multiple sync project IDs
+     *
+     * @param syncProjectIds Sync project IDs (nulls and duplicates are ignored)
+     * @return ID to project key mapping (missing projects are absent)
+     */
+    public Map<Long, String> getProjectKeys(Collection<Long> syncProjectIds) {
+        Map<Long, String> result = new HashMap<>();
+        if (syncProjectIds == null || syncProjectIds.isEmpty()) {
+            return result;
+        }
+
+        Set<Long> misses = new LinkedHashSet<>();
+        for (Long id : syncProjectIds) {
+            if (id == null) {
+                continue;
+            }
+            String projectKey = cache.getIfPresent(id);
+            if (projectKey != null) {
+                result.put(id, projectKey);
+            } else {
+                misses.add(id);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            List<SyncProject> projects = syncProjectMapper.selectList(
+                    new QueryWrapper<SyncProject>().select("id", "project_key").in("id", misses));
+            for (SyncProject project : projects) {
+                if (project.getProjectKey() != null) {
+                    cache.put(project.getId(), project.getProjectKey());
+                    result.put(project.getId(), project.getProjectKey());
+                }
+            }
+            log.debug("Loaded {} project keys ({} requested)", projects.size(), misses.size());
+        }
+
+        return result;
+    }
+
+    /**
+     * Drop a project from the cache (call on delete or rename)
+     *
+     * @param syncProjectId Sync project ID
+     */
+    public void invalidate(Long syncProjectId) {
+        if (syncProjectId == null) {
+            return;
+        }
+        cache.invalidate(syncProjectId);
+    }
+
+    /**
+     * Drop all cached entries
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
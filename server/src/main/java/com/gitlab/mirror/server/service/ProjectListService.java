@@ -51,6 +51,7 @@ public class ProjectListService {
     private final SyncTaskService syncTaskService;
     private final SyncResultMapper syncResultMapper;
     private final com.gitlab.mirror.server.mapper.SyncEventMapper syncEventMapper;
+    private final DiskManagementService diskManagementService;
 
     public ProjectListService(
             BranchSnapshotService branchSnapshotService,
@@ -61,7 +62,8 @@ public class ProjectListService {
             DiffCalculator diffCalculator,
             SyncTaskService syncTaskService,
             SyncResultMapper syncResultMapper,
-            com.gitlab.mirror.server.mapper.SyncEventMapper syncEventMapper) {
+            com.gitlab.mirror.server.mapper.SyncEventMapper syncEventMapper,
+            DiskManagementService diskManagementService) {
         this.branchSnapshotService = branchSnapshotService;
         this.sourceProjectInfoMapper = sourceProjectInfoMapper;
         this.targetProjectInfoMapper = targetProjectInfoMapper;
@@ -71,6 +73,7 @@ public class ProjectListService {
         this.syncTaskService = syncTaskService;
         this.syncResultMapper = syncResultMapper;
         this.syncEventMapper = syncEventMapper;
+        this.diskManagementService = diskManagementService;
     }
 
     /**
@@ -302,7 +305,7 @@ public class ProjectListService {
      * Calculate based on branch update times (committed_at) instead of project activity time
      * to focus on content differences
      */
-    private Long calculateDelay(Long syncProjectId) {
+    public Long calculateDelay(Long syncProjectId) {
         try {
             // Get latest commit time from source branches
             LocalDateTime sourceLatestCommit = projectBranchSnapshotMapper.selectList(
@@ -328,15 +331,7 @@ public class ProjectListService {
                     .map(ProjectBranchSnapshot::getCommittedAt)
                     .orElse(null);
 
-            // Calculate delay based on branch commit times
-            if (sourceLatestCommit != null && targetLatestCommit != null) {
-                Duration duration = Duration.between(targetLatestCommit, sourceLatestCommit);
-                return Math.max(0, duration.getSeconds()); // Ensure non-negative
-            } else if (sourceLatestCommit != null) {
-                // Target has no commits yet, calculate delay from source latest commit
-                Duration duration = Duration.between(sourceLatestCommit, LocalDateTime.now());
-                return Math.max(0, duration.getSeconds());
-            }
+            return computeDelaySeconds(sourceLatestCommit, targetLatestCommit);
         } catch (Exception e) {
             log.warn("Failed to calculate delay for project {}: {}", syncProjectId, e.getMessage());
         }
@@ -345,10 +340,30 @@ public class ProjectListService {
         return null;
     }
 
+    /**
+     * Compute delay (in seconds) from latest source and target branch commit times
+     *
+     * @param sourceLatestCommit Latest commit time among source branches
+     * @param targetLatestCommit Latest commit time among target branches
+     * @return Delay in seconds, or null when source has no commit information
+     */
+    public static Long computeDelaySeconds(LocalDateTime sourceLatestCommit, LocalDateTime targetLatestCommit) {
+        // Calculate delay based on branch commit times
+        if (sourceLatestCommit != null && targetLatestCommit != null) {
+            Duration duration = Duration.between(targetLatestCommit, sourceLatestCommit);
+            return Math.max(0, duration.getSeconds()); // Ensure non-negative
+        } else if (sourceLatestCommit != null) {
+            // Target has no commits yet, calculate delay from source latest commit
+            Duration duration = Duration.between(sourceLatestCommit, LocalDateTime.now());
+            return Math.max(0, duration.getSeconds());
+        }
+        return null;
+    }
+
     /**
      * Format delay seconds to human-readable string
      */
-    private String formatDelay(Long seconds) {
+    public static String formatDelay(Long seconds) {
         if (seconds == null) {
             return null;  // Return null when no branch/commit data available
         }
@@ -481,8 +496,8 @@ public class ProjectListService {
 
             cacheInfo.setExists(true);
 
-            // Calculate directory size
-            long size = calculateDirectorySize(repoDir);
+            // Size from the repository size index (updated after sync/gc)
+            long size = diskManagementService.getIndexedRepositorySize(pullConfig);
             cacheInfo.setSizeBytes(size);
             cacheInfo.setSizeFormatted(formatSize(size));
 
@@ -502,26 +517,6 @@ public class ProjectListService {
         return cacheInfo;
     }
 
-    /**
-     * Calculate total size of a directory
-     */
-    private long calculateDirectorySize(File directory) {
-        long size = 0;
-
-        if (directory.isFile()) {
-            return directory.length();
-        }
-
-        File[] files = directory.listFiles();
-        if (files != null) {
-            for (File file : files) {
-                size += calculateDirectorySize(file);
-            }
-        }
-
-        return size;
-    }
-
     /**
      * Format file size to human readable string
      */
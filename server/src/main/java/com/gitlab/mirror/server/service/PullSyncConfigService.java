@@ -44,11 +44,7 @@ public class PullSyncConfigService {
         }
 
         // Create new config with defaults
-        PullSyncConfig config = new PullSyncConfig();
-        config.setSyncProjectId(syncProjectId);
-        config.setPriority(PullSyncConfig.Priority.NORMAL);
-        config.setEnabled(true);
-        config.setLocalRepoPath(generateLocalRepoPath(projectKey));
+        PullSyncConfig config = buildDefaultConfig(syncProjectId, projectKey);
 
         pullSyncConfigMapper.insert(config);
 
@@ -58,6 +54,22 @@ public class PullSyncConfigService {
         return config;
     }
 
+    /**
+     * Build (without saving) the default configuration of a new project
+     *
+     * @param syncProjectId Sync project ID
+     * @param projectKey    Project key (path)
+     * @return Unsaved configuration
+     */
+    public PullSyncConfig buildDefaultConfig(Long syncProjectId, String projectKey) {
+        PullSyncConfig config = new PullSyncConfig();
+        config.setSyncProjectId(syncProjectId);
+        config.setPriority(PullSyncConfig.Priority.NORMAL);
+        config.setEnabled(true);
+        config.setLocalRepoPath(generateLocalRepoPath(projectKey));
+        return config;
+    }
+
     /**
      * Update priority for a project
      *
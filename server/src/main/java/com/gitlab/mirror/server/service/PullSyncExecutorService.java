@@ -46,6 +46,9 @@ public class PullSyncExecutorService {
     private final GitLabMirrorProperties properties;
     private final TaskStatusUpdateService taskStatusUpdateService;
     private final BranchSnapshotService branchSnapshotService;
+    private final DashboardStatsService dashboardStatsService;
+    private final StatusPushService statusPushService;
+    private final SyncProgressTracker syncProgressTracker;
 
     public PullSyncExecutorService(
             GitCommandExecutor gitCommandExecutor,
@@ -62,7 +65,10 @@ public class PullSyncExecutorService {
             SyncResultMapper syncResultMapper,
             GitLabMirrorProperties properties,
             TaskStatusUpdateService taskStatusUpdateService,
-            BranchSnapshotService branchSnapshotService) {
+            BranchSnapshotService branchSnapshotService,
+            DashboardStatsService dashboardStatsService,
+            StatusPushService statusPushService,
+            SyncProgressTracker syncProgressTracker) {
         this.gitCommandExecutor = gitCommandExecutor;
         this.sourceGitLabApiClient = sourceGitLabApiClient;
         this.targetGitLabApiClient = targetGitLabApiClient;
@@ -78,6 +84,9 @@ public class PullSyncExecutorService {
         this.properties = properties;
         this.taskStatusUpdateService = taskStatusUpdateService;
         this.branchSnapshotService = branchSnapshotService;
+        this.dashboardStatsService = dashboardStatsService;
+        this.statusPushService = statusPushService;
+        this.syncProgressTracker = syncProgressTracker;
     }
 
     /**
@@ -107,6 +116,10 @@ public class PullSyncExecutorService {
             log.error("Pull sync failed, taskId={}", task.getId(), e);
             exception = e;
         } finally {
+            // Clone finished (or never started), free its disk reservation
+            diskManagementService.releaseReservation(task.getSyncProjectId());
+            syncProgressTracker.finish(task.getId());
+
             // Always record completion time and result
             Instant completedAt = Instant.now();
 
@@ -162,6 +175,7 @@ public class PullSyncExecutorService {
             task.setErrorMessage("Project status is " + project.getSyncStatus());
             task.setNextRunAt(null); // No next run for blocked tasks
             syncTaskMapper.updateById(task);
+            statusPushService.publishTaskUpdate(task);
             log.info("Task {} blocked due to project status: {}", task.getId(), project.getSyncStatus());
 
             // Record task blocked event
@@ -174,8 +188,9 @@ public class PullSyncExecutorService {
         syncTaskMapper.updateById(task);
         log.info("Sync started for project: {} at {}", project.getProjectKey(), task.getStartedAt());
 
-        // Determine if first sync or incremental
+        // Determine if first sync or incremental (a paused first sync leaves a partial repository behind)
         boolean isFirstSync = config.getLocalRepoPath() == null ||
+            Boolean.TRUE.equals(config.getFirstSyncPending()) ||
             !gitCommandExecutor.isValidRepository(config.getLocalRepoPath());
 
         if (isFirstSync) {
@@ -198,12 +213,12 @@ public class PullSyncExecutorService {
         // 1. Ensure target project exists
         ensureTargetProjectExists(project);
 
-        // 2. Check disk space availability
+        // 2. Reserve disk space (already held if admitted by the scheduler, released when the task ends)
         long requiredSpace = diskManagementService.estimateRequiredSpace(project.getId());
-        if (!diskManagementService.checkAvailableSpace(requiredSpace)) {
+        if (!diskManagementService.reserveSpace(project.getId(), requiredSpace)) {
             throw new RuntimeException(String.format(
-                "Insufficient disk space: required=%d bytes, project=%s",
-                requiredSpace, project.getProjectKey()));
+                "Insufficient disk space: required=%d bytes, reserved by other clones=%d bytes, project=%s",
+                requiredSpace, diskManagementService.getReservedBytes(), project.getProjectKey()));
         }
 
         // 3. Prepare local repository path
@@ -228,23 +243,50 @@ public class PullSyncExecutorService {
         String targetUrl = buildGitUrl(properties.getTarget().getUrl(),
             properties.getTarget().getToken(), targetInfo.getPathWithNamespace());
 
-        // 5. Execute git sync-first (clone + push)
-        GitCommandExecutor.GitResult result = gitCommandExecutor.syncFirst(
-            sourceUrl, targetUrl, localRepoPath
-        );
+        // 5. Execute git sync-first (clone + push), sharing objects with the fork family if pooled;
+        //    large repositories and leftovers of an interrupted attempt are fetched resumably
+        //    Marked unfinished until the push completes: a failed or paused attempt leaves the
+        //    repository at the local path, and the retry must push it the first-sync way (in chunks)
+        String objectPoolPath = diskManagementService.resolveObjectPoolPath(sourceInfo);
+        pullSyncConfigMapper.updateFirstSyncPending(project.getId(), true);
+        GitCommandExecutor.GitResult result;
+        if (useResumableFirstSync(sourceInfo, localRepoPath)) {
+            GitLabMirrorProperties.SyncConfig sync = properties.getSync();
+            result = gitCommandExecutor.syncFirstResumable(sourceUrl, targetUrl, localRepoPath, objectPoolPath,
+                positiveOrDefault(sync.getFirstSyncRefBatchSize(), 50),
+                sync.getFirstSyncDeepenStep() != null ? Math.max(0, sync.getFirstSyncDeepenStep()) : 0,
+                sync.getFirstSyncWindowSeconds() != null ? Math.max(0, sync.getFirstSyncWindowSeconds()) : 0,
+                syncProgressTracker.start(task.getId()));
+        } else {
+            result = gitCommandExecutor.syncFirst(
+                sourceUrl, targetUrl, localRepoPath, objectPoolPath, syncProgressTracker.start(task.getId()));
+        }
 
         if (!result.isSuccess()) {
             throw new RuntimeException("First sync failed: " + result.getError());
         }
 
+        if ("false".equals(result.getParsedValue("FIRST_SYNC_COMPLETE"))) {
+            // Time window used up: keep the fetched refs and continue on the next run.
+            // Repository stats are only recorded once the clone is complete, they mark it as cloned.
+            rescheduleIncompleteFirstSync(task, project, result);
+            return;
+        }
+
         // 6. Update config with local repo path
         config.setLocalRepoPath(localRepoPath);
+        config.setFirstSyncPending(false);
         pullSyncConfigMapper.updateById(config);
+        diskManagementService.recordRepositorySize(project.getId(), localRepoPath, result, true);
 
         // 7. Parse statistics from git output
         com.gitlab.mirror.server.model.SyncStatistics statistics =
             com.gitlab.mirror.server.model.SyncStatistics.parseFromGitOutput(result.getOutput());
         log.info("First sync statistics: {}", statistics);
+        Long pushChunks = result.getParsedLong("PUSH_CHUNKS");
+        if (pushChunks != null && pushChunks > 0) {
+            log.info("First sync pushed history in {} chunks before tips and tags", pushChunks);
+        }
 
         // 8. Update task with sync result
         String finalSha = result.getParsedValue("FINAL_SHA");
@@ -267,12 +309,62 @@ public class PullSyncExecutorService {
         } catch (Exception e) {
             log.warn("Failed to update branch snapshots after sync: {}", e.getMessage());
         }
+        dashboardStatsService.refreshDelay(project.getId());
 
         // Note: Sync event will be recorded in updateTaskAfterSuccess() via recordSyncResult()
 
         log.info("First sync completed successfully for project: {}", project.getProjectKey());
     }
 
+    /**
+     * Whether a first sync should be fetched resumably
+     * <p>
+     * A repository left at the local path by an interrupted attempt is always resumed
+     * (a plain clone cannot reuse it); otherwise only repositories above the size threshold.
+     */
+    private boolean useResumableFirstSync(SourceProjectInfo sourceInfo, String localRepoPath) {
+        if (gitCommandExecutor.isValidRepository(localRepoPath)) {
+            return true;
+        }
+        GitLabMirrorProperties.SyncConfig sync = properties.getSync();
+        if (!Boolean.TRUE.equals(sync.getFirstSyncResumableEnabled())) {
+            return false;
+        }
+        Long threshold = sync.getFirstSyncResumableBytes();
+        long size = sourceInfo.getRepositorySize() != null ? sourceInfo.getRepositorySize() : 0;
+        return threshold == null || size >= threshold;
+    }
+
+    private int positiveOrDefault(Integer value, int defaultValue) {
+        return value != null && value > 0 ? value : defaultValue;
+    }
+
+    /**
+     * Put a first sync whose time window ran out back in the queue
+     * <p>
+     * The attempt made progress, so it is not counted as a failure; the next run
+     * continues from the refs already fetched.
+     */
+    private void rescheduleIncompleteFirstSync(SyncTask task, SyncProject project,
+                                               GitCommandExecutor.GitResult result) {
+        Instant completedAt = Instant.now();
+        task.setTaskStatus("waiting");
+        task.setCompletedAt(completedAt);
+        task.setDurationSeconds((int) ChronoUnit.SECONDS.between(task.getStartedAt(), completedAt));
+        task.setLastRunAt(completedAt);
+        task.setConsecutiveFailures(0);
+        task.setErrorType("");
+        task.setErrorMessage("");
+        task.setNextRunAt(completedAt);
+        task.setUpdatedAt(LocalDateTime.now());
+        syncTaskMapper.updateById(task);
+        statusPushService.publishTaskUpdate(task);
+
+        log.info("First sync paused for project: {}, pendingRefs={}, shallow={}, resuming on next run",
+            project.getProjectKey(), result.getParsedValue("FIRST_SYNC_PENDING_REFS"),
+            result.getParsedValue("FIRST_SYNC_SHALLOW"));
+    }
+
     /**
      * Execute incremental sync (update + push)
      *
@@ -351,11 +443,13 @@ public class PullSyncExecutorService {
             task.setLastRunAt(completedAt);
             task.setConsecutiveFailures(0);
             task.setForceSync(false);
+            task.setTriggerSource(SyncTask.TriggerSource.SCHEDULED);
             task.setNextRunAt(calculateNextRunTime(task));
             task.setUpdatedAt(LocalDateTime.now());
             task.setErrorType("");
             task.setErrorMessage("");
             syncTaskMapper.updateById(task);
+            statusPushService.publishTaskUpdate(task);
 
             // Update snapshots even when skipping sync to keep database accurate
             try {
@@ -373,6 +467,7 @@ public class PullSyncExecutorService {
             } catch (Exception e) {
                 log.warn("Failed to update branch snapshots: {}", e.getMessage());
             }
+            dashboardStatsService.refreshDelay(project.getId());
 
             // Record to sync_result table (no changes, skipped)
             // IMPORTANT: Don't update sync_project.last_sync_at for skipped syncs
@@ -392,12 +487,13 @@ public class PullSyncExecutorService {
         // 7. Execute git sync-incremental (remote update + push)
         String lastSyncedSha = task.getSourceCommitSha();
         GitCommandExecutor.GitResult result = gitCommandExecutor.syncIncremental(
-            sourceUrl, targetUrl, localRepoPath
+            sourceUrl, targetUrl, localRepoPath, syncProgressTracker.start(task.getId())
         );
 
         if (!result.isSuccess()) {
             throw new RuntimeException("Incremental sync failed: " + result.getError());
         }
+        diskManagementService.recordRepositorySize(project.getId(), localRepoPath, result, true);
 
         // 8. Parse statistics from git output
         com.gitlab.mirror.server.model.SyncStatistics statistics =
@@ -425,6 +521,7 @@ public class PullSyncExecutorService {
         } catch (Exception e) {
             log.warn("Failed to update branch snapshots after sync: {}", e.getMessage());
         }
+        dashboardStatsService.refreshDelay(project.getId());
 
         // Note: Sync event will be recorded in updateTaskAfterSuccess() via recordSyncResult()
 
@@ -537,6 +634,7 @@ public class PullSyncExecutorService {
         task.setLastRunAt(completedAt);
         task.setConsecutiveFailures(0);  // Reset failure count
         task.setForceSync(false);  // Clear force sync flag after execution
+        task.setTriggerSource(SyncTask.TriggerSource.SCHEDULED);  // Next run is routed as a regular sync
 
         // Calculate next run time based on priority
         task.setNextRunAt(calculateNextRunTime(task));
@@ -547,6 +645,7 @@ public class PullSyncExecutorService {
         task.setErrorMessage("");
 
         syncTaskMapper.updateById(task);
+        statusPushService.publishTaskUpdate(task);
 
         // Reset SyncProject status to active on success
         SyncProject project = syncProjectMapper.selectById(task.getSyncProjectId());
@@ -572,6 +671,7 @@ public class PullSyncExecutorService {
                 }
                 syncProjectMapper.updateById(project);
             }
+            dashboardStatsService.onProjectStatusChanged(project);
 
             // Record sync result to sync_result table
             String message = buildSyncMessage(hasChanges, sourceSha, targetSha, statistics);
@@ -670,6 +770,7 @@ public class PullSyncExecutorService {
             }
             project.setErrorMessage(e.getMessage());
             syncProjectMapper.updateById(project);
+            dashboardStatsService.onProjectStatusChanged(project);
         }
 
         // Set task status based on whether it should be blocked
@@ -882,6 +983,7 @@ public class PullSyncExecutorService {
         } else {
             syncResultMapper.updateById(syncResult);
         }
+        statusPushService.publishSyncResult(project, syncResult);
 
         // Only record to sync_event if there are changes or it's a failure
         boolean hasChanges = Boolean.TRUE.equals(task.getHasChanges());
@@ -955,6 +1057,7 @@ public class PullSyncExecutorService {
         task.setConsecutiveFailures(0); // Reset failure count
         task.setNextRunAt(Instant.now().plusSeconds(10)); // Schedule to run soon
         syncTaskMapper.updateById(task);
+        statusPushService.publishTaskUpdate(task);
 
         // Record task recovered event
         SyncEvent event = new SyncEvent();
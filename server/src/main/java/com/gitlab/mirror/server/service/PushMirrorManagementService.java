@@ -13,6 +13,7 @@ import com.gitlab.mirror.server.mapper.PushMirrorConfigMapper;
 import com.gitlab.mirror.server.mapper.SourceProjectInfoMapper;
 import com.gitlab.mirror.server.mapper.SyncEventMapper;
 import com.gitlab.mirror.server.mapper.TargetProjectInfoMapper;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -24,6 +25,7 @@ import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
@@ -51,6 +53,10 @@ public class PushMirrorManagementService {
     private final GitLabMirrorProperties properties;
     private final TargetProjectManagementService targetProjectManagementService;
     private final ExecutorService executorService;
+    private final ExecutorService pollingExecutor;
+
+    // 按配置ID记录的轮询节奏（稳定的Mirror逐步降低轮询频率）
+    private final Map<Long, PollSchedule> pollSchedules = new ConcurrentHashMap<>();
 
     public PushMirrorManagementService(
             @Qualifier("sourceGitLabApiClient") GitLabApiClient sourceGitLabApiClient,
@@ -70,6 +76,14 @@ public class PushMirrorManagementService {
         this.properties = properties;
         this.targetProjectManagementService = targetProjectManagementService;
         this.executorService = Executors.newFixedThreadPool(BATCH_SIZE);
+        this.pollingExecutor = Executors.newFixedThreadPool(
+                Math.max(1, properties.getPerformance().getMirrorPollingConcurrency()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executorService.shutdownNow();
+        pollingExecutor.shutdownNow();
     }
 
     /**
@@ -197,6 +211,10 @@ public class PushMirrorManagementService {
     /**
      * 定时轮询Mirror状态
      * 每2分钟执行一次
+     * <p>
+     * 按 mirrorPollingBatchSize 分批，批内以有限并发查询GitLab，
+     * 只把有变化的配置在一条语句中批量写回。状态稳定的Mirror逐步跳过更多轮次，
+     * 进行中或刚变化的Mirror每轮都查询。
      */
     @Scheduled(fixedDelayString = "${gitlab.mirror.sync.status-check-interval:120000}")
     public void scheduledStatusPolling() {
@@ -207,27 +225,131 @@ public class PushMirrorManagementService {
 
         log.info("Starting scheduled mirror status polling...");
         try {
+            long start = System.currentTimeMillis();
             List<PushMirrorConfig> configs = pushMirrorConfigMapper.selectList(null);
-            log.info("Polling status for {} mirrors", configs.size());
-
-            int updated = 0;
-            for (PushMirrorConfig config : configs) {
-                try {
-                    boolean statusChanged = pollMirrorStatus(config.getSyncProjectId());
-                    if (statusChanged) {
-                        updated++;
-                    }
-                } catch (Exception e) {
-                    log.error("Failed to poll mirror status for syncProjectId={}", config.getSyncProjectId(), e);
-                }
+            List<PushMirrorConfig> dueConfigs = selectDueMirrors(configs);
+            log.info("Polling status for {} of {} mirrors", dueConfigs.size(), configs.size());
+
+            int batchSize = Math.max(1, properties.getPerformance().getMirrorPollingBatchSize());
+            int statusChanges = 0;
+            int written = 0;
+            for (int i = 0; i < dueConfigs.size(); i += batchSize) {
+                List<PushMirrorConfig> batch = dueConfigs.subList(i, Math.min(i + batchSize, dueConfigs.size()));
+                int[] batchResult = pollBatch(batch);
+                statusChanges += batchResult[0];
+                written += batchResult[1];
             }
 
-            log.info("Scheduled mirror status polling completed: {} status changes detected", updated);
+            log.info("Scheduled mirror status polling completed: {} status changes detected, {} mirrors updated, " +
+                    "{} skipped as stable - {}ms", statusChanges, written, configs.size() - dueConfigs.size(),
+                    System.currentTimeMillis() - start);
         } catch (Exception e) {
             log.error("Scheduled mirror status polling failed", e);
         }
     }
 
+    /**
+     * 选出本轮需要轮询的Mirror，并清理已删除配置的轮询节奏
+     */
+    private List<PushMirrorConfig> selectDueMirrors(List<PushMirrorConfig> configs) {
+        Set<Long> liveIds = new HashSet<>();
+        List<PushMirrorConfig> due = new ArrayList<>();
+        for (PushMirrorConfig config : configs) {
+            liveIds.add(config.getId());
+            if (config.getGitlabMirrorId() == null) {
+                continue;
+            }
+            PollSchedule schedule = pollSchedules.get(config.getId());
+            if (schedule != null && schedule.skipRemaining > 0) {
+                schedule.skipRemaining--;
+                continue;
+            }
+            due.add(config);
+        }
+        pollSchedules.keySet().retainAll(liveIds);
+        return due;
+    }
+
+    /**
+     * 并发轮询一批Mirror，批量写回有变化的配置
+     *
+     * @return [状态变化数, 写回数]
+     */
+    private int[] pollBatch(List<PushMirrorConfig> batch) {
+        List<Long> syncProjectIds = batch.stream()
+                .map(PushMirrorConfig::getSyncProjectId)
+                .collect(Collectors.toList());
+        Map<Long, SourceProjectInfo> sourceInfos = sourceProjectInfoMapper.selectList(
+                new QueryWrapper<SourceProjectInfo>().in("sync_project_id", syncProjectIds)).stream()
+                .collect(Collectors.toMap(SourceProjectInfo::getSyncProjectId, info -> info, (a, b) -> a));
+
+        List<CompletableFuture<PolledMirror>> futures = batch.stream()
+                .map(config -> CompletableFuture.supplyAsync(
+                        () -> pollMirror(config, sourceInfos.get(config.getSyncProjectId())), pollingExecutor))
+                .collect(Collectors.toList());
+
+        List<PushMirrorConfig> changedConfigs = new ArrayList<>();
+        int statusChanges = 0;
+        for (CompletableFuture<PolledMirror> future : futures) {
+            PolledMirror polled = future.join();
+            if (polled == null) {
+                continue;
+            }
+            updatePollSchedule(polled);
+            if (polled.changed) {
+                changedConfigs.add(polled.config);
+            }
+            if (polled.isStatusChanged()) {
+                statusChanges++;
+                recordStatusChange(polled.config, polled.oldStatus);
+            }
+        }
+
+        if (!changedConfigs.isEmpty()) {
+            pushMirrorConfigMapper.batchUpdateStatus(changedConfigs);
+        }
+        return new int[]{statusChanges, changedConfigs.size()};
+    }
+
+    /**
+     * 查询单个Mirror的GitLab状态并更新内存中的配置（不写库）
+     */
+    private PolledMirror pollMirror(PushMirrorConfig config, SourceProjectInfo sourceInfo) {
+        if (sourceInfo == null) {
+            log.warn("No source project info found for syncProjectId={}", config.getSyncProjectId());
+            return null;
+        }
+        try {
+            RemoteMirror mirror = sourceGitLabApiClient.getMirror(
+                    sourceInfo.getGitlabProjectId(),
+                    config.getGitlabMirrorId()
+            );
+            String oldStatus = config.getLastUpdateStatus();
+            boolean changed = applyMirrorState(config, mirror, sourceInfo);
+            return new PolledMirror(config, oldStatus, changed);
+        } catch (Exception e) {
+            log.error("Failed to poll mirror status for syncProjectId={}", config.getSyncProjectId(), e);
+            return null;
+        }
+    }
+
+    /**
+     * 更新轮询节奏：有变化或进行中的Mirror下轮继续轮询，稳定的Mirror跳过轮次翻倍
+     */
+    private void updatePollSchedule(PolledMirror polled) {
+        String status = polled.config.getLastUpdateStatus();
+        boolean settled = PushMirrorConfig.UpdateStatus.FINISHED.equals(status)
+                || PushMirrorConfig.UpdateStatus.FAILED.equals(status);
+        PollSchedule schedule = pollSchedules.computeIfAbsent(polled.config.getId(), id -> new PollSchedule());
+        if (polled.changed || !settled) {
+            schedule.backoff = 0;
+        } else {
+            int maxSkip = Math.max(0, properties.getPerformance().getMirrorPollingMaxSkipCycles());
+            schedule.backoff = Math.min(maxSkip, Math.max(1, schedule.backoff * 2));
+        }
+        schedule.skipRemaining = schedule.backoff;
+    }
+
     /**
      * 轮询单个Mirror状态
      *
@@ -258,94 +380,124 @@ public class PushMirrorManagementService {
             );
 
             String oldStatus = config.getLastUpdateStatus();
-            String newStatus = mirror.getUpdateStatus();
-            boolean statusChanged = !Objects.equals(oldStatus, newStatus);
-
-            // 更新配置
-            config.setLastUpdateStatus(newStatus);
-
-            // 优先使用last_update_at，如果为空则使用last_update_started_at
-            if (mirror.getLastUpdateAt() != null) {
-                config.setLastUpdateAt(mirror.getLastUpdateAt().toLocalDateTime());
-            } else if (mirror.getLastUpdateStartedAt() != null) {
-                config.setLastUpdateAt(mirror.getLastUpdateStartedAt().toLocalDateTime());
+            if (applyMirrorState(config, mirror, sourceInfo)) {
+                pushMirrorConfigMapper.updateById(config);
             }
 
-            if (mirror.getLastSuccessfulUpdateAt() != null) {
-                config.setLastSuccessfulUpdateAt(mirror.getLastSuccessfulUpdateAt().toLocalDateTime());
+            // 记录状态变化事件
+            boolean statusChanged = !Objects.equals(oldStatus, config.getLastUpdateStatus());
+            if (statusChanged) {
+                recordStatusChange(config, oldStatus);
             }
 
-            // 检查错误信息，判断是否需要创建目标项目
-            String errorMessage = mirror.getLastError();
-            boolean needsTargetProject = false;
+            return statusChanged;
+
+        } catch (Exception e) {
+            log.error("Failed to poll mirror status for syncProjectId={}", syncProjectId, e);
+            return false;
+        }
+    }
+
+    /**
+     * 将GitLab返回的Mirror状态应用到配置
+     *
+     * @return true if any persisted field changed
+     */
+    private boolean applyMirrorState(PushMirrorConfig config, RemoteMirror mirror, SourceProjectInfo sourceInfo) {
+        Long syncProjectId = config.getSyncProjectId();
+        String oldStatus = config.getLastUpdateStatus();
+        LocalDateTime oldUpdateAt = config.getLastUpdateAt();
+        LocalDateTime oldSuccessfulUpdateAt = config.getLastSuccessfulUpdateAt();
+        Integer oldFailures = config.getConsecutiveFailures();
+        String oldError = config.getErrorMessage();
+
+        String newStatus = mirror.getUpdateStatus();
+        config.setLastUpdateStatus(newStatus);
+
+        // 优先使用last_update_at，如果为空则使用last_update_started_at
+        if (mirror.getLastUpdateAt() != null) {
+            config.setLastUpdateAt(mirror.getLastUpdateAt().toLocalDateTime());
+        } else if (mirror.getLastUpdateStartedAt() != null) {
+            config.setLastUpdateAt(mirror.getLastUpdateStartedAt().toLocalDateTime());
+        }
+
+        if (mirror.getLastSuccessfulUpdateAt() != null) {
+            config.setLastSuccessfulUpdateAt(mirror.getLastSuccessfulUpdateAt().toLocalDateTime());
+        }
 
-            if (errorMessage != null && (
-                errorMessage.contains("not found") ||
-                errorMessage.contains("could not be found") ||
-                errorMessage.contains("you don't have permission"))) {
+        // 检查错误信息，判断是否需要创建目标项目
+        String errorMessage = mirror.getLastError();
 
-                log.warn("Mirror sync failed due to missing target project: syncProjectId={}", syncProjectId);
-                needsTargetProject = true;
+        if (errorMessage != null && (
+            errorMessage.contains("not found") ||
+            errorMessage.contains("could not be found") ||
+            errorMessage.contains("you don't have permission"))) {
 
-                // 检查目标项目状态
-                TargetProjectInfo targetInfo = getTargetProjectInfo(syncProjectId);
-                if (targetInfo != null && !TargetProjectInfo.Status.CREATED.equals(targetInfo.getStatus())) {
-                    log.info("Target project exists but status is {}, will attempt to create", targetInfo.getStatus());
-                    try {
-                        // 尝试创建目标项目
-                        targetProjectManagementService.createTargetProject(syncProjectId);
-                        log.info("Successfully created target project for syncProjectId={}", syncProjectId);
-
-                        // 创建成功后触发一次同步
-                        sourceGitLabApiClient.triggerMirrorSync(
-                            sourceInfo.getGitlabProjectId(),
-                            config.getGitlabMirrorId()
-                        );
-                        log.info("Triggered mirror sync after creating target project");
-
-                        recordMirrorEvent(syncProjectId, "target_project_created", "success",
-                            Map.of("action", "auto_created_on_mirror_error"));
-                    } catch (Exception ex) {
-                        log.error("Failed to auto-create target project for syncProjectId={}", syncProjectId, ex);
-                        recordMirrorEvent(syncProjectId, "target_project_create_failed", "error",
-                            Map.of("error", ex.getMessage()));
-                    }
+            log.warn("Mirror sync failed due to missing target project: syncProjectId={}", syncProjectId);
+
+            // 检查目标项目状态
+            TargetProjectInfo targetInfo = getTargetProjectInfo(syncProjectId);
+            if (targetInfo != null && !TargetProjectInfo.Status.CREATED.equals(targetInfo.getStatus())) {
+                log.info("Target project exists but status is {}, will attempt to create", targetInfo.getStatus());
+                try {
+                    // 尝试创建目标项目
+                    targetProjectManagementService.createTargetProject(syncProjectId);
+                    log.info("Successfully created target project for syncProjectId={}", syncProjectId);
+
+                    // 创建成功后触发一次同步
+                    sourceGitLabApiClient.triggerMirrorSync(
+                        sourceInfo.getGitlabProjectId(),
+                        config.getGitlabMirrorId()
+                    );
+                    log.info("Triggered mirror sync after creating target project");
+
+                    recordMirrorEvent(syncProjectId, "target_project_created", "success",
+                        Map.of("action", "auto_created_on_mirror_error"));
+                } catch (Exception ex) {
+                    log.error("Failed to auto-create target project for syncProjectId={}", syncProjectId, ex);
+                    recordMirrorEvent(syncProjectId, "target_project_create_failed", "error",
+                        Map.of("error", ex.getMessage()));
                 }
             }
+        }
 
-            // 更新连续失败计数和错误信息
-            if (PushMirrorConfig.UpdateStatus.FAILED.equals(newStatus)) {
+        // 更新连续失败计数和错误信息（同一次失败的更新只计数一次）
+        if (PushMirrorConfig.UpdateStatus.FAILED.equals(newStatus)) {
+            boolean newFailure = !PushMirrorConfig.UpdateStatus.FAILED.equals(oldStatus)
+                    || !Objects.equals(oldUpdateAt, config.getLastUpdateAt());
+            if (newFailure) {
                 config.setConsecutiveFailures(
                         config.getConsecutiveFailures() != null ? config.getConsecutiveFailures() + 1 : 1
                 );
-                config.setErrorMessage(errorMessage);
-            } else if (PushMirrorConfig.UpdateStatus.FINISHED.equals(newStatus)) {
-                config.setConsecutiveFailures(0);
-                config.setErrorMessage(null);
-            } else {
-                // 对于其他状态（to_retry, started等），也保存错误信息（如果有）
-                if (errorMessage != null && !errorMessage.isEmpty()) {
-                    config.setErrorMessage(errorMessage);
-                }
             }
-
-            pushMirrorConfigMapper.updateById(config);
-
-            // 记录状态变化事件
-            if (statusChanged) {
-                recordMirrorEvent(syncProjectId, "mirror_status_changed", "info",
-                        Map.of("old_status", oldStatus != null ? oldStatus : "null",
-                               "new_status", newStatus,
-                               "consecutive_failures", config.getConsecutiveFailures()));
-                log.info("Mirror status changed: syncProjectId={}, {} -> {}", syncProjectId, oldStatus, newStatus);
+            config.setErrorMessage(errorMessage);
+        } else if (PushMirrorConfig.UpdateStatus.FINISHED.equals(newStatus)) {
+            config.setConsecutiveFailures(0);
+            config.setErrorMessage(null);
+        } else {
+            // 对于其他状态（to_retry, started等），也保存错误信息（如果有）
+            if (errorMessage != null && !errorMessage.isEmpty()) {
+                config.setErrorMessage(errorMessage);
             }
+        }
 
-            return statusChanged;
+        return !Objects.equals(oldStatus, config.getLastUpdateStatus())
+                || !Objects.equals(oldUpdateAt, config.getLastUpdateAt())
+                || !Objects.equals(oldSuccessfulUpdateAt, config.getLastSuccessfulUpdateAt())
+                || !Objects.equals(oldFailures, config.getConsecutiveFailures())
+                || !Objects.equals(oldError, config.getErrorMessage());
+    }
 
-        } catch (Exception e) {
-            log.error("Failed to poll mirror status for syncProjectId={}", syncProjectId, e);
-            return false;
-        }
+    /**
+     * 记录Mirror状态变化事件
+     */
+    private void recordStatusChange(PushMirrorConfig config, String oldStatus) {
+        recordMirrorEvent(config.getSyncProjectId(), "mirror_status_changed", "info",
+                Map.of("old_status", oldStatus != null ? oldStatus : "null",
+                       "new_status", config.getLastUpdateStatus(),
+                       "consecutive_failures", config.getConsecutiveFailures()));
+        log.info("Mirror status changed: syncProjectId={}, {} -> {}",
+                config.getSyncProjectId(), oldStatus, config.getLastUpdateStatus());
     }
 
     /**
@@ -464,6 +616,8 @@ public class PushMirrorManagementService {
 
         try {
             sourceGitLabApiClient.triggerMirrorSync(sourceInfo.getGitlabProjectId(), config.getGitlabMirrorId());
+            // 手动触发后下一轮立即轮询
+            pollSchedules.remove(config.getId());
             log.info("Successfully triggered mirror sync: syncProjectId={}, mirrorId={}",
                     syncProjectId, config.getGitlabMirrorId());
 
@@ -508,4 +662,31 @@ public class PushMirrorManagementService {
         event.setEventData(new HashMap<>(data));
         syncEventMapper.insert(event);
     }
+
+    /**
+     * 单个Mirror的轮询节奏
+     */
+    private static class PollSchedule {
+        private int backoff;
+        private int skipRemaining;
+    }
+
+    /**
+     * 单个Mirror的轮询结果
+     */
+    private static class PolledMirror {
+        private final PushMirrorConfig config;
+        private final String oldStatus;
+        private final boolean changed;
+
+        private PolledMirror(PushMirrorConfig config, String oldStatus, boolean changed) {
+            this.config = config;
+            this.oldStatus = oldStatus;
+            this.changed = changed;
+        }
+
+        private boolean isStatusChanged() {
+            return !Objects.equals(oldStatus, config.getLastUpdateStatus());
+        }
+    }
 }
@@ -0,0 +1,250 @@
+package com.gitlab.mirror.server.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.gitlab.mirror.server.config.properties.GitLabMirrorProperties;
+import com.gitlab.mirror.server.entity.PullSyncConfig;
+import com.gitlab.mirror.server.entity.SyncEvent;
+import com.gitlab.mirror.server.entity.SyncTask;
+import com.gitlab.mirror.server.executor.GitCommandExecutor;
+import com.gitlab.mirror.server.mapper.PullSyncConfigMapper;
+import com.gitlab.mirror.server.mapper.SyncEventMapper;
+import com.gitlab.mirror.server.mapper.SyncTaskMapper;
+import com.gitlab.mirror.server.service.metrics.GitLabMirrorMetricsCollector;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repository Maintenance Service
+ * <p>
+ * Keeps local bare repositories compact with cheap incremental maintenance
+ * (geometric repack, multi-pack-index, commit-graph, pack-refs) instead of
+ * {@code git gc --aggressive}. Repositories are picked from the stats kept in
+ * {@code pull_sync_config} (fetches since last maintenance, pack and loose object
+ * counts) and maintained off-peak while syncs are idle, within a time budget per run.
+ *
+ * @author GitLab Mirror Team
+ */
+@Slf4j
+@Service
+public class RepositoryMaintenanceService {
+
+    private final GitCommandExecutor gitCommandExecutor;
+    private final PullSyncConfigMapper pullSyncConfigMapper;
+    private final SyncTaskMapper syncTaskMapper;
+    private final SyncEventMapper syncEventMapper;
+    private final GitLabMirrorProperties properties;
+    private final GitLabMirrorMetricsCollector metricsCollector;
+
+    public RepositoryMaintenanceService(
+            GitCommandExecutor gitCommandExecutor,
+            PullSyncConfigMapper pullSyncConfigMapper,
+            SyncTaskMapper syncTaskMapper,
+            SyncEventMapper syncEventMapper,
+            GitLabMirrorProperties properties,
+            GitLabMirrorMetricsCollector metricsCollector) {
+        this.gitCommandExecutor = gitCommandExecutor;
+        this.pullSyncConfigMapper = pullSyncConfigMapper;
+        this.syncTaskMapper = syncTaskMapper;
+        this.syncEventMapper = syncEventMapper;
+        this.properties = properties;
+        this.metricsCollector = metricsCollector;
+    }
+
+    /**
+     * Maintain repositories that are due, in idle windows and within the run budget
+     */
+    @Scheduled(fixedDelayString = "${gitlab.mirror.maintenance.interval:600000}",
+            initialDelayString = "${gitlab.mirror.maintenance.interval:600000}")
+    public void runScheduledMaintenance() {
+        GitLabMirrorProperties.MaintenanceConfig config = properties.getMaintenance();
+        if (!Boolean.TRUE.equals(config.getEnabled())) {
+            return;
+        }
+        if (Boolean.TRUE.equals(config.getOffPeakOnly()) && isPeakHours()) {
+            log.debug("Skipping repository maintenance during peak hours");
+            return;
+        }
+
+        try {
+            if (!isSyncIdle(config)) {
+                log.debug("Skipping repository maintenance, sync tasks are running");
+                return;
+            }
+
+            List<PullSyncConfig> candidates = pullSyncConfigMapper.selectMaintenanceCandidates(
+                    config.getMinFetches(), config.getMinPacks(), config.getMinLooseObjects(),
+                    config.getMaxReposPerRun());
+            if (candidates.isEmpty()) {
+                log.debug("No repositories due for maintenance");
+                return;
+            }
+
+            long start = System.currentTimeMillis();
+            long deadline = start + config.getBudgetSeconds() * 1000L;
+            int maintained = 0;
+
+            for (PullSyncConfig candidate : candidates) {
+                if (System.currentTimeMillis() >= deadline) {
+                    log.info("Maintenance budget exhausted, {} repositories left for the next run",
+                            candidates.size() - maintained);
+                    break;
+                }
+                if (maintained > 0 && !isSyncIdle(config)) {
+                    log.info("Sync activity resumed, pausing maintenance after {} repositories", maintained);
+                    break;
+                }
+                maintain(candidate.getSyncProjectId(), candidate.getLocalRepoPath());
+                maintained++;
+            }
+
+            log.info("Repository maintenance run completed: maintained={}, candidates={}, duration={}ms",
+                    maintained, candidates.size(), System.currentTimeMillis() - start);
+
+        } catch (Exception e) {
+            log.error("Repository maintenance run failed", e);
+        }
+    }
+
+    /**
+     * Run incremental maintenance on one repository and record before/after stats
+     *
+     * @param syncProjectId Sync project ID (null for repositories not tracked in pull_sync_config)
+     * @param localPath     Local repository path
+     * @return Maintenance result
+     */
+    public MaintenanceResult maintain(Long syncProjectId, String localPath) {
+        long start = System.currentTimeMillis();
+        int packThreads = Math.max(1, properties.getMaintenance().getPackThreads());
+        GitCommandExecutor.GitResult result = gitCommandExecutor.maintainRepository(localPath, packThreads);
+        long durationMs = System.currentTimeMillis() - start;
+
+        MaintenanceResult outcome = new MaintenanceResult(
+                result.isSuccess(),
+                durationMs,
+                kbToBytes(result.getParsedLong("REPO_SIZE_KB_BEFORE")),
+                kbToBytes(result.getParsedLong("REPO_SIZE_KB_AFTER")),
+                toInteger(result.getParsedLong("PACK_COUNT_BEFORE")),
+                toInteger(result.getParsedLong("PACK_COUNT_AFTER")),
+                toInteger(result.getParsedLong("LOOSE_OBJECTS_BEFORE")),
+                toInteger(result.getParsedLong("LOOSE_OBJECTS_AFTER")),
+                result.isSuccess() ? null : result.getError()
+        );
+
+        if (outcome.isSuccess()) {
+            log.info("Repository maintained: {}, packs {} -> {}, loose objects {} -> {}, freed {} bytes, {}ms",
+                    localPath, outcome.getPacksBefore(), outcome.getPacksAfter(),
+                    outcome.getLooseObjectsBefore(), outcome.getLooseObjectsAfter(),
+                    outcome.getBytesFreed(), durationMs);
+        } else {
+            log.warn("Repository maintenance failed: {}, error={}", localPath, outcome.getErrorMessage());
+        }
+
+        int packsRemoved = outcome.getPacksBefore() != null && outcome.getPacksAfter() != null ?
+                Math.max(0, outcome.getPacksBefore() - outcome.getPacksAfter()) : 0;
+        metricsCollector.recordRepositoryMaintenance(
+                outcome.isSuccess() ? "success" : "failed", durationMs, packsRemoved, outcome.getBytesFreed());
+
+        if (syncProjectId != null) {
+            recordOutcome(syncProjectId, outcome);
+        }
+        return outcome;
+    }
+
+    private void recordOutcome(Long syncProjectId, MaintenanceResult outcome) {
+        try {
+            if (outcome.isSuccess() && outcome.getSizeBytesAfter() != null) {
+                pullSyncConfigMapper.updateAfterMaintenance(syncProjectId, outcome.getSizeBytesAfter(),
+                        outcome.getPacksAfter(), outcome.getLooseObjectsAfter(), LocalDateTime.now());
+            }
+
+            Map<String, Object> eventData = new LinkedHashMap<>();
+            eventData.put("sizeBytesBefore", outcome.getSizeBytesBefore());
+            eventData.put("sizeBytesAfter", outcome.getSizeBytesAfter());
+            eventData.put("packsBefore", outcome.getPacksBefore());
+            eventData.put("packsAfter", outcome.getPacksAfter());
+            eventData.put("looseObjectsBefore", outcome.getLooseObjectsBefore());
+            eventData.put("looseObjectsAfter", outcome.getLooseObjectsAfter());
+            eventData.put("durationMs", outcome.getDurationMs());
+
+            SyncEvent event = new SyncEvent();
+            event.setSyncProjectId(syncProjectId);
+            event.setEventType(SyncEvent.EventType.REPO_MAINTENANCE);
+            event.setEventSource(SyncEvent.EventSource.SYSTEM);
+            event.setStatus(outcome.isSuccess() ? SyncEvent.Status.SUCCESS : SyncEvent.Status.FAILED);
+            event.setErrorMessage(outcome.getErrorMessage());
+            event.setDurationSeconds((int) (outcome.getDurationMs() / 1000));
+            event.setEventData(eventData);
+            event.setEventTime(LocalDateTime.now());
+            syncEventMapper.insert(event);
+        } catch (Exception e) {
+            log.warn("Failed to record maintenance result for project {}: {}", syncProjectId, e.getMessage());
+        }
+    }
+
+    private boolean isSyncIdle(GitLabMirrorProperties.MaintenanceConfig config) {
+        Long running = syncTaskMapper.selectCount(new QueryWrapper<SyncTask>().eq("task_status", "running"));
+        return running == null || running <= config.getMaxActiveSyncs();
+    }
+
+    /**
+     * Check if current time is in sync peak hours (format: "9-18")
+     */
+    private boolean isPeakHours() {
+        String peakHours = properties.getSync().getPeakHours();
+        if (peakHours == null || peakHours.isEmpty()) {
+            return false;
+        }
+        try {
+            String[] parts = peakHours.split("-");
+            int currentHour = LocalTime.now().getHour();
+            return currentHour >= Integer.parseInt(parts[0]) && currentHour < Integer.parseInt(parts[1]);
+        } catch (Exception e) {
+            log.warn("Invalid peak hours configuration: {}", peakHours);
+            return false;
+        }
+    }
+
+    private static Long kbToBytes(Long kb) {
+        return kb != null ? kb * 1024 : null;
+    }
+
+    private static Integer toInteger(Long value) {
+        return value != null ? value.intValue() : null;
+    }
+
+    /**
+     * Outcome of one repository maintenance run
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class MaintenanceResult {
+        private final boolean success;
+        private final long durationMs;
+        private final Long sizeBytesBefore;
+        private final Long sizeBytesAfter;
+        private final Integer packsBefore;
+        private final Integer packsAfter;
+        private final Integer looseObjectsBefore;
+        private final Integer looseObjectsAfter;
+        private final String errorMessage;
+
+        /**
+         * Bytes freed by maintenance (0 if unknown or grown)
+         */
+        public long getBytesFreed() {
+            if (sizeBytesBefore == null || sizeBytesAfter == null) {
+                return 0;
+            }
+            return Math.max(0, sizeBytesBefore - sizeBytesAfter);
+        }
+    }
+}
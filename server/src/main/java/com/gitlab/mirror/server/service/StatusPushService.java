@@ -0,0 +1,346 @@
+package com.gitlab.mirror.server.service;
+
+import com.gitlab.mirror.server.entity.MonitorAlert;
+import com.gitlab.mirror.server.entity.SyncProject;
+import com.gitlab.mirror.server.entity.SyncResult;
+import com.gitlab.mirror.server.entity.SyncTask;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Status Push Service
+ * <p>
+ * Server-sent events channel for task transitions, sync results, project status
+ * and alert changes. Producers publish small deltas; a single dispatcher thread
+ * fans them out to subscribers so executors never block on slow clients.
+ * The most recent events are buffered so a reconnecting client resumes from its
+ * {@code Last-Event-ID}; when that ID is no longer buffered, a {@code reset}
+ * event tells the client to reload the full state. When the dispatch queue is
+ * full, events are dropped.
+ *
+ * @author GitLab Mirror Team
+ */
+@Slf4j
+@Service
+public class StatusPushService {
+
+    public static final String TOPIC_TASK = "task";
+    public static final String TOPIC_SYNC = "sync";
+    public static final String TOPIC_PROJECT = "project";
+    public static final String TOPIC_ALERT = "alert";
+    public static final Set<String> ALL_TOPICS = Set.of(TOPIC_TASK, TOPIC_SYNC, TOPIC_PROJECT, TOPIC_ALERT);
+
+    private static final int DISPATCH_QUEUE_CAPACITY = 1000;
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+    private static final int REPLAY_BUFFER_SIZE = 1000;
+
+    private final Map<SseEmitter, Set<String>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final ThreadPoolExecutor dispatcher;
+
+    // Recently dispatched events for Last-Event-ID replay; also guards dispatch against subscribe
+    private final Deque<PushEvent> replayBuffer = new ArrayDeque<>();
+
+    public StatusPushService() {
+        this.dispatcher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(DISPATCH_QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "status-push");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, executor) -> {
+                    long dropped = droppedEvents.incrementAndGet();
+                    if (dropped % 100 == 1) {
+                        log.warn("Push dispatch queue full, dropped {} events so far", dropped);
+                    }
+                });
+    }
+
+    /**
+     * Register a new subscriber
+     *
+     * @param topics Topics to receive (empty means all topics)
+     * @return Emitter bound to the HTTP response
+     */
+    public SseEmitter subscribe(Set<String> topics) {
+        return subscribe(topics, null);
+    }
+
+    /**
+     * Register a new subscriber, replaying the events it missed
+     *
+     * @param topics      Topics to receive (empty means all topics)
+     * @param lastEventId Last event ID the client has seen (null for a fresh connection)
+     * @return Emitter bound to the HTTP response
+     */
+    public SseEmitter subscribe(Set<String> topics, Long lastEventId) {
+        Set<String> filter = topics == null || topics.isEmpty() ? ALL_TOPICS : Set.copyOf(topics);
+        SseEmitter emitter = createEmitter();
+
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(e -> subscribers.remove(emitter));
+
+        // Replay and registration happen between two dispatches, so no event is missed or sent twice
+        synchronized (replayBuffer) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .name("connected")
+                        .data(Map.of("topics", filter, "lastEventId", sequence.get())));
+                if (lastEventId != null) {
+                    replay(emitter, filter, lastEventId);
+                }
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+                return emitter;
+            }
+
+            subscribers.put(emitter, filter);
+        }
+        log.debug("Push subscriber connected: topics={}, lastEventId={}, total={}",
+                filter, lastEventId, subscribers.size());
+        return emitter;
+    }
+
+    SseEmitter createEmitter() {
+        return new SseEmitter(EMITTER_TIMEOUT_MS);
+    }
+
+    /**
+     * Get number of connected subscribers
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Get number of events dropped because the dispatch queue was full
+     */
+    public long getDroppedEventCount() {
+        return droppedEvents.get();
+    }
+
+    /**
+     * Publish task state transition
+     *
+     * @param task Task after update
+     */
+    public void publishTaskUpdate(SyncTask task) {
+        if (task == null) {
+            return;
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("taskId", task.getId());
+        payload.put("syncProjectId", task.getSyncProjectId());
+        payload.put("taskStatus", task.getTaskStatus());
+        payload.put("lastSyncStatus", task.getLastSyncStatus());
+        payload.put("nextRunAt", task.getNextRunAt());
+        payload.put("consecutiveFailures", task.getConsecutiveFailures());
+        payload.put("errorType", task.getErrorType());
+        publish(TOPIC_TASK, payload);
+    }
+
+    /**
+     * Publish sync result
+     *
+     * @param project    Sync project
+     * @param syncResult Persisted sync result
+     */
+    public void publishSyncResult(SyncProject project, SyncResult syncResult) {
+        if (project == null || syncResult == null) {
+            return;
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("syncProjectId", project.getId());
+        payload.put("projectKey", project.getProjectKey());
+        payload.put("syncStatus", syncResult.getSyncStatus());
+        payload.put("hasChanges", syncResult.getHasChanges());
+        payload.put("durationSeconds", syncResult.getDurationSeconds());
+        payload.put("summary", syncResult.getSummary());
+        payload.put("completedAt", syncResult.getCompletedAt());
+        publish(TOPIC_SYNC, payload);
+    }
+
+    /**
+     * Publish project status change
+     *
+     * @param project        Project with its new status
+     * @param previousStatus Previous status (null if unknown)
+     * @param statusCounts   Current project count per status (null if unavailable)
+     */
+    public void publishProjectStatus(SyncProject project, String previousStatus, Map<String, Long> statusCounts) {
+        if (project == null) {
+            return;
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("syncProjectId", project.getId());
+        payload.put("projectKey", project.getProjectKey());
+        payload.put("syncStatus", project.getSyncStatus());
+        payload.put("previousStatus", previousStatus);
+        if (statusCounts != null) {
+            payload.put("statusCounts", statusCounts);
+        }
+        publish(TOPIC_PROJECT, payload);
+    }
+
+    /**
+     * Publish alert change
+     *
+     * @param alert  Alert after update
+     * @param action Change type: created/resolved/muted
+     */
+    public void publishAlert(MonitorAlert alert, String action) {
+        if (alert == null) {
+            return;
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("action", action);
+        payload.put("alertId", alert.getId());
+        payload.put("syncProjectId", alert.getSyncProjectId());
+        payload.put("alertType", alert.getAlertType());
+        payload.put("severity", alert.getSeverity());
+        payload.put("status", alert.getStatus());
+        payload.put("title", alert.getTitle());
+        publish(TOPIC_ALERT, payload);
+    }
+
+    /**
+     * Publish an event to subscribers of the topic
+     * <p>
+     * Inside a transaction the event is dispatched after commit, so clients
+     * never see changes that are rolled back.
+     *
+     * @param topic   Topic name
+     * @param payload Event data
+     */
+    public void publish(String topic, Map<String, Object> payload) {
+        payload.put("timestamp", LocalDateTime.now());
+        Runnable dispatch = () -> dispatcher.execute(() -> dispatch(topic, payload));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch.run();
+                }
+            });
+        } else {
+            dispatch.run();
+        }
+    }
+
+    /**
+     * Send heartbeat comments so proxies keep idle connections open
+     */
+    @Scheduled(fixedDelayString = "${gitlab.mirror.push.heartbeat-interval:30000}")
+    public void sendHeartbeat() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        dispatcher.execute(() -> {
+            for (SseEmitter emitter : subscribers.keySet()) {
+                send(emitter, SseEmitter.event().comment("heartbeat"));
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        for (SseEmitter emitter : subscribers.keySet()) {
+            emitter.complete();
+        }
+        subscribers.clear();
+    }
+
+    private void dispatch(String topic, Map<String, Object> payload) {
+        synchronized (replayBuffer) {
+            PushEvent event = new PushEvent(sequence.incrementAndGet(), topic, Collections.unmodifiableMap(payload));
+            replayBuffer.addLast(event);
+            if (replayBuffer.size() > REPLAY_BUFFER_SIZE) {
+                replayBuffer.removeFirst();
+            }
+            for (Map.Entry<SseEmitter, Set<String>> entry : subscribers.entrySet()) {
+                if (entry.getValue().contains(topic)) {
+                    send(entry.getKey(), event.toSse());
+                }
+            }
+        }
+    }
+
+    /**
+     * Send buffered events after lastEventId, or a reset event if some are no longer buffered
+     */
+    private void replay(SseEmitter emitter, Set<String> filter, long lastEventId) throws IOException {
+        long currentId = sequence.get();
+        if (lastEventId == currentId) {
+            return;
+        }
+        // Unknown ID (server restarted) or events already evicted from the buffer
+        PushEvent oldest = replayBuffer.peekFirst();
+        if (lastEventId > currentId || oldest == null || oldest.id > lastEventId + 1) {
+            emitter.send(SseEmitter.event()
+                    .name("reset")
+                    .data(Map.of("lastEventId", currentId)));
+            return;
+        }
+        for (PushEvent event : replayBuffer) {
+            if (event.id > lastEventId && filter.contains(event.topic)) {
+                emitter.send(event.toSse());
+            }
+        }
+    }
+
+    private void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the container will also fire onError/onCompletion
+            subscribers.remove(emitter);
+            log.debug("Removed push subscriber after send failure: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Dispatched event kept for replay
+     */
+    private static class PushEvent {
+        private final long id;
+        private final String topic;
+        private final Map<String, Object> payload;
+
+        PushEvent(long id, String topic, Map<String, Object> payload) {
+            this.id = id;
+            this.topic = topic;
+            this.payload = payload;
+        }
+
+        SseEmitter.SseEventBuilder toSse() {
+            return SseEmitter.event()
+                    .id(String.valueOf(id))
+                    .name(topic)
+                    .data(payload);
+        }
+    }
+}
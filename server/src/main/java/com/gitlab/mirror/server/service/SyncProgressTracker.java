@@ -0,0 +1,97 @@
+package com.gitlab.mirror.server.service;
+
+import com.gitlab.mirror.server.executor.GitProcessListener;
+import com.gitlab.mirror.server.executor.GitProgress;
+import com.gitlab.mirror.server.model.TransferProgress;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sync Progress Tracker
+ * <p>
+ * Keeps the latest git transfer progress of each running sync task in memory.
+ * The executor registers a task before running git and removes it afterwards;
+ * progress updates replace an immutable snapshot, so readers never see a
+ * half-updated entry.
+ *
+ * @author GitLab Mirror Team
+ */
+@Slf4j
+@Service
+public class SyncProgressTracker {
+
+    private final Map<Long, TransferProgress> progressByTask = new ConcurrentHashMap<>();
+
+    /**
+     * Start tracking a task
+     *
+     * @param taskId Sync task ID
+     * @return Listener to pass to the git executor
+     */
+    public GitProcessListener start(Long taskId) {
+        Instant now = Instant.now();
+        progressByTask.put(taskId, TransferProgress.builder().startedAt(now).updatedAt(now).build());
+        return new GitProcessListener() {
+            @Override
+            public void onProgress(GitProgress progress) {
+                update(taskId, progress);
+            }
+        };
+    }
+
+    /**
+     * Record a progress update of a tracked task
+     *
+     * @param taskId   Sync task ID
+     * @param progress Parsed git progress
+     */
+    public void update(Long taskId, GitProgress progress) {
+        progressByTask.computeIfPresent(taskId, (id, previous) -> previous.toBuilder()
+                .phase(progress.getPhase())
+                .percent(progress.getPercent())
+                .objectsDone(progress.getCurrent())
+                .objectsTotal(progress.getTotal())
+                // Phases without byte counts (counting, resolving) keep the last known transfer figures
+                .bytes(progress.getBytes() > 0 ? Long.valueOf(progress.getBytes()) : previous.getBytes())
+                .bytesPerSecond(progress.getBytesPerSecond() > 0
+                        ? Long.valueOf(progress.getBytesPerSecond()) : previous.getBytesPerSecond())
+                .updatedAt(Instant.now())
+                .build());
+    }
+
+    /**
+     * Latest progress of a running task
+     *
+     * @param taskId Sync task ID
+     * @return Progress, or null if the task is not transferring
+     */
+    public TransferProgress get(Long taskId) {
+        return taskId != null ? progressByTask.get(taskId) : null;
+    }
+
+    /**
+     * Whether a task is currently running a tracked git transfer
+     *
+     * @param taskId Sync task ID
+     * @return true between start and finish
+     */
+    public boolean isTracking(Long taskId) {
+        return taskId != null && progressByTask.containsKey(taskId);
+    }
+
+    /**
+     * Stop tracking a task
+     *
+     * @param taskId Sync task ID
+     */
+    public void finish(Long taskId) {
+        TransferProgress last = progressByTask.remove(taskId);
+        if (last != null && last.getPhase() != null) {
+            log.debug("Transfer finished, taskId={}, lastPhase={}, bytes={}", taskId, last.getPhase(), last.getBytes());
+        }
+    }
+}
@@ -21,6 +21,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
@@ -46,6 +47,16 @@ public class TargetProjectManagementService {
     private final SyncEventMapper syncEventMapper;
     private final ExecutorService executorService;
 
+    /**
+     * 目标分组缓存: full_path -> group id（首次使用时分页加载，创建分组后更新）
+     */
+    private final Map<String, Long> targetGroupIds = new ConcurrentHashMap<>();
+    /**
+     * 分组创建锁: 同一分组路径只允许一个线程创建
+     */
+    private final Map<String, Object> groupCreationLocks = new ConcurrentHashMap<>();
+    private volatile boolean targetGroupsLoaded = false;
+
     public TargetProjectManagementService(
             @Qualifier("targetGitLabApiClient") GitLabApiClient targetGitLabApiClient,
             SyncProjectMapper syncProjectMapper,
@@ -104,22 +115,13 @@ public class TargetProjectManagementService {
         }
 
         try {
-            // 4. 确保目标分组结构存在
+            // 4. 确保目标分组结构存在并创建目标项目
             String groupPath = sourceInfo.getGroupPath();
-            if (groupPath != null && !groupPath.isEmpty()) {
-                ensureGroupHierarchy(groupPath);
-            }
-
-            // 5. 创建目标项目
             String projectPath = extractProjectPath(sourceInfo.getPathWithNamespace());
             GitLabProject createdProject = null;
 
             try {
-                createdProject = targetGitLabApiClient.createProject(
-                        projectPath,
-                        sourceInfo.getName(),
-                        groupPath
-                );
+                createdProject = createProjectInGroup(projectPath, sourceInfo.getName(), groupPath);
                 log.info("Target project created successfully: {}", targetInfo.getPathWithNamespace());
             } catch (GitLabClientException e) {
                 // Check if project already exists (400 error with "has already been taken")
@@ -139,14 +141,14 @@ public class TargetProjectManagementService {
                 }
             }
 
-            // 6. 更新目标项目信息（状态：created）
+            // 5. 更新目标项目信息（状态：created）
             targetInfo.setGitlabProjectId(createdProject.getId());
             targetInfo.setStatus(TargetProjectInfo.Status.CREATED);
             targetInfo.setErrorMessage(null);
             targetInfo.setLastCheckedAt(LocalDateTime.now());
             targetProjectInfoMapper.updateById(targetInfo);
 
-            // 7. 记录创建成功事件
+            // 6. 记录创建成功事件
             recordTargetProjectEvent(syncProjectId, "target_project_created", "success",
                     Map.of("project_path", targetInfo.getPathWithNamespace(),
                            "gitlab_project_id", createdProject.getId()));
@@ -155,7 +157,7 @@ public class TargetProjectManagementService {
             return targetInfo;
 
         } catch (GitLabClientException e) {
-            // 8. 处理创建失败
+            // 7. 处理创建失败
             handleCreationFailure(targetInfo, e);
             throw new RuntimeException("Failed to create target project: " + sourceInfo.getPathWithNamespace(), e);
         }
@@ -168,8 +170,21 @@ public class TargetProjectManagementService {
      * @return 创建结果列表
      */
     public List<TargetProjectInfo> batchCreateTargetProjects(List<Long> syncProjectIds) {
+        return batchCreateTargetProjectsAsync(syncProjectIds).join();
+    }
+
+    /**
+     * 异步批量创建目标项目，不阻塞调用线程
+     *
+     * @param syncProjectIds 同步项目ID列表
+     * @return 全部完成后得到创建成功的项目列表
+     */
+    public CompletableFuture<List<TargetProjectInfo>> batchCreateTargetProjectsAsync(List<Long> syncProjectIds) {
         log.info("Batch creating {} target projects", syncProjectIds.size());
 
+        // 预加载目标分组缓存，避免并发任务各自查询分组
+        loadTargetGroups();
+
         List<CompletableFuture<TargetProjectInfo>> futures = syncProjectIds.stream()
                 .map(id -> CompletableFuture.supplyAsync(() -> {
                     try {
@@ -181,10 +196,11 @@ public class TargetProjectManagementService {
                 }, executorService))
                 .collect(Collectors.toList());
 
-        return futures.stream()
-                .map(CompletableFuture::join)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(v -> futures.stream()
+                        .map(CompletableFuture::join)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList()));
     }
 
     /**
@@ -264,40 +280,140 @@ public class TargetProjectManagementService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 在分组下创建项目，分组层级不存在时先创建
+     *
+     * @param projectPath 项目路径
+     * @param name 项目名称
+     * @param groupPath 完整分组路径，为空时创建在用户命名空间
+     * @return 创建的项目
+     */
+    private GitLabProject createProjectInGroup(String projectPath, String name, String groupPath) {
+        if (groupPath == null || groupPath.isEmpty()) {
+            return targetGitLabApiClient.createProject(projectPath, name, groupPath);
+        }
+
+        Long namespaceId = ensureGroupHierarchy(groupPath);
+        try {
+            return targetGitLabApiClient.createProjectInNamespace(projectPath, name, namespaceId);
+        } catch (GitLabClientException e) {
+            if (e.getStatusCode() != 404) {
+                throw e;
+            }
+            // 缓存的分组已在目标GitLab被删除，清除缓存后重建分组层级
+            log.warn("Cached target namespace not found, rebuilding group hierarchy: {}", groupPath);
+            evictGroupHierarchy(groupPath);
+            namespaceId = ensureGroupHierarchy(groupPath);
+            return targetGitLabApiClient.createProjectInNamespace(projectPath, name, namespaceId);
+        }
+    }
+
     /**
      * 确保分组层级结构存在
      *
      * @param groupPath 完整分组路径 (例如: "group1/subgroup1/subgroup2")
+     * @return 最内层分组ID
      */
-    private void ensureGroupHierarchy(String groupPath) {
+    private Long ensureGroupHierarchy(String groupPath) {
         log.debug("Ensuring group hierarchy for: {}", groupPath);
 
+        loadTargetGroups();
+        Long groupId = targetGroupIds.get(groupPath);
+        if (groupId != null) {
+            return groupId;
+        }
+
         String[] parts = groupPath.split("/");
         String currentPath = "";
 
-        for (int i = 0; i < parts.length; i++) {
-            String part = parts[i];
-            String parentPath = currentPath.isEmpty() ? null : currentPath;
+        for (String part : parts) {
             currentPath = currentPath.isEmpty() ? part : currentPath + "/" + part;
+            groupId = ensureGroup(currentPath, part, groupId);
+        }
+        return groupId;
+    }
+
+    /**
+     * 确保单个分组存在，同一路径的创建只由一个线程执行
+     *
+     * @param fullPath 完整分组路径
+     * @param part 分组路径的最后一段
+     * @param parentId 父分组ID，顶级分组为null
+     * @return 分组ID
+     */
+    private Long ensureGroup(String fullPath, String part, Long parentId) {
+        Long groupId = targetGroupIds.get(fullPath);
+        if (groupId != null) {
+            return groupId;
+        }
+
+        Object lock = groupCreationLocks.computeIfAbsent(fullPath, key -> new Object());
+        synchronized (lock) {
+            try {
+                // 等待期间可能已由其他线程创建
+                groupId = targetGroupIds.get(fullPath);
+                if (groupId != null) {
+                    return groupId;
+                }
 
-            // 检查分组是否存在
-            if (!targetGitLabApiClient.groupExists(currentPath)) {
-                // 创建分组
                 String groupName = part.substring(0, 1).toUpperCase() + part.substring(1);
                 try {
-                    GitLabGroup createdGroup = targetGitLabApiClient.createGroup(part, groupName, parentPath);
-                    log.info("Created target group: path={}, id={}", currentPath, createdGroup.getId());
+                    GitLabGroup createdGroup = targetGitLabApiClient.createGroupWithParentId(part, groupName, parentId);
+                    groupId = createdGroup.getId();
+                    log.info("Created target group: path={}, id={}", fullPath, groupId);
                 } catch (GitLabClientException e) {
-                    // 可能是并发创建导致的冲突，再次检查
-                    if (targetGitLabApiClient.groupExists(currentPath)) {
-                        log.info("Group already exists (created by another process): {}", currentPath);
-                    } else {
+                    // 可能是其他进程创建或缓存未包含该分组，按路径查询
+                    try {
+                        groupId = targetGitLabApiClient.getGroup(fullPath).getId();
+                        log.info("Group already exists (created by another process): {}", fullPath);
+                    } catch (GitLabClientException lookupEx) {
                         throw e;
                     }
                 }
-            } else {
-                log.debug("Group already exists: {}", currentPath);
+
+                targetGroupIds.put(fullPath, groupId);
+                return groupId;
+            } finally {
+                groupCreationLocks.remove(fullPath, lock);
+            }
+        }
+    }
+
+    /**
+     * 加载目标GitLab的分组缓存（只加载一次）
+     */
+    private void loadTargetGroups() {
+        if (targetGroupsLoaded) {
+            return;
+        }
+        synchronized (targetGroupIds) {
+            if (targetGroupsLoaded) {
+                return;
             }
+            try {
+                for (GitLabGroup group : targetGitLabApiClient.getGroups(null, true)) {
+                    if (group.getFullPath() != null && group.getId() != null) {
+                        targetGroupIds.put(group.getFullPath(), group.getId());
+                    }
+                }
+                log.info("Loaded {} target groups into namespace cache", targetGroupIds.size());
+            } catch (GitLabClientException e) {
+                // 加载失败时逐个分组创建/查询，结果同样写入缓存
+                log.warn("Failed to load target groups, falling back to per-group lookup: {}", e.getMessage());
+            }
+            targetGroupsLoaded = true;
+        }
+    }
+
+    /**
+     * 清除分组路径及其所有上级分组的缓存
+     */
+    private void evictGroupHierarchy(String groupPath) {
+        String currentPath = groupPath;
+        while (currentPath != null) {
+            targetGroupIds.remove(currentPath);
+            int lastSlashIndex = currentPath.lastIndexOf('/');
+            currentPath = lastSlashIndex > 0 ? currentPath.substring(0, lastSlashIndex) : null;
         }
     }
 
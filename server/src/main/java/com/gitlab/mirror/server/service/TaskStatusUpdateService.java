@@ -25,6 +25,7 @@ import java.time.LocalDateTime;
 public class TaskStatusUpdateService {
 
     private final SyncTaskMapper syncTaskMapper;
+    private final StatusPushService statusPushService;
 
     /**
      * Update task status in new transaction
@@ -41,6 +42,7 @@ public class TaskStatusUpdateService {
         }
         task.setUpdatedAt(LocalDateTime.now());
         syncTaskMapper.updateById(task);
+        statusPushService.publishTaskUpdate(task);
         log.debug("Updated task status in new transaction: taskId={}, status={}", task.getId(), status);
     }
 
@@ -62,6 +64,7 @@ public class TaskStatusUpdateService {
             task.setErrorMessage(reason);
         }
         syncTaskMapper.updateById(task);
+        statusPushService.publishTaskUpdate(task);
         log.debug("Updated task to waiting in new transaction: taskId={}, reason={}", task.getId(), reason);
     }
 
@@ -75,6 +78,7 @@ public class TaskStatusUpdateService {
     public void updateAfterFailure(SyncTask task) {
         task.setUpdatedAt(LocalDateTime.now());
         syncTaskMapper.updateById(task);
+        statusPushService.publishTaskUpdate(task);
         log.debug("Updated task after failure in new transaction: taskId={}", task.getId());
     }
 }
@@ -1,5 +1,9 @@
 package com.gitlab.mirror.server.service.auth;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.gitlab.mirror.server.config.AuthProperties;
 import com.gitlab.mirror.server.entity.AuthToken;
 import com.gitlab.mirror.server.entity.User;
 import com.gitlab.mirror.server.mapper.AuthTokenMapper;
@@ -7,13 +11,15 @@ import com.gitlab.mirror.server.mapper.UserMapper;
 import com.gitlab.mirror.server.service.auth.exception.AccountLockedException;
 import com.gitlab.mirror.server.service.auth.exception.AuthenticationException;
 import com.gitlab.mirror.server.service.auth.model.ChallengeInfo;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -26,22 +32,70 @@ import java.util.concurrent.ConcurrentHashMap;
  * - Brute-force protection integration
  * - Audit logging
  * - Token management
+ * <p>
+ * Validated tokens are cached for {@code auth.token-cache.ttl-seconds} (never past
+ * token expiry) and last-used timestamps are coalesced in memory and flushed in
+ * batch, so authenticating a request is normally a memory lookup. The cache keeps a
+ * private copy of the user and every request gets its own copy, since the entity is
+ * mutable and ends up in request attributes.
  *
  * @author GitLab Mirror Team
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class AuthenticationService {
 
     private final UserMapper userMapper;
     private final AuthTokenMapper authTokenMapper;
     private final BruteForceProtectionService bruteForceProtectionService;
     private final LoginAuditService loginAuditService;
+    private final AuthProperties authProperties;
 
     // In-memory challenge storage with 30-second expiration
     private final Map<String, ChallengeInfo> challengeStore = new ConcurrentHashMap<>();
 
+    // Validated tokens, each expiring after the TTL or at token expiry, whichever is first
+    private final Cache<String, CachedToken> tokenCache;
+
+    // Last used timestamps not yet written: token -> last used time
+    private final Map<String, LocalDateTime> pendingLastUsed = new ConcurrentHashMap<>();
+
+    public AuthenticationService(UserMapper userMapper,
+                                 AuthTokenMapper authTokenMapper,
+                                 BruteForceProtectionService bruteForceProtectionService,
+                                 LoginAuditService loginAuditService,
+                                 AuthProperties authProperties) {
+        this.userMapper = userMapper;
+        this.authTokenMapper = authTokenMapper;
+        this.bruteForceProtectionService = bruteForceProtectionService;
+        this.loginAuditService = loginAuditService;
+        this.authProperties = authProperties;
+
+        Duration ttl = Duration.ofSeconds(Math.max(0, authProperties.getTokenCache().getTtlSeconds()));
+        this.tokenCache = Caffeine.newBuilder()
+                .maximumSize(authProperties.getTokenCache().getMaxSize())
+                .expireAfter(new Expiry<String, CachedToken>() {
+                    @Override
+                    public long expireAfterCreate(String token, CachedToken cached, long currentTime) {
+                        Duration untilTokenExpiry = Duration.between(LocalDateTime.now(), cached.tokenExpiresAt);
+                        return Math.max(0, Math.min(ttl.toNanos(), untilTokenExpiry.toNanos()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, CachedToken cached, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(token, cached, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, CachedToken cached, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
     /**
      * Generate authentication challenge
      *
@@ -185,19 +239,28 @@ public class AuthenticationService {
             return null;
         }
 
+        LocalDateTime now = LocalDateTime.now();
+
+        CachedToken cached = tokenCache.getIfPresent(token);
+        if (cached != null && now.isBefore(cached.tokenExpiresAt)) {
+            // Update last used time (written by flushLastUsed)
+            pendingLastUsed.put(token, now);
+            return copyOf(cached.user);
+        }
+
         AuthToken authToken = authTokenMapper.selectByToken(token);
         if (authToken == null) {
             return null;
         }
 
         // Check expiration
-        if (LocalDateTime.now().isAfter(authToken.getExpiresAt())) {
+        if (now.isAfter(authToken.getExpiresAt())) {
             log.debug("Token expired: {}", token);
             return null;
         }
 
-        // Update last used time
-        authTokenMapper.updateLastUsedAt(token, LocalDateTime.now());
+        // Update last used time (written by flushLastUsed)
+        pendingLastUsed.put(token, now);
 
         // Get user
         User user = userMapper.selectById(authToken.getUserId());
@@ -205,6 +268,9 @@ public class AuthenticationService {
             return null;
         }
 
+        if (authProperties.getTokenCache().getTtlSeconds() > 0) {
+            tokenCache.put(token, new CachedToken(copyOf(user), authToken.getExpiresAt()));
+        }
         return user;
     }
 
@@ -215,6 +281,9 @@ public class AuthenticationService {
      */
     @Transactional
     public void logout(String token) {
+        tokenCache.invalidate(token);
+        pendingLastUsed.remove(token);
+
         AuthToken authToken = authTokenMapper.selectByToken(token);
         if (authToken != null) {
             authTokenMapper.deleteById(authToken.getId());
@@ -222,6 +291,37 @@ public class AuthenticationService {
         }
     }
 
+    /**
+     * Write coalesced last used timestamps in one statement (every minute)
+     */
+    @Scheduled(fixedRate = 60000)
+    @PreDestroy
+    public void flushLastUsed() {
+        if (pendingLastUsed.isEmpty()) {
+            return;
+        }
+
+        Map<String, LocalDateTime> batch = new HashMap<>();
+        for (String token : pendingLastUsed.keySet()) {
+            LocalDateTime usedAt = pendingLastUsed.remove(token);
+            if (usedAt != null) {
+                batch.put(token, usedAt);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            authTokenMapper.updateLastUsedAtBatch(batch);
+            log.debug("Flushed last used time of {} tokens", batch.size());
+        } catch (Exception e) {
+            // Keep newer timestamps recorded meanwhile, retry on next flush
+            batch.forEach(pendingLastUsed::putIfAbsent);
+            log.warn("Failed to flush token last used time: {}", e.getMessage());
+        }
+    }
+
     /**
      * Record login failure and audit
      */
@@ -270,4 +370,31 @@ public class AuthenticationService {
             log.info("Cleaned up {} expired tokens", deleted);
         }
     }
+
+    private static User copyOf(User user) {
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setUsername(user.getUsername());
+        copy.setStoredKey(user.getStoredKey());
+        copy.setSalt(user.getSalt());
+        copy.setIterations(user.getIterations());
+        copy.setDisplayName(user.getDisplayName());
+        copy.setEnabled(user.getEnabled());
+        copy.setCreatedAt(user.getCreatedAt());
+        copy.setUpdatedAt(user.getUpdatedAt());
+        return copy;
+    }
+
+    /**
+     * Cached token validation result
+     */
+    private static class CachedToken {
+        private final User user;
+        private final LocalDateTime tokenExpiresAt;
+
+        CachedToken(User user, LocalDateTime tokenExpiresAt) {
+            this.user = user;
+            this.tokenExpiresAt = tokenExpiresAt;
+        }
+    }
 }
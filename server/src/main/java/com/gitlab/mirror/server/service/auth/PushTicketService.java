@@ -0,0 +1,73 @@
+package com.gitlab.mirror.server.service.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.gitlab.mirror.server.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Push Ticket Service
+ * <p>
+ * EventSource cannot set an Authorization header, so the push stream is opened
+ * with a short-lived, single-use ticket instead of the long-lived token, which
+ * would otherwise end up in proxy and access logs.
+ *
+ * @author GitLab Mirror Team
+ */
+@Slf4j
+@Service
+public class PushTicketService {
+
+    static final Duration TICKET_TTL = Duration.ofSeconds(30);
+
+    private final Cache<String, User> tickets;
+
+    @Autowired
+    public PushTicketService() {
+        this(Ticker.systemTicker());
+    }
+
+    PushTicketService(Ticker ticker) {
+        this.tickets = Caffeine.newBuilder()
+                .expireAfterWrite(TICKET_TTL)
+                .maximumSize(10000)
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * Issue a ticket for the authenticated user
+     *
+     * @param user Authenticated user
+     * @return Ticket to pass as the {@code ticket} query parameter of the push stream
+     */
+    public String issue(User user) {
+        String ticket = UUID.randomUUID().toString();
+        tickets.put(ticket, user);
+        log.debug("Issued push ticket for user: {}", user.getUsername());
+        return ticket;
+    }
+
+    /**
+     * Redeem a ticket; each ticket is accepted once
+     *
+     * @param ticket Ticket from the query parameter
+     * @return User the ticket was issued to, or null if unknown, used or expired
+     */
+    public User redeem(String ticket) {
+        if (ticket == null) {
+            return null;
+        }
+        User user = tickets.getIfPresent(ticket);
+        if (user == null || tickets.asMap().remove(ticket) == null) {
+            return null;
+        }
+        return user;
+    }
+}
@@ -1,18 +1,35 @@
 package com.gitlab.mirror.server.service.metrics;
 
+import com.gitlab.mirror.server.config.properties.GitLabMirrorProperties;
 import io.micrometer.core.instrument.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
 
 /**
  * GitLab Mirror Prometheus Metrics Collector
  * <p>
  * Collects and exposes metrics for monitoring sync operations, project health,
  * and system performance.
+ * <p>
+ * By default only fleet-level series are exported (counters without the
+ * project_key tag, a delay bucket distribution and top-N delayed projects);
+ * per-project values are kept in memory and served on demand. Permanent
+ * per-project series are registered only when
+ * {@code gitlab.mirror.metrics.per-project-series} is enabled.
  *
  * @author GitLab Mirror Team
  */
@@ -20,7 +37,18 @@ import java.util.concurrent.ConcurrentHashMap;
 @Service
 public class GitLabMirrorMetricsCollector {
 
+    private static final String PROJECT_KEY_TAG = "project_key";
+
+    /**
+     * Upper bounds (seconds) of the cumulative delay buckets
+     */
+    private static final long[] DELAY_BUCKETS = {300, 900, 3600, 21600, 86400, 259200, 604800};
+
+    private static final int DEFAULT_TOP_DELAYED_COUNT = 10;
+
     private final MeterRegistry registry;
+    private final boolean perProjectSeries;
+    private final int topDelayedCount;
 
     // Counter metrics
     private final Counter.Builder syncEventsCounter;
@@ -38,8 +66,11 @@ public class GitLabMirrorMetricsCollector {
     private final Map<String, Double> delayedProjectsGauges = new ConcurrentHashMap<>();
     private final Map<String, ProjectMetrics> projectMetricsMap = new ConcurrentHashMap<>();
 
-    // Project-level delay gauge - track delay for each project
-    private final Map<String, Double> projectDelayGauges = new ConcurrentHashMap<>();
+    // Fleet-level delay distribution (cumulative, last bucket is +Inf)
+    private final AtomicLongArray delayBucketCounts = new AtomicLongArray(DELAY_BUCKETS.length + 1);
+
+    // Top-N delayed projects: rank -> delay (project identities via /api/dashboard/top-delayed-projects)
+    private final AtomicLongArray topDelayedValues;
 
     // Histogram metrics
     private final Timer syncDurationTimer;
@@ -48,8 +79,12 @@ public class GitLabMirrorMetricsCollector {
     // Summary metrics
     private final DistributionSummary syncDelaySummary;
 
-    public GitLabMirrorMetricsCollector(MeterRegistry registry) {
+    public GitLabMirrorMetricsCollector(MeterRegistry registry, GitLabMirrorProperties properties) {
         this.registry = registry;
+        this.perProjectSeries = Boolean.TRUE.equals(properties.getMetrics().getPerProjectSeries());
+        Integer configuredTopDelayed = properties.getMetrics().getTopDelayedCount();
+        this.topDelayedCount = configuredTopDelayed != null ? Math.max(0, configuredTopDelayed) : DEFAULT_TOP_DELAYED_COUNT;
+        this.topDelayedValues = new AtomicLongArray(topDelayedCount);
 
         // Initialize Counter builders
         this.syncEventsCounter = Counter.builder("gitlab_mirror_sync_events_total")
@@ -119,7 +154,25 @@ public class GitLabMirrorMetricsCollector {
                     .register(registry);
         }
 
-        log.info("GitLab Mirror Metrics Collector initialized");
+        // Initialize cumulative delay bucket gauges (Prometheus "le" convention)
+        for (int i = 0; i <= DELAY_BUCKETS.length; i++) {
+            final int index = i;
+            Gauge.builder("gitlab_mirror_projects_by_delay", delayBucketCounts, counts -> counts.get(index))
+                    .tag("le", i < DELAY_BUCKETS.length ? String.valueOf(DELAY_BUCKETS[i]) : "+Inf")
+                    .description("Number of projects with sync delay less than or equal to le seconds")
+                    .register(registry);
+        }
+
+        // Initialize top-N delay gauges, one fixed series per rank
+        for (int rank = 0; rank < topDelayedCount; rank++) {
+            final int index = rank;
+            Gauge.builder("gitlab_mirror_top_delayed_project_seconds", topDelayedValues, values -> values.get(index))
+                    .tag("rank", String.valueOf(rank + 1))
+                    .description("Sync delay of the most delayed projects by rank")
+                    .register(registry);
+        }
+
+        log.info("GitLab Mirror Metrics Collector initialized (per-project series: {})", perProjectSeries);
     }
 
     // ==================== Counter Methods ====================
@@ -132,12 +185,12 @@ public class GitLabMirrorMetricsCollector {
      * @param projectKey Project key
      */
     public void incrementSyncEvent(String eventType, String status, String projectKey) {
-        syncEventsCounter
+        withProjectTag(syncEventsCounter
                 .tag("event_type", eventType)
-                .tag("status", status)
-                .tag("project_key", projectKey)
+                .tag("status", status), projectKey)
                 .register(registry)
                 .increment();
+        getOrCreateProjectMetrics(projectKey).syncEvents.incrementAndGet();
     }
 
     /**
@@ -150,11 +203,11 @@ public class GitLabMirrorMetricsCollector {
     public void incrementBranchChange(String changeType, String projectKey, int count) {
         if (count <= 0) return;
 
-        branchChangesCounter
-                .tag("change_type", changeType)
-                .tag("project_key", projectKey)
+        withProjectTag(branchChangesCounter
+                .tag("change_type", changeType), projectKey)
                 .register(registry)
                 .increment(count);
+        getOrCreateProjectMetrics(projectKey).branchChanges.addAndGet(count);
     }
 
     /**
@@ -171,6 +224,35 @@ public class GitLabMirrorMetricsCollector {
                 .increment();
     }
 
+    /**
+     * Record a repository maintenance run
+     *
+     * @param result       Run result (success, failed)
+     * @param durationMs   Duration in milliseconds
+     * @param packsRemoved Number of packs consolidated
+     * @param bytesFreed   Bytes freed on disk
+     */
+    public void recordRepositoryMaintenance(String result, long durationMs, int packsRemoved, long bytesFreed) {
+        Counter.builder("gitlab_mirror_repo_maintenance_total")
+                .description("Total number of repository maintenance runs by result")
+                .tag("result", result)
+                .register(registry)
+                .increment();
+        Timer.builder("gitlab_mirror_repo_maintenance_duration_seconds")
+                .description("Repository maintenance duration")
+                .register(registry)
+                .record(java.time.Duration.ofMillis(durationMs));
+        Counter.builder("gitlab_mirror_repo_maintenance_packs_removed_total")
+                .description("Total number of packs consolidated by repository maintenance")
+                .register(registry)
+                .increment(packsRemoved);
+        Counter.builder("gitlab_mirror_repo_maintenance_freed_bytes_total")
+                .description("Total bytes freed by repository maintenance")
+                .baseUnit("bytes")
+                .register(registry)
+                .increment(bytesFreed);
+    }
+
     // ==================== Gauge Methods ====================
 
     /**
@@ -207,42 +289,72 @@ public class GitLabMirrorMetricsCollector {
      */
     public void updateProjectMetrics(String projectKey, long delaySeconds,
                                       long lastSyncTimestamp, int consecutiveFailures) {
-        ProjectMetrics metrics = projectMetricsMap.computeIfAbsent(projectKey, k -> {
-            ProjectMetrics pm = new ProjectMetrics();
-
-            // Register gauges for this project
-            Gauge.builder("gitlab_mirror_project_delay_seconds", pm, ProjectMetrics::getDelaySeconds)
-                    .tag("project_key", projectKey)
-                    .description("Current sync delay for project in seconds")
-                    .register(registry);
-
-            Gauge.builder("gitlab_mirror_last_sync_timestamp", pm, ProjectMetrics::getLastSyncTimestamp)
-                    .tag("project_key", projectKey)
-                    .description("Last sync timestamp for project")
-                    .register(registry);
-
-            Gauge.builder("gitlab_mirror_consecutive_failures", pm, ProjectMetrics::getConsecutiveFailures)
-                    .tag("project_key", projectKey)
-                    .description("Consecutive failure count for project")
-                    .register(registry);
+        ProjectMetrics metrics = getOrCreateProjectMetrics(projectKey);
+        metrics.delaySeconds = delaySeconds;
+        metrics.lastSyncTimestamp = lastSyncTimestamp;
+        metrics.consecutiveFailures = consecutiveFailures;
+    }
 
-            return pm;
-        });
+    /**
+     * Update fleet-level delay distribution and top-N delayed projects
+     *
+     * @param delaySecondsByProject Current delay per project key
+     */
+    public void updateDelayDistribution(Map<String, Long> delaySecondsByProject) {
+        long[] counts = new long[DELAY_BUCKETS.length + 1];
+        for (Long delay : delaySecondsByProject.values()) {
+            long value = delay != null ? delay : 0;
+            for (int i = 0; i < DELAY_BUCKETS.length; i++) {
+                if (value <= DELAY_BUCKETS[i]) {
+                    counts[i]++;
+                }
+            }
+            counts[DELAY_BUCKETS.length]++;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            delayBucketCounts.set(i, counts[i]);
+        }
 
-        metrics.setDelaySeconds(delaySeconds);
-        metrics.setLastSyncTimestamp(lastSyncTimestamp);
-        metrics.setConsecutiveFailures(consecutiveFailures);
+        List<Map.Entry<String, Long>> top = delaySecondsByProject.entrySet().stream()
+                .filter(e -> e.getValue() != null && e.getValue() > 0)
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(topDelayedCount)
+                .collect(Collectors.toList());
+        updateTopDelayed(top);
     }
 
     /**
      * Remove project metrics (when project is deleted or not tracked)
+     * <p>
+     * Drops the in-memory values and deregisters every meter tagged with the project key.
      *
      * @param projectKey Project key
      */
     public void removeProjectMetrics(String projectKey) {
+        if (projectKey == null) {
+            return;
+        }
         projectMetricsMap.remove(projectKey);
-        // Note: Micrometer meters cannot be removed, they will expire after TTL
-        log.debug("Removed project metrics for: {}", projectKey);
+
+        List<Meter> meters = registry.getMeters().stream()
+                .filter(meter -> projectKey.equals(meter.getId().getTag(PROJECT_KEY_TAG)))
+                .collect(Collectors.toList());
+        meters.forEach(registry::remove);
+        log.debug("Removed project metrics for: {} ({} meters)", projectKey, meters.size());
+    }
+
+    /**
+     * Remove metrics of projects that are no longer tracked
+     *
+     * @param projectKeys Keys of all currently tracked projects
+     */
+    public void retainProjects(Collection<String> projectKeys) {
+        Set<String> keep = new HashSet<>(projectKeys);
+        for (String projectKey : new ArrayList<>(projectMetricsMap.keySet())) {
+            if (!keep.contains(projectKey)) {
+                removeProjectMetrics(projectKey);
+            }
+        }
     }
 
     // ==================== Histogram/Distribution Methods ====================
@@ -284,10 +396,9 @@ public class GitLabMirrorMetricsCollector {
      * @param status     Event status (success, failed, pending)
      */
     public void recordProjectSyncEvent(String projectKey, String category, String status) {
-        projectSyncEventsCounter
-                .tag("project_key", projectKey)
+        withProjectTag(projectSyncEventsCounter
                 .tag("category", category)
-                .tag("status", status)
+                .tag("status", status), projectKey)
                 .register(registry)
                 .increment();
     }
@@ -300,12 +411,17 @@ public class GitLabMirrorMetricsCollector {
      * @param status     Task status (success, failed, timeout, etc.)
      */
     public void recordProjectSyncTask(String projectKey, String taskType, String status) {
-        projectSyncTasksCounter
-                .tag("project_key", projectKey)
+        withProjectTag(projectSyncTasksCounter
                 .tag("task_type", taskType)
-                .tag("status", status)
+                .tag("status", status), projectKey)
                 .register(registry)
                 .increment();
+
+        ProjectMetrics metrics = getOrCreateProjectMetrics(projectKey);
+        metrics.syncTasks.incrementAndGet();
+        if ("failed".equals(status)) {
+            metrics.failedSyncTasks.incrementAndGet();
+        }
     }
 
     /**
@@ -318,11 +434,11 @@ public class GitLabMirrorMetricsCollector {
     public void recordProjectBranchChanges(String projectKey, String operationType, int count) {
         if (count <= 0) return;
 
-        projectBranchChangesCounter
-                .tag("project_key", projectKey)
-                .tag("operation", operationType)
+        withProjectTag(projectBranchChangesCounter
+                .tag("operation", operationType), projectKey)
                 .register(registry)
                 .increment(count);
+        getOrCreateProjectMetrics(projectKey).branchChanges.addAndGet(count);
     }
 
     /**
@@ -334,28 +450,21 @@ public class GitLabMirrorMetricsCollector {
     public void recordProjectCommitChanges(String projectKey, int count) {
         if (count <= 0) return;
 
-        projectCommitChangesCounter
-                .tag("project_key", projectKey)
+        withProjectTag(projectCommitChangesCounter, projectKey)
                 .register(registry)
                 .increment(count);
+        getOrCreateProjectMetrics(projectKey).commitsPushed.addAndGet(count);
     }
 
     /**
-     * Update project delay gauge
-     * Creates a gauge for the project if it doesn't exist
+     * Update project delay
+     * Per-project gauge is registered only in per-project series mode
      *
      * @param projectKey   Project key
      * @param delaySeconds Current delay in seconds
      */
     public void updateProjectDelay(String projectKey, long delaySeconds) {
-        projectDelayGauges.put(projectKey, (double) delaySeconds);
-
-        // Register gauge if not exists (gauges are registered lazily)
-        Gauge.builder("gitlab_mirror_project_delay_seconds", projectDelayGauges,
-                        map -> map.getOrDefault(projectKey, 0.0))
-                .tag("project_key", projectKey)
-                .description("Current sync delay for project in seconds")
-                .register(registry);
+        getOrCreateProjectMetrics(projectKey).delaySeconds = delaySeconds;
     }
 
     /**
@@ -398,6 +507,76 @@ public class GitLabMirrorMetricsCollector {
         updateProjectDelay(projectKey, delaySeconds);
     }
 
+    // ==================== On-demand Project Detail ====================
+
+    /**
+     * Get current metric values for a single project
+     *
+     * @param projectKey Project key
+     * @return Snapshot, or null if the project has no recorded metrics
+     */
+    public ProjectMetricsSnapshot getProjectSnapshot(String projectKey) {
+        ProjectMetrics metrics = projectKey != null ? projectMetricsMap.get(projectKey) : null;
+        return metrics != null ? metrics.snapshot(projectKey) : null;
+    }
+
+    /**
+     * Get projects with the largest delay
+     *
+     * @param limit Maximum number of projects
+     * @return Snapshots ordered by delay descending
+     */
+    public List<ProjectMetricsSnapshot> getTopDelayedProjects(int limit) {
+        return projectMetricsMap.entrySet().stream()
+                .map(e -> e.getValue().snapshot(e.getKey()))
+                .filter(s -> s.getDelaySeconds() > 0)
+                .sorted(Comparator.comparingLong(ProjectMetricsSnapshot::getDelaySeconds).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    // ==================== Helpers ====================
+
+    private Counter.Builder withProjectTag(Counter.Builder builder, String projectKey) {
+        return perProjectSeries ? builder.tag(PROJECT_KEY_TAG, projectKey) : builder;
+    }
+
+    private ProjectMetrics getOrCreateProjectMetrics(String projectKey) {
+        return projectMetricsMap.computeIfAbsent(projectKey, k -> {
+            ProjectMetrics pm = new ProjectMetrics();
+            if (!perProjectSeries) {
+                return pm;
+            }
+
+            // Register gauges for this project
+            Gauge.builder("gitlab_mirror_project_delay_seconds", pm, ProjectMetrics::getDelaySeconds)
+                    .tag(PROJECT_KEY_TAG, projectKey)
+                    .description("Current sync delay for project in seconds")
+                    .register(registry);
+
+            Gauge.builder("gitlab_mirror_last_sync_timestamp", pm, ProjectMetrics::getLastSyncTimestamp)
+                    .tag(PROJECT_KEY_TAG, projectKey)
+                    .description("Last sync timestamp for project")
+                    .register(registry);
+
+            Gauge.builder("gitlab_mirror_consecutive_failures", pm, ProjectMetrics::getConsecutiveFailures)
+                    .tag(PROJECT_KEY_TAG, projectKey)
+                    .description("Consecutive failure count for project")
+                    .register(registry);
+
+            return pm;
+        });
+    }
+
+    /**
+     * Update top-N gauge values; ranks without a delayed project report 0
+     */
+    private void updateTopDelayed(List<Map.Entry<String, Long>> top) {
+        for (int rank = 0; rank < topDelayedCount; rank++) {
+            topDelayedValues.set(rank, rank < top.size() ? top.get(rank).getValue() : 0);
+        }
+    }
+
     // ==================== Helper Classes ====================
 
     /**
@@ -407,32 +586,48 @@ public class GitLabMirrorMetricsCollector {
         private volatile long delaySeconds = 0;
         private volatile long lastSyncTimestamp = 0;
         private volatile int consecutiveFailures = 0;
+        private final AtomicLong syncEvents = new AtomicLong();
+        private final AtomicLong syncTasks = new AtomicLong();
+        private final AtomicLong failedSyncTasks = new AtomicLong();
+        private final AtomicLong branchChanges = new AtomicLong();
+        private final AtomicLong commitsPushed = new AtomicLong();
 
         public double getDelaySeconds() {
             return delaySeconds;
         }
 
-        public void setDelaySeconds(long delaySeconds) {
-            this.delaySeconds = delaySeconds;
-        }
-
         public double getLastSyncTimestamp() {
             return lastSyncTimestamp;
         }
 
-        public void setLastSyncTimestamp(long lastSyncTimestamp) {
-            this.lastSyncTimestamp = lastSyncTimestamp;
-        }
-
         public double getConsecutiveFailures() {
             return consecutiveFailures;
         }
 
-        public void setConsecutiveFailures(int consecutiveFailures) {
-            this.consecutiveFailures = consecutiveFailures;
+        ProjectMetricsSnapshot snapshot(String projectKey) {
+            return new ProjectMetricsSnapshot(projectKey, delaySeconds, lastSyncTimestamp,
+                    consecutiveFailures, syncEvents.get(), syncTasks.get(), failedSyncTasks.get(),
+                    branchChanges.get(), commitsPushed.get());
         }
     }
 
+    /**
+     * Point-in-time view of a project's metrics (served by the on-demand endpoint)
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class ProjectMetricsSnapshot {
+        private final String projectKey;
+        private final long delaySeconds;
+        private final long lastSyncTimestamp;
+        private final int consecutiveFailures;
+        private final long syncEvents;
+        private final long syncTasks;
+        private final long failedSyncTasks;
+        private final long branchChanges;
+        private final long commitsPushed;
+    }
+
     /**
      * Get current metric values for debugging/testing
      */
@@ -3,22 +3,31 @@ package com.gitlab.mirror.server.service.metrics;
 import com.gitlab.mirror.server.controller.dto.ProjectListDTO;
 import com.gitlab.mirror.server.entity.SyncProject;
 import com.gitlab.mirror.server.mapper.SyncProjectMapper;
+import com.gitlab.mirror.server.service.DashboardStatsService;
 import com.gitlab.mirror.server.service.ProjectListService;
+import com.gitlab.mirror.server.service.monitor.MetricsExporter;
+import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 /**
  * Metrics Collection Scheduler
  * <p>
- * Periodically collects metrics from database and updates Prometheus gauges
+ * Keeps Prometheus gauges up to date incrementally: project changes reported to
+ * {@link DashboardStatsService} mark the project dirty, and dirty projects are
+ * flushed periodically, so collection cost follows sync activity rather than
+ * fleet size. A full refresh from the database runs as an hourly reconcile.
  *
  * @author GitLab Mirror Team
  */
@@ -29,87 +38,228 @@ public class MetricsScheduler {
     private final GitLabMirrorMetricsCollector metricsCollector;
     private final SyncProjectMapper syncProjectMapper;
     private final ProjectListService projectListService;
+    private final MetricsExporter metricsExporter;
+    private final DashboardStatsService dashboardStatsService;
+
+    // Projects changed since the last flush, guarded by "dirtyProjects"
+    private final Set<Long> dirtyProjects = new HashSet<>();
+
+    // Last collected values per sync project ID, guarded by "this"
+    private final Map<Long, TrackedProject> trackedProjects = new HashMap<>();
 
     public MetricsScheduler(GitLabMirrorMetricsCollector metricsCollector,
                             SyncProjectMapper syncProjectMapper,
-                            ProjectListService projectListService) {
+                            ProjectListService projectListService,
+                            MetricsExporter metricsExporter,
+                            DashboardStatsService dashboardStatsService) {
         this.metricsCollector = metricsCollector;
         this.syncProjectMapper = syncProjectMapper;
         this.projectListService = projectListService;
+        this.metricsExporter = metricsExporter;
+        this.dashboardStatsService = dashboardStatsService;
+        dashboardStatsService.addChangeListener(this::markDirty);
     }
 
     /**
-     * Collect project metrics every minute
+     * Mark a project for metrics refresh on the next flush
+     *
+     * @param syncProjectId Sync project ID
      */
-    @Scheduled(fixedRate = 60000, initialDelay = 10000)
-    public void collectProjectMetrics() {
+    public void markDirty(Long syncProjectId) {
+        if (syncProjectId == null) {
+            return;
+        }
+        synchronized (dirtyProjects) {
+            dirtyProjects.add(syncProjectId);
+        }
+    }
+
+    /**
+     * Get number of projects waiting for the next flush
+     */
+    public int getDirtyCount() {
+        synchronized (dirtyProjects) {
+            return dirtyProjects.size();
+        }
+    }
+
+    /**
+     * Refresh metrics of projects changed since the last flush
+     * <p>
+     * Loads only the dirty projects; status counts come from the in-memory
+     * dashboard index and fleet-level delay gauges are recomputed from the
+     * tracked values without touching the database. Delay levels depend on
+     * the clock, so they are recomputed on every tick, even without changes.
+     */
+    @Scheduled(fixedDelayString = "${gitlab.mirror.metrics.flush-interval:15000}",
+            initialDelayString = "${gitlab.mirror.metrics.flush-interval:15000}")
+    public void flushDirtyProjects() {
+        List<Long> dirtyIds;
+        synchronized (dirtyProjects) {
+            dirtyIds = new ArrayList<>(dirtyProjects);
+            dirtyProjects.clear();
+        }
+
         try {
-            log.debug("Starting metrics collection");
+            long start = System.currentTimeMillis();
 
-            // 1. Count projects by status
-            List<SyncProject> allProjects = syncProjectMapper.selectList(null);
-            Map<String, Long> statusCounts = allProjects.stream()
-                    .collect(Collectors.groupingBy(
-                            p -> p.getSyncStatus() != null ? p.getSyncStatus() : "unknown",
-                            Collectors.counting()
-                    ));
+            Map<Long, SyncProject> loaded = new HashMap<>();
+            if (!dirtyIds.isEmpty()) {
+                for (SyncProject project : syncProjectMapper.selectBatchIds(dirtyIds)) {
+                    loaded.put(project.getId(), project);
+                }
+            }
 
-            metricsCollector.updateProjectsByStatus(statusCounts);
-            log.debug("Updated status counts: {}", statusCounts);
+            for (Long id : dirtyIds) {
+                SyncProject project = loaded.get(id);
+                if (project == null || project.getProjectKey() == null) {
+                    removeTrackedProject(id);
+                    continue;
+                }
+                TrackedProject tracked = collect(project);
+                if (tracked.delaySeconds > 0) {
+                    metricsCollector.recordSyncDelay(tracked.delaySeconds);
+                }
+            }
 
-            // 2. Calculate delayed projects by level
-            Map<String, Integer> delayedCounts = calculateDelayedProjects(allProjects);
-            metricsCollector.updateDelayedProjects(delayedCounts);
-            log.debug("Updated delayed counts: {}", delayedCounts);
+            updateFleetMetrics(dashboardStatsService.getStatusCounts());
 
-            // 3. Update project-specific metrics
-            for (SyncProject project : allProjects) {
-                if (project.getProjectKey() == null) continue;
+            if (!dirtyIds.isEmpty()) {
+                log.debug("Flushed metrics for {} changed projects - {}ms",
+                        dirtyIds.size(), System.currentTimeMillis() - start);
+            }
 
-                // Use ProjectListService to get accurate delay calculation (based on branch snapshots)
-                ProjectListDTO dto = projectListService.buildProjectListDTO(project);
+        } catch (Exception e) {
+            log.error("Failed to flush project metrics", e);
+            // Retry on the next flush
+            synchronized (dirtyProjects) {
+                dirtyProjects.addAll(dirtyIds);
+            }
+        }
+    }
 
-                // Get delay from DTO (based on branch commit times, same as API)
-                long delaySeconds = dto.getDelaySeconds() != null ? dto.getDelaySeconds() : 0;
+    /**
+     * Rebuild all project metrics from the database (hourly reconcile)
+     * <p>
+     * Catches changes that bypass the event hooks and drops metrics of
+     * projects deleted outside the application.
+     */
+    @Scheduled(fixedDelayString = "${gitlab.mirror.metrics.reconcile-interval:3600000}", initialDelay = 10000)
+    public void collectProjectMetrics() {
+        try {
+            long start = System.currentTimeMillis();
+            log.debug("Starting metrics reconcile");
 
-                // Get last sync timestamp
-                long lastSyncTimestamp = 0;
-                if (project.getLastSyncAt() != null) {
-                    lastSyncTimestamp = project.getLastSyncAt()
-                            .atZone(ZoneId.systemDefault())
-                            .toEpochSecond();
-                }
+            // Changes recorded from here on are covered by this pass
+            synchronized (dirtyProjects) {
+                dirtyProjects.clear();
+            }
 
-                // Get consecutive failures from DTO
-                int consecutiveFailures = dto.getConsecutiveFailures() != null ? dto.getConsecutiveFailures() : 0;
+            List<SyncProject> allProjects = syncProjectMapper.selectList(null);
+            Map<String, Long> statusCounts = new HashMap<>();
+            Set<Long> liveIds = new HashSet<>();
 
-                metricsCollector.updateProjectMetrics(
-                        project.getProjectKey(),
-                        delaySeconds,
-                        lastSyncTimestamp,
-                        consecutiveFailures
-                );
+            for (SyncProject project : allProjects) {
+                statusCounts.merge(project.getSyncStatus() != null ? project.getSyncStatus() : "unknown",
+                        1L, Long::sum);
+                if (project.getProjectKey() == null) continue;
+                collect(project);
+                liveIds.add(project.getId());
+            }
 
-                // Record delay distribution (sample every 10th project to reduce overhead)
-                if (delaySeconds > 0 && project.getId() % 10 == 0) {
-                    metricsCollector.recordSyncDelay(delaySeconds);
-                }
+            List<String> liveKeys = new ArrayList<>();
+            synchronized (this) {
+                trackedProjects.keySet().retainAll(liveIds);
+                trackedProjects.values().forEach(tracked -> liveKeys.add(tracked.projectKey));
             }
+            metricsCollector.retainProjects(liveKeys);
+            metricsExporter.retainProjects(liveKeys);
+
+            updateFleetMetrics(statusCounts);
 
-            log.debug("Metrics collection completed");
+            log.debug("Metrics reconcile completed: {} projects - {}ms",
+                    allProjects.size(), System.currentTimeMillis() - start);
 
         } catch (Exception e) {
             log.error("Failed to collect metrics", e);
         }
     }
 
+    /**
+     * Update per-project gauges for one project and remember its values
+     */
+    private TrackedProject collect(SyncProject project) {
+        // Use ProjectListService to get accurate delay calculation (based on branch snapshots)
+        ProjectListDTO dto = projectListService.buildProjectListDTO(project);
+
+        long delaySeconds = dto.getDelaySeconds() != null ? dto.getDelaySeconds() : 0;
+        long lastSyncTimestamp = 0;
+        if (project.getLastSyncAt() != null) {
+            lastSyncTimestamp = project.getLastSyncAt()
+                    .atZone(ZoneId.systemDefault())
+                    .toEpochSecond();
+        }
+        int consecutiveFailures = dto.getConsecutiveFailures() != null ? dto.getConsecutiveFailures() : 0;
+
+        metricsCollector.updateProjectMetrics(
+                project.getProjectKey(),
+                delaySeconds,
+                lastSyncTimestamp,
+                consecutiveFailures
+        );
+
+        TrackedProject tracked = new TrackedProject(project.getProjectKey(), delaySeconds, project.getLastSyncAt());
+        synchronized (this) {
+            TrackedProject previous = trackedProjects.put(project.getId(), tracked);
+            if (previous != null && !previous.projectKey.equals(tracked.projectKey)) {
+                dropProjectSeries(previous.projectKey);
+            }
+        }
+        return tracked;
+    }
+
+    private void removeTrackedProject(Long syncProjectId) {
+        TrackedProject previous;
+        synchronized (this) {
+            previous = trackedProjects.remove(syncProjectId);
+        }
+        if (previous != null) {
+            dropProjectSeries(previous.projectKey);
+        }
+    }
+
+    private void dropProjectSeries(String projectKey) {
+        metricsCollector.removeProjectMetrics(projectKey);
+        metricsExporter.removeProjectMetrics(projectKey);
+    }
+
+    /**
+     * Recompute status, delay level and delay distribution gauges from memory
+     */
+    private void updateFleetMetrics(Map<String, Long> statusCounts) {
+        metricsCollector.updateProjectsByStatus(statusCounts);
+        metricsExporter.updateSyncStatusCounts(statusCounts);
+
+        List<TrackedProject> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(trackedProjects.values());
+        }
+
+        Map<String, Long> delays = new HashMap<>();
+        for (TrackedProject tracked : snapshot) {
+            delays.put(tracked.projectKey, tracked.delaySeconds);
+        }
+        metricsCollector.updateDelayDistribution(delays);
+        metricsCollector.updateDelayedProjects(calculateDelayedProjects(snapshot));
+    }
+
     /**
      * Calculate number of delayed projects by time level
      *
-     * @param projects All projects
+     * @param projects Tracked projects
      * @return Map of delay level to count
      */
-    private Map<String, Integer> calculateDelayedProjects(List<SyncProject> projects) {
+    private Map<String, Integer> calculateDelayedProjects(Collection<TrackedProject> projects) {
         Map<String, Integer> counts = new HashMap<>();
         counts.put("1h", 0);
         counts.put("6h", 0);
@@ -119,11 +269,10 @@ public class MetricsScheduler {
 
         LocalDateTime now = LocalDateTime.now();
 
-        for (SyncProject project : projects) {
-            if (project.getLastSyncAt() == null) continue;
+        for (TrackedProject project : projects) {
+            if (project.lastSyncAt == null) continue;
 
-            LocalDateTime lastSync = project.getLastSyncAt();
-            long hoursDiff = java.time.Duration.between(lastSync, now).toHours();
+            long hoursDiff = java.time.Duration.between(project.lastSyncAt, now).toHours();
 
             if (hoursDiff >= 168) { // 7 days
                 counts.put("7d", counts.get("7d") + 1);
@@ -140,4 +289,14 @@ public class MetricsScheduler {
 
         return counts;
     }
+
+    /**
+     * Last collected values of a project
+     */
+    @AllArgsConstructor
+    private static class TrackedProject {
+        private final String projectKey;
+        private final long delaySeconds;
+        private final LocalDateTime lastSyncAt;
+    }
 }
@@ -5,6 +5,8 @@ import com.gitlab.mirror.common.model.RepositoryBranch;
 import com.gitlab.mirror.server.client.RetryableGitLabClient;
 import com.gitlab.mirror.server.client.graphql.GitLabGraphQLClient;
 import com.gitlab.mirror.server.client.graphql.GraphQLProjectInfo;
+import com.gitlab.mirror.server.config.properties.GitLabMirrorProperties;
+import com.gitlab.mirror.server.util.VirtualThreads;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -14,10 +16,22 @@ import org.springframework.web.util.UriComponentsBuilder;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -25,6 +39,9 @@ import java.util.stream.Collectors;
  * <p>
  * Provides batch query functionality for GitLab projects with pagination support.
  * Supports incremental queries using updated_after parameter and repository statistics.
+ * <p>
+ * Concurrent detail queries are limited by a semaphore. In virtual thread mode each
+ * query gets its own virtual thread and only the semaphore bounds the API load.
  *
  * @author GitLab Mirror Team
  */
@@ -33,7 +50,9 @@ import java.util.stream.Collectors;
 public class BatchQueryExecutor {
 
     private static final int DEFAULT_PER_PAGE = 50;
-    private static final int MAX_TIMEOUT_SECONDS = 30;
+    private static final int MAX_PER_PAGE = 100;  // GitLab maximum
+    private static final long MIN_IDS_PER_RANGE = 1000;  // Smallest ID range worth its own parallel walk
+    private static final int STREAM_BUFFER_PAGES = 4;  // Fetched pages waiting for the consumer
     private static final int MAX_RETRIES = 3;
     private static final int CONCURRENT_QUERIES = 10;  // Max concurrent queries (increased from 5 for better performance)
     private static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ISO_DATE_TIME;
@@ -42,15 +61,28 @@ public class BatchQueryExecutor {
     private final RetryableGitLabClient targetClient;
     private final GitLabGraphQLClient graphQLClient;
     private final ExecutorService executorService;
+    private final Semaphore apiPermits;
+    private final int apiConcurrency;
 
     public BatchQueryExecutor(
             @Qualifier("sourceGitLabClient") RetryableGitLabClient sourceClient,
             @Qualifier("targetGitLabClient") RetryableGitLabClient targetClient,
-            GitLabGraphQLClient graphQLClient) {
+            GitLabGraphQLClient graphQLClient,
+            GitLabMirrorProperties properties) {
         this.sourceClient = sourceClient;
         this.targetClient = targetClient;
         this.graphQLClient = graphQLClient;
-        this.executorService = Executors.newFixedThreadPool(CONCURRENT_QUERIES);
+
+        Integer maxConcurrency = properties.getPerformance().getApiMaxConcurrency();
+        int permits = maxConcurrency != null && maxConcurrency > 0 ? maxConcurrency : CONCURRENT_QUERIES;
+        this.apiPermits = new Semaphore(permits);
+        this.apiConcurrency = permits;
+
+        boolean virtual = VirtualThreads.resolve(
+            Boolean.TRUE.equals(properties.getPerformance().getVirtualThreadsEnabled()), "batch queries");
+        ExecutorService virtualExecutor = virtual ? VirtualThreads.newThreadPerTaskExecutor("batch-query-") : null;
+        this.executorService = virtualExecutor != null ? virtualExecutor :
+            Executors.newFixedThreadPool(permits, VirtualThreads.threadFactory("batch-query-", false));
     }
 
     /**
@@ -77,8 +109,36 @@ public class BatchQueryExecutor {
         return queryProjects(targetClient, updatedAfter, perPage);
     }
 
+    /**
+     * Stream projects from source GitLab page by page
+     *
+     * @param updatedAfter Filter projects updated after this time (optional, for incremental queries)
+     * @param perPage Number of results per page (default: 50)
+     * @param pageHandler Called on the calling thread for each page, while later pages are fetched
+     * @return Number of projects streamed
+     */
+    public int streamSourceProjects(LocalDateTime updatedAfter, Integer perPage, Consumer<List<GitLabProject>> pageHandler) {
+        log.info("Streaming source projects - updatedAfter: {}, perPage: {}", updatedAfter, perPage);
+        return streamProjects(sourceClient, updatedAfter, perPage, pageHandler);
+    }
+
+    /**
+     * Stream projects from target GitLab page by page
+     *
+     * @param updatedAfter Filter projects updated after this time (optional, for incremental queries)
+     * @param perPage Number of results per page (default: 50)
+     * @param pageHandler Called on the calling thread for each page, while later pages are fetched
+     * @return Number of projects streamed
+     */
+    public int streamTargetProjects(LocalDateTime updatedAfter, Integer perPage, Consumer<List<GitLabProject>> pageHandler) {
+        log.info("Streaming target projects - updatedAfter: {}, perPage: {}", updatedAfter, perPage);
+        return streamProjects(targetClient, updatedAfter, perPage, pageHandler);
+    }
+
     /**
      * Query projects with pagination and optional incremental filter
+     * <p>
+     * Collects the whole listing; see {@link #streamProjects} for how pages are fetched.
      *
      * @param client GitLab API client
      * @param updatedAfter Filter projects updated after this time (optional)
@@ -86,70 +146,207 @@ public class BatchQueryExecutor {
      * @return List of all projects matching criteria
      */
     private List<GitLabProject> queryProjects(RetryableGitLabClient client, LocalDateTime updatedAfter, Integer perPage) {
-        List<GitLabProject> allProjects = new ArrayList<>();
-        int page = 1;
-        int pageSize = perPage != null ? perPage : DEFAULT_PER_PAGE;
+        Map<Long, GitLabProject> projectsById = new LinkedHashMap<>();
+        streamProjects(client, updatedAfter, perPage,
+                page -> page.forEach(project -> projectsById.putIfAbsent(project.getId(), project)));
+        return new ArrayList<>(projectsById.values());
+    }
 
+    /**
+     * Stream projects with pagination and optional incremental filter
+     * <p>
+     * Full listings use keyset pagination on the project ID ({@code order_by=id},
+     * {@code id_after}), split into disjoint ID ranges walked in parallel. Incremental
+     * listings (ordered by updated_at as GitLab requires) are paged sequentially.
+     * Pages are fetched in the background into a buffer of {@value #STREAM_BUFFER_PAGES}
+     * pages and handed to the handler on the calling thread, so the handler's work
+     * overlaps with the next requests while memory stays bounded by the buffer.
+     * Either way the listing is complete or the call fails; it is never cut short,
+     * since callers treat missing projects as deleted.
+     *
+     * @param client GitLab API client
+     * @param updatedAfter Filter projects updated after this time (optional)
+     * @param perPage Number of results per page
+     * @param pageHandler Page handler, called on the calling thread
+     * @return Number of projects streamed
+     */
+    private int streamProjects(RetryableGitLabClient client, LocalDateTime updatedAfter, Integer perPage,
+                               Consumer<List<GitLabProject>> pageHandler) {
+        int pageSize = Math.min(perPage != null ? perPage : DEFAULT_PER_PAGE, MAX_PER_PAGE);
         long startTime = System.currentTimeMillis();
 
-        while (true) {
-            try {
-                // Build query URL with parameters
-                UriComponentsBuilder builder = UriComponentsBuilder.fromPath("/api/v4/projects")
-                        .queryParam("page", page)
-                        .queryParam("per_page", pageSize)
-                        .queryParam("statistics", true)  // Get repository statistics (size, etc.)
-                        .queryParam("with_custom_attributes", false)  // Performance optimization
-                        .queryParam("membership", true);  // Only projects user has access to
-
-                // Add incremental query parameter if specified
-                if (updatedAfter != null) {
-                    String updatedAfterStr = updatedAfter.format(ISO_FORMATTER);
-                    builder.queryParam("updated_after", updatedAfterStr);
-                    builder.queryParam("order_by", "updated_at");  // Required when using updated_after
+        PageBuffer buffer = new PageBuffer();
+        List<CompletableFuture<Void>> producers = new ArrayList<>();
+        if (updatedAfter != null) {
+            producers.add(CompletableFuture.runAsync(
+                    () -> queryUpdatedProjects(client, updatedAfter, pageSize, buffer::put), executorService));
+        } else {
+            for (long[] range : splitIdRanges(client)) {
+                Long idBefore = range[1] > 0 ? range[1] : null;
+                producers.add(CompletableFuture.runAsync(
+                        () -> queryIdRange(client, range[0], idBefore, pageSize, buffer::put), executorService));
+            }
+        }
+        // A failed producer stops the others at their next page
+        producers.forEach(producer -> producer.whenComplete((v, e) -> {
+            if (e != null) {
+                buffer.cancel();
+            }
+        }));
+        CompletableFuture.allOf(producers.toArray(new CompletableFuture[0]))
+                .whenComplete((v, e) -> buffer.close());
+
+        int total = 0;
+        try {
+            List<GitLabProject> page;
+            while ((page = buffer.take()) != null) {
+                pageHandler.accept(page);
+                total += page.size();
+            }
+            Throwable failure = null;
+            for (CompletableFuture<Void> producer : producers) {
+                try {
+                    producer.get();
+                } catch (ExecutionException e) {
+                    // Report the failure that cancelled the listing, not the cancelled ranges
+                    if (failure == null || failure instanceof CancellationException) {
+                        failure = e.getCause();
+                    }
                 }
+            }
+            if (failure instanceof RuntimeException && updatedAfter != null) {
+                throw (RuntimeException) failure;
+            }
+            if (failure != null) {
+                throw new RuntimeException("Failed to query projects", failure);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while querying projects", e);
+        } finally {
+            buffer.cancel();
+        }
 
-                String path = builder.build().toUriString();
+        long elapsedTime = System.currentTimeMillis() - startTime;
+        log.info("Batch query completed - total projects: {}, time: {}ms", total, elapsedTime);
+        return total;
+    }
 
-                log.debug("Querying page {} with pageSize {} (updatedAfter: {})", page, pageSize, updatedAfter);
+    /**
+     * Split the project ID space into ranges for parallel listing
+     *
+     * @return Ranges as {id_after, id_before}; id_before 0 means open-ended
+     */
+    private List<long[]> splitIdRanges(RetryableGitLabClient client) {
+        // Highest project ID bounds the ID space to split
+        GitLabProject[] newest = withApiPermit(() -> executeWithRetry(() -> client.get(
+                projectsQuery().queryParam("order_by", "id").queryParam("sort", "desc")
+                        .queryParam("per_page", 1).build().toUriString(),
+                GitLabProject[].class)));
+        long maxId = newest == null ? 0 : Arrays.stream(newest)
+                .map(GitLabProject::getId).filter(Objects::nonNull).mapToLong(Long::longValue).max().orElse(0);
+        List<long[]> ranges = new ArrayList<>();
+        if (maxId == 0) {
+            return ranges;
+        }
 
-                // Execute GET request with timeout and retry
-                GitLabProject[] projects = executeWithRetry(() -> client.get(path, GitLabProject[].class));
+        int count = (int) Math.max(1, Math.min(apiConcurrency, maxId / MIN_IDS_PER_RANGE));
+        long rangeSize = (maxId + count - 1) / count;
+        log.debug("Listing projects up to id {} in {} ranges of {} ids", maxId, count, rangeSize);
 
-                if (projects == null || projects.length == 0) {
-                    log.debug("No more projects found (page: {})", page);
-                    break;
-                }
+        for (int i = 0; i < count; i++) {
+            // The last range is open-ended to include projects created meanwhile
+            ranges.add(new long[]{i * rangeSize, i == count - 1 ? 0 : (i + 1) * rangeSize + 1});
+        }
+        return ranges;
+    }
 
-                allProjects.addAll(List.of(projects));
-                log.debug("Fetched {} projects from page {}, total so far: {}", projects.length, page, allProjects.size());
+    /**
+     * Walk one ID range with keyset pagination (id_after = last ID of the previous page)
+     */
+    private void queryIdRange(RetryableGitLabClient client, long idAfter, Long idBefore, int pageSize,
+                              Consumer<List<GitLabProject>> pages) {
+        long lastId = idAfter;
+        int fetched = 0;
 
-                // Check if this is the last page
-                if (projects.length < pageSize) {
-                    log.debug("Last page reached (projects: {} < pageSize: {})", projects.length, pageSize);
-                    break;
-                }
+        while (true) {
+            UriComponentsBuilder builder = projectsQuery()
+                    .queryParam("order_by", "id")
+                    .queryParam("sort", "asc")
+                    .queryParam("per_page", pageSize)
+                    .queryParam("statistics", true)  // Get repository statistics (size, etc.)
+                    .queryParam("id_after", lastId);
+            if (idBefore != null) {
+                builder.queryParam("id_before", idBefore);
+            }
+            String path = builder.build().toUriString();
 
-                // Check timeout
-                long elapsedSeconds = (System.currentTimeMillis() - startTime) / 1000;
-                if (elapsedSeconds > MAX_TIMEOUT_SECONDS) {
-                    log.warn("Query timeout reached ({} seconds), stopping at page {}", elapsedSeconds, page);
-                    break;
-                }
+            GitLabProject[] page = withApiPermit(() -> executeWithRetry(() -> client.get(path, GitLabProject[].class)));
+            if (page == null || page.length == 0) {
+                break;
+            }
+            pages.accept(List.of(page));
+            fetched += page.length;
+
+            long pageMaxId = Arrays.stream(page).map(GitLabProject::getId).filter(Objects::nonNull)
+                    .mapToLong(Long::longValue).max().orElse(lastId);
+            if (page.length < pageSize) {
+                break;
+            }
+            if (pageMaxId <= lastId) {
+                throw new IllegalStateException("Project pagination did not advance past id " + lastId);
+            }
+            lastId = pageMaxId;
+        }
+
+        log.debug("Fetched {} projects with ids in ({}, {})", fetched, idAfter, idBefore);
+    }
+
+    /**
+     * List projects updated after a time, paging sequentially by updated_at
+     */
+    private void queryUpdatedProjects(RetryableGitLabClient client, LocalDateTime updatedAfter, int pageSize,
+                                      Consumer<List<GitLabProject>> pages) {
+        int page = 1;
 
-                page++;
+        while (true) {
+            String path = projectsQuery()
+                    .queryParam("page", page)
+                    .queryParam("per_page", pageSize)
+                    .queryParam("statistics", true)  // Get repository statistics (size, etc.)
+                    .queryParam("updated_after", updatedAfter.format(ISO_FORMATTER))
+                    .queryParam("order_by", "updated_at")  // Required when using updated_after
+                    .build().toUriString();
+
+            log.debug("Querying page {} with pageSize {} (updatedAfter: {})", page, pageSize, updatedAfter);
 
+            GitLabProject[] projects;
+            try {
+                projects = executeWithRetry(() -> client.get(path, GitLabProject[].class));
             } catch (Exception e) {
                 log.error("Error querying projects at page {}: {}", page, e.getMessage(), e);
                 throw new RuntimeException("Failed to query projects at page " + page, e);
             }
-        }
 
-        long elapsedTime = System.currentTimeMillis() - startTime;
-        log.info("Batch query completed - total projects: {}, pages: {}, time: {}ms",
-                allProjects.size(), page, elapsedTime);
+            if (projects == null || projects.length == 0) {
+                break;
+            }
+            pages.accept(List.of(projects));
 
-        return allProjects;
+            if (projects.length < pageSize) {
+                break;
+            }
+            page++;
+        }
+    }
+
+    /**
+     * Base projects query shared by all listings
+     */
+    private UriComponentsBuilder projectsQuery() {
+        return UriComponentsBuilder.fromPath("/api/v4/projects")
+                .queryParam("with_custom_attributes", false)  // Performance optimization
+                .queryParam("membership", true);  // Only projects user has access to
     }
 
     /**
@@ -250,7 +447,7 @@ public class BatchQueryExecutor {
 
         List<CompletableFuture<ProjectDetails>> futures = projectIds.stream()
                 .map(projectId -> CompletableFuture.supplyAsync(
-                        () -> getProjectDetails(projectId, null, client),
+                        () -> withApiPermit(() -> getProjectDetails(projectId, null, client)),
                         executorService
                 ))
                 .collect(Collectors.toList());
@@ -284,7 +481,7 @@ public class BatchQueryExecutor {
 
         List<CompletableFuture<ProjectDetails>> futures = projects.stream()
                 .map(project -> CompletableFuture.supplyAsync(
-                        () -> getProjectDetails(project.getId(), project.getDefaultBranch(), client),
+                        () -> withApiPermit(() -> getProjectDetails(project.getId(), project.getDefaultBranch(), client)),
                         executorService
                 ))
                 .collect(Collectors.toList());
@@ -422,6 +619,77 @@ public class BatchQueryExecutor {
         return details;
     }
 
+    /**
+     * Run an API query holding one of the concurrency permits
+     */
+    private <T> T withApiPermit(Supplier<T> query) {
+        try {
+            apiPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for API permit", e);
+        }
+        try {
+            return query.get();
+        } finally {
+            apiPermits.release();
+        }
+    }
+
+    /**
+     * Bounded hand-off of fetched pages from the listing threads to the consumer
+     */
+    private static class PageBuffer {
+        private static final List<GitLabProject> END = new ArrayList<>();
+
+        private final BlockingQueue<List<GitLabProject>> pages = new ArrayBlockingQueue<>(STREAM_BUFFER_PAGES);
+        private volatile boolean cancelled;
+
+        /**
+         * Add a page, waiting while the buffer is full
+         */
+        void put(List<GitLabProject> page) {
+            try {
+                while (!pages.offer(page, 100, TimeUnit.MILLISECONDS)) {
+                    if (cancelled) {
+                        throw new CancellationException("Project listing cancelled");
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Project listing interrupted");
+            }
+        }
+
+        /**
+         * Take the next page, or null once all listing threads finished
+         */
+        List<GitLabProject> take() throws InterruptedException {
+            List<GitLabProject> page = pages.take();
+            return page == END ? null : page;
+        }
+
+        /**
+         * Mark the end of the listing
+         */
+        void close() {
+            try {
+                put(END);
+            } catch (CancellationException e) {
+                // Consumer gone or listing failed, it no longer waits for the end marker
+                pages.clear();
+                pages.offer(END);
+            }
+        }
+
+        /**
+         * Stop listing threads blocked on a full buffer
+         */
+        void cancel() {
+            cancelled = true;
+        }
+    }
+
     /**
      * Functional interface for retry operations
      */
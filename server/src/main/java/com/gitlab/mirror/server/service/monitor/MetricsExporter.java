@@ -1,30 +1,40 @@
 package com.gitlab.mirror.server.service.monitor;
 
+import com.gitlab.mirror.server.config.properties.GitLabMirrorProperties;
 import com.gitlab.mirror.server.entity.MonitorAlert;
-import com.gitlab.mirror.server.entity.SyncProject;
 import com.gitlab.mirror.server.mapper.MonitorAlertMapper;
-import com.gitlab.mirror.server.mapper.SyncProjectMapper;
 import com.gitlab.mirror.server.service.monitor.model.ProjectDiff;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 /**
  * Metrics Exporter Service
  * <p>
  * Exports system-level and project-level metrics to Prometheus via Micrometer.
+ * Per-project gauges are registered only when
+ * {@code gitlab.mirror.metrics.per-project-series} is enabled; otherwise project
+ * values are kept in memory (see {@link #getProjectMetrics(String)}) and only
+ * fleet-level totals are exported.
  *
  * @author GitLab Mirror Team
  */
@@ -33,9 +43,9 @@ import java.util.concurrent.atomic.AtomicLong;
 public class MetricsExporter {
 
     private final MeterRegistry meterRegistry;
-    private final SyncProjectMapper syncProjectMapper;
     private final MonitorAlertMapper monitorAlertMapper;
     private final LocalCacheManager cacheManager;
+    private final boolean perProjectSeries;
 
     // System-level metrics
     private final AtomicInteger totalProjects = new AtomicInteger(0);
@@ -53,13 +63,13 @@ public class MetricsExporter {
 
     public MetricsExporter(
             MeterRegistry meterRegistry,
-            SyncProjectMapper syncProjectMapper,
             MonitorAlertMapper monitorAlertMapper,
-            LocalCacheManager cacheManager) {
+            LocalCacheManager cacheManager,
+            GitLabMirrorProperties properties) {
         this.meterRegistry = meterRegistry;
-        this.syncProjectMapper = syncProjectMapper;
         this.monitorAlertMapper = monitorAlertMapper;
         this.cacheManager = cacheManager;
+        this.perProjectSeries = Boolean.TRUE.equals(properties.getMetrics().getPerProjectSeries());
     }
 
     /**
@@ -114,6 +124,19 @@ public class MetricsExporter {
                 .tag("instance", "source")
                 .register(meterRegistry);
 
+        // Fleet-level repository size totals (aggregated over project metrics)
+        Gauge.builder("gitlab_mirror_repository_size_bytes_total", projectMetricsCache,
+                        cache -> cache.values().stream().mapToLong(m -> m.sourceSizeBytes.get()).sum())
+                .description("Total repository size in bytes across projects")
+                .tag("type", "source")
+                .register(meterRegistry);
+
+        Gauge.builder("gitlab_mirror_repository_size_bytes_total", projectMetricsCache,
+                        cache -> cache.values().stream().mapToLong(m -> m.targetSizeBytes.get()).sum())
+                .description("Total repository size in bytes across projects")
+                .tag("type", "target")
+                .register(meterRegistry);
+
         // Cache metrics
         Gauge.builder("gitlab_mirror_cache_size", cacheManager, LocalCacheManager::size)
                 .description("Number of entries in local cache")
@@ -129,23 +152,16 @@ public class MetricsExporter {
 
     /**
      * Refresh system-level metrics from database
+     * <p>
+     * Only alert counts are queried here. Project status counts are pushed by
+     * {@link com.gitlab.mirror.server.service.metrics.MetricsScheduler} via
+     * {@link #updateSyncStatusCounts(Map)} when projects change, so monitor
+     * scans no longer re-count the project table.
      */
     public void refreshSystemMetrics() {
         log.debug("Refreshing system-level metrics");
 
         try {
-            // Total projects
-            Long total = syncProjectMapper.selectCount(null);
-            totalProjects.set(total.intValue());
-
-            // Sync status counts
-            for (String status : syncStatusCounts.keySet()) {
-                QueryWrapper<SyncProject> wrapper = new QueryWrapper<>();
-                wrapper.eq("sync_status", status);
-                Long count = syncProjectMapper.selectCount(wrapper);
-                syncStatusCounts.get(status).set(count.intValue());
-            }
-
             // Alert severity counts
             for (String severity : alertSeverityCounts.keySet()) {
                 QueryWrapper<MonitorAlert> wrapper = new QueryWrapper<>();
@@ -164,6 +180,17 @@ public class MetricsExporter {
         }
     }
 
+    /**
+     * Update project total and per-status gauges
+     *
+     * @param statusCounts Sync status to project count (statuses not present are set to 0)
+     */
+    public void updateSyncStatusCounts(Map<String, Long> statusCounts) {
+        totalProjects.set((int) statusCounts.values().stream().mapToLong(Long::longValue).sum());
+        syncStatusCounts.forEach((status, gauge) ->
+                gauge.set(statusCounts.getOrDefault(status, 0L).intValue()));
+    }
+
     /**
      * Refresh project-level metrics from diffs
      */
@@ -187,7 +214,7 @@ public class MetricsExporter {
      */
     public void updateProjectMetrics(String projectKey, ProjectDiff diff) {
         ProjectMetrics metrics = projectMetricsCache.computeIfAbsent(projectKey,
-                key -> new ProjectMetrics(key, meterRegistry));
+                key -> new ProjectMetrics(key, perProjectSeries ? meterRegistry : null));
 
         if (diff.getSource() != null) {
             metrics.updateSourceMetrics(
@@ -208,6 +235,57 @@ public class MetricsExporter {
         }
     }
 
+    /**
+     * Get current metric values for a single project (on-demand detail)
+     *
+     * @param projectKey Project key
+     * @return Metric values, or null if the project has no recorded metrics
+     */
+    public Map<String, Object> getProjectMetrics(String projectKey) {
+        ProjectMetrics metrics = projectKey != null ? projectMetricsCache.get(projectKey) : null;
+        if (metrics == null) {
+            return null;
+        }
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("sourceCommits", metrics.sourceCommits.get());
+        values.put("targetCommits", metrics.targetCommits.get());
+        values.put("sourceLastCommitTime", metrics.sourceLastCommitTime.get());
+        values.put("targetLastCommitTime", metrics.targetLastCommitTime.get());
+        values.put("sourceSizeBytes", metrics.sourceSizeBytes.get());
+        values.put("targetSizeBytes", metrics.targetSizeBytes.get());
+        return values;
+    }
+
+    /**
+     * Remove project metrics and deregister its meters
+     *
+     * @param projectKey Project key
+     */
+    public void removeProjectMetrics(String projectKey) {
+        if (projectKey == null || projectMetricsCache.remove(projectKey) == null) {
+            return;
+        }
+        List<Meter> meters = meterRegistry.getMeters().stream()
+                .filter(meter -> projectKey.equals(meter.getId().getTag("project")))
+                .collect(Collectors.toList());
+        meters.forEach(meterRegistry::remove);
+        log.debug("Removed project metrics for: {} ({} meters)", projectKey, meters.size());
+    }
+
+    /**
+     * Remove metrics of projects that are no longer tracked
+     *
+     * @param projectKeys Keys of all currently tracked projects
+     */
+    public void retainProjects(Collection<String> projectKeys) {
+        Set<String> keep = new HashSet<>(projectKeys);
+        for (String projectKey : new ArrayList<>(projectMetricsCache.keySet())) {
+            if (!keep.contains(projectKey)) {
+                removeProjectMetrics(projectKey);
+            }
+        }
+    }
+
     /**
      * Record scan duration
      */
@@ -244,8 +322,14 @@ public class MetricsExporter {
         private final AtomicLong targetLastCommitTime = new AtomicLong(0);
         private final AtomicLong targetSizeBytes = new AtomicLong(0);
 
+        /**
+         * @param registry Registry for per-project gauges, or null to keep values in memory only
+         */
         public ProjectMetrics(String projectKey, MeterRegistry registry) {
             this.projectKey = projectKey;
+            if (registry == null) {
+                return;
+            }
 
             // Register gauges for this project
             Gauge.builder("gitlab_mirror_project_commits", sourceCommits, AtomicInteger::get)
@@ -2,6 +2,7 @@ package com.gitlab.mirror.server.service.monitor;
 
 import com.gitlab.mirror.server.entity.MonitorAlert;
 import com.gitlab.mirror.server.mapper.MonitorAlertMapper;
+import com.gitlab.mirror.server.service.StatusPushService;
 import com.gitlab.mirror.server.service.monitor.model.AlertInfo;
 import com.gitlab.mirror.server.service.monitor.model.ProjectDiff;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
@@ -26,16 +27,19 @@ public class SyncMonitorService {
     private final AlertThresholdEvaluator alertThresholdEvaluator;
     private final MonitorAlertMapper monitorAlertMapper;
     private final LocalCacheManager cacheManager;
+    private final StatusPushService statusPushService;
 
     private static final int ALERT_DEDUP_MINUTES = 60;
 
     public SyncMonitorService(
             AlertThresholdEvaluator alertThresholdEvaluator,
             MonitorAlertMapper monitorAlertMapper,
-            LocalCacheManager cacheManager) {
+            LocalCacheManager cacheManager,
+            StatusPushService statusPushService) {
         this.alertThresholdEvaluator = alertThresholdEvaluator;
         this.monitorAlertMapper = monitorAlertMapper;
         this.cacheManager = cacheManager;
+        this.statusPushService = statusPushService;
     }
 
     /**
@@ -98,6 +102,7 @@ public class SyncMonitorService {
         alert.setUpdatedAt(LocalDateTime.now());
 
         monitorAlertMapper.insert(alert);
+        statusPushService.publishAlert(alert, "created");
         log.info("Created alert: {} for project {}", alert.getAlertType(), alertInfo.getProjectKey());
 
         return true;
@@ -127,6 +132,7 @@ public class SyncMonitorService {
         alert.setUpdatedAt(LocalDateTime.now());
 
         monitorAlertMapper.updateById(alert);
+        statusPushService.publishAlert(alert, "resolved");
         log.info("Resolved alert: {}", alertId);
 
         return true;
@@ -184,6 +190,7 @@ public class SyncMonitorService {
         alert.setUpdatedAt(LocalDateTime.now());
 
         monitorAlertMapper.updateById(alert);
+        statusPushService.publishAlert(alert, "muted");
         log.info("Muted alert: {} for {} minutes", alertId, durationMinutes);
 
         return true;
@@ -1,5 +1,6 @@
 package com.gitlab.mirror.server.service.monitor;
 
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.gitlab.mirror.common.model.GitLabProject;
 import com.gitlab.mirror.common.model.RepositoryBranch;
 import com.gitlab.mirror.server.entity.ProjectBranchSnapshot;
@@ -9,8 +10,7 @@ import com.gitlab.mirror.server.entity.TargetProjectInfo;
 import com.gitlab.mirror.server.mapper.SourceProjectInfoMapper;
 import com.gitlab.mirror.server.mapper.SyncProjectMapper;
 import com.gitlab.mirror.server.mapper.TargetProjectInfoMapper;
-import com.gitlab.mirror.server.service.PullSyncConfigService;
-import com.gitlab.mirror.server.service.SyncTaskService;
+import com.gitlab.mirror.server.service.ProjectInitializationService;
 import com.gitlab.mirror.server.service.monitor.model.ProjectDiff;
 import com.gitlab.mirror.server.service.monitor.model.ScanResult;
 import lombok.extern.slf4j.Slf4j;
@@ -23,9 +23,13 @@ import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
@@ -48,8 +52,7 @@ public class UnifiedProjectMonitor {
     private final com.gitlab.mirror.server.service.ProjectDiscoveryService projectDiscoveryService;
     private final SourceProjectInfoMapper sourceProjectInfoMapper;
     private final TargetProjectInfoMapper targetProjectInfoMapper;
-    private final PullSyncConfigService pullSyncConfigService;
-    private final SyncTaskService syncTaskService;
+    private final ProjectInitializationService projectInitializationService;
     private final com.gitlab.mirror.server.client.GitLabApiClient sourceGitLabApiClient;
     private final com.gitlab.mirror.server.client.GitLabApiClient targetGitLabApiClient;
     private final com.gitlab.mirror.server.service.BranchSnapshotService branchSnapshotService;
@@ -64,8 +67,7 @@ public class UnifiedProjectMonitor {
             com.gitlab.mirror.server.service.ProjectDiscoveryService projectDiscoveryService,
             SourceProjectInfoMapper sourceProjectInfoMapper,
             TargetProjectInfoMapper targetProjectInfoMapper,
-            PullSyncConfigService pullSyncConfigService,
-            SyncTaskService syncTaskService,
+            ProjectInitializationService projectInitializationService,
             @org.springframework.beans.factory.annotation.Qualifier("sourceGitLabApiClient") com.gitlab.mirror.server.client.GitLabApiClient sourceGitLabApiClient,
             @org.springframework.beans.factory.annotation.Qualifier("targetGitLabApiClient") com.gitlab.mirror.server.client.GitLabApiClient targetGitLabApiClient,
             com.gitlab.mirror.server.service.BranchSnapshotService branchSnapshotService) {
@@ -78,8 +80,7 @@ public class UnifiedProjectMonitor {
         this.projectDiscoveryService = projectDiscoveryService;
         this.sourceProjectInfoMapper = sourceProjectInfoMapper;
         this.targetProjectInfoMapper = targetProjectInfoMapper;
-        this.pullSyncConfigService = pullSyncConfigService;
-        this.syncTaskService = syncTaskService;
+        this.projectInitializationService = projectInitializationService;
         this.sourceGitLabApiClient = sourceGitLabApiClient;
         this.targetGitLabApiClient = targetGitLabApiClient;
         this.branchSnapshotService = branchSnapshotService;
@@ -104,6 +105,10 @@ public class UnifiedProjectMonitor {
 
     /**
      * Full scan: Compare source and target GitLab projects, calculate differences, and update database
+     * <p>
+     * Runs as a pipeline over pages of projects: while one page is compared with the
+     * database, the next pages are already being fetched. Only one page of projects,
+     * their branches and their database records is held at a time.
      */
     private ScanResult fullScan() {
         log.info("=== Starting FULL SCAN ===");
@@ -115,91 +120,50 @@ public class UnifiedProjectMonitor {
                 .status("success");
 
         try {
-            // Step 1: Fetch all projects from source and target GitLab in parallel
+            ComparisonResult comparisonResult = new ComparisonResult();
+
+            // Step 1: Stream source projects: fetch branches, compare with database and update page by page
             long step1Start = System.currentTimeMillis();
-            log.info("[FULL-SCAN] Step 1: Fetching projects from source and target GitLab...");
+            log.info("[FULL-SCAN] Step 1: Streaming source projects (fetch branches, compare, update)...");
 
-            List<GitLabProject> sourceProjects = batchQueryExecutor.querySourceProjects(null, 100);
-            List<GitLabProject> targetProjects = batchQueryExecutor.queryTargetProjects(null, 100);
+            int sourceCount = batchQueryExecutor.streamSourceProjects(null, 100, page ->
+                    compareSourcePage(page, fetchBranches(page, sourceGitLabApiClient, "source"), comparisonResult));
 
             long step1Duration = System.currentTimeMillis() - step1Start;
-            log.info("[FULL-SCAN] Step 1 completed: {} source projects, {} target projects - {}ms",
-                    sourceProjects.size(), targetProjects.size(), step1Duration);
+            log.info("[FULL-SCAN] Step 1 completed: {} source projects - {}ms", sourceCount, step1Duration);
 
-            if (sourceProjects.isEmpty()) {
+            if (sourceCount == 0) {
                 log.info("No source projects found");
                 return buildEmptyResult(resultBuilder, startTime);
             }
 
-            // Step 2: Fetch branch lists for all projects
+            // Step 2: Stream target projects the same way
             long step2Start = System.currentTimeMillis();
-            log.info("[FULL-SCAN] Step 2: Fetching branch lists...");
-
-            // Build maps: projectId -> branches
-            Map<Long, List<RepositoryBranch>> sourceBranchesMap = new HashMap<>();
-            Map<Long, List<RepositoryBranch>> targetBranchesMap = new HashMap<>();
-
-            // Fetch source branches
-            for (GitLabProject project : sourceProjects) {
-                try {
-                    List<RepositoryBranch> branches = sourceGitLabApiClient.getAllBranches(project.getId());
-                    sourceBranchesMap.put(project.getId(), branches);
-                    log.debug("[FULL-SCAN] Fetched {} branches for source project {}",
-                            branches.size(), project.getPathWithNamespace());
-                } catch (Exception e) {
-                    log.warn("[FULL-SCAN] Failed to fetch branches for source project {}: {}",
-                            project.getPathWithNamespace(), e.getMessage());
-                    sourceBranchesMap.put(project.getId(), new ArrayList<>());
-                }
-            }
+            log.info("[FULL-SCAN] Step 2: Streaming target projects (fetch branches, compare, update)...");
 
-            // Fetch target branches
-            for (GitLabProject project : targetProjects) {
-                try {
-                    List<RepositoryBranch> branches = targetGitLabApiClient.getAllBranches(project.getId());
-                    targetBranchesMap.put(project.getId(), branches);
-                    log.debug("[FULL-SCAN] Fetched {} branches for target project {}",
-                            branches.size(), project.getPathWithNamespace());
-                } catch (Exception e) {
-                    log.warn("[FULL-SCAN] Failed to fetch branches for target project {}: {}",
-                            project.getPathWithNamespace(), e.getMessage());
-                    targetBranchesMap.put(project.getId(), new ArrayList<>());
-                }
-            }
+            int targetCount = batchQueryExecutor.streamTargetProjects(null, 100, page ->
+                    compareTargetPage(page, fetchBranches(page, targetGitLabApiClient, "target"), comparisonResult));
 
             long step2Duration = System.currentTimeMillis() - step2Start;
-            log.info("[FULL-SCAN] Step 2 completed: fetched branches for {} source and {} target projects - {}ms",
-                    sourceBranchesMap.size(), targetBranchesMap.size(), step2Duration);
-
-            // Step 3: Query database, compare differences, and batch update
-            long step3Start = System.currentTimeMillis();
-            log.info("[FULL-SCAN] Step 3: Comparing with database and updating...");
-
-            ComparisonResult comparisonResult = compareAndUpdate(
-                    sourceProjects, targetProjects,
-                    sourceBranchesMap, targetBranchesMap
-            );
-
-            long step3Duration = System.currentTimeMillis() - step3Start;
-            log.info("[FULL-SCAN] Step 3 completed: {} new, {} updated, {} unchanged - {}ms",
+            log.info("[FULL-SCAN] Step 2 completed: {} target projects - {}ms", targetCount, step2Duration);
+            log.info("[FULL-SCAN] Comparison: {} new, {} updated, {} unchanged",
                     comparisonResult.getNewProjectsCount(),
                     comparisonResult.getUpdatedProjectsCount(),
-                    comparisonResult.getUnchangedProjectsCount(),
-                    step3Duration);
+                    comparisonResult.getUnchangedProjectsCount());
 
-            // Step 4: Calculate diffs only for affected projects
-            long step4Start = System.currentTimeMillis();
-            log.info("[FULL-SCAN] Step 4: Calculating diffs for affected projects...");
+            // Step 3: Calculate diffs only for affected projects
+            long step3Start = System.currentTimeMillis();
+            log.info("[FULL-SCAN] Step 3: Calculating diffs for affected projects...");
 
-            List<Long> affectedSyncProjectIds = comparisonResult.getAffectedSyncProjectIds();
+            Set<Long> affectedSyncProjectIds = comparisonResult.getAffectedSyncProjectIds();
             List<ProjectDiff> diffs = new ArrayList<>();
 
             if (!affectedSyncProjectIds.isEmpty()) {
-                diffs = diffCalculator.calculateDiffBatch(affectedSyncProjectIds);
+                diffs = diffCalculator.calculateDiffBatch(new ArrayList<>(affectedSyncProjectIds));
             }
 
-            long step4Duration = System.currentTimeMillis() - step4Start;
-            log.info("[FULL-SCAN] Step 4 completed: {} diffs calculated - {}ms", diffs.size(), step4Duration);
+            long step3Duration = System.currentTimeMillis() - step3Start;
+            log.info("[FULL-SCAN] Step 3 completed: {} diffs calculated - {}ms", diffs.size(), step3Duration);
 
             // Count changes
             int changesDetected = (int) diffs.stream()
@@ -214,26 +178,25 @@ public class UnifiedProjectMonitor {
             long durationMs = Duration.between(startTime, endTime).toMillis();
 
             // Update metrics
-            long step6Start = System.currentTimeMillis();
+            long step4Start = System.currentTimeMillis();
             metricsExporter.recordScanDuration(durationMs);
             metricsExporter.refreshSystemMetrics();
             metricsExporter.refreshProjectMetrics(diffs);
-            long step6Duration = System.currentTimeMillis() - step6Start;
-            log.info("[FULL-SCAN] Step 6: Updated metrics - {}ms", step6Duration);
+            long step4Duration = System.currentTimeMillis() - step4Start;
+            log.info("[FULL-SCAN] Step 4: Updated metrics - {}ms", step4Duration);
 
             // Performance summary
             log.info("[FULL-SCAN] === PERFORMANCE SUMMARY ===");
             log.info("[FULL-SCAN] Total Duration: {}ms", durationMs);
-            log.info("[FULL-SCAN] Step 1 (Fetch Projects):     {}ms ({}%)", step1Duration, String.format("%.1f", step1Duration * 100.0 / durationMs));
-            log.info("[FULL-SCAN] Step 2 (Fetch Branches):     {}ms ({}%)", step2Duration, String.format("%.1f", step2Duration * 100.0 / durationMs));
-            log.info("[FULL-SCAN] Step 3 (Compare & Update):   {}ms ({}%)", step3Duration, String.format("%.1f", step3Duration * 100.0 / durationMs));
-            log.info("[FULL-SCAN] Step 4 (Calculate Diffs):    {}ms ({}%)", step4Duration, String.format("%.1f", step4Duration * 100.0 / durationMs));
-            log.info("[FULL-SCAN] Step 5 (Update Metrics):     {}ms ({}%)", step6Duration, String.format("%.1f", step6Duration * 100.0 / durationMs));
+            log.info("[FULL-SCAN] Step 1 (Source Pipeline):    {}ms ({}%)", step1Duration, String.format("%.1f", step1Duration * 100.0 / durationMs));
+            log.info("[FULL-SCAN] Step 2 (Target Pipeline):    {}ms ({}%)", step2Duration, String.format("%.1f", step2Duration * 100.0 / durationMs));
+            log.info("[FULL-SCAN] Step 3 (Calculate Diffs):    {}ms ({}%)", step3Duration, String.format("%.1f", step3Duration * 100.0 / durationMs));
+            log.info("[FULL-SCAN] Step 4 (Update Metrics):     {}ms ({}%)", step4Duration, String.format("%.1f", step4Duration * 100.0 / durationMs));
             log.info("[FULL-SCAN] ================================");
 
             return resultBuilder
                     .durationMs(durationMs)
-                    .projectsScanned(sourceProjects.size())
+                    .projectsScanned(sourceCount)
                     .projectsUpdated(comparisonResult.getUpdatedProjectsCount())
                     .newProjects(comparisonResult.getNewProjectsCount())
                     .changesDetected(changesDetected)
@@ -257,6 +220,9 @@ public class UnifiedProjectMonitor {
 
     /**
      * Incremental scan: Only scan projects updated since last scan
+     * <p>
+     * Each page of updated projects is enriched via GraphQL and written to the
+     * database while the next page is fetched.
      */
     private ScanResult incrementalScan() {
         log.info("=== Starting INCREMENTAL SCAN ===");
@@ -268,76 +234,49 @@ public class UnifiedProjectMonitor {
                 .status("success");
 
         try {
-            // Step 1: Query source projects updated since last scan
-            long step1Start = System.currentTimeMillis();
             LocalDateTime updatedAfter = getLastScanTime();
-            List<GitLabProject> sourceProjects = batchQueryExecutor.querySourceProjects(updatedAfter, 100);
+            List<com.gitlab.mirror.server.service.monitor.model.ProjectChange> allChanges = new ArrayList<>();
+            Set<String> scannedProjectKeys = new HashSet<>();
+            AtomicInteger projectsUpdated = new AtomicInteger();
+
+            // Step 1: Stream source projects updated since last scan (GraphQL details, update DB)
+            long step1Start = System.currentTimeMillis();
+            int sourceCount = batchQueryExecutor.streamSourceProjects(updatedAfter, 100, page -> {
+                Map<Long, com.gitlab.mirror.server.client.graphql.GraphQLProjectInfo> graphQLMap =
+                        toGraphQLMap(batchQueryExecutor.getProjectDetailsBatchGraphQL(page));
+                UpdateProjectDataService.UpdateResult updateResult =
+                        updateProjectDataService.updateSourceProjectsFromGraphQL(page, graphQLMap, false);
+                projectsUpdated.addAndGet(updateResult.getSuccessCount());
+                allChanges.addAll(updateResult.getProjectChanges());
+                page.forEach(project -> scannedProjectKeys.add(project.getPathWithNamespace()));
+            });
             long step1Duration = System.currentTimeMillis() - step1Start;
-            log.info("[INCR-SCAN] Step 1: Query {} source projects (updatedAfter: {}) - {}ms",
-                    sourceProjects.size(), updatedAfter, step1Duration);
+            log.info("[INCR-SCAN] Step 1: Scan {} source projects (updatedAfter: {}) - {}ms",
+                    sourceCount, updatedAfter, step1Duration);
 
-            if (sourceProjects.isEmpty()) {
+            if (sourceCount == 0) {
                 log.info("No projects to scan");
                 return buildEmptyResult(resultBuilder, startTime);
             }
 
-            // Step 2: Get project details using GraphQL batch query
+            // Step 2: Stream target projects the same way
             long step2Start = System.currentTimeMillis();
-            List<com.gitlab.mirror.server.client.graphql.GraphQLProjectInfo> graphQLInfos =
-                    batchQueryExecutor.getProjectDetailsBatchGraphQL(sourceProjects);
+            int targetCount = batchQueryExecutor.streamTargetProjects(updatedAfter, 100, page -> {
+                Map<Long, com.gitlab.mirror.server.client.graphql.GraphQLProjectInfo> graphQLMap =
+                        toGraphQLMap(batchQueryExecutor.getTargetProjectDetailsBatchGraphQL(page));
+                UpdateProjectDataService.UpdateResult updateResult =
+                        updateProjectDataService.updateTargetProjectsFromGraphQL(page, graphQLMap, false);
+                projectsUpdated.addAndGet(updateResult.getSuccessCount());
+                allChanges.addAll(updateResult.getProjectChanges());
+                page.forEach(project -> scannedProjectKeys.add(project.getPathWithNamespace()));
+            });
             long step2Duration = System.currentTimeMillis() - step2Start;
-            log.info("[INCR-SCAN] Step 2: GraphQL batch query {} source projects - {}ms", sourceProjects.size(), step2Duration);
-
-            // Convert to map
-            Map<Long, com.gitlab.mirror.server.client.graphql.GraphQLProjectInfo> graphQLMap = graphQLInfos.stream()
-                    .collect(Collectors.toMap(
-                            com.gitlab.mirror.server.client.graphql.GraphQLProjectInfo::getProjectId,
-                            info -> info
-                    ));
+            log.info("[INCR-SCAN] Step 2: Scan {} target projects - {}ms", targetCount, step2Duration);
 
-            // Step 3: Update source projects
+            // Step 3: Calculate diffs only for updated projects
             long step3Start = System.currentTimeMillis();
-            UpdateProjectDataService.UpdateResult updateResult =
-                    updateProjectDataService.updateSourceProjectsFromGraphQL(sourceProjects, graphQLMap, false);
-            long step3Duration = System.currentTimeMillis() - step3Start;
-            log.info("[INCR-SCAN] Step 3: Update {} source projects to DB - {}ms", updateResult.getSuccessCount(), step3Duration);
-
-            // Step 4: Query target projects
-            long step4Start = System.currentTimeMillis();
-            List<GitLabProject> targetProjects = batchQueryExecutor.queryTargetProjects(updatedAfter, 100);
-            long step4Duration = System.currentTimeMillis() - step4Start;
-            log.info("[INCR-SCAN] Step 4: Query {} target projects - {}ms", targetProjects.size(), step4Duration);
-
-            // Step 5: Get target project details using GraphQL
-            long step5Start = System.currentTimeMillis();
-            List<com.gitlab.mirror.server.client.graphql.GraphQLProjectInfo> targetGraphQLInfos =
-                    batchQueryExecutor.getTargetProjectDetailsBatchGraphQL(targetProjects);
-            long step5Duration = System.currentTimeMillis() - step5Start;
-            log.info("[INCR-SCAN] Step 5: GraphQL batch query {} target projects - {}ms", targetProjects.size(), step5Duration);
-
-            // Convert to map
-            Map<Long, com.gitlab.mirror.server.client.graphql.GraphQLProjectInfo> targetGraphQLMap = targetGraphQLInfos.stream()
-                    .collect(Collectors.toMap(
-                            com.gitlab.mirror.server.client.graphql.GraphQLProjectInfo::getProjectId,
-                            info -> info
-                    ));
-
-            // Step 6: Update target projects
-            long step6Start = System.currentTimeMillis();
-            UpdateProjectDataService.UpdateResult targetUpdateResult =
-                    updateProjectDataService.updateTargetProjectsFromGraphQL(targetProjects, targetGraphQLMap, false);
-            long step6Duration = System.currentTimeMillis() - step6Start;
-            log.info("[INCR-SCAN] Step 6: Update {} target projects to DB - {}ms", targetUpdateResult.getSuccessCount(), step6Duration);
-
-            // Step 7: Calculate diffs only for updated projects
-            long step7Start = System.currentTimeMillis();
-            java.util.Set<String> scannedProjectKeys = java.util.stream.Stream.concat(
-                    sourceProjects.stream().map(GitLabProject::getPathWithNamespace),
-                    targetProjects.stream().map(GitLabProject::getPathWithNamespace)
-            ).collect(Collectors.toSet());
-
             List<SyncProject> syncProjects = syncProjectMapper.selectList(
-                    new com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper<SyncProject>()
+                    new LambdaQueryWrapper<SyncProject>()
                             .in(SyncProject::getProjectKey, scannedProjectKeys)
             );
             List<Long> syncProjectIds = syncProjects.stream()
@@ -345,8 +284,8 @@ public class UnifiedProjectMonitor {
                     .collect(Collectors.toList());
 
             List<ProjectDiff> diffs = syncProjectIds.isEmpty() ? new ArrayList<>() : diffCalculator.calculateDiffBatch(syncProjectIds);
-            long step7Duration = System.currentTimeMillis() - step7Start;
-            log.info("[INCR-SCAN] Step 7: Calculate {} project diffs - {}ms", diffs.size(), step7Duration);
+            long step3Duration = System.currentTimeMillis() - step3Start;
+            log.info("[INCR-SCAN] Step 3: Calculate {} project diffs - {}ms", diffs.size(), step3Duration);
 
             // Count changes
             int changesDetected = (int) diffs.stream()
@@ -356,40 +295,31 @@ public class UnifiedProjectMonitor {
             // Update last scan time
             updateLastScanTime(LocalDateTime.now());
 
-            // Collect all project changes
-            List<com.gitlab.mirror.server.service.monitor.model.ProjectChange> allChanges = new ArrayList<>();
-            allChanges.addAll(updateResult.getProjectChanges());
-            allChanges.addAll(targetUpdateResult.getProjectChanges());
-
             // Build result
             LocalDateTime endTime = LocalDateTime.now();
             long durationMs = Duration.between(startTime, endTime).toMillis();
 
             // Update metrics
-            long step9Start = System.currentTimeMillis();
+            long step4Start = System.currentTimeMillis();
             metricsExporter.recordScanDuration(durationMs);
             metricsExporter.refreshSystemMetrics();
             metricsExporter.refreshProjectMetrics(diffs);
-            long step9Duration = System.currentTimeMillis() - step9Start;
-            log.info("[INCR-SCAN] Step 9: Update metrics - {}ms", step9Duration);
+            long step4Duration = System.currentTimeMillis() - step4Start;
+            log.info("[INCR-SCAN] Step 4: Update metrics - {}ms", step4Duration);
 
             // Performance summary
             log.info("[INCR-SCAN] === PERFORMANCE SUMMARY ===");
             log.info("[INCR-SCAN] Total Duration: {}ms", durationMs);
-            log.info("[INCR-SCAN] Step 1 (Query Source):      {}ms ({}%)", step1Duration, String.format("%.1f", step1Duration * 100.0 / durationMs));
-            log.info("[INCR-SCAN] Step 2 (GraphQL Source):    {}ms ({}%)", step2Duration, String.format("%.1f", step2Duration * 100.0 / durationMs));
-            log.info("[INCR-SCAN] Step 3 (Update Source):     {}ms ({}%)", step3Duration, String.format("%.1f", step3Duration * 100.0 / durationMs));
-            log.info("[INCR-SCAN] Step 4 (Query Target):      {}ms ({}%)", step4Duration, String.format("%.1f", step4Duration * 100.0 / durationMs));
-            log.info("[INCR-SCAN] Step 5 (GraphQL Target):    {}ms ({}%)", step5Duration, String.format("%.1f", step5Duration * 100.0 / durationMs));
-            log.info("[INCR-SCAN] Step 6 (Update Target):     {}ms ({}%)", step6Duration, String.format("%.1f", step6Duration * 100.0 / durationMs));
-            log.info("[INCR-SCAN] Step 7 (Calculate Diff):    {}ms ({}%)", step7Duration, String.format("%.1f", step7Duration * 100.0 / durationMs));
-            log.info("[INCR-SCAN] Step 8 (Metrics):           {}ms ({}%)", step9Duration, String.format("%.1f", step9Duration * 100.0 / durationMs));
+            log.info("[INCR-SCAN] Step 1 (Source Pipeline):   {}ms ({}%)", step1Duration, String.format("%.1f", step1Duration * 100.0 / durationMs));
+            log.info("[INCR-SCAN] Step 2 (Target Pipeline):   {}ms ({}%)", step2Duration, String.format("%.1f", step2Duration * 100.0 / durationMs));
+            log.info("[INCR-SCAN] Step 3 (Calculate Diff):    {}ms ({}%)", step3Duration, String.format("%.1f", step3Duration * 100.0 / durationMs));
+            log.info("[INCR-SCAN] Step 4 (Metrics):           {}ms ({}%)", step4Duration, String.format("%.1f", step4Duration * 100.0 / durationMs));
             log.info("[INCR-SCAN] ================================");
 
             return resultBuilder
                     .durationMs(durationMs)
-                    .projectsScanned(sourceProjects.size())
-                    .projectsUpdated(updateResult.getSuccessCount() + targetUpdateResult.getSuccessCount())
+                    .projectsScanned(sourceCount)
+                    .projectsUpdated(projectsUpdated.get())
                     .newProjects(0)
                     .changesDetected(changesDetected)
                     .projectChanges(allChanges)
@@ -411,66 +341,99 @@ public class UnifiedProjectMonitor {
     }
 
     /**
-     * Compare GitLab data with database and batch update
+     * Convert GraphQL project infos to a map by project ID
+     */
+    private Map<Long, com.gitlab.mirror.server.client.graphql.GraphQLProjectInfo> toGraphQLMap(
+            List<com.gitlab.mirror.server.client.graphql.GraphQLProjectInfo> infos) {
+        return infos.stream()
+                .collect(Collectors.toMap(
+                        com.gitlab.mirror.server.client.graphql.GraphQLProjectInfo::getProjectId,
+                        info -> info,
+                        (a, b) -> a
+                ));
+    }
+
+    /**
+     * Fetch branch lists for a page of projects
+     *
+     * @return Map projectId -> branches (empty list if the fetch failed)
+     */
+    private Map<Long, List<RepositoryBranch>> fetchBranches(
+            List<GitLabProject> projects,
+            com.gitlab.mirror.server.client.GitLabApiClient client,
+            String label) {
+        Map<Long, List<RepositoryBranch>> branchesMap = new HashMap<>();
+        for (GitLabProject project : projects) {
+            try {
+                List<RepositoryBranch> branches = client.getAllBranches(project.getId());
+                branchesMap.put(project.getId(), branches);
+                log.debug("[FULL-SCAN] Fetched {} branches for {} project {}",
+                        branches.size(), label, project.getPathWithNamespace());
+            } catch (Exception e) {
+                log.warn("[FULL-SCAN] Failed to fetch branches for {} project {}: {}",
+                        label, project.getPathWithNamespace(), e.getMessage());
+                branchesMap.put(project.getId(), new ArrayList<>());
+            }
+        }
+        return branchesMap;
+    }
+
+    /**
+     * Load sync projects for a page of GitLab projects
+     *
+     * @return Map projectKey -> sync project
+     */
+    private Map<String, SyncProject> loadSyncProjects(List<GitLabProject> projects) {
+        List<String> projectKeys = projects.stream()
+                .map(GitLabProject::getPathWithNamespace)
+                .collect(Collectors.toList());
+        if (projectKeys.isEmpty()) {
+            return new HashMap<>();
+        }
+        return syncProjectMapper.selectList(
+                        new LambdaQueryWrapper<SyncProject>().in(SyncProject::getProjectKey, projectKeys))
+                .stream()
+                .collect(Collectors.toMap(SyncProject::getProjectKey, p -> p, (a, b) -> a));
+    }
+
+    /**
+     * Compare a page of source projects with the database and update
      * <p>
      * This method:
-     * 1. Queries all existing records from database
+     * 1. Queries the database records of this page only
      * 2. Compares with GitLab data to identify new/updated/unchanged projects
      * 3. Batch inserts new projects
-     * 4. Batch updates changed projects
-     * 5. Updates branch snapshots for affected projects
+     * 4. Updates changed projects and their branch snapshots
      *
-     * @param sourceProjects Source GitLab projects
-     * @param targetProjects Target GitLab projects
+     * @param sourceProjects Page of source GitLab projects
      * @param sourceBranchesMap Source project branches map (projectId -> branches)
-     * @param targetBranchesMap Target project branches map (projectId -> branches)
-     * @return Comparison result with statistics
+     * @param result Comparison result accumulated over all pages
      */
-    private ComparisonResult compareAndUpdate(
+    private void compareSourcePage(
             List<GitLabProject> sourceProjects,
-            List<GitLabProject> targetProjects,
             Map<Long, List<RepositoryBranch>> sourceBranchesMap,
-            Map<Long, List<RepositoryBranch>> targetBranchesMap) {
-
-        log.info("[COMPARE] Starting comparison and update process...");
-
-        ComparisonResult result = new ComparisonResult();
-        List<com.gitlab.mirror.server.service.monitor.model.ProjectChange> allChanges = new ArrayList<>();
-        List<Long> affectedSyncProjectIds = new ArrayList<>();
+            ComparisonResult result) {
 
-        // Step 3.1: Query all existing records from database
-        log.info("[COMPARE] Querying existing database records...");
-        List<SyncProject> allSyncProjects = syncProjectMapper.selectList(null);
-        List<SourceProjectInfo> allSourceInfos = sourceProjectInfoMapper.selectList(null);
-        List<TargetProjectInfo> allTargetInfos = targetProjectInfoMapper.selectList(null);
+        Map<String, SyncProject> syncProjectMap = loadSyncProjects(sourceProjects);
+        Map<Long, SourceProjectInfo> sourceInfoBySyncId = syncProjectMap.isEmpty() ? new HashMap<>() :
+                sourceProjectInfoMapper.selectList(new LambdaQueryWrapper<SourceProjectInfo>()
+                                .in(SourceProjectInfo::getSyncProjectId, syncIds(syncProjectMap)))
+                        .stream()
+                        .collect(Collectors.toMap(SourceProjectInfo::getSyncProjectId, p -> p, (a, b) -> a));
 
-        // Build maps for quick lookup
-        Map<String, SyncProject> syncProjectMap = allSyncProjects.stream()
-                .collect(Collectors.toMap(SyncProject::getProjectKey, p -> p));
-        Map<Long, SourceProjectInfo> sourceInfoBySyncId = allSourceInfos.stream()
-                .collect(Collectors.toMap(SourceProjectInfo::getSyncProjectId, p -> p));
-        Map<Long, TargetProjectInfo> targetInfoBySyncId = allTargetInfos.stream()
-                .collect(Collectors.toMap(TargetProjectInfo::getSyncProjectId, p -> p));
+        log.debug("[COMPARE] Processing {} source projects ({} already in database)",
+                sourceProjects.size(), syncProjectMap.size());
 
-        log.info("[COMPARE] Found {} existing sync projects in database", allSyncProjects.size());
-
-        // Step 3.2: Process source projects
-        log.info("[COMPARE] Processing {} source projects...", sourceProjects.size());
+        List<GitLabProject> newProjects = new ArrayList<>();
         for (GitLabProject project : sourceProjects) {
             String projectKey = project.getPathWithNamespace();
             SyncProject syncProject = syncProjectMap.get(projectKey);
             List<RepositoryBranch> branches = sourceBranchesMap.getOrDefault(project.getId(), new ArrayList<>());
 
             if (syncProject == null) {
-                // New project - create all records
+                // New project - onboarded in bulk after the loop
                 log.info("[COMPARE] New project discovered: {}", projectKey);
-                try {
-                    Long syncProjectId = createNewProject(project, branches);
-                    affectedSyncProjectIds.add(syncProjectId);
-                    result.incrementNewProjects();
-                } catch (Exception e) {
-                    log.error("[COMPARE] Failed to create new project {}: {}", projectKey, e.getMessage(), e);
-                }
+                newProjects.add(project);
             } else {
                 // Existing project - check for changes
                 SourceProjectInfo sourceInfo = sourceInfoBySyncId.get(syncProject.getId());
@@ -479,8 +442,8 @@ public class UnifiedProjectMonitor {
                             updateSourceProjectIfChanged(sourceInfo, project, branches);
 
                     if (change != null) {
-                        allChanges.add(change);
-                        affectedSyncProjectIds.add(syncProject.getId());
+                        result.getAllChanges().add(change);
+                        result.getAffectedSyncProjectIds().add(syncProject.getId());
                         result.incrementUpdatedProjects();
 
                         // Update branch snapshot for changed project
@@ -502,8 +465,38 @@ public class UnifiedProjectMonitor {
             }
         }
 
-        // Step 3.3: Process target projects
-        log.info("[COMPARE] Processing {} target projects...", targetProjects.size());
+        // Onboard new projects of this page in one batch
+        if (!newProjects.isEmpty()) {
+            List<Long> newSyncProjectIds = projectInitializationService.initializeProjects(newProjects, sourceBranchesMap);
+            for (Long syncProjectId : newSyncProjectIds) {
+                result.getAffectedSyncProjectIds().add(syncProjectId);
+                result.incrementNewProjects();
+            }
+        }
+    }
+
+    /**
+     * Compare a page of target projects with the database and update
+     *
+     * @param targetProjects Page of target GitLab projects
+     * @param targetBranchesMap Target project branches map (projectId -> branches)
+     * @param result Comparison result accumulated over all pages
+     */
+    private void compareTargetPage(
+            List<GitLabProject> targetProjects,
+            Map<Long, List<RepositoryBranch>> targetBranchesMap,
+            ComparisonResult result) {
+
+        Map<String, SyncProject> syncProjectMap = loadSyncProjects(targetProjects);
+        Map<Long, TargetProjectInfo> targetInfoBySyncId = syncProjectMap.isEmpty() ? new HashMap<>() :
+                targetProjectInfoMapper.selectList(new LambdaQueryWrapper<TargetProjectInfo>()
+                                .in(TargetProjectInfo::getSyncProjectId, syncIds(syncProjectMap)))
+                        .stream()
+                        .collect(Collectors.toMap(TargetProjectInfo::getSyncProjectId, p -> p, (a, b) -> a));
+
+        log.debug("[COMPARE] Processing {} target projects ({} already in database)",
+                targetProjects.size(), syncProjectMap.size());
+
         for (GitLabProject project : targetProjects) {
             String projectKey = project.getPathWithNamespace();
             SyncProject syncProject = syncProjectMap.get(projectKey);
@@ -516,10 +509,8 @@ public class UnifiedProjectMonitor {
                             updateTargetProjectIfChanged(targetInfo, project, branches);
 
                     if (change != null) {
-                        allChanges.add(change);
-                        if (!affectedSyncProjectIds.contains(syncProject.getId())) {
-                            affectedSyncProjectIds.add(syncProject.getId());
-                        }
+                        result.getAllChanges().add(change);
+                        result.getAffectedSyncProjectIds().add(syncProject.getId());
 
                         // Update branch snapshot for changed project
                         try {
@@ -537,98 +528,13 @@ public class UnifiedProjectMonitor {
                 }
             }
         }
-
-        result.setAllChanges(allChanges);
-        result.setAffectedSyncProjectIds(affectedSyncProjectIds);
-
-        log.info("[COMPARE] Comparison completed - new: {}, updated: {}, unchanged: {}",
-                result.getNewProjectsCount(), result.getUpdatedProjectsCount(), result.getUnchangedProjectsCount());
-
-        return result;
     }
 
     /**
-     * Create new project with all related records
+     * Get IDs of looked-up sync projects
      */
-    private Long createNewProject(GitLabProject project, List<RepositoryBranch> branches) {
-        // Step 1: Create sync_project record
-        SyncProject syncProject = new SyncProject();
-        syncProject.setProjectKey(project.getPathWithNamespace());
-        syncProject.setSyncMethod("pull_sync");
-        syncProject.setSyncStatus(SyncProject.SyncStatus.PENDING);
-        syncProject.setEnabled(true);
-        syncProject.setCreatedAt(LocalDateTime.now());
-        syncProject.setUpdatedAt(LocalDateTime.now());
-
-        syncProjectMapper.insert(syncProject);
-        log.info("[COMPARE] Created sync_project: {} (id={})", project.getPathWithNamespace(), syncProject.getId());
-
-        // Step 2: Create source_project_info record
-        SourceProjectInfo sourceInfo = new SourceProjectInfo();
-        sourceInfo.setSyncProjectId(syncProject.getId());
-        sourceInfo.setGitlabProjectId(project.getId());
-        sourceInfo.setPathWithNamespace(project.getPathWithNamespace());
-        sourceInfo.setName(project.getName());
-        sourceInfo.setDefaultBranch(project.getDefaultBranch());
-        sourceInfo.setVisibility(project.getVisibility());
-        sourceInfo.setArchived(project.getArchived());
-        sourceInfo.setEmptyRepo(project.getEmptyRepo());
-        sourceInfo.setStarCount(project.getStarCount());
-        sourceInfo.setForkCount(project.getForksCount());
-
-        if (project.getNamespace() != null) {
-            sourceInfo.setGroupPath(project.getNamespace().getFullPath());
-        }
-
-        if (project.getLastActivityAt() != null) {
-            sourceInfo.setLastActivityAt(convertToLocalDateTime(project.getLastActivityAt()));
-        }
-
-        if (project.getStatistics() != null) {
-            sourceInfo.setRepositorySize(project.getStatistics().getRepositorySize());
-            sourceInfo.setCommitCount(project.getStatistics().getCommitCount());
-        }
-
-        // Update from branches data
-        sourceInfo.setBranchCount(branches.size());
-
-        // Get latest commit SHA from default branch
-        if (project.getDefaultBranch() != null && !branches.isEmpty()) {
-            branches.stream()
-                    .filter(b -> project.getDefaultBranch().equals(b.getName()))
-                    .findFirst()
-                    .ifPresent(branch -> {
-                        if (branch.getCommit() != null) {
-                            sourceInfo.setLatestCommitSha(branch.getCommit().getId());
-                        }
-                    });
-        }
-
-        sourceInfo.setSyncedAt(LocalDateTime.now());
-
-        sourceProjectInfoMapper.insert(sourceInfo);
-        log.info("[COMPARE] Created source_project_info for {} (id={})", project.getPathWithNamespace(), sourceInfo.getId());
-
-        // Step 3: Create pull_sync_config record
-        pullSyncConfigService.initializeConfig(syncProject.getId(), project.getPathWithNamespace());
-
-        // Step 4: Create sync_task record
-        syncTaskService.initializeTask(syncProject.getId(), "pull");
-
-        // Step 5: Create branch snapshot
-        try {
-            branchSnapshotService.updateBranchSnapshot(
-                    syncProject.getId(),
-                    ProjectBranchSnapshot.ProjectType.SOURCE,
-                    branches,
-                    project.getDefaultBranch()
-            );
-        } catch (Exception e) {
-            log.warn("[COMPARE] Failed to create source branch snapshot for {}: {}",
-                    project.getPathWithNamespace(), e.getMessage());
-        }
-
-        return syncProject.getId();
+    private List<Long> syncIds(Map<String, SyncProject> syncProjectMap) {
+        return syncProjectMap.values().stream().map(SyncProject::getId).collect(Collectors.toList());
     }
 
     /**
@@ -851,7 +757,7 @@ public class UnifiedProjectMonitor {
         private int updatedProjectsCount = 0;
         private int unchangedProjectsCount = 0;
         private List<com.gitlab.mirror.server.service.monitor.model.ProjectChange> allChanges = new ArrayList<>();
-        private List<Long> affectedSyncProjectIds = new ArrayList<>();
+        private Set<Long> affectedSyncProjectIds = new LinkedHashSet<>();
 
         public void incrementNewProjects() {
             this.newProjectsCount++;
@@ -17,6 +17,7 @@ import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -34,6 +35,8 @@ import java.util.stream.Collectors;
 @Service
 public class UpdateProjectDataService {
 
+    private static final int BULK_CHUNK_SIZE = 500;  // Rows per IN query and batch update
+
     private final SourceProjectInfoMapper sourceProjectInfoMapper;
     private final TargetProjectInfoMapper targetProjectInfoMapper;
     private final BatchQueryExecutor batchQueryExecutor;
@@ -110,6 +113,10 @@ public class UpdateProjectDataService {
     /**
      * Update source projects monitoring fields from GraphQL batch query (Two-stage optimization)
      * Only updates projects with actual changes
+     * <p>
+     * Works in chunks of {@value #BULK_CHUNK_SIZE} projects: existing rows are loaded with one
+     * query, changed fields are computed in memory, and all changed rows are written with
+     * one statement.
      *
      * @param projects List of GitLab projects from API
      * @param graphQLInfos Map of project ID to GraphQL info
@@ -129,12 +136,16 @@ public class UpdateProjectDataService {
 
         List<String> errors = new ArrayList<>();
 
-        for (GitLabProject project : projects) {
-            try {
-                QueryWrapper<SourceProjectInfo> queryWrapper = new QueryWrapper<>();
-                queryWrapper.eq("gitlab_project_id", project.getId());
-                SourceProjectInfo info = sourceProjectInfoMapper.selectOne(queryWrapper);
+        for (int from = 0; from < projects.size(); from += BULK_CHUNK_SIZE) {
+            List<GitLabProject> chunk = projects.subList(from, Math.min(from + BULK_CHUNK_SIZE, projects.size()));
+            Map<Long, SourceProjectInfo> infoByGitlabId = loadSourceInfos(chunk);
 
+            List<SourceProjectInfo> changedInfos = new ArrayList<>();
+            List<ProjectChange> changes = new ArrayList<>();
+            List<SourceProjectInfo> snapshotInfos = new ArrayList<>();
+
+            for (GitLabProject project : chunk) {
+                SourceProjectInfo info = infoByGitlabId.get(project.getId());
                 if (info == null) {
                     log.warn("Source project not found for GitLab project ID: {}", project.getId());
                     result.setSkippedCount(result.getSkippedCount() + 1);
@@ -145,18 +156,11 @@ public class UpdateProjectDataService {
                 GraphQLProjectInfo graphQLInfo = graphQLInfos.get(project.getId());
                 ProjectChange change = updateSourceProjectFieldsFromGraphQL(info, project, graphQLInfo);
 
-                // Only update if there are changes
                 if (change != null) {
-                    int updated = sourceProjectInfoMapper.updateById(info);
-                    if (updated > 0) {
-                        result.setSuccessCount(result.getSuccessCount() + 1);
-                        result.getProjectChanges().add(change);
-                        log.debug("Updated source project {} with {} changes",
-                                project.getPathWithNamespace(), change.getFieldChanges().size());
-                    } else {
-                        result.setFailedCount(result.getFailedCount() + 1);
-                        errors.add("Failed to update source project: " + project.getPathWithNamespace());
-                    }
+                    changedInfos.add(info);
+                    changes.add(change);
+                    log.debug("Updating source project {} with {} changes",
+                            project.getPathWithNamespace(), change.getFieldChanges().size());
                 } else {
                     result.setSkippedCount(result.getSkippedCount() + 1);
                     log.debug("No changes for source project {}", project.getPathWithNamespace());
@@ -164,24 +168,37 @@ public class UpdateProjectDataService {
 
                 // Update branch snapshot: always in full scan, or when project changed
                 if (isFullScan || change != null) {
-                    try {
-                        if (info.getGitlabProjectId() != null) {
-                            branchSnapshotService.updateSourceBranchSnapshot(
-                                info.getSyncProjectId(),
-                                info.getGitlabProjectId(),
-                                info.getDefaultBranch()
-                            );
-                        }
-                    } catch (Exception e) {
-                        log.warn("Failed to update source branch snapshot for project {}: {}",
-                            project.getPathWithNamespace(), e.getMessage());
-                    }
+                    snapshotInfos.add(info);
                 }
+            }
 
-            } catch (Exception e) {
-                log.error("Error updating source project {}: {}", project.getPathWithNamespace(), e.getMessage(), e);
-                result.setFailedCount(result.getFailedCount() + 1);
-                errors.add(project.getPathWithNamespace() + ": " + e.getMessage());
+            // Write all changed rows of this chunk at once
+            if (!changedInfos.isEmpty()) {
+                try {
+                    sourceProjectInfoMapper.updateMonitorFieldsBatch(changedInfos);
+                    result.setSuccessCount(result.getSuccessCount() + changedInfos.size());
+                    result.getProjectChanges().addAll(changes);
+                } catch (Exception e) {
+                    log.error("Error updating {} source projects: {}", changedInfos.size(), e.getMessage(), e);
+                    result.setFailedCount(result.getFailedCount() + changedInfos.size());
+                    changedInfos.forEach(info -> errors.add(info.getPathWithNamespace() + ": " + e.getMessage()));
+                    snapshotInfos.removeAll(changedInfos);
+                }
+            }
+
+            for (SourceProjectInfo info : snapshotInfos) {
+                try {
+                    if (info.getGitlabProjectId() != null) {
+                        branchSnapshotService.updateSourceBranchSnapshot(
+                            info.getSyncProjectId(),
+                            info.getGitlabProjectId(),
+                            info.getDefaultBranch()
+                        );
+                    }
+                } catch (Exception e) {
+                    log.warn("Failed to update source branch snapshot for project {}: {}",
+                        info.getPathWithNamespace(), e.getMessage());
+                }
             }
         }
 
@@ -193,6 +210,25 @@ public class UpdateProjectDataService {
         return result;
     }
 
+    /**
+     * Load source project infos of a chunk of projects with one query
+     *
+     * @return Map GitLab project ID -> project info
+     */
+    private Map<Long, SourceProjectInfo> loadSourceInfos(List<GitLabProject> projects) {
+        List<Long> gitlabProjectIds = projects.stream()
+                .map(GitLabProject::getId)
+                .collect(Collectors.toList());
+        if (gitlabProjectIds.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        QueryWrapper<SourceProjectInfo> queryWrapper = new QueryWrapper<>();
+        queryWrapper.in("gitlab_project_id", gitlabProjectIds);
+        return sourceProjectInfoMapper.selectList(queryWrapper).stream()
+                .collect(Collectors.toMap(SourceProjectInfo::getGitlabProjectId, info -> info, (a, b) -> a));
+    }
+
     /**
      * Update source projects branch count only
      *
@@ -311,11 +347,15 @@ public class UpdateProjectDataService {
     }
 
     /**
-     * Update target projects from GraphQL data (OPTIMIZED - much faster than REST API)
+     * Update target projects monitoring fields from GraphQL batch query (Two-stage optimization)
      * Only updates projects with actual changes
+     * <p>
+     * Works in chunks of {@value #BULK_CHUNK_SIZE} projects: existing rows are loaded with one
+     * query, changed fields are computed in memory, and all changed rows are written with
+     * one statement.
      *
      * @param projects List of GitLab projects from API
-     * @param graphQLInfos Map of project ID to GraphQL information
+     * @param graphQLInfos Map of project ID to GraphQL info
      * @param isFullScan Whether this is a full scan (always update branch snapshots)
      * @return Update result statistics
      */
@@ -332,12 +372,16 @@ public class UpdateProjectDataService {
 
         List<String> errors = new ArrayList<>();
 
-        for (GitLabProject project : projects) {
-            try {
-                QueryWrapper<TargetProjectInfo> queryWrapper = new QueryWrapper<>();
-                queryWrapper.eq("gitlab_project_id", project.getId());
-                TargetProjectInfo info = targetProjectInfoMapper.selectOne(queryWrapper);
+        for (int from = 0; from < projects.size(); from += BULK_CHUNK_SIZE) {
+            List<GitLabProject> chunk = projects.subList(from, Math.min(from + BULK_CHUNK_SIZE, projects.size()));
+            Map<Long, TargetProjectInfo> infoByGitlabId = loadTargetInfos(chunk);
+
+            List<TargetProjectInfo> changedInfos = new ArrayList<>();
+            List<ProjectChange> changes = new ArrayList<>();
+            List<TargetProjectInfo> snapshotInfos = new ArrayList<>();
 
+            for (GitLabProject project : chunk) {
+                TargetProjectInfo info = infoByGitlabId.get(project.getId());
                 if (info == null) {
                     log.warn("Target project not found for GitLab project ID: {}", project.getId());
                     result.setSkippedCount(result.getSkippedCount() + 1);
@@ -348,18 +392,11 @@ public class UpdateProjectDataService {
                 GraphQLProjectInfo graphQLInfo = graphQLInfos.get(project.getId());
                 ProjectChange change = updateTargetProjectFieldsFromGraphQL(info, project, graphQLInfo);
 
-                // Only update if there are changes
                 if (change != null) {
-                    int updated = targetProjectInfoMapper.updateById(info);
-                    if (updated > 0) {
-                        result.setSuccessCount(result.getSuccessCount() + 1);
-                        result.getProjectChanges().add(change);
-                        log.debug("Updated target project {} with {} changes",
-                                project.getPathWithNamespace(), change.getFieldChanges().size());
-                    } else {
-                        result.setFailedCount(result.getFailedCount() + 1);
-                        errors.add("Failed to update target project: " + project.getPathWithNamespace());
-                    }
+                    changedInfos.add(info);
+                    changes.add(change);
+                    log.debug("Updating target project {} with {} changes",
+                            project.getPathWithNamespace(), change.getFieldChanges().size());
                 } else {
                     result.setSkippedCount(result.getSkippedCount() + 1);
                     log.debug("No changes for target project {}", project.getPathWithNamespace());
@@ -367,24 +404,37 @@ public class UpdateProjectDataService {
 
                 // Update branch snapshot: always in full scan, or when project changed
                 if (isFullScan || change != null) {
-                    try {
-                        if (info.getGitlabProjectId() != null) {
-                            branchSnapshotService.updateTargetBranchSnapshot(
-                                info.getSyncProjectId(),
-                                info.getGitlabProjectId(),
-                                info.getDefaultBranch()
-                            );
-                        }
-                    } catch (Exception e) {
-                        log.warn("Failed to update target branch snapshot for project {}: {}",
-                            project.getPathWithNamespace(), e.getMessage());
-                    }
+                    snapshotInfos.add(info);
                 }
+            }
 
-            } catch (Exception e) {
-                log.error("Error updating target project {}: {}", project.getPathWithNamespace(), e.getMessage(), e);
-                result.setFailedCount(result.getFailedCount() + 1);
-                errors.add(project.getPathWithNamespace() + ": " + e.getMessage());
+            // Write all changed rows of this chunk at once
+            if (!changedInfos.isEmpty()) {
+                try {
+                    targetProjectInfoMapper.updateMonitorFieldsBatch(changedInfos);
+                    result.setSuccessCount(result.getSuccessCount() + changedInfos.size());
+                    result.getProjectChanges().addAll(changes);
+                } catch (Exception e) {
+                    log.error("Error updating {} target projects: {}", changedInfos.size(), e.getMessage(), e);
+                    result.setFailedCount(result.getFailedCount() + changedInfos.size());
+                    changedInfos.forEach(info -> errors.add(info.getPathWithNamespace() + ": " + e.getMessage()));
+                    snapshotInfos.removeAll(changedInfos);
+                }
+            }
+
+            for (TargetProjectInfo info : snapshotInfos) {
+                try {
+                    if (info.getGitlabProjectId() != null) {
+                        branchSnapshotService.updateTargetBranchSnapshot(
+                            info.getSyncProjectId(),
+                            info.getGitlabProjectId(),
+                            info.getDefaultBranch()
+                        );
+                    }
+                } catch (Exception e) {
+                    log.warn("Failed to update target branch snapshot for project {}: {}",
+                        info.getPathWithNamespace(), e.getMessage());
+                }
             }
         }
 
@@ -396,6 +446,25 @@ public class UpdateProjectDataService {
         return result;
     }
 
+    /**
+     * Load target project infos of a chunk of projects with one query
+     *
+     * @return Map GitLab project ID -> project info
+     */
+    private Map<Long, TargetProjectInfo> loadTargetInfos(List<GitLabProject> projects) {
+        List<Long> gitlabProjectIds = projects.stream()
+                .map(GitLabProject::getId)
+                .collect(Collectors.toList());
+        if (gitlabProjectIds.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        QueryWrapper<TargetProjectInfo> queryWrapper = new QueryWrapper<>();
+        queryWrapper.in("gitlab_project_id", gitlabProjectIds);
+        return targetProjectInfoMapper.selectList(queryWrapper).stream()
+                .collect(Collectors.toMap(TargetProjectInfo::getGitlabProjectId, info -> info, (a, b) -> a));
+    }
+
     /**
      * Update source project info fields
      */
@@ -426,6 +495,14 @@ public class UpdateProjectDataService {
             info.setDefaultBranch(project.getDefaultBranch());
         }
 
+        // Update fork relation (used to group fork families into object pools)
+        if (project.getForkedFromProject() != null) {
+            info.setForkedFromProjectId(project.getForkedFromProject().getId());
+        }
+        if (project.getForksCount() != null) {
+            info.setForkCount(project.getForksCount());
+        }
+
         // Updated at is automatically set by MyBatis-Plus
     }
 
@@ -557,6 +634,17 @@ public class UpdateProjectDataService {
             }
         }
 
+        // Fork relation (used to group fork families into object pools)
+        if (project.getForkedFromProject() != null
+                && !Objects.equals(info.getForkedFromProjectId(), project.getForkedFromProject().getId())) {
+            change.addChange("forkedFromProjectId", info.getForkedFromProjectId(), project.getForkedFromProject().getId());
+            info.setForkedFromProjectId(project.getForkedFromProject().getId());
+        }
+        if (project.getForksCount() != null && !Objects.equals(info.getForkCount(), project.getForksCount())) {
+            change.addChange("forkCount", info.getForkCount(), project.getForksCount());
+            info.setForkCount(project.getForksCount());
+        }
+
         // Return change only if there are actual changes
         if (change.hasChanges()) {
             log.debug("[COMPARE] {} - CHANGES DETECTED: {} field(s)", projectKey, change.getFieldChanges().size());
@@ -2,20 +2,26 @@ package com.gitlab.mirror.server.service.state;
 
 import com.gitlab.mirror.server.entity.SyncProject;
 import com.gitlab.mirror.server.entity.SyncTask;
+import com.gitlab.mirror.server.service.DashboardStatsService;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 /**
  * Project State Machine
  * <p>
- * Manages state transitions for SyncProject based on sync results and errors
+ * Manages state transitions for SyncProject based on sync results and errors.
+ * Every transition is reported to the dashboard statistics.
  *
  * @author GitLab Mirror Team
  */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class ProjectStateMachine {
 
+    private final DashboardStatsService dashboardStatsService;
+
     /**
      * Project Status Constants
      */
@@ -42,6 +48,7 @@ public class ProjectStateMachine {
         project.setSyncStatus(Status.INITIALIZING);
         project.setErrorMessage(null);
         log.info("Project {} -> INITIALIZING", project.getProjectKey());
+        dashboardStatsService.onProjectStatusChanged(project);
     }
 
     /**
@@ -59,6 +66,7 @@ public class ProjectStateMachine {
         project.setSyncStatus(Status.ACTIVE);
         project.setErrorMessage(null);
         log.info("Project {} -> ACTIVE (from: {})", project.getProjectKey(), fromState);
+        dashboardStatsService.onProjectStatusChanged(project);
     }
 
     /**
@@ -110,6 +118,7 @@ public class ProjectStateMachine {
         project.setSyncStatus(Status.ERROR);
         project.setErrorMessage(errorMessage);
         log.error("Project {} -> ERROR: {}", project.getProjectKey(), errorMessage);
+        dashboardStatsService.onProjectStatusChanged(project);
     }
 
     /**
@@ -120,6 +129,7 @@ public class ProjectStateMachine {
         project.setSyncStatus(Status.MISSING);
         project.setErrorMessage(errorMessage);
         log.warn("Project {} -> MISSING: {}", project.getProjectKey(), errorMessage);
+        dashboardStatsService.onProjectStatusChanged(project);
     }
 
     /**
@@ -130,6 +140,7 @@ public class ProjectStateMachine {
         String previousStatus = project.getSyncStatus();
         project.setSyncStatus(Status.DISABLED);
         log.info("Project {} -> DISABLED (from: {})", project.getProjectKey(), previousStatus);
+        dashboardStatsService.onProjectStatusChanged(project);
     }
 
     /**
@@ -140,6 +151,7 @@ public class ProjectStateMachine {
         String previousStatus = project.getSyncStatus();
         project.setSyncStatus(Status.DELETED);
         log.info("Project {} -> DELETED (from: {})", project.getProjectKey(), previousStatus);
+        dashboardStatsService.onProjectStatusChanged(project);
     }
 
     /**
@@ -0,0 +1,120 @@
+package com.gitlab.mirror.server.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Virtual Thread Utility
+ * <p>
+ * Creates virtual threads through reflection, so the server still compiles and
+ * runs on Java 17. Callers check {@link #isSupported()} (or use
+ * {@link #threadFactory(String, boolean)}, which falls back to daemon platform
+ * threads) before relying on them.
+ *
+ * @author GitLab Mirror Team
+ */
+@Slf4j
+public final class VirtualThreads {
+
+    private static final Method OF_VIRTUAL = findOfVirtual();
+    private static final Method BUILDER_NAME = findBuilderMethod("name", String.class, long.class);
+    private static final Method BUILDER_FACTORY = findBuilderMethod("factory");
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Check whether the running JDK provides virtual threads (Java 21+)
+     *
+     * @return true if supported
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null && BUILDER_NAME != null && BUILDER_FACTORY != null;
+    }
+
+    /**
+     * Resolve the requested execution mode against the running JDK
+     *
+     * @param requested Whether virtual threads are enabled in configuration
+     * @param component Component name (for logging)
+     * @return true if virtual threads will be used
+     */
+    public static boolean resolve(boolean requested, String component) {
+        if (requested && !isSupported()) {
+            log.warn("Virtual threads requested for {} but not supported by Java {}, using platform threads",
+                component, Runtime.version().feature());
+            return false;
+        }
+        return requested;
+    }
+
+    /**
+     * Create a thread factory
+     *
+     * @param namePrefix Thread name prefix (a sequence number is appended)
+     * @param virtual    Create virtual threads (ignored when unsupported)
+     * @return Thread factory
+     */
+    public static ThreadFactory threadFactory(String namePrefix, boolean virtual) {
+        if (virtual && isSupported()) {
+            try {
+                // Invoked through the public Thread.Builder interface: the builder's own
+                // class is JDK-internal and its methods are not accessible by reflection
+                Object builder = OF_VIRTUAL.invoke(null);
+                builder = BUILDER_NAME.invoke(builder, namePrefix, 0L);
+                return (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                log.warn("Failed to create virtual thread factory, using platform threads: {}", e.getMessage());
+            }
+        }
+
+        AtomicLong sequence = new AtomicLong();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + sequence.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Create an executor starting one virtual thread per task
+     * <p>
+     * Unbounded: callers limit concurrency of the underlying resource with a semaphore.
+     *
+     * @param namePrefix Thread name prefix
+     * @return Executor service, or null if virtual threads are not supported
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+        if (!isSupported()) {
+            return null;
+        }
+        try {
+            Method method = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) method.invoke(null, threadFactory(namePrefix, true));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.warn("Failed to create virtual thread executor: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static Method findOfVirtual() {
+        try {
+            return Thread.class.getMethod("ofVirtual");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static Method findBuilderMethod(String name, Class<?>... parameterTypes) {
+        try {
+            return Class.forName("java.lang.Thread$Builder").getMethod(name, parameterTypes);
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
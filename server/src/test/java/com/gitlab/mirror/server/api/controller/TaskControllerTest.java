@@ -8,14 +8,17 @@ import com.gitlab.mirror.server.api.exception.ResourceNotFoundException;
 import com.gitlab.mirror.server.entity.PullSyncConfig;
 import com.gitlab.mirror.server.entity.SyncProject;
 import com.gitlab.mirror.server.entity.SyncTask;
+import com.gitlab.mirror.server.executor.GitProgress;
 import com.gitlab.mirror.server.mapper.PullSyncConfigMapper;
 import com.gitlab.mirror.server.mapper.SyncProjectMapper;
 import com.gitlab.mirror.server.mapper.SyncTaskMapper;
+import com.gitlab.mirror.server.service.SyncProgressTracker;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
@@ -45,6 +48,9 @@ class TaskControllerTest {
     @Mock
     private PullSyncConfigMapper pullSyncConfigMapper;
 
+    @Spy
+    private SyncProgressTracker syncProgressTracker = new SyncProgressTracker();
+
     @InjectMocks
     private TaskController controller;
 
@@ -322,6 +328,35 @@ class TaskControllerTest {
         verify(syncTaskMapper).selectById(1L);
     }
 
+    /**
+     * Test getTask - Running task reports its live transfer progress
+     */
+    @Test
+    void testGetTask_RunningTaskIncludesProgress() {
+        // Given
+        mockPullTask.setTaskStatus("running");
+        when(syncTaskMapper.selectById(1L))
+                .thenReturn(mockPullTask);
+        when(syncProjectMapper.selectById(100L))
+                .thenReturn(mockProject);
+        syncProgressTracker.start(1L).onProgress(
+                GitProgress.parse("Receiving objects:  45% (450/1000), 1.50 MiB | 512.00 KiB/s"));
+
+        // When
+        ApiResponse<TaskDTO> response = controller.getTask(1L);
+
+        // Then
+        assertThat(response.getData().getProgress()).isNotNull();
+        assertThat(response.getData().getProgress().getPhase()).isEqualTo("Receiving objects");
+        assertThat(response.getData().getProgress().getObjectsDone()).isEqualTo(450L);
+        assertThat(response.getData().getProgress().getBytes()).isEqualTo(1572864L);
+        assertThat(response.getData().getProgress().getBytesPerSecond()).isEqualTo(524288L);
+
+        // Finished transfers are no longer reported
+        syncProgressTracker.finish(1L);
+        assertThat(controller.getTask(1L).getData().getProgress()).isNull();
+    }
+
     /**
      * Test getTask - Task not found
      */
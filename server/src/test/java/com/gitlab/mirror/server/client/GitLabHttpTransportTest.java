@@ -0,0 +1,111 @@
+package com.gitlab.mirror.server.client;
+
+import com.gitlab.mirror.server.config.GitLabProperties;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for GitLabHttpTransport
+ *
+ * @author GitLab Mirror Team
+ */
+class GitLabHttpTransportTest {
+
+    private HttpServer server;
+    private CloseableHttpClient httpClient;
+    private SimpleMeterRegistry registry;
+    private final Set<Object> remotePorts = ConcurrentHashMap.newKeySet();
+    private volatile String lastAcceptEncoding;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v4/version", exchange -> {
+            remotePorts.add(exchange.getRemoteAddress().getPort());
+            lastAcceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+
+            byte[] body = gzip("{\"version\":\"16.0.0\"}");
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        registry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    void testRequests_ReuseConnectionAndDecodeGzip() {
+        httpClient = GitLabHttpTransport.createHttpClient("gitlab-test", new GitLabProperties.ApiConfig(), registry);
+        RestTemplate restTemplate = new RestTemplate(GitLabHttpTransport.requestFactory(httpClient));
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/api/v4/version";
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(restTemplate.getForObject(url, String.class)).isEqualTo("{\"version\":\"16.0.0\"}");
+        }
+
+        assertThat(lastAcceptEncoding).contains("gzip");
+        assertThat(remotePorts).hasSize(1);
+    }
+
+    @Test
+    void testPoolLimitsAndMetrics() {
+        GitLabProperties.ApiConfig api = new GitLabProperties.ApiConfig();
+        api.setMaxConnectionsPerRoute(7);
+        api.setMaxConnectionsTotal(9);
+
+        httpClient = GitLabHttpTransport.createHttpClient("gitlab-test", api, registry);
+
+        assertThat(registry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "gitlab-test").gauge().value()).isEqualTo(9.0);
+        assertThat(registry.get("httpcomponents.httpclient.pool.route.max.default")
+                .tag("httpclient", "gitlab-test").gauge().value()).isEqualTo(7.0);
+    }
+
+    @Test
+    void testCompressionDisabled() {
+        GitLabProperties.ApiConfig api = new GitLabProperties.ApiConfig();
+        api.setCompression(false);
+        httpClient = GitLabHttpTransport.createHttpClient("gitlab-test", api, null);
+        RestTemplate restTemplate = new RestTemplate(GitLabHttpTransport.requestFactory(httpClient));
+
+        restTemplate.getForObject("http://127.0.0.1:" + server.getAddress().getPort() + "/api/v4/version",
+                byte[].class);
+
+        assertThat(lastAcceptEncoding).isNull();
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -1,13 +1,16 @@
 package com.gitlab.mirror.server.client;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -247,4 +250,88 @@ class RetryableGitLabClientTest {
         assertThat(response).isNotNull();
         mockServer.verify();
     }
-}
+
+    @Test
+    void testGetNotModifiedServedFromEtagCache() {
+        // Setup
+        ETagResponseCache etagCache = new ETagResponseCache(1024 * 1024, Duration.ofMinutes(10), new ObjectMapper());
+        RetryableGitLabClient cachingClient = new RetryableGitLabClient(
+                restTemplate, BASE_URL, TOKEN, MAX_RETRIES, RETRY_DELAY, etagCache);
+        HttpHeaders etagHeaders = new HttpHeaders();
+        etagHeaders.setETag("W/\"abc\"");
+
+        mockServer.expect(requestTo(BASE_URL + "/api/v4/projects"))
+                .andExpect(headerDoesNotExist("If-None-Match"))
+                .andRespond(withSuccess("[{\"id\":1}]", MediaType.APPLICATION_JSON).headers(etagHeaders));
+        mockServer.expect(requestTo(BASE_URL + "/api/v4/projects"))
+                .andExpect(header("If-None-Match", "W/\"abc\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(etagHeaders));
+
+        // Execute
+        Object[] first = cachingClient.get("/api/v4/projects", Object[].class);
+        Object[] second = cachingClient.get("/api/v4/projects", Object[].class);
+
+        // Verify
+        assertThat(second).isEqualTo(first).isNotSameAs(first);
+        assertThat(etagCache.getHitCount()).isEqualTo(1);
+        mockServer.verify();
+    }
+
+    @Test
+    void testGetModifiedReplacesEtagCacheEntry() {
+        // Setup
+        ETagResponseCache etagCache = new ETagResponseCache(1024 * 1024, Duration.ofMinutes(10), new ObjectMapper());
+        RetryableGitLabClient cachingClient = new RetryableGitLabClient(
+                restTemplate, BASE_URL, TOKEN, MAX_RETRIES, RETRY_DELAY, etagCache);
+        HttpHeaders firstEtag = new HttpHeaders();
+        firstEtag.setETag("\"v1\"");
+        HttpHeaders secondEtag = new HttpHeaders();
+        secondEtag.setETag("\"v2\"");
+
+        mockServer.expect(requestTo(BASE_URL + "/api/v4/version"))
+                .andRespond(withSuccess("{\"version\":\"15.0.0\"}", MediaType.APPLICATION_JSON).headers(firstEtag));
+        mockServer.expect(requestTo(BASE_URL + "/api/v4/version"))
+                .andExpect(header("If-None-Match", "\"v1\""))
+                .andRespond(withSuccess("{\"version\":\"16.0.0\"}", MediaType.APPLICATION_JSON).headers(secondEtag));
+        mockServer.expect(requestTo(BASE_URL + "/api/v4/version"))
+                .andExpect(header("If-None-Match", "\"v2\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+        // Execute
+        cachingClient.get("/api/v4/version", Map.class);
+        Map<?, ?> second = cachingClient.get("/api/v4/version", Map.class);
+        Map<?, ?> third = cachingClient.get("/api/v4/version", Map.class);
+
+        // Verify
+        assertThat(second.get("version")).isEqualTo("16.0.0");
+        assertThat(third).isEqualTo(second).isNotSameAs(second);
+        assertThat(etagCache.getMissCount()).isEqualTo(1);
+        mockServer.verify();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetNotModifiedIsIsolatedFromCallerChanges() {
+        // Setup
+        ETagResponseCache etagCache = new ETagResponseCache(1024 * 1024, Duration.ofMinutes(10), new ObjectMapper());
+        RetryableGitLabClient cachingClient = new RetryableGitLabClient(
+                restTemplate, BASE_URL, TOKEN, MAX_RETRIES, RETRY_DELAY, etagCache);
+        HttpHeaders etagHeaders = new HttpHeaders();
+        etagHeaders.setETag("\"v1\"");
+
+        mockServer.expect(requestTo(BASE_URL + "/api/v4/version"))
+                .andRespond(withSuccess("{\"version\":\"15.0.0\"}", MediaType.APPLICATION_JSON).headers(etagHeaders));
+        mockServer.expect(requestTo(BASE_URL + "/api/v4/version"))
+                .andExpect(header("If-None-Match", "\"v1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+        // Execute: the caller modifies the body it got
+        Map<String, Object> first = cachingClient.get("/api/v4/version", Map.class);
+        first.put("version", "changed");
+        Map<String, Object> second = cachingClient.get("/api/v4/version", Map.class);
+
+        // Verify
+        assertThat(second.get("version")).isEqualTo("15.0.0");
+        mockServer.verify();
+    }
+}
\ No newline at end of file
@@ -3,10 +3,9 @@ package com.gitlab.mirror.server.controller;
 import com.gitlab.mirror.server.entity.SyncEvent;
 import com.gitlab.mirror.server.entity.SyncProject;
 import com.gitlab.mirror.server.mapper.SyncEventMapper;
-import com.gitlab.mirror.server.mapper.SyncProjectMapper;
 import com.gitlab.mirror.server.model.SyncStatistics;
-import com.gitlab.mirror.server.service.ProjectListService;
-import com.gitlab.mirror.server.controller.dto.ProjectListDTO;
+import com.gitlab.mirror.server.service.DashboardStatsService;
+import com.gitlab.mirror.server.service.ProjectKeyCache;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -36,13 +35,13 @@ import static org.mockito.Mockito.*;
 class DashboardControllerTest {
 
     @Mock
-    private SyncProjectMapper syncProjectMapper;
+    private SyncEventMapper syncEventMapper;
 
     @Mock
-    private SyncEventMapper syncEventMapper;
+    private DashboardStatsService dashboardStatsService;
 
     @Mock
-    private ProjectListService projectListService;
+    private ProjectKeyCache projectKeyCache;
 
     @InjectMocks
     private DashboardController dashboardController;
@@ -71,7 +70,8 @@ class DashboardControllerTest {
     @Test
     void testGetStats_Success() {
         // Given
-        when(syncProjectMapper.selectList(null)).thenReturn(mockProjects);
+        when(dashboardStatsService.getStatusCounts()).thenReturn(Map.of("active", 2L, "failed", 1L, "pending", 1L));
+        when(dashboardStatsService.getTotalProjects()).thenReturn(4);
 
         // When
         ResponseEntity<DashboardController.ApiResponse<DashboardController.DynamicDashboardStats>> response =
@@ -88,14 +88,13 @@ class DashboardControllerTest {
         assertThat(stats.getStatusCounts()).containsEntry("active", 2L);
         assertThat(stats.getStatusCounts()).containsEntry("failed", 1L);
         assertThat(stats.getStatusCounts()).containsEntry("pending", 1L);
-
-        verify(syncProjectMapper, times(1)).selectList(null);
     }
 
     @Test
     void testGetStats_EmptyProjects() {
         // Given
-        when(syncProjectMapper.selectList(null)).thenReturn(Arrays.asList());
+        when(dashboardStatsService.getStatusCounts()).thenReturn(new HashMap<>());
+        when(dashboardStatsService.getTotalProjects()).thenReturn(0);
 
         // When
         ResponseEntity<DashboardController.ApiResponse<DashboardController.DynamicDashboardStats>> response =
@@ -115,7 +114,7 @@ class DashboardControllerTest {
     @Test
     void testGetStats_Exception() {
         // Given
-        when(syncProjectMapper.selectList(null)).thenThrow(new RuntimeException("Database error"));
+        when(dashboardStatsService.getStatusCounts()).thenThrow(new RuntimeException("Database error"));
 
         // When
         ResponseEntity<DashboardController.ApiResponse<DashboardController.DynamicDashboardStats>> response =
@@ -131,7 +130,7 @@ class DashboardControllerTest {
     @Test
     void testGetStatusDistribution_Success() {
         // Given
-        when(syncProjectMapper.selectList(null)).thenReturn(mockProjects);
+        when(dashboardStatsService.getStatusCounts()).thenReturn(Map.of("active", 2L, "failed", 1L, "pending", 1L));
 
         // When
         ResponseEntity<DashboardController.ApiResponse<List<DashboardController.StatusItem>>> response =
@@ -149,30 +148,15 @@ class DashboardControllerTest {
         // Should be sorted by count descending
         assertThat(distribution.get(0).getStatus()).isEqualTo("active");
         assertThat(distribution.get(0).getCount()).isEqualTo(2);
-
-        verify(syncProjectMapper, times(1)).selectList(null);
     }
 
     @Test
     void testGetTopDelayedProjects_Success() {
         // Given
-        when(syncProjectMapper.selectList(null)).thenReturn(mockProjects);
-
-        ProjectListDTO dto1 = new ProjectListDTO();
-        dto1.setId(1L);
-        dto1.setProjectKey("project1");
-        dto1.setDelaySeconds(3600L);
-        dto1.setDelayFormatted("1h");
-        dto1.setSyncStatus("active");
-
-        ProjectListDTO dto2 = new ProjectListDTO();
-        dto2.setId(2L);
-        dto2.setProjectKey("project2");
-        dto2.setDelaySeconds(1800L);
-        dto2.setDelayFormatted("30m");
-        dto2.setSyncStatus("active");
-
-        when(projectListService.buildProjectListDTO(any())).thenReturn(dto1, dto2, dto2, dto2);
+        when(dashboardStatsService.getTopDelayed(10)).thenReturn(Arrays.asList(
+            new DashboardStatsService.ProjectStats(1L, "project1", "active", 3600L),
+            new DashboardStatsService.ProjectStats(2L, "project2", "active", 1800L)
+        ));
 
         // When
         ResponseEntity<DashboardController.ApiResponse<List<DashboardController.DelayedProject>>> response =
@@ -189,17 +173,16 @@ class DashboardControllerTest {
 
         // Should be sorted by delay descending
         assertThat(delayed.get(0).getDelaySeconds()).isGreaterThanOrEqualTo(delayed.get(delayed.size() - 1).getDelaySeconds());
-
-        verify(syncProjectMapper, times(1)).selectList(null);
+        assertThat(delayed.get(0).getProjectKey()).isEqualTo("project1");
+        assertThat(delayed.get(0).getDelayFormatted()).isEqualTo("1h");
     }
 
     @Test
     void testGetRecentEvents_Success() {
         // Given
         when(syncEventMapper.selectList(any(QueryWrapper.class))).thenReturn(mockEvents);
-        when(syncProjectMapper.selectById(1L)).thenReturn(createProject(1L, "project1", "active"));
-        when(syncProjectMapper.selectById(2L)).thenReturn(createProject(2L, "project2", "active"));
-        when(syncProjectMapper.selectById(3L)).thenReturn(createProject(3L, "project3", "failed"));
+        when(projectKeyCache.getProjectKeys(Arrays.asList(1L, 2L, 3L)))
+            .thenReturn(Map.of(1L, "project1", 2L, "project2", 3L, "project3"));
 
         // When
         ResponseEntity<DashboardController.ApiResponse<List<DashboardController.RecentEvent>>> response =
@@ -220,7 +203,8 @@ class DashboardControllerTest {
         assertThat(events.get(2).getProjectKey()).isEqualTo("project3");
 
         verify(syncEventMapper, times(1)).selectList(any(QueryWrapper.class));
-        verify(syncProjectMapper, times(3)).selectById(any(Long.class));
+        // Project keys resolved in one batch
+        verify(projectKeyCache, times(1)).getProjectKeys(any());
     }
 
     @Test
@@ -243,14 +227,14 @@ class DashboardControllerTest {
         assertThat(events.get(0).getProjectKey()).isNull();
 
         verify(syncEventMapper, times(1)).selectList(any(QueryWrapper.class));
-        verify(syncProjectMapper, never()).selectById(any(Long.class));
+        verify(projectKeyCache, times(1)).getProjectKeys(any());
     }
 
     @Test
     void testGetRecentEvents_ProjectNotFound() {
         // Given
         when(syncEventMapper.selectList(any(QueryWrapper.class))).thenReturn(Arrays.asList(mockEvents.get(0)));
-        when(syncProjectMapper.selectById(1L)).thenReturn(null);
+        when(projectKeyCache.getProjectKeys(Arrays.asList(1L))).thenReturn(Map.of());
 
         // When
         ResponseEntity<DashboardController.ApiResponse<List<DashboardController.RecentEvent>>> response =
@@ -266,7 +250,7 @@ class DashboardControllerTest {
         assertThat(events.get(0).getProjectKey()).isNull();
 
         verify(syncEventMapper, times(1)).selectList(any(QueryWrapper.class));
-        verify(syncProjectMapper, times(1)).selectById(1L);
+        verify(projectKeyCache, times(1)).getProjectKeys(Arrays.asList(1L));
     }
 
     @Test
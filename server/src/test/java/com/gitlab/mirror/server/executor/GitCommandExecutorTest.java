@@ -12,6 +12,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -125,6 +126,106 @@ class GitCommandExecutorTest {
         assertThat(result.getParsedValue("FINAL_SHA")).matches("[0-9a-f]{40}");
     }
 
+    @Test
+    void testSyncFirst_PushesLongHistoryInChunks() throws IOException, InterruptedException {
+        // Four more commits: five on the branch, pushed two at a time (test profile) before the tip
+        for (int i = 1; i <= 4; i++) {
+            Files.writeString(sourceRepoPath.resolve("file" + i + ".txt"), "change " + i);
+            new ProcessBuilder("git", "add", ".").directory(sourceRepoPath.toFile()).start().waitFor();
+            new ProcessBuilder("git", "commit", "-m", "Change " + i)
+                .directory(sourceRepoPath.toFile()).start().waitFor();
+        }
+
+        GitCommandExecutor.GitResult result = gitCommandExecutor.syncFirst(
+            sourceRepoPath.toString(),
+            targetRepoPath.toString(),
+            testRepoPath.toString()
+        );
+
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getParsedLong("PUSH_CHUNKS")).isEqualTo(2L);
+
+        // Target ends at the source tip
+        Process lsRemote = new ProcessBuilder("git", "ls-remote", "--heads", targetRepoPath.toString()).start();
+        String targetHeads = new String(lsRemote.getInputStream().readAllBytes());
+        lsRemote.waitFor();
+        assertThat(targetHeads).contains(result.getParsedValue("FINAL_SHA"));
+    }
+
+    @Test
+    void testSyncFirst_PushesDefaultBranchFirst() throws IOException, InterruptedException {
+        // A branch sorting before the default branch
+        new ProcessBuilder("git", "branch", "aaa-feature").directory(sourceRepoPath.toFile()).start().waitFor();
+        Process symbolicRef = new ProcessBuilder("git", "symbolic-ref", "HEAD")
+            .directory(sourceRepoPath.toFile()).start();
+        String defaultRef = new String(symbolicRef.getInputStream().readAllBytes()).trim();
+        symbolicRef.waitFor();
+
+        // Record the order in which the target receives branches
+        Path receivedRefs = tempDir.resolve("received-refs");
+        Path hook = targetRepoPath.resolve("hooks").resolve("post-receive");
+        Files.writeString(hook, "#!/bin/sh\nawk '{ print $3 }' >> '" + receivedRefs + "'\n");
+        hook.toFile().setExecutable(true);
+
+        GitCommandExecutor.GitResult result = gitCommandExecutor.syncFirst(
+            sourceRepoPath.toString(),
+            targetRepoPath.toString(),
+            testRepoPath.toString()
+        );
+
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(Files.readAllLines(receivedRefs)).first().isEqualTo(defaultRef);
+    }
+
+    @Test
+    void testRemovePoolMember_DropsOnlyMemberRefs() throws IOException, InterruptedException {
+        Path poolPath = tempDir.resolve("pool.git");
+        Path otherRepoPath = tempDir.resolve("other-repo");
+        GitCommandExecutor.GitResult first = gitCommandExecutor.syncFirst(
+            sourceRepoPath.toString(), targetRepoPath.toString(), testRepoPath.toString(), poolPath.toString());
+        GitCommandExecutor.GitResult second = gitCommandExecutor.syncFirst(
+            sourceRepoPath.toString(), targetRepoPath.toString(), otherRepoPath.toString(), poolPath.toString());
+        assertThat(first.isSuccess()).isTrue();
+        assertThat(second.isSuccess()).isTrue();
+
+        GitCommandExecutor.GitResult result = gitCommandExecutor.removePoolMember(
+            poolPath.toString(), testRepoPath.toString());
+
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getParsedLong("REMOVED_REFS")).isEqualTo(1L);
+        Process forEachRef = new ProcessBuilder("git", "-C", poolPath.toString(), "for-each-ref", "refs/members/")
+            .start();
+        List<String> poolRefs = new String(forEachRef.getInputStream().readAllBytes()).lines().toList();
+        forEachRef.waitFor();
+        assertThat(poolRefs).hasSize(1);
+    }
+
+    @Test
+    void testSyncFirstResumable_ResumesFromExistingRepository() {
+        // Fetch one ref per step without a time window
+        GitCommandExecutor.GitResult result = gitCommandExecutor.syncFirstResumable(
+            sourceRepoPath.toString(),
+            targetRepoPath.toString(),
+            testRepoPath.toString(),
+            null, 1, 0, 0, null
+        );
+
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getParsedValue("FIRST_SYNC_COMPLETE")).isEqualTo("true");
+        assertThat(result.getParsedValue("FINAL_SHA")).matches("[0-9a-f]{40}");
+
+        // A second attempt reuses the fetched repository and only pushes
+        GitCommandExecutor.GitResult resumed = gitCommandExecutor.syncFirstResumable(
+            sourceRepoPath.toString(),
+            targetRepoPath.toString(),
+            testRepoPath.toString(),
+            null, 1, 0, 0, null
+        );
+
+        assertThat(resumed.isSuccess()).isTrue();
+        assertThat(resumed.getParsedValue("FINAL_SHA")).isEqualTo(result.getParsedValue("FINAL_SHA"));
+    }
+
     @Test
     void testCheckChanges_NoChanges() {
         // First clone the repository
@@ -0,0 +1,213 @@
+package com.gitlab.mirror.server.executor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for GitProcessRunner
+ *
+ * @author GitLab Mirror Team
+ */
+class GitProcessRunnerTest {
+
+    private GitProcessRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        runner = new GitProcessRunner(false, 1024);
+    }
+
+    @AfterEach
+    void tearDown() {
+        runner.shutdown();
+    }
+
+    @Test
+    void testRun_StreamsMarkersAndProgress() throws Exception {
+        Map<String, String> markers = new ConcurrentHashMap<>();
+        List<GitProgress> progress = new CopyOnWriteArrayList<>();
+
+        GitCommandExecutor.GitResult result = runner.run(new String[]{"bash", "-c",
+                "echo 'HAS_CHANGES=true'; echo 'BRANCH_COUNT = 3';"
+                        + " printf 'Writing objects:  50%% (1/2)\\rWriting objects: 100%% (2/2), done.\\n' >&2;"
+                        + " echo 'fatal: something' >&2"}, 10, new GitProcessListener() {
+            @Override
+            public void onMarker(String key, String value) {
+                markers.put(key, value);
+            }
+
+            @Override
+            public void onProgress(GitProgress update) {
+                progress.add(update);
+            }
+        });
+
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.hasChanges()).isTrue();
+        assertThat(result.getParsedLong("BRANCH_COUNT")).isEqualTo(3L);
+        assertThat(markers).containsEntry("HAS_CHANGES", "true").containsEntry("BRANCH_COUNT", "3");
+        assertThat(progress).extracting(GitProgress::getPercent).containsExactly(50, 100);
+        assertThat(progress.get(1).getPhase()).isEqualTo("Writing objects");
+        assertThat(progress.get(1).getTotal()).isEqualTo(2L);
+        // Progress redraws are reported, not captured
+        assertThat(result.getError()).isEqualTo("fatal: something\n");
+    }
+
+    @Test
+    void testRun_CapturesOnlyTailOfLargeOutput() throws Exception {
+        GitCommandExecutor.GitResult result = runner.run(new String[]{"bash", "-c",
+                "for i in $(seq 1 5000); do echo \"line $i of noisy output\"; done; echo 'SYNC_RESULT=done'"},
+                10, null);
+
+        assertThat(result.getOutput().length()).isLessThan(1200);
+        assertThat(result.getOutput()).contains("earlier lines truncated").endsWith("SYNC_RESULT=done\n");
+        assertThat(result.getParsedValue("SYNC_RESULT")).isEqualTo("done");
+    }
+
+    @Test
+    void testRun_KeepsMarkersFromTruncatedOutput() throws Exception {
+        GitCommandExecutor.GitResult result = runner.run(new String[]{"bash", "-c",
+                "echo 'LOCAL_SHA=abc123'; for i in $(seq 1 2000); do echo \"noise $i\"; done"}, 10, null);
+
+        assertThat(result.getOutput()).doesNotContain("LOCAL_SHA");
+        assertThat(result.getParsedValue("LOCAL_SHA")).isEqualTo("abc123");
+    }
+
+    @Test
+    void testRun_TimeoutKillsProcess() throws Exception {
+        long start = System.currentTimeMillis();
+
+        GitCommandExecutor.GitResult result = runner.run(new String[]{"bash", "-c", "echo started; sleep 30"}, 1, null);
+
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(result.getExitCode()).isEqualTo(-1);
+        assertThat(result.getError()).isEqualTo("Script timed out");
+        assertThat(System.currentTimeMillis() - start).isLessThan(10_000);
+    }
+
+    @Test
+    void testRun_StalledTransferIsAbortedEarly() throws Exception {
+        long start = System.currentTimeMillis();
+
+        // The same progress line redrawn without advancing does not count as activity
+        GitCommandExecutor.GitResult result = runner.run(new String[]{"bash", "-c",
+                "for i in $(seq 1 30); do printf 'Receiving objects:  10%% (10/100)\\r' >&2; sleep 0.2; done"},
+                60, 2, null);
+
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(result.getExitCode()).isEqualTo(-1);
+        assertThat(result.getError()).startsWith("Transfer stalled");
+        assertThat(System.currentTimeMillis() - start).isLessThan(5_000);
+    }
+
+    @Test
+    void testRun_AbortKillsChildProcesses() throws Exception {
+        Path pidFile = Files.createTempFile("git-runner-child", ".pid");
+        try {
+            // The script waits silently on a child, like git-sync.sh waiting on git
+            GitCommandExecutor.GitResult result = runner.run(new String[]{"bash", "-c",
+                    "sleep 60 & echo $! > '" + pidFile + "'; wait"}, 60, 1, null);
+
+            assertThat(result.getError()).startsWith("Transfer stalled");
+            long childPid = Long.parseLong(Files.readString(pidFile).trim());
+            Optional<ProcessHandle> child = ProcessHandle.of(childPid);
+            if (child.isPresent()) {
+                child.get().onExit().get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            Files.deleteIfExists(pidFile);
+        }
+    }
+
+    @Test
+    void testRun_InterruptKillsProcessTree() throws Exception {
+        Path pidFile = Files.createTempFile("git-runner-child", ".pid");
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        Thread caller = new Thread(() -> {
+            try {
+                runner.run(new String[]{"bash", "-c", "sleep 60 & echo $! > '" + pidFile + "'; wait"}, 60, null);
+            } catch (Exception e) {
+                thrown.set(e);
+            }
+        });
+        try {
+            caller.start();
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (Files.size(pidFile) == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            caller.interrupt();
+            caller.join(5_000);
+
+            assertThat(caller.isAlive()).isFalse();
+            assertThat(thrown.get()).isInstanceOf(InterruptedException.class);
+            long childPid = Long.parseLong(Files.readString(pidFile).trim());
+            Optional<ProcessHandle> child = ProcessHandle.of(childPid);
+            if (child.isPresent()) {
+                child.get().onExit().get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            Files.deleteIfExists(pidFile);
+        }
+    }
+
+    @Test
+    void testRun_BackgroundChildHoldingPipeDoesNotBlock() throws Exception {
+        long start = System.currentTimeMillis();
+
+        // The script exits but leaves a child that inherited stderr, so the pipe never reaches EOF
+        GitCommandExecutor.GitResult result = runner.run(new String[]{"bash", "-c",
+                "echo 'fatal: last words' >&2; (sleep 30 &); exit 1"}, 60, null);
+
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(result.getExitCode()).isEqualTo(1);
+        assertThat(result.getError()).contains("fatal: last words");
+        assertThat(System.currentTimeMillis() - start).isLessThan(10_000);
+    }
+
+    @Test
+    void testRun_AdvancingTransferIsNotStalled() throws Exception {
+        GitCommandExecutor.GitResult result = runner.run(new String[]{"bash", "-c",
+                "for i in $(seq 1 15); do printf \"Receiving objects: %d%% ($i/15)\\r\" $((i * 100 / 15)) >&2; sleep 0.2; done"},
+                60, 1, null);
+
+        assertThat(result.isSuccess()).isTrue();
+    }
+
+    @Test
+    void testParseProgress_BytesAndThroughput() {
+        GitProgress receiving = GitProgress.parse("Receiving objects:  45% (450/1000), 1.50 MiB | 512.00 KiB/s");
+        GitProgress writing = GitProgress.parse("Writing objects: 100% (3/3), 280 bytes | 280.00 KiB/s, done.");
+
+        assertThat(receiving.getBytes()).isEqualTo(1572864L);
+        assertThat(receiving.getBytesPerSecond()).isEqualTo(524288L);
+        assertThat(writing.getBytes()).isEqualTo(280L);
+        assertThat(GitProgress.parse("Resolving deltas:  50% (5/10)").getBytes()).isZero();
+        assertThat(writing.advancedFrom(receiving)).isTrue();
+        assertThat(receiving.advancedFrom(GitProgress.parse("Receiving objects:  45% (450/1000), 1.50 MiB | 0 bytes/s")))
+                .isFalse();
+    }
+
+    @Test
+    void testParseProgress() {
+        GitProgress progress = GitProgress.parse("remote: Counting objects:  45% (450/1000)");
+
+        assertThat(progress.getPhase()).isEqualTo("Counting objects");
+        assertThat(progress.getPercent()).isEqualTo(45);
+        assertThat(progress.getCurrent()).isEqualTo(450L);
+        assertThat(GitProgress.parse("error: failed to push some refs")).isNull();
+    }
+}
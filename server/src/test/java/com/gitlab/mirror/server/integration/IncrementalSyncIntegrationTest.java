@@ -105,7 +105,7 @@ class IncrementalSyncIntegrationTest {
         GitCommandExecutor.GitResult syncResult = new GitCommandExecutor.GitResult(
             true, "FINAL_SHA=" + firstSyncSha + "\n", "", 0
         );
-        when(gitCommandExecutor.syncFirst(anyString(), anyString(), anyString())).thenReturn(syncResult);
+        when(gitCommandExecutor.syncFirst(anyString(), anyString(), anyString(), any(), any())).thenReturn(syncResult);
 
         // Execute first sync
         pullSyncExecutorService.executeSync(task);
@@ -218,8 +218,8 @@ class IncrementalSyncIntegrationTest {
         // Verify no git sync operations were performed
         verify(gitCommandExecutor, times(1)).isValidRepository(anyString());
         verify(gitCommandExecutor, times(1)).getRemoteHeadSha(anyString());
-        verify(gitCommandExecutor, never()).syncFirst(anyString(), anyString(), anyString());
-        verify(gitCommandExecutor, never()).syncIncremental(anyString(), anyString(), anyString());
+        verify(gitCommandExecutor, never()).syncFirst(anyString(), anyString(), anyString(), any(), any());
+        verify(gitCommandExecutor, never()).syncIncremental(anyString(), anyString(), anyString(), any());
 
         log.info("Quick skip verified: duration={}ms, hasChanges=false, no sync operations",
             duration);
@@ -299,7 +299,7 @@ class IncrementalSyncIntegrationTest {
         GitCommandExecutor.GitResult syncResult = new GitCommandExecutor.GitResult(
             true, "FINAL_SHA=" + newCommitSha + "\n", "", 0
         );
-        when(gitCommandExecutor.syncIncremental(anyString(), anyString(), anyString())).thenReturn(syncResult);
+        when(gitCommandExecutor.syncIncremental(anyString(), anyString(), anyString(), any())).thenReturn(syncResult);
 
         log.info("Git mocks configured: ls-remote returns newSHA={}", newCommitSha);
 
@@ -332,8 +332,8 @@ class IncrementalSyncIntegrationTest {
         // Verify git sync-incremental was called
         verify(gitCommandExecutor, times(1)).isValidRepository(anyString());
         verify(gitCommandExecutor, times(1)).getRemoteHeadSha(anyString());
-        verify(gitCommandExecutor, times(1)).syncIncremental(anyString(), anyString(), anyString());
-        verify(gitCommandExecutor, never()).syncFirst(anyString(), anyString(), anyString());
+        verify(gitCommandExecutor, times(1)).syncIncremental(anyString(), anyString(), anyString(), any());
+        verify(gitCommandExecutor, never()).syncFirst(anyString(), anyString(), anyString(), any(), any());
 
         log.info("Sync execution verified: newSHA={}, hasChanges=true, syncIncremental called",
             updatedTask.getSourceCommitSha());
@@ -435,7 +435,7 @@ class IncrementalSyncIntegrationTest {
         GitCommandExecutor.GitResult syncResult = new GitCommandExecutor.GitResult(
             true, "FINAL_SHA=" + sha2 + "\n", "", 0
         );
-        when(gitCommandExecutor.syncIncremental(anyString(), anyString(), anyString())).thenReturn(syncResult);
+        when(gitCommandExecutor.syncIncremental(anyString(), anyString(), anyString(), any())).thenReturn(syncResult);
 
         pullSyncExecutorService.executeSync(task);
 
@@ -450,8 +450,8 @@ class IncrementalSyncIntegrationTest {
 
         // Should have called ls-remote twice, sync-incremental once
         verify(gitCommandExecutor, atLeast(2)).getRemoteHeadSha(anyString());
-        verify(gitCommandExecutor, times(1)).syncIncremental(anyString(), anyString(), anyString());
-        verify(gitCommandExecutor, never()).syncFirst(anyString(), anyString(), anyString());
+        verify(gitCommandExecutor, times(1)).syncIncremental(anyString(), anyString(), anyString(), any());
+        verify(gitCommandExecutor, never()).syncFirst(anyString(), anyString(), anyString(), any(), any());
 
         log.info("Command sequence verified: ls-remote called twice, syncIncremental once");
 
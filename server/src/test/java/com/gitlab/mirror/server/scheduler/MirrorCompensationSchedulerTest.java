@@ -7,6 +7,7 @@ import com.gitlab.mirror.server.entity.TargetProjectInfo;
 import com.gitlab.mirror.server.mapper.PushMirrorConfigMapper;
 import com.gitlab.mirror.server.mapper.SyncProjectMapper;
 import com.gitlab.mirror.server.mapper.TargetProjectInfoMapper;
+import com.gitlab.mirror.server.service.DashboardStatsService;
 import com.gitlab.mirror.server.service.PushMirrorManagementService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -43,6 +44,9 @@ class MirrorCompensationSchedulerTest {
     @Mock
     private GitLabMirrorProperties properties;
 
+    @Mock
+    private DashboardStatsService dashboardStatsService;
+
     @InjectMocks
     private MirrorCompensationScheduler scheduler;
 
@@ -259,5 +263,6 @@ class MirrorCompensationSchedulerTest {
         // Then
         verify(pushMirrorManagementService, times(2)).configureMirror(anyLong());
         verify(syncProjectMapper, times(2)).updateById(any(SyncProject.class));
+        verify(dashboardStatsService, times(2)).onProjectStatusChanged(any(SyncProject.class));
     }
 }
@@ -0,0 +1,131 @@
+package com.gitlab.mirror.server.scheduler;
+
+import com.gitlab.mirror.server.config.properties.GitLabMirrorProperties;
+import com.gitlab.mirror.server.entity.SyncTask;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for SyncLaneExecutor
+ *
+ * @author GitLab Mirror Team
+ */
+class SyncLaneExecutorTest {
+
+    private GitLabMirrorProperties properties;
+    private SimpleMeterRegistry registry;
+    private ThreadPoolTaskExecutor fast;
+    private ThreadPoolTaskExecutor bulk;
+    private ThreadPoolTaskExecutor webhook;
+    private SyncLaneExecutor laneExecutor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new GitLabMirrorProperties();
+        registry = new SimpleMeterRegistry();
+        fast = executor("test-fast-");
+        bulk = executor("test-bulk-");
+        webhook = executor("test-webhook-");
+        laneExecutor = new SyncLaneExecutor(fast, bulk, webhook, properties, registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fast.shutdown();
+        bulk.shutdown();
+        webhook.shutdown();
+    }
+
+    @Test
+    void testSelectLane_FirstSyncUsesBulkLane() {
+        SyncTask task = task(null, SyncTask.TriggerSource.WEBHOOK);
+
+        assertThat(laneExecutor.selectLane(task, true)).isEqualTo(SyncLaneExecutor.Lane.BULK);
+    }
+
+    @Test
+    void testSelectLane_WebhookTriggeredUsesWebhookLane() {
+        SyncTask task = task(5, SyncTask.TriggerSource.WEBHOOK);
+
+        assertThat(laneExecutor.selectLane(task, false)).isEqualTo(SyncLaneExecutor.Lane.WEBHOOK);
+    }
+
+    @Test
+    void testSelectLane_ByHistoricalDuration() {
+        properties.getSync().setBulkLaneMinDurationSeconds(60);
+
+        assertThat(laneExecutor.selectLane(task(59, SyncTask.TriggerSource.SCHEDULED), false))
+                .isEqualTo(SyncLaneExecutor.Lane.FAST);
+        assertThat(laneExecutor.selectLane(task(60, SyncTask.TriggerSource.SCHEDULED), false))
+                .isEqualTo(SyncLaneExecutor.Lane.BULK);
+        assertThat(laneExecutor.selectLane(task(null, null), false))
+                .isEqualTo(SyncLaneExecutor.Lane.FAST);
+    }
+
+    @Test
+    void testSubmit_FullLaneRejectsInsteadOfRunningOnCaller() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch block = new CountDownLatch(1);
+        Runnable blocking = () -> {
+            started.countDown();
+            try {
+                block.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        try {
+            // One worker and one queue slot
+            assertThat(laneExecutor.submit(SyncLaneExecutor.Lane.BULK, blocking)).isTrue();
+            assertThat(started.await(2, TimeUnit.SECONDS)).isTrue();
+            assertThat(laneExecutor.submit(SyncLaneExecutor.Lane.BULK, blocking)).isTrue();
+
+            AtomicReference<Thread> ranOn = new AtomicReference<>();
+            assertThat(laneExecutor.submit(SyncLaneExecutor.Lane.BULK, () -> ranOn.set(Thread.currentThread())))
+                    .isFalse();
+            assertThat(ranOn.get()).isNull();
+            assertThat(registry.get("gitlab_mirror_sync_lane_rejected_total").tag("lane", "bulk").counter().count())
+                    .isEqualTo(1.0);
+
+            // A busy bulk lane leaves the fast lane free
+            CountDownLatch fastDone = new CountDownLatch(1);
+            assertThat(laneExecutor.submit(SyncLaneExecutor.Lane.FAST, fastDone::countDown)).isTrue();
+            assertThat(fastDone.await(2, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(laneExecutor.getActiveCount(SyncLaneExecutor.Lane.BULK)).isEqualTo(1);
+            assertThat(registry.get("gitlab_mirror_sync_lane_queued").tag("lane", "bulk").gauge().value())
+                    .isEqualTo(1.0);
+        } finally {
+            block.countDown();
+        }
+    }
+
+    private ThreadPoolTaskExecutor executor(String prefix) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix(prefix);
+        executor.initialize();
+        return executor;
+    }
+
+    private SyncTask task(Integer durationSeconds, String triggerSource) {
+        SyncTask task = new SyncTask();
+        task.setId(1L);
+        task.setSyncProjectId(1L);
+        task.setDurationSeconds(durationSeconds);
+        task.setTriggerSource(triggerSource);
+        return task;
+    }
+}
@@ -0,0 +1,245 @@
+package com.gitlab.mirror.server.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.gitlab.mirror.server.entity.SyncProject;
+import com.gitlab.mirror.server.mapper.ProjectBranchSnapshotMapper;
+import com.gitlab.mirror.server.mapper.SyncProjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DashboardStatsService
+ *
+ * @author GitLab Mirror Team
+ */
+@ExtendWith(MockitoExtension.class)
+class DashboardStatsServiceTest {
+
+    @Mock
+    private SyncProjectMapper syncProjectMapper;
+
+    @Mock
+    private ProjectBranchSnapshotMapper projectBranchSnapshotMapper;
+
+    @Mock
+    private ProjectListService projectListService;
+
+    @Mock
+    private StatusPushService statusPushService;
+
+    @InjectMocks
+    private DashboardStatsService dashboardStatsService;
+
+    private LocalDateTime now;
+
+    // Runs while a reconcile reads the projects, standing in for updates reported meanwhile
+    private Runnable duringRead;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now();
+        duringRead = null;
+
+        List<SyncProject> rows = Arrays.asList(
+                createProject(1L, "group/p1", "active"),
+                createProject(2L, "group/p2", "active"),
+                createProject(3L, "group/p3", "failed"),
+                createProject(4L, "group/p4", null)
+        );
+        when(syncProjectMapper.selectList(any(QueryWrapper.class))).thenAnswer(invocation -> {
+            if (duringRead != null) {
+                duringRead.run();
+            }
+            return rows;
+        });
+        when(projectBranchSnapshotMapper.selectLatestCommitTimes()).thenReturn(Arrays.asList(
+                row(1L, "source", now),
+                row(1L, "target", now.minusHours(1)),
+                row(2L, "source", now),
+                row(2L, "target", now.minusMinutes(5)),
+                row(3L, "source", now),
+                row(3L, "target", now)
+        ));
+    }
+
+    @Test
+    void testStatusCountsLoadedOnFirstAccess() {
+        Map<String, Long> counts = dashboardStatsService.getStatusCounts();
+
+        assertThat(dashboardStatsService.getTotalProjects()).isEqualTo(4);
+        assertThat(counts).containsEntry("active", 2L);
+        assertThat(counts).containsEntry("failed", 1L);
+        assertThat(counts).containsEntry("unknown", 1L);
+
+        // Second read is served from memory
+        dashboardStatsService.getStatusCounts();
+        verify(syncProjectMapper, times(1)).selectList(any(QueryWrapper.class));
+    }
+
+    @Test
+    void testTopDelayedOrderedByDelay() {
+        List<DashboardStatsService.ProjectStats> top = dashboardStatsService.getTopDelayed(2);
+
+        assertThat(top).hasSize(2);
+        assertThat(top.get(0).getProjectKey()).isEqualTo("group/p1");
+        assertThat(top.get(0).getDelaySeconds()).isEqualTo(3600L);
+        assertThat(top.get(1).getProjectKey()).isEqualTo("group/p2");
+        assertThat(top.get(1).getDelaySeconds()).isEqualTo(300L);
+    }
+
+    @Test
+    void testProjectsWithoutSnapshotsExcludedFromTopDelayed() {
+        List<DashboardStatsService.ProjectStats> top = dashboardStatsService.getTopDelayed(10);
+
+        assertThat(top).extracting(DashboardStatsService.ProjectStats::getSyncProjectId)
+                .containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void testStatusChangeUpdatesCountsIncrementally() {
+        dashboardStatsService.getStatusCounts();
+
+        dashboardStatsService.onProjectStatusChanged(createProject(3L, "group/p3", "active"));
+        dashboardStatsService.onProjectStatusChanged(createProject(5L, "group/p5", "pending"));
+
+        Map<String, Long> counts = dashboardStatsService.getStatusCounts();
+        assertThat(counts).containsEntry("active", 3L);
+        assertThat(counts).containsEntry("pending", 1L);
+        assertThat(counts).doesNotContainKey("failed");
+        assertThat(dashboardStatsService.getTotalProjects()).isEqualTo(5);
+        verify(syncProjectMapper, times(1)).selectList(any(QueryWrapper.class));
+    }
+
+    @Test
+    void testStatusTransitionPushedWithCounts() {
+        dashboardStatsService.getStatusCounts();
+
+        SyncProject project = createProject(3L, "group/p3", "active");
+        dashboardStatsService.onProjectStatusChanged(project);
+        // Same status again is not pushed
+        dashboardStatsService.onProjectStatusChanged(project);
+
+        verify(statusPushService, times(1)).publishProjectStatus(eq(project), eq("failed"),
+                argThat(counts -> counts.get("active") == 3L && !counts.containsKey("failed")));
+    }
+
+    @Test
+    void testRefreshDelayReordersIndex() {
+        dashboardStatsService.getStatusCounts();
+        when(projectListService.calculateDelay(3L)).thenReturn(7200L);
+
+        dashboardStatsService.refreshDelay(3L);
+
+        List<DashboardStatsService.ProjectStats> top = dashboardStatsService.getTopDelayed(1);
+        assertThat(top.get(0).getSyncProjectId()).isEqualTo(3L);
+        assertThat(top.get(0).getSyncStatus()).isEqualTo("failed");
+    }
+
+    @Test
+    void testProjectRemoved() {
+        dashboardStatsService.getStatusCounts();
+
+        dashboardStatsService.onProjectRemoved(1L);
+
+        assertThat(dashboardStatsService.getTotalProjects()).isEqualTo(3);
+        assertThat(dashboardStatsService.getStatusCounts()).containsEntry("active", 1L);
+        assertThat(dashboardStatsService.getTopDelayed(1).get(0).getSyncProjectId()).isEqualTo(2L);
+    }
+
+    @Test
+    void testUpdatesIgnoredBeforeInitialization() {
+        dashboardStatsService.onProjectStatusChanged(createProject(9L, "group/p9", "active"));
+
+        verifyNoInteractions(syncProjectMapper);
+        assertThat(dashboardStatsService.getTotalProjects()).isEqualTo(4);
+    }
+
+    @Test
+    void testChangesDuringInitialLoadSurviveIt() {
+        duringRead = () -> {
+            // Reported from another thread; must not wait for the load to finish
+            Thread updater = new Thread(() -> {
+                dashboardStatsService.onProjectStatusChanged(createProject(1L, "group/p1", "failed"));
+                dashboardStatsService.onProjectRemoved(2L);
+            });
+            updater.start();
+            try {
+                updater.join(5_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            assertThat(updater.isAlive()).isFalse();
+        };
+
+        Map<String, Long> counts = dashboardStatsService.getStatusCounts();
+
+        assertThat(counts).containsOnly(Map.entry("failed", 2L), Map.entry("unknown", 1L));
+        assertThat(dashboardStatsService.getTopDelayed(10))
+                .extracting(DashboardStatsService.ProjectStats::getSyncProjectId)
+                .containsExactly(1L, 3L);
+    }
+
+    @Test
+    void testReconcileKeepsChangesMadeDuringItsRead() {
+        dashboardStatsService.getStatusCounts();
+        when(projectListService.calculateDelay(3L)).thenReturn(7200L);
+        duringRead = () -> {
+            dashboardStatsService.onProjectStatusChanged(createProject(2L, "group/p2", "syncing"));
+            dashboardStatsService.refreshDelay(3L);
+        };
+
+        dashboardStatsService.reconcile();
+
+        assertThat(dashboardStatsService.getStatusCounts()).containsOnly(Map.entry("active", 1L),
+                Map.entry("syncing", 1L), Map.entry("failed", 1L), Map.entry("unknown", 1L));
+        assertThat(dashboardStatsService.getTopDelayed(1).get(0).getSyncProjectId()).isEqualTo(3L);
+
+        // Changes are replayed only by the reconcile they overlapped
+        duringRead = null;
+        dashboardStatsService.reconcile();
+
+        assertThat(dashboardStatsService.getStatusCounts()).containsOnly(Map.entry("active", 2L),
+                Map.entry("failed", 1L), Map.entry("unknown", 1L));
+    }
+
+    @Test
+    void testChangeListenersNotified() {
+        List<Long> changed = new ArrayList<>();
+        dashboardStatsService.addChangeListener(changed::add);
+        dashboardStatsService.getStatusCounts();
+
+        dashboardStatsService.onProjectStatusChanged(createProject(1L, "group/p1", "failed"));
+        dashboardStatsService.onProjectRemoved(2L);
+
+        assertThat(changed).containsExactly(1L, 2L);
+    }
+
+    private SyncProject createProject(Long id, String key, String status) {
+        SyncProject project = new SyncProject();
+        project.setId(id);
+        project.setProjectKey(key);
+        project.setSyncStatus(status);
+        return project;
+    }
+
+    private Map<String, Object> row(Long syncProjectId, String projectType, LocalDateTime latestCommitAt) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("sync_project_id", syncProjectId);
+        row.put("project_type", projectType);
+        row.put("latest_commit_at", latestCommitAt);
+        return row;
+    }
+}
@@ -1,5 +1,6 @@
 package com.gitlab.mirror.server.service;
 
+import com.gitlab.mirror.server.config.properties.GitLabMirrorProperties;
 import com.gitlab.mirror.server.entity.PullSyncConfig;
 import com.gitlab.mirror.server.entity.SourceProjectInfo;
 import com.gitlab.mirror.server.entity.SyncProject;
@@ -23,6 +24,7 @@ import java.nio.file.Path;
 import java.time.LocalDateTime;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 
@@ -51,6 +53,9 @@ class DiskManagementServiceTest {
     @Autowired
     private SourceProjectInfoMapper sourceProjectInfoMapper;
 
+    @Autowired
+    private GitLabMirrorProperties properties;
+
     @TempDir
     Path tempDir;
 
@@ -146,17 +151,17 @@ class DiskManagementServiceTest {
         Files.createDirectory(repoPath);
         Files.writeString(repoPath.resolve("file.txt"), "test data");
 
-        // Mock git gc success
+        // Mock maintenance success
         GitCommandExecutor.GitResult result = new GitCommandExecutor.GitResult(
-            true, "SIZE_BEFORE=1000\nSIZE_AFTER=500\n", "", 0
+            true, "REPO_SIZE_KB_BEFORE=1000\nREPO_SIZE_KB_AFTER=500\nPACK_COUNT_BEFORE=12\nPACK_COUNT_AFTER=2\n", "", 0
         );
-        when(gitCommandExecutor.gcRepository(anyString())).thenReturn(result);
+        when(gitCommandExecutor.maintainRepository(anyString(), anyInt())).thenReturn(result);
 
         // Cleanup
         long bytesFreed = service.cleanupRepository(repoPath.toString());
 
-        // Should return non-negative value (actual calculation depends on file sizes)
-        assertThat(bytesFreed).isGreaterThanOrEqualTo(0);
+        // Freed size is reported by the maintenance script
+        assertThat(bytesFreed).isEqualTo(500 * 1024L);
     }
 
     @Test
@@ -165,11 +170,11 @@ class DiskManagementServiceTest {
         Path repoPath = tempDir.resolve("test-repo");
         Files.createDirectory(repoPath);
 
-        // Mock git gc failure
+        // Mock maintenance failure
         GitCommandExecutor.GitResult result = new GitCommandExecutor.GitResult(
-            false, "", "Git gc failed", 1
+            false, "", "Repack failed", 1
         );
-        when(gitCommandExecutor.gcRepository(anyString())).thenReturn(result);
+        when(gitCommandExecutor.maintainRepository(anyString(), anyInt())).thenReturn(result);
 
         // Cleanup
         long bytesFreed = service.cleanupRepository(repoPath.toString());
@@ -249,4 +254,122 @@ class DiskManagementServiceTest {
         assertThat(stats.getTotalRepositories()).isGreaterThanOrEqualTo(0);
         assertThat(stats.getTotalSizeBytes()).isGreaterThanOrEqualTo(0);
     }
+
+    @Test
+    void testRecordRepositorySize_FromScriptOutput() {
+        PullSyncConfig config = createPullSyncConfig("test/indexed", "/nonexistent/indexed", null);
+
+        GitCommandExecutor.GitResult result = new GitCommandExecutor.GitResult(
+            true, "FINAL_SHA=abc\nREPO_SIZE_KB=10\nPACK_COUNT=4\nLOOSE_OBJECTS=12\n", "", 0
+        );
+        long size = service.recordRepositorySize(config.getSyncProjectId(), config.getLocalRepoPath(), result, true);
+
+        assertThat(size).isEqualTo(10 * 1024L);
+        PullSyncConfig indexed = pullSyncConfigMapper.selectById(config.getId());
+        assertThat(indexed.getRepoSizeBytes()).isEqualTo(10 * 1024L);
+        assertThat(indexed.getPackCount()).isEqualTo(4);
+        assertThat(indexed.getFetchesSinceMaintenance()).isEqualTo(1);
+    }
+
+    @Test
+    void testCalculateDiskUsage_UsesSizeIndex() {
+        // Indexed size is used as-is, the path is not measured
+        createPullSyncConfig("test/cached", "/nonexistent/cached", 5000L);
+
+        DiskManagementService.DiskUsageStats stats = service.calculateDiskUsage();
+
+        assertThat(stats.getRepositorySizes()).containsEntry("/nonexistent/cached", 5000L);
+        assertThat(stats.getTotalSizeBytes()).isGreaterThanOrEqualTo(5000L);
+    }
+
+    @Test
+    void testReserveSpace_CountsInFlightReservations() {
+        assertThat(service.reserveSpace(1001L, 1024L)).isTrue();
+        // Idempotent for the same project
+        assertThat(service.reserveSpace(1001L, 1024L)).isTrue();
+        assertThat(service.getReservedBytes()).isEqualTo(1024L);
+
+        // Doesn't fit next to the usable space
+        assertThat(service.reserveSpace(1002L, Long.MAX_VALUE / 2)).isFalse();
+
+        service.releaseReservation(1001L);
+        assertThat(service.getReservedBytes()).isZero();
+    }
+
+    @Test
+    void testResolveObjectPoolPath_UsesForkFamilyRootOnceSecondMemberMirrored() {
+        properties.getSync().setObjectPoolEnabled(true);
+        properties.getSync().setObjectPoolPath(tempDir.toString());
+        try {
+            SourceProjectInfo upstream = createSourceProjectInfo("test/upstream", 9001L, null, 2);
+            createSourceProjectInfo("test/fork", 9002L, 9001L, 1);
+            SourceProjectInfo forkOfFork = createSourceProjectInfo("test/fork-of-fork", 9003L, 9002L, 0);
+            SourceProjectInfo standalone = createSourceProjectInfo("test/standalone", 9004L, null, 0);
+            // Only member of its family mirrored so far
+            SourceProjectInfo lonelyUpstream = createSourceProjectInfo("test/lonely-upstream", 9005L, null, 3);
+            SourceProjectInfo lonelyFork = createSourceProjectInfo("test/lonely-fork", 9006L, 8000L, 0);
+
+            String expected = tempDir.resolve("9001.git").toString();
+            assertThat(service.resolveObjectPoolPath(upstream)).isEqualTo(expected);
+            assertThat(service.resolveObjectPoolPath(forkOfFork)).isEqualTo(expected);
+            assertThat(service.resolveObjectPoolPath(standalone)).isNull();
+            assertThat(service.resolveObjectPoolPath(lonelyUpstream)).isNull();
+            assertThat(service.resolveObjectPoolPath(lonelyFork)).isNull();
+
+            // A second fork of the same (not mirrored) upstream
+            SourceProjectInfo sibling = createSourceProjectInfo("test/sibling-fork", 9007L, 8000L, 0);
+            String siblingPool = tempDir.resolve("8000.git").toString();
+            assertThat(service.resolveObjectPoolPath(lonelyFork)).isEqualTo(siblingPool);
+            assertThat(service.resolveObjectPoolPath(sibling)).isEqualTo(siblingPool);
+
+            properties.getSync().setObjectPoolEnabled(false);
+            assertThat(service.resolveObjectPoolPath(forkOfFork)).isNull();
+        } finally {
+            properties.getSync().setObjectPoolEnabled(false);
+            properties.getSync().setObjectPoolPath(null);
+        }
+    }
+
+    private SourceProjectInfo createSourceProjectInfo(String projectKey, Long gitlabProjectId,
+                                                      Long forkedFromProjectId, int forkCount) {
+        SyncProject project = new SyncProject();
+        project.setProjectKey(projectKey);
+        project.setSyncMethod("pull_sync");
+        project.setSyncStatus("pending");
+        project.setEnabled(true);
+        project.setCreatedAt(LocalDateTime.now());
+        project.setUpdatedAt(LocalDateTime.now());
+        syncProjectMapper.insert(project);
+
+        SourceProjectInfo sourceInfo = new SourceProjectInfo();
+        sourceInfo.setSyncProjectId(project.getId());
+        sourceInfo.setGitlabProjectId(gitlabProjectId);
+        sourceInfo.setPathWithNamespace(projectKey);
+        sourceInfo.setName(projectKey.substring(projectKey.indexOf('/') + 1));
+        sourceInfo.setForkedFromProjectId(forkedFromProjectId);
+        sourceInfo.setForkCount(forkCount);
+        sourceInfo.setUpdatedAt(LocalDateTime.now());
+        sourceProjectInfoMapper.insert(sourceInfo);
+        return sourceInfo;
+    }
+
+    private PullSyncConfig createPullSyncConfig(String projectKey, String localRepoPath, Long repoSizeBytes) {
+        SyncProject project = new SyncProject();
+        project.setProjectKey(projectKey);
+        project.setSyncMethod("pull_sync");
+        project.setSyncStatus("active");
+        project.setEnabled(true);
+        project.setCreatedAt(LocalDateTime.now());
+        project.setUpdatedAt(LocalDateTime.now());
+        syncProjectMapper.insert(project);
+
+        PullSyncConfig config = new PullSyncConfig();
+        config.setSyncProjectId(project.getId());
+        config.setPriority(PullSyncConfig.Priority.NORMAL);
+        config.setEnabled(true);
+        config.setLocalRepoPath(localRepoPath);
+        config.setRepoSizeBytes(repoSizeBytes);
+        pullSyncConfigMapper.insert(config);
+        return config;
+    }
 }
@@ -4,11 +4,11 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.gitlab.mirror.server.entity.SyncEvent;
 import com.gitlab.mirror.server.mapper.SyncEventMapper;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -42,13 +42,14 @@ class EventManagementServiceTest {
     @Mock
     private com.gitlab.mirror.server.mapper.SyncProjectMapper syncProjectMapper;
 
-    @InjectMocks
     private EventManagementService eventManagementService;
 
     private SyncEvent testEvent;
 
     @BeforeEach
     void setUp() {
+        eventManagementService = new EventManagementService(syncEventMapper, new ProjectKeyCache(syncProjectMapper));
+
         testEvent = new SyncEvent();
         testEvent.setSyncProjectId(100L);
         testEvent.setEventType(SyncEvent.EventType.SYNC_FINISHED);
@@ -503,14 +504,18 @@ class EventManagementServiceTest {
         project.setId(syncProjectId);
         project.setProjectKey("devops/gitlab-mirror");
 
-        when(syncProjectMapper.selectById(syncProjectId)).thenReturn(project);
+        when(syncProjectMapper.selectList(any(QueryWrapper.class))).thenReturn(List.of(project));
 
         // When
         String result = eventManagementService.getProjectKey(syncProjectId);
 
         // Then
         assertThat(result).isEqualTo("devops/gitlab-mirror");
-        verify(syncProjectMapper).selectById(syncProjectId);
+        verify(syncProjectMapper).selectList(any(QueryWrapper.class));
+
+        // Second lookup is served from cache
+        assertThat(eventManagementService.getProjectKey(syncProjectId)).isEqualTo("devops/gitlab-mirror");
+        verify(syncProjectMapper, times(1)).selectList(any(QueryWrapper.class));
     }
 
     /**
@@ -520,14 +525,14 @@ class EventManagementServiceTest {
     void testGetProjectKey_ProjectNotFound() {
         // Given
         Long syncProjectId = 999L;
-        when(syncProjectMapper.selectById(syncProjectId)).thenReturn(null);
+        when(syncProjectMapper.selectList(any(QueryWrapper.class))).thenReturn(List.of());
 
         // When
         String result = eventManagementService.getProjectKey(syncProjectId);
 
         // Then
         assertThat(result).isNull();
-        verify(syncProjectMapper).selectById(syncProjectId);
+        verify(syncProjectMapper).selectList(any(QueryWrapper.class));
     }
 
     /**
@@ -540,7 +545,7 @@ class EventManagementServiceTest {
 
         // Then
         assertThat(result).isNull();
-        verify(syncProjectMapper, never()).selectById(any());
+        verify(syncProjectMapper, never()).selectList(any(QueryWrapper.class));
     }
 
     /**
@@ -563,9 +568,8 @@ class EventManagementServiceTest {
         project3.setId(102L);
         project3.setProjectKey("devops/project3");
 
-        when(syncProjectMapper.selectById(100L)).thenReturn(project1);
-        when(syncProjectMapper.selectById(101L)).thenReturn(project2);
-        when(syncProjectMapper.selectById(102L)).thenReturn(project3);
+        when(syncProjectMapper.selectList(any(QueryWrapper.class)))
+                .thenReturn(Arrays.asList(project1, project2, project3));
 
         // When
         Map<Long, String> result = eventManagementService.getProjectKeys(projectIds);
@@ -576,7 +580,9 @@ class EventManagementServiceTest {
         assertThat(result.get(101L)).isEqualTo("devops/project2");
         assertThat(result.get(102L)).isEqualTo("devops/project3");
 
-        verify(syncProjectMapper, times(3)).selectById(any());
+        // All projects loaded with a single IN query
+        verify(syncProjectMapper, times(1)).selectList(any(QueryWrapper.class));
+        verify(syncProjectMapper, never()).selectById(any());
     }
 
     /**
@@ -591,8 +597,7 @@ class EventManagementServiceTest {
         project1.setId(100L);
         project1.setProjectKey("devops/project1");
 
-        when(syncProjectMapper.selectById(100L)).thenReturn(project1);
-        when(syncProjectMapper.selectById(999L)).thenReturn(null);
+        when(syncProjectMapper.selectList(any(QueryWrapper.class))).thenReturn(List.of(project1));
 
         // When
         Map<Long, String> result = eventManagementService.getProjectKeys(projectIds);
@@ -602,8 +607,8 @@ class EventManagementServiceTest {
         assertThat(result.get(100L)).isEqualTo("devops/project1");
         assertThat(result.get(999L)).isNull();
 
-        // null ID should not trigger selectById
-        verify(syncProjectMapper, times(2)).selectById(any());
+        // null ID is skipped, the rest is loaded in one query
+        verify(syncProjectMapper, times(1)).selectList(any(QueryWrapper.class));
     }
 
     /**
@@ -616,7 +621,7 @@ class EventManagementServiceTest {
 
         // Then
         assertThat(result).isEmpty();
-        verify(syncProjectMapper, never()).selectById(any());
+        verify(syncProjectMapper, never()).selectList(any(QueryWrapper.class));
     }
 
     /**
@@ -629,7 +634,7 @@ class EventManagementServiceTest {
 
         // Then
         assertThat(result).isEmpty();
-        verify(syncProjectMapper, never()).selectById(any());
+        verify(syncProjectMapper, never()).selectList(any(QueryWrapper.class));
     }
 
     // Helper methods
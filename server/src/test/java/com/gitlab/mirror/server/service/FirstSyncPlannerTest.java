@@ -0,0 +1,115 @@
+package com.gitlab.mirror.server.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.gitlab.mirror.server.config.properties.GitLabMirrorProperties;
+import com.gitlab.mirror.server.entity.SourceProjectInfo;
+import com.gitlab.mirror.server.entity.SyncTask;
+import com.gitlab.mirror.server.mapper.SourceProjectInfoMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for FirstSyncPlanner
+ *
+ * @author GitLab Mirror Team
+ */
+@ExtendWith(MockitoExtension.class)
+class FirstSyncPlannerTest {
+
+    private static final long MB = 1024L * 1024;
+    private static final long GB = 1024 * MB;
+
+    @Mock
+    private SourceProjectInfoMapper sourceProjectInfoMapper;
+
+    private GitLabMirrorProperties properties;
+
+    private FirstSyncPlanner planner;
+
+    @BeforeEach
+    void setUp() {
+        properties = new GitLabMirrorProperties();
+        planner = new FirstSyncPlanner(sourceProjectInfoMapper, properties);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPlan_SmallClonesSmallestFirst() {
+        when(sourceProjectInfoMapper.selectList(any(QueryWrapper.class)))
+                .thenReturn(List.of(info(1L, 500 * MB), info(2L, 5 * MB), info(3L, 50 * MB)));
+
+        List<SyncTask> planned = planner.plan(List.of(task(1L), task(2L), task(3L)), 3);
+
+        assertThat(planned).extracting(SyncTask::getSyncProjectId).containsExactly(2L, 3L, 1L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPlan_LargeClonesBoundedAndMixedWithSmall() {
+        properties.getSync().setFirstSyncMaxLargeConcurrent(1);
+        when(sourceProjectInfoMapper.selectList(any(QueryWrapper.class)))
+                .thenReturn(List.of(info(1L, 10 * GB), info(2L, 20 * GB), info(3L, 5 * MB), info(4L, 8 * MB)));
+
+        List<SyncTask> planned = planner.plan(List.of(task(1L), task(2L), task(3L), task(4L)), 4);
+
+        // Only one large clone (the largest), small clones fill the other slots
+        assertThat(planned).extracting(SyncTask::getSyncProjectId).containsExactly(2L, 3L, 4L);
+        assertThat(planner.getRunningLargeClones()).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPlan_LargeLaneFreedOnRelease() {
+        when(sourceProjectInfoMapper.selectList(any(QueryWrapper.class)))
+                .thenReturn(List.of(info(1L, 10 * GB)), List.of(info(2L, 12 * GB)), List.of(info(2L, 12 * GB)));
+
+        assertThat(planner.plan(List.of(task(1L)), 2)).hasSize(1);
+        assertThat(planner.plan(List.of(task(2L)), 2)).isEmpty();
+
+        planner.release(1L);
+
+        assertThat(planner.plan(List.of(task(2L)), 2)).extracting(SyncTask::getSyncProjectId).containsExactly(2L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPlan_UnknownSizeTreatedAsSmallDefault() {
+        when(sourceProjectInfoMapper.selectList(any(QueryWrapper.class)))
+                .thenReturn(List.of(info(1L, 500 * MB)));
+
+        List<SyncTask> planned = planner.plan(List.of(task(1L), task(2L)), 1);
+
+        assertThat(planned).extracting(SyncTask::getSyncProjectId).containsExactly(2L);
+    }
+
+    @Test
+    void testPlan_NoSlotsPlansNothing() {
+        assertThat(planner.plan(List.of(task(1L)), 0)).isEmpty();
+
+        verifyNoInteractions(sourceProjectInfoMapper);
+    }
+
+    private SyncTask task(Long syncProjectId) {
+        SyncTask task = new SyncTask();
+        task.setId(syncProjectId + 100);
+        task.setSyncProjectId(syncProjectId);
+        return task;
+    }
+
+    private SourceProjectInfo info(Long syncProjectId, long size) {
+        SourceProjectInfo info = new SourceProjectInfo();
+        info.setSyncProjectId(syncProjectId);
+        info.setRepositorySize(size);
+        return info;
+    }
+}
@@ -0,0 +1,197 @@
+package com.gitlab.mirror.server.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.gitlab.mirror.common.model.GitLabProject;
+import com.gitlab.mirror.common.model.RepositoryBranch;
+import com.gitlab.mirror.server.client.GitLabApiClient;
+import com.gitlab.mirror.server.config.properties.GitLabMirrorProperties;
+import com.gitlab.mirror.server.entity.PullSyncConfig;
+import com.gitlab.mirror.server.entity.SourceProjectInfo;
+import com.gitlab.mirror.server.entity.SyncProject;
+import com.gitlab.mirror.server.entity.SyncTask;
+import com.gitlab.mirror.server.mapper.PullSyncConfigMapper;
+import com.gitlab.mirror.server.mapper.SourceProjectInfoMapper;
+import com.gitlab.mirror.server.mapper.SyncProjectMapper;
+import com.gitlab.mirror.server.mapper.SyncTaskMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ProjectInitializationService bulk onboarding
+ *
+ * @author GitLab Mirror Team
+ */
+@ExtendWith(MockitoExtension.class)
+class ProjectInitializationServiceTest {
+
+    @Mock
+    private SyncProjectMapper syncProjectMapper;
+
+    @Mock
+    private SourceProjectInfoMapper sourceProjectInfoMapper;
+
+    @Mock
+    private PullSyncConfigService pullSyncConfigService;
+
+    @Mock
+    private SyncTaskService syncTaskService;
+
+    @Mock
+    private BranchSnapshotService branchSnapshotService;
+
+    @Mock
+    private PullSyncConfigMapper pullSyncConfigMapper;
+
+    @Mock
+    private SyncTaskMapper syncTaskMapper;
+
+    @Mock
+    private TargetProjectManagementService targetProjectManagementService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private GitLabApiClient sourceGitLabApiClient;
+
+    @Mock
+    private DashboardStatsService dashboardStatsService;
+
+    private GitLabMirrorProperties properties;
+
+    private ProjectInitializationService service;
+
+    @BeforeEach
+    void setUp() {
+        properties = new GitLabMirrorProperties();
+        service = new ProjectInitializationService(syncProjectMapper, sourceProjectInfoMapper,
+                pullSyncConfigService, syncTaskService, branchSnapshotService, pullSyncConfigMapper,
+                syncTaskMapper, targetProjectManagementService, properties, transactionManager,
+                sourceGitLabApiClient, dashboardStatsService);
+
+        lenient().when(pullSyncConfigService.buildDefaultConfig(anyLong(), anyString()))
+                .thenAnswer(invocation -> {
+                    PullSyncConfig config = new PullSyncConfig();
+                    config.setSyncProjectId(invocation.getArgument(0));
+                    return config;
+                });
+        lenient().when(targetProjectManagementService.batchCreateTargetProjectsAsync(anyList()))
+                .thenReturn(CompletableFuture.completedFuture(List.of()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testInitializeProjects_BatchesAndStaggersFirstSyncs() {
+        properties.getSync().setOnboardingBatchSize(2);
+        properties.getSync().setOnboardingStaggerSeconds(10);
+
+        // existing keys / read-back ids for each of the two batches
+        when(syncProjectMapper.selectList(any(QueryWrapper.class)))
+                .thenReturn(List.of(),
+                        List.of(syncProject(1L, "group/p1"), syncProject(2L, "group/p2")),
+                        List.of(),
+                        List.of(syncProject(3L, "group/p3")));
+
+        List<Long> ids = service.initializeProjects(
+                List.of(project(101L, "group/p1"), project(102L, "group/p2"), project(103L, "group/p3")),
+                Map.of());
+
+        assertThat(ids).containsExactly(1L, 2L, 3L);
+        verify(syncProjectMapper, times(2)).insertBatch(anyList());
+        verify(syncProjectMapper, never()).insert(any(SyncProject.class));
+
+        ArgumentCaptor<List<SourceProjectInfo>> infos = ArgumentCaptor.forClass(List.class);
+        verify(sourceProjectInfoMapper, times(2)).insertBatch(infos.capture());
+        assertThat(infos.getAllValues().get(0)).extracting(SourceProjectInfo::getSyncProjectId)
+                .containsExactly(1L, 2L);
+        assertThat(infos.getAllValues().get(0).get(0).getGroupPath()).isEqualTo("group");
+
+        verify(pullSyncConfigMapper, times(2)).insertBatch(anyList());
+
+        ArgumentCaptor<List<SyncTask>> tasks = ArgumentCaptor.forClass(List.class);
+        verify(syncTaskMapper, times(2)).insertBatch(tasks.capture());
+        List<SyncTask> allTasks = new ArrayList<>(tasks.getAllValues().get(0));
+        allTasks.addAll(tasks.getAllValues().get(1));
+        assertThat(allTasks).allMatch(t -> SyncTask.TaskStatus.WAITING.equals(t.getTaskStatus()));
+        assertThat(Duration.between(allTasks.get(0).getNextRunAt(), allTasks.get(1).getNextRunAt()))
+                .isEqualTo(Duration.ofSeconds(10));
+        assertThat(Duration.between(allTasks.get(0).getNextRunAt(), allTasks.get(2).getNextRunAt()))
+                .isEqualTo(Duration.ofSeconds(20));
+
+        verify(targetProjectManagementService).batchCreateTargetProjectsAsync(List.of(1L, 2L, 3L));
+
+        // Onboarded projects show up in dashboard counts right away
+        ArgumentCaptor<SyncProject> notified = ArgumentCaptor.forClass(SyncProject.class);
+        verify(dashboardStatsService, times(3)).onProjectStatusChanged(notified.capture());
+        assertThat(notified.getAllValues()).extracting(SyncProject::getId).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testInitializeProjects_SkipsExistingProjects() {
+        when(syncProjectMapper.selectList(any(QueryWrapper.class)))
+                .thenReturn(List.of(syncProject(1L, "group/p1")),
+                        List.of(syncProject(2L, "group/p2")));
+
+        List<Long> ids = service.initializeProjects(
+                List.of(project(101L, "group/p1"), project(102L, "group/p2")), Map.of());
+
+        assertThat(ids).containsExactly(2L);
+        ArgumentCaptor<List<SyncProject>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(syncProjectMapper).insertBatch(inserted.capture());
+        assertThat(inserted.getValue()).extracting(SyncProject::getProjectKey).containsExactly("group/p2");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testInitializeProjects_CreatesBranchSnapshotsAfterInsert() {
+        when(syncProjectMapper.selectList(any(QueryWrapper.class)))
+                .thenReturn(List.of(), List.of(syncProject(1L, "group/p1")));
+        List<RepositoryBranch> branches = List.of(new RepositoryBranch());
+
+        service.initializeProjects(List.of(project(101L, "group/p1")), Map.of(101L, branches));
+
+        verify(branchSnapshotService).updateBranchSnapshot(eq(1L), anyString(), eq(branches), any());
+    }
+
+    @Test
+    void testInitializeProjects_EmptyInputDoesNothing() {
+        assertThat(service.initializeProjects(List.of(), Map.of())).isEmpty();
+
+        verifyNoInteractions(syncProjectMapper, transactionManager, targetProjectManagementService);
+    }
+
+    private GitLabProject project(Long id, String pathWithNamespace) {
+        GitLabProject project = new GitLabProject();
+        project.setId(id);
+        project.setPathWithNamespace(pathWithNamespace);
+        project.setName(pathWithNamespace.substring(pathWithNamespace.lastIndexOf('/') + 1));
+        return project;
+    }
+
+    private SyncProject syncProject(Long id, String projectKey) {
+        SyncProject syncProject = new SyncProject();
+        syncProject.setId(id);
+        syncProject.setProjectKey(projectKey);
+        return syncProject;
+    }
+}
@@ -0,0 +1,85 @@
+package com.gitlab.mirror.server.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gitlab.mirror.server.entity.SyncProject;
+import com.gitlab.mirror.server.mapper.SyncProjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ProjectKeyCache
+ *
+ * @author GitLab Mirror Team
+ */
+@ExtendWith(MockitoExtension.class)
+class ProjectKeyCacheTest {
+
+    @Mock
+    private SyncProjectMapper syncProjectMapper;
+
+    private ProjectKeyCache projectKeyCache;
+
+    @BeforeEach
+    void setUp() {
+        // Same-thread maintenance makes evictions visible immediately
+        projectKeyCache = new ProjectKeyCache(syncProjectMapper,
+                Caffeine.newBuilder().maximumSize(2).executor(Runnable::run));
+    }
+
+    @Test
+    void testOnlyMissesAreLoaded() {
+        when(syncProjectMapper.selectList(any(QueryWrapper.class)))
+                .thenReturn(List.of(createProject(1L, "group/p1")))
+                .thenReturn(List.of(createProject(2L, "group/p2")));
+
+        projectKeyCache.getProjectKeys(List.of(1L));
+        Map<Long, String> result = projectKeyCache.getProjectKeys(Arrays.asList(1L, 2L, 2L));
+
+        assertThat(result).containsEntry(1L, "group/p1").containsEntry(2L, "group/p2");
+        verify(syncProjectMapper, times(2)).selectList(any(QueryWrapper.class));
+    }
+
+    @Test
+    void testStaysBoundedAndReloadsEvictedKeys() {
+        when(syncProjectMapper.selectList(any(QueryWrapper.class))).thenReturn(Arrays.asList(
+                createProject(1L, "group/p1"), createProject(2L, "group/p2"), createProject(3L, "group/p3")));
+
+        projectKeyCache.getProjectKeys(Arrays.asList(1L, 2L, 3L));
+        Map<Long, String> result = projectKeyCache.getProjectKeys(Arrays.asList(1L, 2L, 3L));
+
+        // At most two stay cached, so the second lookup reloads at least one
+        assertThat(result).containsEntry(1L, "group/p1").containsEntry(2L, "group/p2").containsEntry(3L, "group/p3");
+        verify(syncProjectMapper, times(2)).selectList(any(QueryWrapper.class));
+    }
+
+    @Test
+    void testInvalidateForcesReload() {
+        when(syncProjectMapper.selectList(any(QueryWrapper.class)))
+                .thenReturn(List.of(createProject(1L, "group/p1")))
+                .thenReturn(List.of(createProject(1L, "group/renamed")));
+
+        assertThat(projectKeyCache.getProjectKey(1L)).isEqualTo("group/p1");
+        projectKeyCache.invalidate(1L);
+
+        assertThat(projectKeyCache.getProjectKey(1L)).isEqualTo("group/renamed");
+    }
+
+    private SyncProject createProject(Long id, String projectKey) {
+        SyncProject project = new SyncProject();
+        project.setId(id);
+        project.setProjectKey(projectKey);
+        return project;
+    }
+}
@@ -131,7 +131,7 @@ class PullSyncExecutorServiceTest {
         GitCommandExecutor.GitResult result = new GitCommandExecutor.GitResult(
             true, "FINAL_SHA=abc123def456\n", "", 0
         );
-        when(gitCommandExecutor.syncFirst(anyString(), anyString(), anyString())).thenReturn(result);
+        when(gitCommandExecutor.syncFirst(anyString(), anyString(), anyString(), any(), any())).thenReturn(result);
 
         // Execute
         service.executeSync(task);
@@ -150,7 +150,78 @@ class PullSyncExecutorServiceTest {
         assertThat(updatedConfig.getLocalRepoPath()).contains("test-group/test-project");
 
         // Verify git sync-first was called
-        verify(gitCommandExecutor).syncFirst(anyString(), anyString(), anyString());
+        verify(gitCommandExecutor).syncFirst(anyString(), anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    void testExecuteFirstSync_LargeRepositoryPausedAfterWindow() {
+        // Repository above the resumable threshold
+        sourceInfo.setRepositorySize(5L * 1024 * 1024 * 1024);
+        sourceProjectInfoMapper.updateById(sourceInfo);
+        when(gitCommandExecutor.isValidRepository(anyString())).thenReturn(false);
+
+        GitCommandExecutor.GitResult result = new GitCommandExecutor.GitResult(
+            true, "FIRST_SYNC_COMPLETE=false\nFIRST_SYNC_PENDING_REFS=120\n", "", 0
+        );
+        when(gitCommandExecutor.syncFirstResumable(anyString(), anyString(), anyString(), any(),
+            anyInt(), anyInt(), anyInt(), any())).thenReturn(result);
+
+        // Execute
+        service.executeSync(task);
+
+        // Paused attempt is rescheduled right away and not counted as a failure
+        SyncTask updatedTask = syncTaskMapper.selectById(task.getId());
+        assertThat(updatedTask.getTaskStatus()).isEqualTo("waiting");
+        assertThat(updatedTask.getConsecutiveFailures()).isEqualTo(0);
+        assertThat(updatedTask.getNextRunAt()).isBeforeOrEqualTo(Instant.now());
+
+        // Not synced yet: the next run is a first sync again
+        PullSyncConfig updatedConfig = pullSyncConfigMapper.selectById(config.getId());
+        assertThat(updatedConfig.getLocalRepoPath()).isNull();
+        assertThat(updatedConfig.getFirstSyncPending()).isTrue();
+        assertThat(updatedConfig.getRepoSizeUpdatedAt()).isNull();
+        verify(gitCommandExecutor, never()).syncFirst(anyString(), anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    void testExecuteFirstSync_PausedSyncResumesWithAssignedRepoPath() {
+        // Path assigned when the config was created; a paused attempt left a partial bare repository there
+        config.setLocalRepoPath("/tmp/test-repos/test-group/test-project");
+        config.setFirstSyncPending(true);
+        pullSyncConfigMapper.updateById(config);
+        when(gitCommandExecutor.isValidRepository(anyString())).thenReturn(true);
+
+        GitCommandExecutor.GitResult paused = new GitCommandExecutor.GitResult(
+            true, "FIRST_SYNC_COMPLETE=false\nFIRST_SYNC_PENDING_REFS=40\nFIRST_SYNC_SHALLOW=true\n", "", 0
+        );
+        when(gitCommandExecutor.syncFirstResumable(anyString(), anyString(), anyString(), any(),
+            anyInt(), anyInt(), anyInt(), any())).thenReturn(paused);
+
+        // Execute
+        service.executeSync(task);
+
+        // Continued as a first sync, never as an incremental fetch + push of the partial repository
+        verify(gitCommandExecutor).syncFirstResumable(anyString(), anyString(),
+            eq("/tmp/test-repos/test-group/test-project"), any(), anyInt(), anyInt(), anyInt(), any());
+        verify(gitCommandExecutor, never()).syncIncremental(anyString(), anyString(), anyString(), any());
+
+        // Still unfinished: no repository stats, so the scheduler keeps treating it as a first sync
+        PullSyncConfig updatedConfig = pullSyncConfigMapper.selectById(config.getId());
+        assertThat(updatedConfig.getFirstSyncPending()).isTrue();
+        assertThat(updatedConfig.getRepoSizeUpdatedAt()).isNull();
+
+        // Window no longer exhausted: the sync finishes and clears the marker
+        GitCommandExecutor.GitResult finished = new GitCommandExecutor.GitResult(
+            true, "FIRST_SYNC_COMPLETE=true\nFINAL_SHA=abc123\n", "", 0
+        );
+        when(gitCommandExecutor.syncFirstResumable(anyString(), anyString(), anyString(), any(),
+            anyInt(), anyInt(), anyInt(), any())).thenReturn(finished);
+        service.executeSync(syncTaskMapper.selectById(task.getId()));
+
+        updatedConfig = pullSyncConfigMapper.selectById(config.getId());
+        assertThat(updatedConfig.getFirstSyncPending()).isFalse();
+        assertThat(updatedConfig.getRepoSizeUpdatedAt()).isNotNull();
+        verify(gitCommandExecutor, never()).syncIncremental(anyString(), anyString(), anyString(), any());
     }
 
     @Test
@@ -163,7 +234,7 @@ class PullSyncExecutorServiceTest {
         service.executeSync(task);
 
         // Verify no git operations
-        verify(gitCommandExecutor, never()).syncFirst(anyString(), anyString(), anyString());
+        verify(gitCommandExecutor, never()).syncFirst(anyString(), anyString(), anyString(), any(), any());
 
         // Verify task still in waiting status
         SyncTask updatedTask = syncTaskMapper.selectById(task.getId());
@@ -178,7 +249,7 @@ class PullSyncExecutorServiceTest {
         GitCommandExecutor.GitResult result = new GitCommandExecutor.GitResult(
             false, "", "Authentication failed", 128
         );
-        when(gitCommandExecutor.syncFirst(anyString(), anyString(), anyString())).thenReturn(result);
+        when(gitCommandExecutor.syncFirst(anyString(), anyString(), anyString(), any(), any())).thenReturn(result);
 
         // Execute
         service.executeSync(task);
@@ -191,6 +262,33 @@ class PullSyncExecutorServiceTest {
         assertThat(updatedTask.getErrorMessage()).contains("Authentication failed");
     }
 
+    @Test
+    void testExecuteFirstSync_RetryAfterRejectedPushStaysOnFirstSync() {
+        config.setLocalRepoPath("/tmp/test-repos/test-group/test-project");
+        pullSyncConfigMapper.updateById(config);
+
+        // Clone succeeded but a chunk push was rejected
+        when(gitCommandExecutor.isValidRepository(anyString())).thenReturn(false);
+        when(gitCommandExecutor.syncFirst(anyString(), anyString(), anyString(), any(), any())).thenReturn(
+            new GitCommandExecutor.GitResult(false, "", "remote rejected: pack exceeds maximum allowed size", 1));
+
+        service.executeSync(task);
+
+        PullSyncConfig updatedConfig = pullSyncConfigMapper.selectById(config.getId());
+        assertThat(updatedConfig.getFirstSyncPending()).isTrue();
+
+        // The clone is left at the local path: the retry pushes it the first-sync way, not incrementally
+        when(gitCommandExecutor.isValidRepository(anyString())).thenReturn(true);
+        when(gitCommandExecutor.syncFirstResumable(anyString(), anyString(), anyString(), any(),
+            anyInt(), anyInt(), anyInt(), any())).thenReturn(
+            new GitCommandExecutor.GitResult(true, "FIRST_SYNC_COMPLETE=true\nFINAL_SHA=abc123\n", "", 0));
+
+        service.executeSync(syncTaskMapper.selectById(task.getId()));
+
+        verify(gitCommandExecutor, never()).syncIncremental(anyString(), anyString(), anyString(), any());
+        assertThat(pullSyncConfigMapper.selectById(config.getId()).getFirstSyncPending()).isFalse();
+    }
+
     @Test
     void testExecuteSync_PriorityCalculation() {
         // Set different priorities and verify next_run_at calculation
@@ -199,7 +297,7 @@ class PullSyncExecutorServiceTest {
 
         when(gitCommandExecutor.isValidRepository(anyString())).thenReturn(false);
         GitCommandExecutor.GitResult result = new GitCommandExecutor.GitResult(true, "FINAL_SHA=abc\n", "", 0);
-        when(gitCommandExecutor.syncFirst(anyString(), anyString(), anyString())).thenReturn(result);
+        when(gitCommandExecutor.syncFirst(anyString(), anyString(), anyString(), any(), any())).thenReturn(result);
 
         Instant before = Instant.now();
         service.executeSync(task);
@@ -218,7 +316,7 @@ class PullSyncExecutorServiceTest {
         // Simulate failure
         when(gitCommandExecutor.isValidRepository(anyString())).thenReturn(false);
         GitCommandExecutor.GitResult result = new GitCommandExecutor.GitResult(false, "", "Network error", 1);
-        when(gitCommandExecutor.syncFirst(anyString(), anyString(), anyString())).thenReturn(result);
+        when(gitCommandExecutor.syncFirst(anyString(), anyString(), anyString(), any(), any())).thenReturn(result);
 
         // First failure
         Instant before1 = Instant.now();
@@ -273,7 +371,7 @@ class PullSyncExecutorServiceTest {
         assertThat(updatedTask.getSourceCommitSha()).isEqualTo("abc123def456");
 
         // Verify no git sync was called
-        verify(gitCommandExecutor, never()).syncIncremental(anyString(), anyString(), anyString());
+        verify(gitCommandExecutor, never()).syncIncremental(anyString(), anyString(), anyString(), any());
     }
 
     @Test
@@ -297,7 +395,7 @@ class PullSyncExecutorServiceTest {
         GitCommandExecutor.GitResult syncResult = new GitCommandExecutor.GitResult(
             true, "FINAL_SHA=xyz789ghi012\n", "", 0
         );
-        when(gitCommandExecutor.syncIncremental(anyString(), anyString(), anyString())).thenReturn(syncResult);
+        when(gitCommandExecutor.syncIncremental(anyString(), anyString(), anyString(), any())).thenReturn(syncResult);
 
         // Execute
         service.executeSync(task);
@@ -310,7 +408,7 @@ class PullSyncExecutorServiceTest {
         assertThat(updatedTask.getSourceCommitSha()).isEqualTo("xyz789ghi012");
 
         // Verify git sync-incremental was called
-        verify(gitCommandExecutor).syncIncremental(anyString(), anyString(), anyString());
+        verify(gitCommandExecutor).syncIncremental(anyString(), anyString(), anyString(), any());
     }
 
     @Test
@@ -325,14 +423,14 @@ class PullSyncExecutorServiceTest {
         GitCommandExecutor.GitResult result = new GitCommandExecutor.GitResult(
             true, "FINAL_SHA=abc123def456\n", "", 0
         );
-        when(gitCommandExecutor.syncFirst(anyString(), anyString(), anyString())).thenReturn(result);
+        when(gitCommandExecutor.syncFirst(anyString(), anyString(), anyString(), any(), any())).thenReturn(result);
 
         // Execute
         service.executeSync(task);
 
         // Verify first sync was performed
-        verify(gitCommandExecutor).syncFirst(anyString(), anyString(), anyString());
-        verify(gitCommandExecutor, never()).syncIncremental(anyString(), anyString(), anyString());
+        verify(gitCommandExecutor).syncFirst(anyString(), anyString(), anyString(), any(), any());
+        verify(gitCommandExecutor, never()).syncIncremental(anyString(), anyString(), anyString(), any());
 
         // Verify config updated with local repo path
         PullSyncConfig updatedConfig = pullSyncConfigMapper.selectById(config.getId());
@@ -368,7 +466,7 @@ class PullSyncExecutorServiceTest {
         // Mock repeated failures
         when(gitCommandExecutor.isValidRepository(anyString())).thenReturn(false);
         GitCommandExecutor.GitResult result = new GitCommandExecutor.GitResult(false, "", "Network error", 1);
-        when(gitCommandExecutor.syncFirst(anyString(), anyString(), anyString())).thenReturn(result);
+        when(gitCommandExecutor.syncFirst(anyString(), anyString(), anyString(), any(), any())).thenReturn(result);
 
         // Execute 5 times
         for (int i = 0; i < 5; i++) {
@@ -396,7 +494,7 @@ class PullSyncExecutorServiceTest {
         GitCommandExecutor.GitResult result = new GitCommandExecutor.GitResult(
             false, "", "Authentication failed", 128
         );
-        when(gitCommandExecutor.syncFirst(anyString(), anyString(), anyString())).thenReturn(result);
+        when(gitCommandExecutor.syncFirst(anyString(), anyString(), anyString(), any(), any())).thenReturn(result);
 
         // Execute once
         service.executeSync(task);
@@ -418,7 +516,7 @@ class PullSyncExecutorServiceTest {
         GitCommandExecutor.GitResult result = new GitCommandExecutor.GitResult(
             false, "", "Repository not found", 128
         );
-        when(gitCommandExecutor.syncFirst(anyString(), anyString(), anyString())).thenReturn(result);
+        when(gitCommandExecutor.syncFirst(anyString(), anyString(), anyString(), any(), any())).thenReturn(result);
 
         // Execute once
         service.executeSync(task);
@@ -439,7 +537,7 @@ class PullSyncExecutorServiceTest {
         GitCommandExecutor.GitResult result = new GitCommandExecutor.GitResult(
             false, "", "Network timeout", 1
         );
-        when(gitCommandExecutor.syncFirst(anyString(), anyString(), anyString())).thenReturn(result);
+        when(gitCommandExecutor.syncFirst(anyString(), anyString(), anyString(), any(), any())).thenReturn(result);
 
         // Execute once
         service.executeSync(task);
@@ -466,7 +564,7 @@ class PullSyncExecutorServiceTest {
         GitCommandExecutor.GitResult result = new GitCommandExecutor.GitResult(
             true, "FINAL_SHA=abc123def456\n", "", 0
         );
-        when(gitCommandExecutor.syncFirst(anyString(), anyString(), anyString())).thenReturn(result);
+        when(gitCommandExecutor.syncFirst(anyString(), anyString(), anyString(), any(), any())).thenReturn(result);
 
         // Execute
         service.executeSync(task);
@@ -13,11 +13,11 @@ import com.gitlab.mirror.server.mapper.PushMirrorConfigMapper;
 import com.gitlab.mirror.server.mapper.SourceProjectInfoMapper;
 import com.gitlab.mirror.server.mapper.SyncEventMapper;
 import com.gitlab.mirror.server.mapper.TargetProjectInfoMapper;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -77,7 +77,6 @@ class PushMirrorManagementServiceTest {
     @Mock
     private TargetProjectManagementService targetProjectManagementService;
 
-    @InjectMocks
     private PushMirrorManagementService pushMirrorManagementService;
 
     private SourceProjectInfo sourceProjectInfo;
@@ -92,6 +91,11 @@ class PushMirrorManagementServiceTest {
         lenient().when(syncConfig.getEnabled()).thenReturn(true);
         lenient().when(targetInstance.getUrl()).thenReturn("http://localhost:9000");
         lenient().when(targetInstance.getToken()).thenReturn("test-token-123");
+        lenient().when(properties.getPerformance()).thenReturn(new GitLabMirrorProperties.PerformanceConfig());
+
+        pushMirrorManagementService = new PushMirrorManagementService(sourceGitLabApiClient, targetGitLabApiClient,
+                sourceProjectInfoMapper, targetProjectInfoMapper, pushMirrorConfigMapper, syncEventMapper,
+                properties, targetProjectManagementService);
 
         // Setup test data
         sourceProjectInfo = new SourceProjectInfo();
@@ -114,6 +118,11 @@ class PushMirrorManagementServiceTest {
         remoteMirror.setLastUpdateAt(OffsetDateTime.now());
     }
 
+    @AfterEach
+    void tearDown() {
+        pushMirrorManagementService.shutdown();
+    }
+
     /**
      * 测试 Mirror 配置流程
      */
@@ -464,16 +473,11 @@ class PushMirrorManagementServiceTest {
         when(pushMirrorConfigMapper.selectList(null))
                 .thenReturn(Arrays.asList(config1, config2));
 
-        when(pushMirrorConfigMapper.selectBySyncProjectId(100L)).thenReturn(config1);
-        when(pushMirrorConfigMapper.selectBySyncProjectId(101L)).thenReturn(config2);
-
+        // 源项目信息按批一次加载
         SourceProjectInfo source1 = createSourceProjectInfo(100L, 1001L, "group1/project1");
         SourceProjectInfo source2 = createSourceProjectInfo(101L, 1002L, "group1/project2");
-
-        // selectOne is called twice per mirror (once for config select, once for source)
-        when(sourceProjectInfoMapper.selectOne(any(QueryWrapper.class)))
-                .thenReturn(source1)
-                .thenReturn(source2);
+        when(sourceProjectInfoMapper.selectList(any(QueryWrapper.class)))
+                .thenReturn(Arrays.asList(source1, source2));
 
         RemoteMirror mirror1 = createRemoteMirror(3001L, "finished");
         RemoteMirror mirror2 = createRemoteMirror(3002L, "finished");
@@ -488,6 +492,55 @@ class PushMirrorManagementServiceTest {
         verify(pushMirrorConfigMapper).selectList(null);
         verify(sourceGitLabApiClient).getMirror(1001L, 3001L);
         verify(sourceGitLabApiClient).getMirror(1002L, 3002L);
+
+        // 变化的配置一次批量写回，不逐条更新
+        verify(pushMirrorConfigMapper).batchUpdateStatus(argThat(configs -> configs.size() == 2));
+        verify(pushMirrorConfigMapper, never()).updateById(any(PushMirrorConfig.class));
+        verify(sourceProjectInfoMapper, never()).selectOne(any(QueryWrapper.class));
+    }
+
+    /**
+     * 测试定时调度 - 状态稳定的Mirror降低轮询频率，未变化时不写库
+     */
+    @Test
+    void testScheduledStatusPolling_StableMirrorBacksOff() {
+        // Given: 一个已完成的稳定Mirror
+        RemoteMirror mirror = createRemoteMirror(3001L, "finished");
+        PushMirrorConfig config = createMirrorConfig(100L, 3001L, "finished");
+        config.setLastUpdateAt(mirror.getLastUpdateAt().toLocalDateTime());
+
+        when(pushMirrorConfigMapper.selectList(null)).thenReturn(List.of(config));
+        when(sourceProjectInfoMapper.selectList(any(QueryWrapper.class)))
+                .thenReturn(List.of(createSourceProjectInfo(100L, 1001L, "group1/project1")));
+        when(sourceGitLabApiClient.getMirror(1001L, 3001L)).thenReturn(mirror);
+
+        // When: 连续三轮轮询
+        pushMirrorManagementService.scheduledStatusPolling();
+        pushMirrorManagementService.scheduledStatusPolling();
+        pushMirrorManagementService.scheduledStatusPolling();
+
+        // Then: 第二轮被跳过，第三轮再次查询；没有变化所以不写库
+        verify(sourceGitLabApiClient, times(2)).getMirror(1001L, 3001L);
+        verify(pushMirrorConfigMapper, never()).batchUpdateStatus(any());
+        verify(syncEventMapper, never()).insert(any(SyncEvent.class));
+    }
+
+    /**
+     * 测试定时调度 - 进行中的Mirror每轮都轮询
+     */
+    @Test
+    void testScheduledStatusPolling_InProgressMirrorPolledEveryCycle() {
+        PushMirrorConfig config = createMirrorConfig(100L, 3001L, "started");
+
+        when(pushMirrorConfigMapper.selectList(null)).thenReturn(List.of(config));
+        when(sourceProjectInfoMapper.selectList(any(QueryWrapper.class)))
+                .thenReturn(List.of(createSourceProjectInfo(100L, 1001L, "group1/project1")));
+        when(sourceGitLabApiClient.getMirror(1001L, 3001L)).thenReturn(createRemoteMirror(3001L, "started"));
+
+        pushMirrorManagementService.scheduledStatusPolling();
+        pushMirrorManagementService.scheduledStatusPolling();
+
+        verify(sourceGitLabApiClient, times(2)).getMirror(1001L, 3001L);
     }
 
     /**
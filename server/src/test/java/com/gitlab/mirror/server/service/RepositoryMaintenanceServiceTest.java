@@ -0,0 +1,159 @@
+package com.gitlab.mirror.server.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.gitlab.mirror.server.config.properties.GitLabMirrorProperties;
+import com.gitlab.mirror.server.entity.PullSyncConfig;
+import com.gitlab.mirror.server.entity.SyncEvent;
+import com.gitlab.mirror.server.executor.GitCommandExecutor;
+import com.gitlab.mirror.server.mapper.PullSyncConfigMapper;
+import com.gitlab.mirror.server.mapper.SyncEventMapper;
+import com.gitlab.mirror.server.mapper.SyncTaskMapper;
+import com.gitlab.mirror.server.service.metrics.GitLabMirrorMetricsCollector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RepositoryMaintenanceService
+ *
+ * @author GitLab Mirror Team
+ */
+@ExtendWith(MockitoExtension.class)
+class RepositoryMaintenanceServiceTest {
+
+    @Mock
+    private GitCommandExecutor gitCommandExecutor;
+
+    @Mock
+    private PullSyncConfigMapper pullSyncConfigMapper;
+
+    @Mock
+    private SyncTaskMapper syncTaskMapper;
+
+    @Mock
+    private SyncEventMapper syncEventMapper;
+
+    @Mock
+    private GitLabMirrorMetricsCollector metricsCollector;
+
+    private GitLabMirrorProperties properties;
+
+    private RepositoryMaintenanceService service;
+
+    @BeforeEach
+    void setUp() {
+        properties = new GitLabMirrorProperties();
+        properties.getSync().setPeakHours("");
+        service = new RepositoryMaintenanceService(gitCommandExecutor, pullSyncConfigMapper,
+                syncTaskMapper, syncEventMapper, properties, metricsCollector);
+    }
+
+    @Test
+    void testMaintainRecordsStatsAndEvent() {
+        when(gitCommandExecutor.maintainRepository("/repos/p1", 1)).thenReturn(maintainedResult());
+
+        RepositoryMaintenanceService.MaintenanceResult result = service.maintain(1L, "/repos/p1");
+
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getPacksBefore()).isEqualTo(24);
+        assertThat(result.getPacksAfter()).isEqualTo(3);
+        assertThat(result.getBytesFreed()).isEqualTo(1024L * 1024);
+
+        verify(pullSyncConfigMapper).updateAfterMaintenance(eq(1L), eq(2048L * 1024), eq(3), eq(0),
+                any(LocalDateTime.class));
+        verify(metricsCollector).recordRepositoryMaintenance(eq("success"), anyLong(), eq(21), eq(1024L * 1024));
+
+        ArgumentCaptor<SyncEvent> event = ArgumentCaptor.forClass(SyncEvent.class);
+        verify(syncEventMapper).insert(event.capture());
+        assertThat(event.getValue().getEventType()).isEqualTo(SyncEvent.EventType.REPO_MAINTENANCE);
+        assertThat(event.getValue().getStatus()).isEqualTo(SyncEvent.Status.SUCCESS);
+        assertThat(event.getValue().getEventData()).containsEntry("packsBefore", 24);
+    }
+
+    @Test
+    void testFailedMaintenanceKeepsStats() {
+        when(gitCommandExecutor.maintainRepository("/repos/p1", 1))
+                .thenReturn(new GitCommandExecutor.GitResult(false, "", "repack failed", 1));
+
+        RepositoryMaintenanceService.MaintenanceResult result = service.maintain(1L, "/repos/p1");
+
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(result.getErrorMessage()).isEqualTo("repack failed");
+        verify(pullSyncConfigMapper, never()).updateAfterMaintenance(any(), any(), any(), any(), any());
+        verify(metricsCollector).recordRepositoryMaintenance(eq("failed"), anyLong(), eq(0), eq(0L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testScheduledRunSkippedWhileSyncsBusy() {
+        when(syncTaskMapper.selectCount(any(QueryWrapper.class))).thenReturn(5L);
+
+        service.runScheduledMaintenance();
+
+        verify(pullSyncConfigMapper, never()).selectMaintenanceCandidates(anyInt(), anyInt(), anyInt(), anyInt());
+        verifyNoInteractions(gitCommandExecutor);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testScheduledRunMaintainsCandidates() {
+        when(syncTaskMapper.selectCount(any(QueryWrapper.class))).thenReturn(0L);
+        when(pullSyncConfigMapper.selectMaintenanceCandidates(50, 10, 1000, 10))
+                .thenReturn(List.of(createConfig(1L, "/repos/p1"), createConfig(2L, "/repos/p2")));
+        when(gitCommandExecutor.maintainRepository(anyString(), eq(1))).thenReturn(maintainedResult());
+
+        service.runScheduledMaintenance();
+
+        verify(gitCommandExecutor).maintainRepository("/repos/p1", 1);
+        verify(gitCommandExecutor).maintainRepository("/repos/p2", 1);
+        verify(syncEventMapper, times(2)).insert(any(SyncEvent.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testScheduledRunStopsWhenBudgetExhausted() {
+        properties.getMaintenance().setBudgetSeconds(0);
+        when(syncTaskMapper.selectCount(any(QueryWrapper.class))).thenReturn(0L);
+        when(pullSyncConfigMapper.selectMaintenanceCandidates(anyInt(), anyInt(), anyInt(), anyInt()))
+                .thenReturn(List.of(createConfig(1L, "/repos/p1")));
+
+        service.runScheduledMaintenance();
+
+        verifyNoInteractions(gitCommandExecutor);
+    }
+
+    @Test
+    void testDisabledMaintenanceDoesNothing() {
+        properties.getMaintenance().setEnabled(false);
+
+        service.runScheduledMaintenance();
+
+        verifyNoInteractions(syncTaskMapper, pullSyncConfigMapper, gitCommandExecutor);
+    }
+
+    private GitCommandExecutor.GitResult maintainedResult() {
+        return new GitCommandExecutor.GitResult(true,
+                "REPO_SIZE_KB_BEFORE=3072\nPACK_COUNT_BEFORE=24\nLOOSE_OBJECTS_BEFORE=1500\n" +
+                "REPO_SIZE_KB_AFTER=2048\nPACK_COUNT_AFTER=3\nLOOSE_OBJECTS_AFTER=0\n", "", 0);
+    }
+
+    private PullSyncConfig createConfig(Long syncProjectId, String localPath) {
+        PullSyncConfig config = new PullSyncConfig();
+        config.setSyncProjectId(syncProjectId);
+        config.setLocalRepoPath(localPath);
+        return config;
+    }
+}
@@ -0,0 +1,139 @@
+package com.gitlab.mirror.server.service;
+
+import com.gitlab.mirror.server.entity.SyncTask;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for StatusPushService
+ *
+ * @author GitLab Mirror Team
+ */
+class StatusPushServiceTest {
+
+    private StatusPushService statusPushService;
+
+    // Events sent to the next recording subscriber
+    private List<String> recordedEvents;
+
+    @BeforeEach
+    void setUp() {
+        statusPushService = new StatusPushService();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        statusPushService.shutdown();
+    }
+
+    @Test
+    void testSubscribeRegistersEmitter() {
+        SseEmitter emitter = statusPushService.subscribe(Set.of(StatusPushService.TOPIC_TASK));
+
+        assertThat(emitter).isNotNull();
+        assertThat(statusPushService.getSubscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testReconnectReplaysMissedEvents() throws InterruptedException {
+        List<String> live = new CopyOnWriteArrayList<>();
+        useRecordingEmitters();
+        recordedEvents = live;
+        statusPushService.subscribe(Set.of());
+
+        for (int i = 0; i < 3; i++) {
+            statusPushService.publishTaskUpdate(createTask());
+        }
+        awaitEvents(live, 4);
+
+        List<String> replayed = new CopyOnWriteArrayList<>();
+        recordedEvents = replayed;
+        statusPushService.subscribe(Set.of(StatusPushService.TOPIC_TASK), 1L);
+
+        assertThat(replayed).hasSize(3);
+        assertThat(replayed.get(1)).startsWith("id:2\nevent:task\n");
+        assertThat(replayed.get(2)).startsWith("id:3\nevent:task\n");
+    }
+
+    @Test
+    void testReconnectWithUnknownEventIdGetsReset() {
+        useRecordingEmitters();
+        recordedEvents = new CopyOnWriteArrayList<>();
+
+        statusPushService.subscribe(Set.of(), 42L);
+
+        assertThat(recordedEvents).hasSize(2);
+        assertThat(recordedEvents.get(1)).startsWith("event:reset\n");
+    }
+
+    @Test
+    void testPublishInsideTransactionDeferredUntilCommit() {
+        statusPushService.subscribe(Set.of());
+        TransactionSynchronizationManager.initSynchronization();
+
+        statusPushService.publish(StatusPushService.TOPIC_SYNC, new HashMap<>());
+
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(1);
+    }
+
+    @Test
+    void testShutdownCompletesSubscribers() {
+        statusPushService.subscribe(null);
+        statusPushService.subscribe(Set.of(StatusPushService.TOPIC_ALERT));
+
+        statusPushService.shutdown();
+
+        assertThat(statusPushService.getSubscriberCount()).isZero();
+    }
+
+    /**
+     * Replace the service with one whose new subscribers record what they are sent
+     */
+    private void useRecordingEmitters() {
+        statusPushService.shutdown();
+        statusPushService = new StatusPushService() {
+            @Override
+            SseEmitter createEmitter() {
+                List<String> events = recordedEvents;
+                return new SseEmitter() {
+                    @Override
+                    public void send(SseEventBuilder builder) {
+                        events.add(builder.build().stream()
+                                .map(part -> String.valueOf(part.getData()))
+                                .collect(Collectors.joining()));
+                    }
+                };
+            }
+        };
+    }
+
+    private void awaitEvents(List<String> events, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (events.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(events).hasSize(count);
+    }
+
+    private SyncTask createTask() {
+        SyncTask task = new SyncTask();
+        task.setId(1L);
+        task.setSyncProjectId(10L);
+        task.setTaskStatus("running");
+        return task;
+    }
+}
@@ -105,11 +105,11 @@ class TargetProjectManagementServiceTest {
                 });
 
         // Mock: 分组存在
-        when(targetGitLabApiClient.groupExists("group1"))
-                .thenReturn(true);
+        when(targetGitLabApiClient.getGroups(null, true))
+                .thenReturn(List.of(createGitLabGroup(10L, "group1")));
 
         // Mock: 创建项目成功
-        when(targetGitLabApiClient.createProject(eq("test-project"), eq("Test Project"), eq("group1")))
+        when(targetGitLabApiClient.createProjectInNamespace(eq("test-project"), eq("Test Project"), eq(10L)))
                 .thenReturn(gitlabProject);
 
         // When: 创建目标项目
@@ -122,11 +122,13 @@ class TargetProjectManagementServiceTest {
         assertThat(result.getPathWithNamespace()).isEqualTo("group1/test-project");
         assertThat(result.getStatus()).isEqualTo(TargetProjectInfo.Status.CREATED);
 
-        // 验证分组检查
-        verify(targetGitLabApiClient).groupExists("group1");
+        // 验证分组从缓存获取，没有逐个检查或创建
+        verify(targetGitLabApiClient).getGroups(null, true);
+        verify(targetGitLabApiClient, never()).groupExists(any());
+        verify(targetGitLabApiClient, never()).createGroupWithParentId(any(), any(), any());
 
         // 验证项目创建
-        verify(targetGitLabApiClient).createProject("test-project", "Test Project", "group1");
+        verify(targetGitLabApiClient).createProjectInNamespace("test-project", "Test Project", 10L);
 
         // 验证数据库操作
         verify(targetProjectInfoMapper).insert(any(TargetProjectInfo.class));
@@ -156,45 +158,42 @@ class TargetProjectManagementServiceTest {
                     return 1;
                 });
 
-        // Mock: 分组层级创建
-        when(targetGitLabApiClient.groupExists("group1")).thenReturn(false);
-        when(targetGitLabApiClient.groupExists("group1/subgroup1")).thenReturn(false);
-        when(targetGitLabApiClient.groupExists("group1/subgroup1/subgroup2")).thenReturn(false);
+        // Mock: 目标GitLab没有任何分组，需要逐级创建
+        when(targetGitLabApiClient.getGroups(null, true)).thenReturn(List.of());
 
         GitLabGroup group1 = new GitLabGroup();
         group1.setId(101L);
         group1.setPath("group1");
-        when(targetGitLabApiClient.createGroup("group1", "Group1", null))
+        when(targetGitLabApiClient.createGroupWithParentId("group1", "Group1", null))
                 .thenReturn(group1);
 
         GitLabGroup subgroup1 = new GitLabGroup();
         subgroup1.setId(102L);
         subgroup1.setPath("subgroup1");
-        when(targetGitLabApiClient.createGroup("subgroup1", "Subgroup1", "group1"))
+        when(targetGitLabApiClient.createGroupWithParentId("subgroup1", "Subgroup1", 101L))
                 .thenReturn(subgroup1);
 
         GitLabGroup subgroup2 = new GitLabGroup();
         subgroup2.setId(103L);
         subgroup2.setPath("subgroup2");
-        when(targetGitLabApiClient.createGroup("subgroup2", "Subgroup2", "group1/subgroup1"))
+        when(targetGitLabApiClient.createGroupWithParentId("subgroup2", "Subgroup2", 102L))
                 .thenReturn(subgroup2);
 
         // Mock: 创建项目成功
         gitlabProject.setPathWithNamespace("group1/subgroup1/subgroup2/test-project");
-        when(targetGitLabApiClient.createProject(eq("test-project"), eq("Test Project"),
-                eq("group1/subgroup1/subgroup2")))
+        when(targetGitLabApiClient.createProjectInNamespace(eq("test-project"), eq("Test Project"), eq(103L)))
                 .thenReturn(gitlabProject);
 
         // When: 创建目标项目
         TargetProjectInfo result = targetProjectManagementService.createTargetProject(100L);
 
         // Then: 验证分组层级创建
-        verify(targetGitLabApiClient).createGroup("group1", "Group1", null);
-        verify(targetGitLabApiClient).createGroup("subgroup1", "Subgroup1", "group1");
-        verify(targetGitLabApiClient).createGroup("subgroup2", "Subgroup2", "group1/subgroup1");
+        verify(targetGitLabApiClient).createGroupWithParentId("group1", "Group1", null);
+        verify(targetGitLabApiClient).createGroupWithParentId("subgroup1", "Subgroup1", 101L);
+        verify(targetGitLabApiClient).createGroupWithParentId("subgroup2", "Subgroup2", 102L);
 
         // 验证项目创建
-        verify(targetGitLabApiClient).createProject("test-project", "Test Project", "group1/subgroup1/subgroup2");
+        verify(targetGitLabApiClient).createProjectInNamespace("test-project", "Test Project", 103L);
 
         assertThat(result).isNotNull();
         assertThat(result.getStatus()).isEqualTo(TargetProjectInfo.Status.CREATED);
@@ -229,7 +228,7 @@ class TargetProjectManagementServiceTest {
         assertThat(result.getStatus()).isEqualTo(TargetProjectInfo.Status.CREATED);
 
         // 验证没有调用GitLab API创建项目
-        verify(targetGitLabApiClient, never()).createProject(any(), any(), any());
+        verify(targetGitLabApiClient, never()).createProjectInNamespace(any(), any(), any());
     }
 
     /**
@@ -253,10 +252,10 @@ class TargetProjectManagementServiceTest {
                 .thenReturn(existingTarget);
 
         // Mock: 分组存在
-        when(targetGitLabApiClient.groupExists("group1")).thenReturn(true);
+        when(targetGitLabApiClient.getGroups(null, true)).thenReturn(List.of(createGitLabGroup(10L, "group1")));
 
         // Mock: 这次创建成功
-        when(targetGitLabApiClient.createProject(eq("test-project"), eq("Test Project"), eq("group1")))
+        when(targetGitLabApiClient.createProjectInNamespace(eq("test-project"), eq("Test Project"), eq(10L)))
                 .thenReturn(gitlabProject);
 
         // When: 重试创建目标项目
@@ -294,10 +293,10 @@ class TargetProjectManagementServiceTest {
                 });
 
         // Mock: 分组存在
-        when(targetGitLabApiClient.groupExists("group1")).thenReturn(true);
+        when(targetGitLabApiClient.getGroups(null, true)).thenReturn(List.of(createGitLabGroup(10L, "group1")));
 
         // Mock: 创建项目失败
-        when(targetGitLabApiClient.createProject(any(), any(), any()))
+        when(targetGitLabApiClient.createProjectInNamespace(any(), any(), any()))
                 .thenThrow(new GitLabClientException("API error", null));
 
         // When & Then: 创建失败应抛出异常
@@ -404,18 +403,18 @@ class TargetProjectManagementServiceTest {
                     return 1;
                 });
 
-        when(targetGitLabApiClient.groupExists(any())).thenReturn(true);
+        when(targetGitLabApiClient.getGroups(null, true)).thenReturn(List.of(createGitLabGroup(10L, "group1")));
 
         // Mock project creation
         GitLabProject project1 = createGitLabProject(2001L, "group1/project1");
         GitLabProject project2 = createGitLabProject(2002L, "group1/project2");
         GitLabProject project3 = createGitLabProject(2003L, "group1/project3");
 
-        when(targetGitLabApiClient.createProject(eq("project1"), any(), eq("group1")))
+        when(targetGitLabApiClient.createProjectInNamespace(eq("project1"), any(), eq(10L)))
                 .thenReturn(project1);
-        when(targetGitLabApiClient.createProject(eq("project2"), any(), eq("group1")))
+        when(targetGitLabApiClient.createProjectInNamespace(eq("project2"), any(), eq(10L)))
                 .thenReturn(project2);
-        when(targetGitLabApiClient.createProject(eq("project3"), any(), eq("group1")))
+        when(targetGitLabApiClient.createProjectInNamespace(eq("project3"), any(), eq(10L)))
                 .thenReturn(project3);
 
         // When: 批量创建
@@ -426,9 +425,97 @@ class TargetProjectManagementServiceTest {
         assertThat(results).allMatch(info -> info.getStatus().equals(TargetProjectInfo.Status.CREATED));
 
         // 验证所有项目都被创建
-        verify(targetGitLabApiClient).createProject(eq("project1"), any(), eq("group1"));
-        verify(targetGitLabApiClient).createProject(eq("project2"), any(), eq("group1"));
-        verify(targetGitLabApiClient).createProject(eq("project3"), any(), eq("group1"));
+        verify(targetGitLabApiClient).createProjectInNamespace(eq("project1"), any(), eq(10L));
+        verify(targetGitLabApiClient).createProjectInNamespace(eq("project2"), any(), eq(10L));
+        verify(targetGitLabApiClient).createProjectInNamespace(eq("project3"), any(), eq(10L));
+
+        // 分组缓存只加载一次
+        verify(targetGitLabApiClient, times(1)).getGroups(null, true);
+    }
+
+    /**
+     * 测试批量创建同一新分组下的项目时分组只创建一次
+     */
+    @Test
+    void testBatchCreateTargetProjects_SharedNewGroupCreatedOnce() {
+        // Given: 三个项目位于目标GitLab尚不存在的同一分组
+        List<Long> syncProjectIds = Arrays.asList(100L, 101L, 102L);
+
+        when(sourceProjectInfoMapper.selectOne(any(QueryWrapper.class)))
+                .thenReturn(createSourceProjectInfo(100L, "group1/project1"),
+                        createSourceProjectInfo(101L, "group1/project2"),
+                        createSourceProjectInfo(102L, "group1/project3"));
+        when(targetProjectInfoMapper.selectOne(any(QueryWrapper.class)))
+                .thenReturn(null);
+
+        when(targetGitLabApiClient.getGroups(null, true)).thenReturn(List.of());
+        when(targetGitLabApiClient.createGroupWithParentId("group1", "Group1", null))
+                .thenReturn(createGitLabGroup(10L, "group1"));
+        when(targetGitLabApiClient.createProjectInNamespace(any(), any(), eq(10L)))
+                .thenAnswer(invocation -> createGitLabProject(2000L, "group1/" + invocation.getArgument(0)));
+
+        // When: 批量创建
+        List<TargetProjectInfo> results = targetProjectManagementService.batchCreateTargetProjects(syncProjectIds);
+
+        // Then: 分组只创建一次，所有项目创建在该分组下
+        assertThat(results).hasSize(3);
+        verify(targetGitLabApiClient, times(1)).createGroupWithParentId("group1", "Group1", null);
+        verify(targetGitLabApiClient, times(3)).createProjectInNamespace(any(), any(), eq(10L));
+    }
+
+    /**
+     * 测试分组已被其他进程创建时按路径查询并缓存
+     */
+    @Test
+    void testCreateTargetProject_GroupCreatedConcurrently() {
+        // Given: 缓存中没有分组，创建时报已存在
+        when(sourceProjectInfoMapper.selectOne(any(QueryWrapper.class)))
+                .thenReturn(sourceProjectInfo);
+        when(targetProjectInfoMapper.selectOne(any(QueryWrapper.class)))
+                .thenReturn(null);
+
+        when(targetGitLabApiClient.getGroups(null, true)).thenReturn(List.of());
+        when(targetGitLabApiClient.createGroupWithParentId("group1", "Group1", null))
+                .thenThrow(new GitLabClientException("Failed to save group {:path=>[\"has already been taken\"]}", 400, ""));
+        when(targetGitLabApiClient.getGroup("group1")).thenReturn(createGitLabGroup(10L, "group1"));
+        when(targetGitLabApiClient.createProjectInNamespace(eq("test-project"), eq("Test Project"), eq(10L)))
+                .thenReturn(gitlabProject);
+
+        // When: 创建两次，第二次命中缓存
+        targetProjectManagementService.createTargetProject(100L);
+        targetProjectManagementService.createTargetProject(100L);
+
+        // Then: 分组只查询一次
+        verify(targetGitLabApiClient, times(1)).createGroupWithParentId(any(), any(), any());
+        verify(targetGitLabApiClient, times(1)).getGroup("group1");
+        verify(targetGitLabApiClient, times(2)).createProjectInNamespace("test-project", "Test Project", 10L);
+    }
+
+    /**
+     * 测试缓存的分组已被删除时重建分组
+     */
+    @Test
+    void testCreateTargetProject_StaleCachedGroupRecreated() {
+        // Given: 缓存中的分组已在目标GitLab被删除
+        when(sourceProjectInfoMapper.selectOne(any(QueryWrapper.class)))
+                .thenReturn(sourceProjectInfo);
+        when(targetProjectInfoMapper.selectOne(any(QueryWrapper.class)))
+                .thenReturn(null);
+
+        when(targetGitLabApiClient.getGroups(null, true)).thenReturn(List.of(createGitLabGroup(10L, "group1")));
+        when(targetGitLabApiClient.createProjectInNamespace("test-project", "Test Project", 10L))
+                .thenThrow(new GitLabClientException("404 Namespace Not Found", 404, ""));
+        when(targetGitLabApiClient.createGroupWithParentId("group1", "Group1", null))
+                .thenReturn(createGitLabGroup(11L, "group1"));
+        when(targetGitLabApiClient.createProjectInNamespace("test-project", "Test Project", 11L))
+                .thenReturn(gitlabProject);
+
+        // When: 创建目标项目
+        TargetProjectInfo result = targetProjectManagementService.createTargetProject(100L);
+
+        // Then: 分组被重建，项目创建在新分组下
+        assertThat(result.getStatus()).isEqualTo(TargetProjectInfo.Status.CREATED);
+        verify(targetGitLabApiClient).createProjectInNamespace("test-project", "Test Project", 11L);
     }
 
     /**
@@ -494,6 +581,14 @@ class TargetProjectManagementServiceTest {
         return project;
     }
 
+    private GitLabGroup createGitLabGroup(Long id, String fullPath) {
+        GitLabGroup group = new GitLabGroup();
+        group.setId(id);
+        group.setFullPath(fullPath);
+        group.setPath(fullPath.substring(fullPath.lastIndexOf('/') + 1));
+        return group;
+    }
+
     private TargetProjectInfo createTargetProjectInfo(Long syncProjectId, String pathWithNamespace, String status) {
         TargetProjectInfo info = new TargetProjectInfo();
         info.setId(syncProjectId);
@@ -0,0 +1,153 @@
+package com.gitlab.mirror.server.service.auth;
+
+import com.gitlab.mirror.server.config.AuthProperties;
+import com.gitlab.mirror.server.entity.AuthToken;
+import com.gitlab.mirror.server.entity.User;
+import com.gitlab.mirror.server.mapper.AuthTokenMapper;
+import com.gitlab.mirror.server.mapper.UserMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AuthenticationService token validation cache
+ *
+ * @author GitLab Mirror Team
+ */
+@ExtendWith(MockitoExtension.class)
+class AuthenticationServiceTest {
+
+    private static final String TOKEN = "token-1";
+
+    @Mock
+    private UserMapper userMapper;
+
+    @Mock
+    private AuthTokenMapper authTokenMapper;
+
+    @Mock
+    private BruteForceProtectionService bruteForceProtectionService;
+
+    @Mock
+    private LoginAuditService loginAuditService;
+
+    private AuthProperties authProperties;
+
+    private AuthenticationService service;
+
+    @BeforeEach
+    void setUp() {
+        authProperties = new AuthProperties();
+        service = new AuthenticationService(userMapper, authTokenMapper, bruteForceProtectionService,
+                loginAuditService, authProperties);
+    }
+
+    @Test
+    void testValidateToken_CachedAfterFirstLookup() {
+        givenToken(LocalDateTime.now().plusDays(1));
+
+        assertThat(service.validateToken(TOKEN)).isNotNull();
+        assertThat(service.validateToken(TOKEN)).isNotNull();
+        assertThat(service.validateToken(TOKEN)).isNotNull();
+
+        verify(authTokenMapper, times(1)).selectByToken(TOKEN);
+        verify(userMapper, times(1)).selectById(1L);
+        verify(authTokenMapper, never()).updateLastUsedAt(any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlushLastUsed_CoalescesIntoOneBatchUpdate() {
+        givenToken(LocalDateTime.now().plusDays(1));
+        service.validateToken(TOKEN);
+        service.validateToken(TOKEN);
+
+        service.flushLastUsed();
+        service.flushLastUsed();
+
+        ArgumentCaptor<Map<String, LocalDateTime>> batch = ArgumentCaptor.forClass(Map.class);
+        verify(authTokenMapper, times(1)).updateLastUsedAtBatch(batch.capture());
+        assertThat(batch.getValue()).containsOnlyKeys(TOKEN);
+    }
+
+    @Test
+    void testLogout_InvalidatesCachedToken() {
+        AuthToken authToken = givenToken(LocalDateTime.now().plusDays(1));
+        service.validateToken(TOKEN);
+
+        service.logout(TOKEN);
+        when(authTokenMapper.selectByToken(TOKEN)).thenReturn(null);
+
+        assertThat(service.validateToken(TOKEN)).isNull();
+        verify(authTokenMapper).deleteById(authToken.getId());
+
+        service.flushLastUsed();
+        verify(authTokenMapper, never()).updateLastUsedAtBatch(anyMap());
+    }
+
+    @Test
+    void testValidateToken_EachRequestGetsItsOwnUser() {
+        givenToken(LocalDateTime.now().plusDays(1));
+
+        User first = service.validateToken(TOKEN);
+        first.setDisplayName("changed by request");
+        User second = service.validateToken(TOKEN);
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getId()).isEqualTo(1L);
+        assertThat(second.getDisplayName()).isNotEqualTo("changed by request");
+        verify(userMapper, times(1)).selectById(1L);
+    }
+
+    @Test
+    void testValidateToken_CacheNeverOutlivesTokenExpiry() throws InterruptedException {
+        givenToken(LocalDateTime.now().plusNanos(200_000_000));
+        assertThat(service.validateToken(TOKEN)).isNotNull();
+
+        Thread.sleep(300);
+
+        assertThat(service.validateToken(TOKEN)).isNull();
+        verify(authTokenMapper, times(2)).selectByToken(TOKEN);
+    }
+
+    @Test
+    void testValidateToken_CacheDisabledWithZeroTtl() {
+        authProperties.getTokenCache().setTtlSeconds(0);
+        givenToken(LocalDateTime.now().plusDays(1));
+
+        service.validateToken(TOKEN);
+        service.validateToken(TOKEN);
+
+        verify(authTokenMapper, times(2)).selectByToken(TOKEN);
+    }
+
+    private AuthToken givenToken(LocalDateTime expiresAt) {
+        AuthToken authToken = new AuthToken();
+        authToken.setId(10L);
+        authToken.setUserId(1L);
+        authToken.setToken(TOKEN);
+        authToken.setExpiresAt(expiresAt);
+        when(authTokenMapper.selectByToken(TOKEN)).thenReturn(authToken);
+        lenient().when(userMapper.selectById(1L)).thenReturn(user());
+        return authToken;
+    }
+
+    private User user() {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("admin");
+        user.setEnabled(true);
+        return user;
+    }
+}
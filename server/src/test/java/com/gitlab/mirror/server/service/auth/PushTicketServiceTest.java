@@ -0,0 +1,52 @@
+package com.gitlab.mirror.server.service.auth;
+
+import com.gitlab.mirror.server.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for PushTicketService
+ *
+ * @author GitLab Mirror Team
+ */
+class PushTicketServiceTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private PushTicketService pushTicketService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        pushTicketService = new PushTicketService(nanos::get);
+        user = new User();
+        user.setId(1L);
+        user.setUsername("admin");
+    }
+
+    @Test
+    void testTicketIsSingleUse() {
+        String ticket = pushTicketService.issue(user);
+
+        assertThat(pushTicketService.redeem(ticket)).isSameAs(user);
+        assertThat(pushTicketService.redeem(ticket)).isNull();
+    }
+
+    @Test
+    void testExpiredTicketIsRejected() {
+        String ticket = pushTicketService.issue(user);
+
+        nanos.addAndGet(PushTicketService.TICKET_TTL.toNanos() + 1);
+
+        assertThat(pushTicketService.redeem(ticket)).isNull();
+    }
+
+    @Test
+    void testUnknownTicketIsRejected() {
+        assertThat(pushTicketService.redeem("unknown")).isNull();
+        assertThat(pushTicketService.redeem(null)).isNull();
+    }
+}
@@ -0,0 +1,118 @@
+package com.gitlab.mirror.server.service.metrics;
+
+import com.gitlab.mirror.server.config.properties.GitLabMirrorProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for GitLabMirrorMetricsCollector
+ *
+ * @author GitLab Mirror Team
+ */
+class GitLabMirrorMetricsCollectorTest {
+
+    private MeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testAggregateModeHasNoProjectKeySeries() {
+        GitLabMirrorMetricsCollector collector = createCollector(false, 2);
+
+        collector.incrementSyncEvent("sync_finished", "success", "group/p1");
+        collector.recordComprehensiveSyncMetrics("group/p1", "sync_finished", "success",
+                "scheduled", "pull", 1, 2, 0, 5, 120);
+        collector.updateProjectMetrics("group/p1", 120, 1700000000L, 0);
+
+        assertThat(registry.find("gitlab_mirror_sync_events_total").counter().count()).isEqualTo(1.0);
+        assertThat(registry.find("gitlab_mirror_project_commit_changes_total").counter().count()).isEqualTo(5.0);
+        assertThat(registry.find("gitlab_mirror_project_delay_seconds").gauge()).isNull();
+        assertThat(registry.getMeters())
+                .noneMatch(meter -> meter.getId().getTag("project_key") != null);
+
+        GitLabMirrorMetricsCollector.ProjectMetricsSnapshot snapshot = collector.getProjectSnapshot("group/p1");
+        assertThat(snapshot.getDelaySeconds()).isEqualTo(120);
+        assertThat(snapshot.getBranchChanges()).isEqualTo(3);
+        assertThat(snapshot.getCommitsPushed()).isEqualTo(5);
+        assertThat(snapshot.getSyncTasks()).isEqualTo(1);
+    }
+
+    @Test
+    void testDelayBucketsAndTopDelayed() {
+        GitLabMirrorMetricsCollector collector = createCollector(false, 2);
+
+        Map<String, Long> delays = new HashMap<>();
+        delays.put("group/p1", 60L);
+        delays.put("group/p2", 4000L);
+        delays.put("group/p3", 100000L);
+        delays.put("group/p4", 0L);
+        collector.updateDelayDistribution(delays);
+
+        assertThat(registry.find("gitlab_mirror_projects_by_delay").tag("le", "300").gauge().value()).isEqualTo(2.0);
+        assertThat(registry.find("gitlab_mirror_projects_by_delay").tag("le", "21600").gauge().value()).isEqualTo(3.0);
+        assertThat(registry.find("gitlab_mirror_projects_by_delay").tag("le", "+Inf").gauge().value()).isEqualTo(4.0);
+
+        assertThat(registry.find("gitlab_mirror_top_delayed_project_seconds").gauges()).hasSize(2);
+        assertThat(registry.find("gitlab_mirror_top_delayed_project_seconds")
+                .tag("rank", "1").gauge().value()).isEqualTo(100000.0);
+
+        // Ranking change only updates values, series are fixed per rank
+        delays.put("group/p1", 200000L);
+        collector.updateDelayDistribution(delays);
+
+        assertThat(registry.find("gitlab_mirror_top_delayed_project_seconds").gauges()).hasSize(2);
+        assertThat(registry.find("gitlab_mirror_top_delayed_project_seconds")
+                .tag("rank", "1").gauge().value()).isEqualTo(200000.0);
+        assertThat(registry.find("gitlab_mirror_top_delayed_project_seconds")
+                .tag("rank", "2").gauge().value()).isEqualTo(100000.0);
+        assertThat(registry.getMeters())
+                .noneMatch(meter -> meter.getId().getTag("project_key") != null);
+    }
+
+    @Test
+    void testUnsetTopDelayedCountUsesDefault() {
+        GitLabMirrorProperties properties = new GitLabMirrorProperties();
+        properties.getMetrics().setTopDelayedCount(null);
+
+        new GitLabMirrorMetricsCollector(registry, properties);
+
+        assertThat(registry.find("gitlab_mirror_top_delayed_project_seconds").gauges()).hasSize(10);
+    }
+
+    @Test
+    void testRemoveProjectMetricsDeregistersSeries() {
+        GitLabMirrorMetricsCollector collector = createCollector(true, 0);
+
+        collector.updateProjectMetrics("group/p1", 30, 0, 1);
+        collector.incrementSyncEvent("sync_failed", "failed", "group/p1");
+        collector.updateProjectMetrics("group/p2", 10, 0, 0);
+        assertThat(registry.find("gitlab_mirror_project_delay_seconds").tag("project_key", "group/p1").gauge())
+                .isNotNull();
+
+        collector.retainProjects(List.of("group/p2"));
+
+        assertThat(registry.getMeters())
+                .noneMatch(meter -> "group/p1".equals(meter.getId().getTag("project_key")));
+        assertThat(registry.find("gitlab_mirror_project_delay_seconds").tag("project_key", "group/p2").gauge())
+                .isNotNull();
+        assertThat(collector.getProjectSnapshot("group/p1")).isNull();
+    }
+
+    private GitLabMirrorMetricsCollector createCollector(boolean perProjectSeries, int topDelayedCount) {
+        GitLabMirrorProperties properties = new GitLabMirrorProperties();
+        properties.getMetrics().setPerProjectSeries(perProjectSeries);
+        properties.getMetrics().setTopDelayedCount(topDelayedCount);
+        return new GitLabMirrorMetricsCollector(registry, properties);
+    }
+}
@@ -0,0 +1,148 @@
+package com.gitlab.mirror.server.service.metrics;
+
+import com.gitlab.mirror.server.controller.dto.ProjectListDTO;
+import com.gitlab.mirror.server.entity.SyncProject;
+import com.gitlab.mirror.server.mapper.SyncProjectMapper;
+import com.gitlab.mirror.server.service.DashboardStatsService;
+import com.gitlab.mirror.server.service.ProjectListService;
+import com.gitlab.mirror.server.service.monitor.MetricsExporter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MetricsScheduler
+ *
+ * @author GitLab Mirror Team
+ */
+@ExtendWith(MockitoExtension.class)
+class MetricsSchedulerTest {
+
+    @Mock
+    private GitLabMirrorMetricsCollector metricsCollector;
+
+    @Mock
+    private SyncProjectMapper syncProjectMapper;
+
+    @Mock
+    private ProjectListService projectListService;
+
+    @Mock
+    private MetricsExporter metricsExporter;
+
+    @Mock
+    private DashboardStatsService dashboardStatsService;
+
+    private MetricsScheduler metricsScheduler;
+
+    @BeforeEach
+    void setUp() {
+        metricsScheduler = new MetricsScheduler(metricsCollector, syncProjectMapper,
+                projectListService, metricsExporter, dashboardStatsService);
+    }
+
+    @Test
+    void testFlushWithoutChangesSkipsDatabase() {
+        metricsScheduler.flushDirtyProjects();
+
+        verifyNoInteractions(syncProjectMapper, projectListService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlushWithoutChangesAgesDelayLevels() {
+        SyncProject project = createProject(1L, "group/p1");
+        project.setLastSyncAt(LocalDateTime.now().minusHours(2));
+        when(syncProjectMapper.selectBatchIds(any(Collection.class))).thenReturn(List.of(project));
+        when(projectListService.buildProjectListDTO(any())).thenReturn(createDTO(0L));
+
+        metricsScheduler.markDirty(1L);
+        metricsScheduler.flushDirtyProjects();
+        clearInvocations(metricsCollector, syncProjectMapper);
+
+        // Nothing changed, but the project has not synced for two hours
+        metricsScheduler.flushDirtyProjects();
+
+        verifyNoInteractions(syncProjectMapper);
+        verify(metricsCollector).updateDelayedProjects(argThat(levels -> levels.get("1h") == 1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlushLoadsOnlyDirtyProjects() {
+        when(syncProjectMapper.selectBatchIds(any(Collection.class)))
+                .thenReturn(List.of(createProject(1L, "group/p1")));
+        when(projectListService.buildProjectListDTO(any())).thenReturn(createDTO(120L));
+        when(dashboardStatsService.getStatusCounts()).thenReturn(Map.of("active", 10L));
+
+        metricsScheduler.markDirty(1L);
+        metricsScheduler.markDirty(1L);
+        metricsScheduler.flushDirtyProjects();
+
+        verify(syncProjectMapper).selectBatchIds(List.of(1L));
+        verify(syncProjectMapper, never()).selectList(any());
+        verify(metricsCollector).updateProjectMetrics(eq("group/p1"), eq(120L), anyLong(), eq(0));
+        verify(metricsCollector).updateDelayDistribution(Map.of("group/p1", 120L));
+        verify(metricsExporter).updateSyncStatusCounts(Map.of("active", 10L));
+        assertThat(metricsScheduler.getDirtyCount()).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDeletedProjectDropsSeriesOnFlush() {
+        when(syncProjectMapper.selectBatchIds(any(Collection.class)))
+                .thenReturn(List.of(createProject(1L, "group/p1")))
+                .thenReturn(List.of());
+        when(projectListService.buildProjectListDTO(any())).thenReturn(createDTO(0L));
+
+        metricsScheduler.markDirty(1L);
+        metricsScheduler.flushDirtyProjects();
+        metricsScheduler.markDirty(1L);
+        metricsScheduler.flushDirtyProjects();
+
+        verify(metricsCollector).removeProjectMetrics("group/p1");
+        verify(metricsExporter).removeProjectMetrics("group/p1");
+    }
+
+    @Test
+    void testReconcileClearsPendingChanges() {
+        when(syncProjectMapper.selectList(null)).thenReturn(List.of(createProject(1L, "group/p1")));
+        when(projectListService.buildProjectListDTO(any())).thenReturn(createDTO(60L));
+
+        metricsScheduler.markDirty(1L);
+        metricsScheduler.collectProjectMetrics();
+
+        verify(metricsCollector).retainProjects(List.of("group/p1"));
+        verify(metricsExporter).updateSyncStatusCounts(Map.of("active", 1L));
+        assertThat(metricsScheduler.getDirtyCount()).isZero();
+    }
+
+    private SyncProject createProject(Long id, String projectKey) {
+        SyncProject project = new SyncProject();
+        project.setId(id);
+        project.setProjectKey(projectKey);
+        project.setSyncStatus("active");
+        return project;
+    }
+
+    private ProjectListDTO createDTO(Long delaySeconds) {
+        ProjectListDTO dto = new ProjectListDTO();
+        dto.setDelaySeconds(delaySeconds);
+        dto.setConsecutiveFailures(0);
+        return dto;
+    }
+}
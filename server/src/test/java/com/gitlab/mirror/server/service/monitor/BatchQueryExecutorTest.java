@@ -4,16 +4,22 @@ import com.gitlab.mirror.common.model.GitLabProject;
 import com.gitlab.mirror.common.model.RepositoryBranch;
 import com.gitlab.mirror.server.client.RetryableGitLabClient;
 import com.gitlab.mirror.server.client.graphql.GitLabGraphQLClient;
+import com.gitlab.mirror.server.config.properties.GitLabMirrorProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -38,7 +44,7 @@ class BatchQueryExecutorTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        batchQueryExecutor = new BatchQueryExecutor(sourceClient, targetClient, graphQLClient);
+        batchQueryExecutor = new BatchQueryExecutor(sourceClient, targetClient, graphQLClient, new GitLabMirrorProperties());
     }
 
     @Test
@@ -86,6 +92,101 @@ class BatchQueryExecutorTest {
         verify(sourceClient).get(contains("statistics=true"), eq(GitLabProject[].class));
     }
 
+    @Test
+    void testQuerySourceProjects_fullListingWalksIdRangesInParallel() {
+        // 5000 projects: the ID space is split into ranges, each walked with id_after keyset paging
+        int totalProjects = 5000;
+        when(sourceClient.get(anyString(), eq(GitLabProject[].class))).thenAnswer(invocation -> {
+            UriComponents uri = UriComponentsBuilder.fromUriString(invocation.getArgument(0)).build();
+            if ("desc".equals(uri.getQueryParams().getFirst("sort"))) {
+                return createMockProjects(1, totalProjects);
+            }
+            int perPage = Integer.parseInt(uri.getQueryParams().getFirst("per_page"));
+            long idAfter = Long.parseLong(uri.getQueryParams().getFirst("id_after"));
+            String idBeforeParam = uri.getQueryParams().getFirst("id_before");
+            long idBefore = idBeforeParam != null ? Long.parseLong(idBeforeParam) : Long.MAX_VALUE;
+            long last = Math.min(Math.min(idBefore - 1, totalProjects), idAfter + perPage);
+            return last > idAfter ? createMockProjects((int) (last - idAfter), (int) idAfter + 1) : new GitLabProject[0];
+        });
+
+        List<GitLabProject> result = batchQueryExecutor.querySourceProjects(null, 100);
+
+        assertThat(result).hasSize(totalProjects);
+        assertThat(result).extracting(GitLabProject::getId).doesNotHaveDuplicates();
+        verify(sourceClient, never()).get(contains("&page="), eq(GitLabProject[].class));
+        verify(sourceClient, atLeast(5)).get(contains("id_before="), eq(GitLabProject[].class));
+    }
+
+    @Test
+    void testQuerySourceProjects_failedPageFailsListingInsteadOfTruncating() {
+        // The second page of the first ID range keeps failing
+        when(sourceClient.get(anyString(), eq(GitLabProject[].class))).thenAnswer(invocation -> {
+            String path = invocation.getArgument(0);
+            if (path.contains("sort=desc")) {
+                return createMockProjects(1, 3000);
+            }
+            if (path.contains("id_after=0&")) {
+                return createMockProjects(100, 1);
+            }
+            if (path.contains("id_after=100&")) {
+                throw new RuntimeException("GitLab unavailable");
+            }
+            return new GitLabProject[0];
+        });
+
+        assertThatThrownBy(() -> batchQueryExecutor.querySourceProjects(null, 100))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Failed to query projects");
+    }
+
+    @Test
+    void testStreamSourceProjects_handlesPagesOnCallingThread() {
+        when(sourceClient.get(anyString(), eq(GitLabProject[].class))).thenAnswer(invocation -> {
+            String path = invocation.getArgument(0);
+            if (path.contains("sort=desc")) {
+                return createMockProjects(1, 250);
+            }
+            long idAfter = Long.parseLong(UriComponentsBuilder.fromUriString(path).build()
+                    .getQueryParams().getFirst("id_after"));
+            return idAfter < 250 ? createMockProjects((int) Math.min(100, 250 - idAfter), (int) idAfter + 1)
+                    : new GitLabProject[0];
+        });
+        Thread caller = Thread.currentThread();
+        List<Integer> pageSizes = new ArrayList<>();
+
+        int total = batchQueryExecutor.streamSourceProjects(null, 100, page -> {
+            assertThat(Thread.currentThread()).isSameAs(caller);
+            pageSizes.add(page.size());
+        });
+
+        assertThat(total).isEqualTo(250);
+        assertThat(pageSizes).containsExactly(100, 100, 50);
+    }
+
+    @Test
+    void testStreamSourceProjects_handlerFailureStopsListing() throws InterruptedException {
+        AtomicInteger pagesFetched = new AtomicInteger();
+        when(sourceClient.get(anyString(), eq(GitLabProject[].class))).thenAnswer(invocation -> {
+            String path = invocation.getArgument(0);
+            if (path.contains("sort=desc")) {
+                return createMockProjects(1, 1_000_000);
+            }
+            long idAfter = Long.parseLong(UriComponentsBuilder.fromUriString(path).build()
+                    .getQueryParams().getFirst("id_after"));
+            pagesFetched.incrementAndGet();
+            return createMockProjects(100, (int) idAfter + 1);
+        });
+
+        assertThatThrownBy(() -> batchQueryExecutor.streamSourceProjects(null, 100, page -> {
+            throw new IllegalStateException("Database unavailable");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // Listing threads stop once the bounded buffer fills up
+        int fetchedAtFailure = pagesFetched.get();
+        Thread.sleep(300);
+        assertThat(pagesFetched.get()).isLessThanOrEqualTo(fetchedAtFailure + 20);
+    }
+
     @Test
     void testGetProjectDetails_success() {
         // Mock project
@@ -1,5 +1,6 @@
 package com.gitlab.mirror.server.service.monitor;
 
+import com.gitlab.mirror.server.config.properties.GitLabMirrorProperties;
 import com.gitlab.mirror.server.entity.MonitorAlert;
 import com.gitlab.mirror.server.entity.SyncProject;
 import com.gitlab.mirror.server.mapper.MonitorAlertMapper;
@@ -16,10 +17,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -43,13 +47,20 @@ class MetricsExporterTest {
     @BeforeEach
     void setUp() {
         meterRegistry = new SimpleMeterRegistry();
-        metricsExporter = new MetricsExporter(
+        metricsExporter = createExporter(false);
+    }
+
+    private MetricsExporter createExporter(boolean perProjectSeries) {
+        GitLabMirrorProperties properties = new GitLabMirrorProperties();
+        properties.getMetrics().setPerProjectSeries(perProjectSeries);
+        MetricsExporter exporter = new MetricsExporter(
                 meterRegistry,
-                syncProjectMapper,
                 monitorAlertMapper,
-                cacheManager
+                cacheManager,
+                properties
         );
-        metricsExporter.initMetrics();
+        exporter.initMetrics();
+        return exporter;
     }
 
     @Test
@@ -65,21 +76,34 @@ class MetricsExporterTest {
     @Test
     void testRefreshSystemMetrics() {
         // Mock data
-        when(syncProjectMapper.selectCount(null)).thenReturn(100L);
-        when(syncProjectMapper.selectCount(any())).thenReturn(20L);
         when(monitorAlertMapper.selectCount(any())).thenReturn(5L);
 
         // Refresh metrics
         metricsExporter.refreshSystemMetrics();
 
-        // Verify metrics values - the gauge should reflect the last set value
-        // Since selectCount(any()) returns 20L for all status queries,
-        // the total will be overwritten by the last status query
-        assertThat(meterRegistry.find("gitlab_mirror_projects_total").gauge().value())
-                .isGreaterThan(0.0);
-        // Verify status counts are updated
+        // Alert counts are queried, project statuses are not re-counted on scans
+        assertThat(meterRegistry.find("gitlab_mirror_alerts_active").tag("severity", "critical").gauge().value())
+                .isEqualTo(5.0);
+        verifyNoInteractions(syncProjectMapper);
+    }
+
+    @Test
+    void testUpdateSyncStatusCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        counts.put("active", 20L);
+        counts.put("failed", 3L);
+        counts.put("unknown", 1L);
+
+        metricsExporter.updateSyncStatusCounts(counts);
+
+        assertThat(meterRegistry.find("gitlab_mirror_projects_total").gauge().value()).isEqualTo(24.0);
         assertThat(meterRegistry.find("gitlab_mirror_sync_status").tag("status", "active").gauge().value())
                 .isEqualTo(20.0);
+
+        // Statuses missing from the update drop to zero
+        metricsExporter.updateSyncStatusCounts(Map.of("failed", 3L));
+        assertThat(meterRegistry.find("gitlab_mirror_sync_status").tag("status", "active").gauge().value())
+                .isEqualTo(0.0);
     }
 
     @Test
@@ -122,7 +146,35 @@ class MetricsExporterTest {
         diff.setSource(source);
         diff.setTarget(target);
 
-        // Update project metrics
+        // Update project metrics (default mode: no per-project series)
+        metricsExporter.updateProjectMetrics("group1/project-a", diff);
+
+        assertThat(meterRegistry.find("gitlab_mirror_project_commits").gauge()).isNull();
+        assertThat(metricsExporter.getProjectMetrics("group1/project-a"))
+                .containsEntry("sourceCommits", 100)
+                .containsEntry("targetSizeBytes", 1020000L);
+        assertThat(meterRegistry.find("gitlab_mirror_repository_size_bytes_total")
+                .tag("type", "source").gauge().value()).isEqualTo(1024000.0);
+    }
+
+    @Test
+    void testPerProjectSeriesRegisteredAndRemoved() {
+        meterRegistry = new SimpleMeterRegistry();
+        metricsExporter = createExporter(true);
+
+        ProjectSnapshot source = new ProjectSnapshot();
+        source.setCommitCount(100);
+        source.setSizeBytes(1024000L);
+
+        ProjectSnapshot target = new ProjectSnapshot();
+        target.setCommitCount(95);
+        target.setSizeBytes(1020000L);
+
+        ProjectDiff diff = new ProjectDiff();
+        diff.setProjectKey("group1/project-a");
+        diff.setSource(source);
+        diff.setTarget(target);
+
         metricsExporter.updateProjectMetrics("group1/project-a", diff);
 
         // Verify project-level metrics are registered
@@ -135,6 +187,11 @@ class MetricsExporterTest {
                 .tag("project", "group1/project-a")
                 .tag("type", "target")
                 .gauge()).isNotNull();
+
+        // Removing the project deregisters its meters
+        metricsExporter.retainProjects(List.of());
+        assertThat(meterRegistry.find("gitlab_mirror_project_commits").gauges()).isEmpty();
+        assertThat(metricsExporter.getProjectMetrics("group1/project-a")).isNull();
     }
 
     @Test
@@ -176,9 +233,7 @@ class MetricsExporterTest {
         metricsExporter.refreshProjectMetrics(java.util.Collections.singletonList(diff1));
 
         // Verify metrics are updated for cached projects
-        assertThat(meterRegistry.find("gitlab_mirror_project_commits")
-                .tag("project", "group1/project-a")
-                .tag("type", "source")
-                .gauge()).isNotNull();
+        assertThat(metricsExporter.getProjectMetrics("group1/project-a"))
+                .containsEntry("sourceCommits", 100);
     }
 }
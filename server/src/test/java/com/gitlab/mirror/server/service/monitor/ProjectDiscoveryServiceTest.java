@@ -4,6 +4,7 @@ import com.gitlab.mirror.server.entity.MonitorAlert;
 import com.gitlab.mirror.server.entity.SyncProject;
 import com.gitlab.mirror.server.mapper.MonitorAlertMapper;
 import com.gitlab.mirror.server.mapper.SyncProjectMapper;
+import com.gitlab.mirror.server.service.DashboardStatsService;
 import com.gitlab.mirror.server.service.ProjectDiscoveryService;
 import com.gitlab.mirror.server.service.monitor.model.DiffDetails;
 import com.gitlab.mirror.server.service.monitor.model.DiscoveryResult;
@@ -36,12 +37,15 @@ class ProjectDiscoveryServiceTest {
     @Mock
     private MonitorAlertMapper monitorAlertMapper;
 
+    @Mock
+    private DashboardStatsService dashboardStatsService;
+
     private ProjectDiscoveryService projectDiscoveryService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        projectDiscoveryService = new ProjectDiscoveryService(syncProjectMapper, monitorAlertMapper);
+        projectDiscoveryService = new ProjectDiscoveryService(syncProjectMapper, monitorAlertMapper, dashboardStatsService);
     }
 
     @Test
@@ -66,6 +70,7 @@ class ProjectDiscoveryServiceTest {
         // Verify
         assertThat(result).isEqualTo(1);
         verify(syncProjectMapper).insert(any(SyncProject.class));
+        verify(dashboardStatsService).onProjectStatusChanged(any(SyncProject.class));
     }
 
     @Test
@@ -147,6 +152,7 @@ class ProjectDiscoveryServiceTest {
         assertThat(result).isEqualTo(1);
         verify(syncProjectMapper).updateById(any(SyncProject.class));
         verify(monitorAlertMapper).insert(any(MonitorAlert.class));
+        verify(dashboardStatsService).onProjectStatusChanged(project2);
     }
 
     @Test
@@ -2,6 +2,7 @@ package com.gitlab.mirror.server.service.monitor;
 
 import com.gitlab.mirror.server.entity.MonitorAlert;
 import com.gitlab.mirror.server.mapper.MonitorAlertMapper;
+import com.gitlab.mirror.server.service.StatusPushService;
 import com.gitlab.mirror.server.service.monitor.model.AlertInfo;
 import com.gitlab.mirror.server.service.monitor.model.DiffDetails;
 import com.gitlab.mirror.server.service.monitor.model.ProjectDiff;
@@ -37,6 +38,9 @@ class SyncMonitorServiceTest {
     @Mock
     private LocalCacheManager cacheManager;
 
+    @Mock
+    private StatusPushService statusPushService;
+
     private SyncMonitorService syncMonitorService;
 
     @BeforeEach
@@ -44,7 +48,8 @@ class SyncMonitorServiceTest {
         syncMonitorService = new SyncMonitorService(
                 alertThresholdEvaluator,
                 monitorAlertMapper,
-                cacheManager
+                cacheManager,
+                statusPushService
         );
     }
 
@@ -89,6 +94,7 @@ class SyncMonitorServiceTest {
         // Verify - should be deduplicated
         assertThat(result).isFalse();
         verify(monitorAlertMapper, never()).insert(any(MonitorAlert.class));
+        verify(statusPushService, never()).publishAlert(any(), any());
     }
 
     @Test
@@ -114,6 +120,7 @@ class SyncMonitorServiceTest {
         assertThat(alert.getAlertType()).isEqualTo("sync_delay");
         assertThat(alert.getSeverity()).isEqualTo("high");
         assertThat(alert.getStatus()).isEqualTo(MonitorAlert.Status.ACTIVE);
+        verify(statusPushService).publishAlert(alert, "created");
     }
 
     @Test
@@ -132,6 +139,7 @@ class SyncMonitorServiceTest {
         verify(monitorAlertMapper).updateById(any(MonitorAlert.class));
         assertThat(alert.getStatus()).isEqualTo(MonitorAlert.Status.RESOLVED);
         assertThat(alert.getResolvedAt()).isNotNull();
+        verify(statusPushService).publishAlert(alert, "resolved");
     }
 
     @Test
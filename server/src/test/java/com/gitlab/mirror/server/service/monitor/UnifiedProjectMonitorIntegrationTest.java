@@ -3,6 +3,7 @@ package com.gitlab.mirror.server.service.monitor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.gitlab.mirror.server.client.RetryableGitLabClient;
 import com.gitlab.mirror.server.client.graphql.GitLabGraphQLClient;
+import com.gitlab.mirror.server.config.properties.GitLabMirrorProperties;
 import com.gitlab.mirror.server.mapper.SyncProjectMapper;
 import com.gitlab.mirror.server.service.monitor.model.ScanResult;
 import lombok.extern.slf4j.Slf4j;
@@ -60,7 +61,7 @@ class UnifiedProjectMonitorIntegrationTest {
         GitLabGraphQLClient graphQLClient = new GitLabGraphQLClient(objectMapper);
 
         // Create BatchQueryExecutor
-        batchQueryExecutor = new BatchQueryExecutor(sourceClient, targetClient, graphQLClient);
+        batchQueryExecutor = new BatchQueryExecutor(sourceClient, targetClient, graphQLClient, new GitLabMirrorProperties());
 
         // Mock other dependencies for integration test
         // In real scenario, these would be autowired from Spring context
@@ -72,8 +73,7 @@ class UnifiedProjectMonitorIntegrationTest {
         com.gitlab.mirror.server.service.ProjectDiscoveryService projectDiscoveryService = mock(com.gitlab.mirror.server.service.ProjectDiscoveryService.class);
         com.gitlab.mirror.server.mapper.SourceProjectInfoMapper sourceProjectInfoMapper = mock(com.gitlab.mirror.server.mapper.SourceProjectInfoMapper.class);
         com.gitlab.mirror.server.mapper.TargetProjectInfoMapper targetProjectInfoMapper = mock(com.gitlab.mirror.server.mapper.TargetProjectInfoMapper.class);
-        com.gitlab.mirror.server.service.PullSyncConfigService pullSyncConfigService = mock(com.gitlab.mirror.server.service.PullSyncConfigService.class);
-        com.gitlab.mirror.server.service.SyncTaskService syncTaskService = mock(com.gitlab.mirror.server.service.SyncTaskService.class);
+        com.gitlab.mirror.server.service.ProjectInitializationService projectInitializationService = mock(com.gitlab.mirror.server.service.ProjectInitializationService.class);
         com.gitlab.mirror.server.client.GitLabApiClient sourceGitLabApiClient = mock(com.gitlab.mirror.server.client.GitLabApiClient.class);
         com.gitlab.mirror.server.client.GitLabApiClient targetGitLabApiClient = mock(com.gitlab.mirror.server.client.GitLabApiClient.class);
         com.gitlab.mirror.server.service.BranchSnapshotService branchSnapshotService = mock(com.gitlab.mirror.server.service.BranchSnapshotService.class);
@@ -99,8 +99,7 @@ class UnifiedProjectMonitorIntegrationTest {
                 projectDiscoveryService,
                 sourceProjectInfoMapper,
                 targetProjectInfoMapper,
-                pullSyncConfigService,
-                syncTaskService,
+                projectInitializationService,
                 sourceGitLabApiClient,
                 targetGitLabApiClient,
                 branchSnapshotService
@@ -9,14 +9,17 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.stubbing.Answer;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.Mockito.*;
 
 /**
@@ -54,10 +57,7 @@ class UnifiedProjectMonitorTest {
     private com.gitlab.mirror.server.mapper.TargetProjectInfoMapper targetProjectInfoMapper;
 
     @Mock
-    private com.gitlab.mirror.server.service.PullSyncConfigService pullSyncConfigService;
-
-    @Mock
-    private com.gitlab.mirror.server.service.SyncTaskService syncTaskService;
+    private com.gitlab.mirror.server.service.ProjectInitializationService projectInitializationService;
 
     @Mock
     private com.gitlab.mirror.server.client.GitLabApiClient sourceGitLabApiClient;
@@ -83,8 +83,7 @@ class UnifiedProjectMonitorTest {
                 projectDiscoveryService,
                 sourceProjectInfoMapper,
                 targetProjectInfoMapper,
-                pullSyncConfigService,
-                syncTaskService,
+                projectInitializationService,
                 sourceGitLabApiClient,
                 targetGitLabApiClient,
                 branchSnapshotService
@@ -124,11 +123,12 @@ class UnifiedProjectMonitorTest {
                 .build();
         diffs.add(diff);
 
-        when(batchQueryExecutor.querySourceProjects(any(), anyInt())).thenReturn(sourceProjects);
+        when(batchQueryExecutor.streamSourceProjects(any(), anyInt(), any())).thenAnswer(streamPages(sourceProjects));
         when(batchQueryExecutor.getProjectDetailsBatch(anyList(), any())).thenReturn(details);
-        when(batchQueryExecutor.queryTargetProjects(any(), anyInt())).thenReturn(new ArrayList<>());
+        when(batchQueryExecutor.streamTargetProjects(any(), anyInt(), any())).thenAnswer(streamPages(new ArrayList<>()));
         when(updateProjectDataService.updateSourceProjects(anyList(), any())).thenReturn(updateResult);
         when(updateProjectDataService.updateTargetProjects(anyList(), any())).thenReturn(updateResult);
+        when(updateProjectDataService.updateSourceProjectsFromGraphQL(anyList(), anyMap(), anyBoolean())).thenReturn(updateResult);
         when(syncProjectMapper.selectList(any())).thenReturn(syncProjects);
         when(diffCalculator.calculateDiffBatch(anyList())).thenReturn(diffs);
 
@@ -141,7 +141,8 @@ class UnifiedProjectMonitorTest {
         assertThat(result.getProjectsScanned()).isEqualTo(1);
         assertThat(result.getChangesDetected()).isEqualTo(0);
 
-        verify(batchQueryExecutor).querySourceProjects(any(), anyInt());
+        verify(batchQueryExecutor).streamSourceProjects(any(), anyInt(), any());
+        verify(updateProjectDataService).updateSourceProjectsFromGraphQL(eq(sourceProjects), anyMap(), eq(false));
         verify(diffCalculator).calculateDiffBatch(anyList());
         verify(cacheManager, atLeastOnce()).put(anyString(), any(), anyLong());
     }
@@ -149,7 +150,7 @@ class UnifiedProjectMonitorTest {
     @Test
     void testScan_full_success() {
         // Mock empty projects
-        when(batchQueryExecutor.querySourceProjects(any(), anyInt())).thenReturn(new ArrayList<>());
+        when(batchQueryExecutor.streamSourceProjects(any(), anyInt(), any())).thenAnswer(streamPages(new ArrayList<>()));
 
         // Execute
         ScanResult result = unifiedProjectMonitor.scan("full");
@@ -163,7 +164,7 @@ class UnifiedProjectMonitorTest {
     @Test
     void testScan_failure() {
         // Mock exception
-        when(batchQueryExecutor.querySourceProjects(any(), anyInt()))
+        when(batchQueryExecutor.streamSourceProjects(any(), anyInt(), any()))
                 .thenThrow(new RuntimeException("API error"));
 
         // Execute
@@ -174,4 +175,51 @@ class UnifiedProjectMonitorTest {
         assertThat(result.getStatus()).isEqualTo("failed");
         assertThat(result.getErrorMessage()).contains("API error");
     }
+
+    @Test
+    void testScan_full_comparesEachPageWithItsOwnRecords() {
+        GitLabProject first = new GitLabProject();
+        first.setId(1L);
+        first.setPathWithNamespace("group/a");
+        GitLabProject second = new GitLabProject();
+        second.setId(2L);
+        second.setPathWithNamespace("group/b");
+
+        when(batchQueryExecutor.streamSourceProjects(any(), anyInt(), any()))
+                .thenAnswer(streamPages(List.of(first), List.of(second)));
+        when(batchQueryExecutor.streamTargetProjects(any(), anyInt(), any())).thenAnswer(streamPages());
+        when(syncProjectMapper.selectList(any())).thenReturn(new ArrayList<>());
+        when(projectInitializationService.initializeProjects(anyList(), anyMap()))
+                .thenReturn(List.of(11L), List.of(12L));
+        when(diffCalculator.calculateDiffBatch(anyList())).thenReturn(new ArrayList<>());
+
+        ScanResult result = unifiedProjectMonitor.scan("full");
+
+        assertThat(result.getStatus()).isEqualTo("success");
+        assertThat(result.getProjectsScanned()).isEqualTo(2);
+        assertThat(result.getNewProjects()).isEqualTo(2);
+        // One lookup and one onboarding batch per page, never a whole-table read
+        verify(syncProjectMapper, times(2)).selectList(any());
+        verify(projectInitializationService).initializeProjects(eq(List.of(first)), anyMap());
+        verify(projectInitializationService).initializeProjects(eq(List.of(second)), anyMap());
+        verify(diffCalculator).calculateDiffBatch(List.of(11L, 12L));
+    }
+
+    /**
+     * Answer a stream call by handing each page to the page handler
+     */
+    @SafeVarargs
+    private static Answer<Integer> streamPages(List<GitLabProject>... pages) {
+        return invocation -> {
+            Consumer<List<GitLabProject>> handler = invocation.getArgument(2);
+            int total = 0;
+            for (List<GitLabProject> page : pages) {
+                if (!page.isEmpty()) {
+                    handler.accept(page);
+                    total += page.size();
+                }
+            }
+            return total;
+        };
+    }
 }
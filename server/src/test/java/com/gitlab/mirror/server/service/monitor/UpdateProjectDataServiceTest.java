@@ -1,6 +1,7 @@
 package com.gitlab.mirror.server.service.monitor;
 
 import com.gitlab.mirror.common.model.GitLabProject;
+import com.gitlab.mirror.server.client.graphql.GraphQLProjectInfo;
 import com.gitlab.mirror.server.entity.SourceProjectInfo;
 import com.gitlab.mirror.server.entity.TargetProjectInfo;
 import com.gitlab.mirror.server.mapper.SourceProjectInfoMapper;
@@ -8,6 +9,7 @@ import com.gitlab.mirror.server.mapper.TargetProjectInfoMapper;
 import com.gitlab.mirror.server.service.BranchSnapshotService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -18,6 +20,7 @@ import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 /**
@@ -154,6 +157,113 @@ class UpdateProjectDataServiceTest {
         assertThat(result.hasErrors()).isTrue();
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void testUpdateSourceProjectsFromGraphQL_loadsOnceAndWritesChangedRowsInOneBatch() {
+        GitLabProject changed = createMockProject(1L, "group1/changed");
+        GitLabProject unchanged = createMockProject(2L, "group1/unchanged");
+        GitLabProject missing = createMockProject(3L, "group1/missing");
+
+        SourceProjectInfo changedInfo = sourceInfo(10L, 1L, "group1/changed", "old-sha");
+        SourceProjectInfo unchangedInfo = sourceInfo(20L, 2L, "group1/unchanged", "sha2");
+        when(sourceProjectInfoMapper.selectList(any())).thenReturn(List.of(changedInfo, unchangedInfo));
+        when(sourceProjectInfoMapper.updateMonitorFieldsBatch(anyList())).thenReturn(1);
+
+        Map<Long, GraphQLProjectInfo> graphQLInfos = Map.of(
+                1L, graphQLInfo(1L, "new-sha"),
+                2L, graphQLInfo(2L, "sha2"));
+
+        UpdateProjectDataService.UpdateResult result = updateProjectDataService.updateSourceProjectsFromGraphQL(
+                List.of(changed, unchanged, missing), graphQLInfos, false);
+
+        assertThat(result.getSuccessCount()).isEqualTo(1);
+        assertThat(result.getSkippedCount()).isEqualTo(2);
+        assertThat(result.getProjectChanges()).hasSize(1);
+        assertThat(result.getProjectChanges().get(0).getProjectKey()).isEqualTo("group1/changed");
+
+        ArgumentCaptor<List<SourceProjectInfo>> batch = ArgumentCaptor.forClass(List.class);
+        verify(sourceProjectInfoMapper, times(1)).selectList(any());
+        verify(sourceProjectInfoMapper, times(1)).updateMonitorFieldsBatch(batch.capture());
+        assertThat(batch.getValue()).extracting(SourceProjectInfo::getLatestCommitSha).containsExactly("new-sha");
+        verify(sourceProjectInfoMapper, never()).selectOne(any());
+        verify(sourceProjectInfoMapper, never()).updateById(any());
+        verify(branchSnapshotService).updateSourceBranchSnapshot(10L, 1L, "main");
+        verify(branchSnapshotService, never()).updateSourceBranchSnapshot(eq(20L), any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testUpdateSourceProjectsFromGraphQL_refreshesForkRelation() {
+        GitLabProject fork = createMockProject(1L, "group1/fork");
+        GitLabProject.ForkedFromProject parent = new GitLabProject.ForkedFromProject();
+        parent.setId(100L);
+        fork.setForkedFromProject(parent);
+        fork.setForksCount(2);
+
+        SourceProjectInfo info = sourceInfo(10L, 1L, "group1/fork", "sha1");
+        when(sourceProjectInfoMapper.selectList(any())).thenReturn(List.of(info));
+        when(sourceProjectInfoMapper.updateMonitorFieldsBatch(anyList())).thenReturn(1);
+
+        UpdateProjectDataService.UpdateResult result = updateProjectDataService.updateSourceProjectsFromGraphQL(
+                List.of(fork), Map.of(1L, graphQLInfo(1L, "sha1")), false);
+
+        assertThat(result.getSuccessCount()).isEqualTo(1);
+        ArgumentCaptor<List<SourceProjectInfo>> batch = ArgumentCaptor.forClass(List.class);
+        verify(sourceProjectInfoMapper).updateMonitorFieldsBatch(batch.capture());
+        assertThat(batch.getValue().get(0).getForkedFromProjectId()).isEqualTo(100L);
+        assertThat(batch.getValue().get(0).getForkCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testUpdateTargetProjectsFromGraphQL_failedBatchReportsEveryChangedProject() {
+        GitLabProject first = createMockProject(1L, "group1/a");
+        GitLabProject second = createMockProject(2L, "group1/b");
+
+        TargetProjectInfo firstInfo = new TargetProjectInfo();
+        firstInfo.setId(10L);
+        firstInfo.setGitlabProjectId(1L);
+        firstInfo.setPathWithNamespace("group1/a");
+        TargetProjectInfo secondInfo = new TargetProjectInfo();
+        secondInfo.setId(20L);
+        secondInfo.setGitlabProjectId(2L);
+        secondInfo.setPathWithNamespace("group1/b");
+        when(targetProjectInfoMapper.selectList(any())).thenReturn(List.of(firstInfo, secondInfo));
+        when(targetProjectInfoMapper.updateMonitorFieldsBatch(anyList())).thenThrow(new RuntimeException("Deadlock"));
+
+        UpdateProjectDataService.UpdateResult result = updateProjectDataService.updateTargetProjectsFromGraphQL(
+                List.of(first, second), Map.of(), false);
+
+        assertThat(result.getFailedCount()).isEqualTo(2);
+        assertThat(result.getProjectChanges()).isEmpty();
+        assertThat(result.getErrors()).hasSize(2);
+        verify(branchSnapshotService, never()).updateTargetBranchSnapshot(any(), any(), any());
+    }
+
+    private SourceProjectInfo sourceInfo(Long id, Long gitlabProjectId, String path, String sha) {
+        SourceProjectInfo info = new SourceProjectInfo();
+        info.setId(id);
+        info.setSyncProjectId(id);
+        info.setGitlabProjectId(gitlabProjectId);
+        info.setPathWithNamespace(path);
+        info.setDefaultBranch("main");
+        info.setLatestCommitSha(sha);
+        return info;
+    }
+
+    private GraphQLProjectInfo graphQLInfo(Long projectId, String sha) {
+        GraphQLProjectInfo.Repository.Tree.LastCommit lastCommit = new GraphQLProjectInfo.Repository.Tree.LastCommit();
+        lastCommit.setSha(sha);
+        GraphQLProjectInfo.Repository.Tree tree = new GraphQLProjectInfo.Repository.Tree();
+        tree.setLastCommit(lastCommit);
+        GraphQLProjectInfo.Repository repository = new GraphQLProjectInfo.Repository();
+        repository.setTree(tree);
+
+        GraphQLProjectInfo info = new GraphQLProjectInfo();
+        info.setId("gid://gitlab/Project/" + projectId);
+        info.setRepository(repository);
+        return info;
+    }
+
     private GitLabProject createMockProject(Long id, String pathWithNamespace) {
         GitLabProject project = new GitLabProject();
         project.setId(id);
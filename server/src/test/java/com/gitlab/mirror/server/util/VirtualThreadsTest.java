@@ -0,0 +1,82 @@
+package com.gitlab.mirror.server.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for VirtualThreads
+ *
+ * @author GitLab Mirror Team
+ */
+class VirtualThreadsTest {
+
+    private static final boolean JDK_HAS_VIRTUAL_THREADS = Runtime.version().feature() >= 21;
+
+    @Test
+    void testIsSupported_MatchesRunningJdk() {
+        assertThat(VirtualThreads.isSupported()).isEqualTo(JDK_HAS_VIRTUAL_THREADS);
+    }
+
+    @Test
+    void testResolve_FallsBackWhenUnsupported() {
+        assertThat(VirtualThreads.resolve(false, "test")).isFalse();
+        assertThat(VirtualThreads.resolve(true, "test")).isEqualTo(JDK_HAS_VIRTUAL_THREADS);
+    }
+
+    @Test
+    void testThreadFactory_PlatformThreadsAreNamedDaemons() throws InterruptedException {
+        CountDownLatch ran = new CountDownLatch(1);
+        Thread thread = VirtualThreads.threadFactory("test-pump-", false).newThread(ran::countDown);
+
+        assertThat(thread.getName()).isEqualTo("test-pump-0");
+        assertThat(thread.isDaemon()).isTrue();
+
+        thread.start();
+        assertThat(ran.await(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void testThreadFactory_VirtualRequestAlwaysYieldsRunnableThreads() throws Exception {
+        CountDownLatch ran = new CountDownLatch(1);
+        Thread thread = VirtualThreads.threadFactory("test-virtual-", true).newThread(ran::countDown);
+
+        assertThat(thread.getName()).startsWith("test-virtual-");
+        assertThat(isVirtual(thread)).isEqualTo(JDK_HAS_VIRTUAL_THREADS);
+        thread.start();
+        assertThat(ran.await(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void testNewThreadPerTaskExecutor_RunsTasksOnVirtualThreads() throws Exception {
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("test-");
+        if (executor == null) {
+            return;
+        }
+        try {
+            Thread worker = executor.submit(Thread::currentThread).get(2, TimeUnit.SECONDS);
+            assertThat(isVirtual(worker)).isTrue();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static boolean isVirtual(Thread thread) throws Exception {
+        // Thread.isVirtual() exists from Java 21 on; older JDKs only have platform threads
+        return JDK_HAS_VIRTUAL_THREADS && (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+    }
+
+    @Test
+    void testNewThreadPerTaskExecutor_NullWhenUnsupported() {
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("test-");
+
+        assertThat(executor != null).isEqualTo(JDK_HAS_VIRTUAL_THREADS);
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+-- Migration 006: Add repository size index to pull_sync_config
+-- Date: 2026-10-19
+-- Purpose: Persist local repository size after each sync/gc so disk usage queries
+--          read the index instead of walking repository directories
+
+-- Add repo_size_bytes (check if column exists first)
+SET @col_exists = (
+    SELECT COUNT(*)
+    FROM INFORMATION_SCHEMA.COLUMNS
+    WHERE TABLE_SCHEMA = 'gitlab_mirror'
+    AND TABLE_NAME = 'pull_sync_config'
+    AND COLUMN_NAME = 'repo_size_bytes'
+);
+
+SET @sql = IF(@col_exists = 0,
+    'ALTER TABLE pull_sync_config ADD COLUMN repo_size_bytes BIGINT NULL COMMENT ''Local repository size in bytes (updated after sync/gc)'' AFTER local_repo_path',
+    'SELECT ''Column repo_size_bytes already exists'' AS message'
+);
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Add repo_size_updated_at
+SET @col_exists = (
+    SELECT COUNT(*)
+    FROM INFORMATION_SCHEMA.COLUMNS
+    WHERE TABLE_SCHEMA = 'gitlab_mirror'
+    AND TABLE_NAME = 'pull_sync_config'
+    AND COLUMN_NAME = 'repo_size_updated_at'
+);
+
+SET @sql = IF(@col_exists = 0,
+    'ALTER TABLE pull_sync_config ADD COLUMN repo_size_updated_at DATETIME NULL COMMENT ''Repository size measured time'' AFTER repo_size_bytes',
+    'SELECT ''Column repo_size_updated_at already exists'' AS message'
+);
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,72 @@
+-- Migration 007: Add repository maintenance stats to pull_sync_config
+-- Date: 2026-10-19
+-- Purpose: Track pack/loose object counts and fetches since the last maintenance
+--          so background maintenance only visits repositories that need it
+
+-- Add pack_count (check if column exists first)
+SET @col_exists = (
+    SELECT COUNT(*)
+    FROM INFORMATION_SCHEMA.COLUMNS
+    WHERE TABLE_SCHEMA = 'gitlab_mirror'
+    AND TABLE_NAME = 'pull_sync_config'
+    AND COLUMN_NAME = 'pack_count'
+);
+
+SET @sql = IF(@col_exists = 0,
+    'ALTER TABLE pull_sync_config ADD COLUMN pack_count INT NULL COMMENT ''Number of pack files'' AFTER repo_size_updated_at',
+    'SELECT ''Column pack_count already exists'' AS message'
+);
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Add loose_object_count
+SET @col_exists = (
+    SELECT COUNT(*)
+    FROM INFORMATION_SCHEMA.COLUMNS
+    WHERE TABLE_SCHEMA = 'gitlab_mirror'
+    AND TABLE_NAME = 'pull_sync_config'
+    AND COLUMN_NAME = 'loose_object_count'
+);
+
+SET @sql = IF(@col_exists = 0,
+    'ALTER TABLE pull_sync_config ADD COLUMN loose_object_count INT NULL COMMENT ''Number of loose objects'' AFTER pack_count',
+    'SELECT ''Column loose_object_count already exists'' AS message'
+);
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Add fetches_since_maintenance
+SET @col_exists = (
+    SELECT COUNT(*)
+    FROM INFORMATION_SCHEMA.COLUMNS
+    WHERE TABLE_SCHEMA = 'gitlab_mirror'
+    AND TABLE_NAME = 'pull_sync_config'
+    AND COLUMN_NAME = 'fetches_since_maintenance'
+);
+
+SET @sql = IF(@col_exists = 0,
+    'ALTER TABLE pull_sync_config ADD COLUMN fetches_since_maintenance INT NOT NULL DEFAULT 0 COMMENT ''Fetches since last maintenance'' AFTER loose_object_count',
+    'SELECT ''Column fetches_since_maintenance already exists'' AS message'
+);
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Add last_maintenance_at
+SET @col_exists = (
+    SELECT COUNT(*)
+    FROM INFORMATION_SCHEMA.COLUMNS
+    WHERE TABLE_SCHEMA = 'gitlab_mirror'
+    AND TABLE_NAME = 'pull_sync_config'
+    AND COLUMN_NAME = 'last_maintenance_at'
+);
+
+SET @sql = IF(@col_exists = 0,
+    'ALTER TABLE pull_sync_config ADD COLUMN last_maintenance_at DATETIME NULL COMMENT ''Last repository maintenance time'' AFTER fetches_since_maintenance',
+    'SELECT ''Column last_maintenance_at already exists'' AS message'
+);
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,38 @@
+-- Migration 008: Add fork parent to source_project_info
+-- Date: 2026-10-19
+-- Purpose: Record forked_from_project so fork families can share a local
+--          object pool repository (objects/info/alternates)
+
+-- Add forked_from_project_id (check if column exists first)
+SET @col_exists = (
+    SELECT COUNT(*)
+    FROM INFORMATION_SCHEMA.COLUMNS
+    WHERE TABLE_SCHEMA = 'gitlab_mirror'
+    AND TABLE_NAME = 'source_project_info'
+    AND COLUMN_NAME = 'forked_from_project_id'
+);
+
+SET @sql = IF(@col_exists = 0,
+    'ALTER TABLE source_project_info ADD COLUMN forked_from_project_id BIGINT NULL COMMENT ''GitLab project ID this project was forked from'' AFTER fork_count',
+    'SELECT ''Column forked_from_project_id already exists'' AS message'
+);
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Add index for fork family lookups
+SET @index_exists = (
+    SELECT COUNT(*)
+    FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE TABLE_SCHEMA = 'gitlab_mirror'
+    AND TABLE_NAME = 'source_project_info'
+    AND INDEX_NAME = 'idx_forked_from'
+);
+
+SET @sql = IF(@index_exists = 0,
+    'ALTER TABLE source_project_info ADD INDEX idx_forked_from (forked_from_project_id)',
+    'SELECT ''Index idx_forked_from already exists'' AS message'
+);
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
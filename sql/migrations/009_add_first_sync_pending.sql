@@ -0,0 +1,22 @@
+-- Migration 009: Add first sync marker to pull_sync_config
+-- Date: 2026-10-19
+-- Purpose: Mark projects whose resumable first sync was paused, so the next run
+--          continues the first sync instead of treating the partial repository
+--          at local_repo_path as a finished clone
+
+-- Add first_sync_pending (check if column exists first)
+SET @col_exists = (
+    SELECT COUNT(*)
+    FROM INFORMATION_SCHEMA.COLUMNS
+    WHERE TABLE_SCHEMA = 'gitlab_mirror'
+    AND TABLE_NAME = 'pull_sync_config'
+    AND COLUMN_NAME = 'first_sync_pending'
+);
+
+SET @sql = IF(@col_exists = 0,
+    'ALTER TABLE pull_sync_config ADD COLUMN first_sync_pending TINYINT(1) NOT NULL DEFAULT 0 COMMENT ''First sync started but not finished'' AFTER local_repo_path',
+    'SELECT ''Column first_sync_pending already exists'' AS message'
+);
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,16 @@
+-- Migration 010: Backfill repository size time for repositories cloned before migration 006
+-- Date: 2026-10-19
+-- Purpose: The scheduler tells cloned projects from first syncs by repo_size_updated_at.
+--          Repositories cloned before the column existed have it NULL and would be
+--          admitted as first syncs (disk reservation, first-sync lane) on every run.
+--          repo_size_bytes stays NULL, so the size is measured on first use.
+
+UPDATE pull_sync_config c
+JOIN sync_project p ON p.id = c.sync_project_id
+SET c.repo_size_updated_at = COALESCE(p.last_sync_at, c.updated_at)
+WHERE c.repo_size_updated_at IS NULL
+  AND c.local_repo_path IS NOT NULL
+  AND (p.last_sync_at IS NOT NULL
+       OR EXISTS (SELECT 1 FROM sync_task t
+                  WHERE t.sync_project_id = c.sync_project_id
+                    AND t.last_sync_status IN ('success', 'skipped')));